@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.mockito.Mockito;
+import org.pac4j.core.authorization.generator.AuthorizationGenerator;
+import org.pac4j.core.authorization.generator.DefaultRolesPermissionsAuthorizationGenerator;
+import org.pac4j.core.ext.authentication.AuthenticatingFailureCounter;
+import org.pac4j.core.ext.authentication.captcha.CaptchaResolver;
+import org.pac4j.core.http.adapter.HttpActionAdapter;
+import org.pac4j.core.http.adapter.JEEHttpActionAdapter;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Minimal application booting the starter's auto-configurations for the benchmarks.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class BenchmarkApplication {
+
+	public static final String SIGN_SECRET = "12345678901234567890123456789012";
+	public static final String ENCRYPT_SECRET = "abcdefghijklmnopqrstuvwxyz012345";
+
+	@Bean
+	public CaptchaResolver captchaResolver() {
+		return Mockito.mock(CaptchaResolver.class);
+	}
+
+	@Bean
+	public AuthenticatingFailureCounter failureCounter() {
+		return Mockito.mock(AuthenticatingFailureCounter.class);
+	}
+
+	@Bean
+	public HttpActionAdapter httpActionAdapter() {
+		return JEEHttpActionAdapter.INSTANCE;
+	}
+
+	@Bean
+	public AuthorizationGenerator authorizationGenerator() {
+		return new DefaultRolesPermissionsAuthorizationGenerator(Arrays.asList("ROLE_USER"), Collections.emptyList());
+	}
+
+	public static ConfigurableApplicationContext run(String... properties) {
+		return new SpringApplicationBuilder(BenchmarkApplication.class)
+				.web(WebApplicationType.NONE)
+				.bannerMode(Banner.Mode.OFF)
+				.logStartupInfo(false)
+				.properties(properties)
+				.run();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jasig.cas.client.util.CommonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.UrlTemplate;
+
+/**
+ * Cost of building a CAS login redirection url per request: concatenation and URLEncoder as done by pac4j,
+ * versus a {@link UrlTemplate} compiled once which only encodes the callback url.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CasRedirectUrlBenchmark {
+
+	private static final String LOGIN_URL = "https://sso.example.org/cas/login";
+
+	@Param({ "https://app.example.org/callback?client_name=cas",
+			"https://app.example.org/callback?client_name=cas&target=%2Forders%2F42%3Fview%3Dfull&lang=zh-CN" })
+	public String callbackUrl;
+
+	private final Map<String, String> customParams = new LinkedHashMap<>();
+	private UrlTemplate template;
+
+	@Setup
+	public void setup() {
+		customParams.put("locale", "zh_CN");
+		customParams.put("theme", "corporate portal");
+		UrlTemplate.Builder builder = UrlTemplate.of(LOGIN_URL).dynamicParam("service").param("renew", "true")
+				.param("method", "POST");
+		customParams.forEach(builder::param);
+		template = builder.build();
+	}
+
+	@Benchmark
+	public String concatenation() {
+		String url = CommonUtils.constructRedirectUrl(LOGIN_URL, "service", callbackUrl, true, false);
+		url = CommonHelper.addParameter(url, "method", "POST");
+		for (Map.Entry<String, String> entry : customParams.entrySet()) {
+			url = CommonHelper.addParameter(url, entry.getKey(), entry.getValue());
+		}
+		return url;
+	}
+
+	@Benchmark
+	public String template() {
+		return template.expand(callbackUrl);
+	}
+
+}
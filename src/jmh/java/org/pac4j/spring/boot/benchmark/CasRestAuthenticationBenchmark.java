@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pac4j.cas.client.rest.CasRestBasicAuthClient;
+import org.pac4j.cas.profile.CasRestProfile;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.profile.UserProfile;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Per-request cost of the CasRestBasicAuthClient against a local CAS REST stub:
+ * the ticket granting ticket round trip, and the service ticket round trip machine clients do next.
+ * With {@code tgtCache} the ticket granting ticket of the same credentials is reused.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CasRestAuthenticationBenchmark {
+
+	private static final String SERVICE_URL = "http://127.0.0.1/api";
+
+	@Param({ "false", "true" })
+	private boolean tgtCache;
+
+	private CasServerStub casServer;
+	private ConfigurableApplicationContext context;
+	private CasRestBasicAuthClient client;
+	private String authorization;
+	private CasRestProfile profile;
+
+	@Setup
+	public void setup() throws IOException {
+		casServer = new CasServerStub();
+		context = BenchmarkApplication.run(
+				"pac4j.enabled=true",
+				"pac4j.cas.enabled=true",
+				"pac4j.cas.login-url=" + casServer.getPrefixUrl() + "login",
+				"pac4j.cas.prefix-url=" + casServer.getPrefixUrl(),
+				"pac4j.cas.rest-url=" + casServer.getRestUrl(),
+				"pac4j.cas.cas-rest-basic-auth-client=true",
+				"pac4j.cas.tgt-cache.enabled=" + tgtCache);
+		client = context.getBean(CasRestBasicAuthClient.class);
+		authorization = HttpConstants.BASIC_HEADER_PREFIX
+				+ Base64.getEncoder().encodeToString("benchmark:benchmark".getBytes(StandardCharsets.UTF_8));
+		profile = (CasRestProfile) ticketGrantingTicket().get();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+		casServer.close();
+	}
+
+	@Benchmark
+	public Optional<UserProfile> ticketGrantingTicket() {
+		JEEContext webContext = newWebContext();
+		return client.getCredentials(webContext).flatMap(credentials -> client.getUserProfile(credentials, webContext));
+	}
+
+	@Benchmark
+	public TokenCredentials serviceTicket() {
+		return client.requestServiceTicket(SERVICE_URL, profile, newWebContext());
+	}
+
+	private JEEContext newWebContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resource");
+		request.addHeader(HttpConstants.AUTHORIZATION_HEADER, authorization);
+		return new JEEContext(request, new MockHttpServletResponse());
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the CAS REST protocol: issues ticket granting tickets on
+ * {@code POST /cas/v1/tickets} and service tickets on {@code POST /cas/v1/tickets/{tgt}}.
+ */
+public class CasServerStub implements AutoCloseable {
+
+	private final HttpServer server;
+	private final AtomicLong sequence = new AtomicLong();
+
+	public CasServerStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/cas/v1/tickets", this::handle);
+		server.setExecutor(Executors.newFixedThreadPool(4));
+		server.start();
+	}
+
+	public String getPrefixUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/cas/";
+	}
+
+	public String getRestUrl() {
+		return getPrefixUrl() + "v1/tickets";
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (InputStream body = exchange.getRequestBody()) {
+			while (body.read() != -1) {
+				// drain the form body
+			}
+		}
+		String path = exchange.getRequestURI().getPath();
+		if (path.endsWith("/tickets")) {
+			exchange.getResponseHeaders().add("Location", getRestUrl() + "/TGT-" + sequence.incrementAndGet() + "-stub");
+			exchange.sendResponseHeaders(201, -1);
+		} else {
+			byte[] ticket = ("ST-" + sequence.incrementAndGet() + "-stub").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, ticket.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(ticket);
+			}
+		}
+		exchange.close();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.finder.ClientFinder;
+import org.pac4j.core.client.finder.DefaultCallbackClientFinder;
+import org.pac4j.core.client.finder.DefaultSecurityClientFinder;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.http.callback.QueryParameterCallbackUrlResolver;
+import org.pac4j.core.util.Pac4jConstants;
+import org.pac4j.http.client.indirect.IndirectBasicAuthClient;
+import org.pac4j.http.credentials.authenticator.test.SimpleTestUsernamePasswordAuthenticator;
+import org.pac4j.spring.boot.client.IndexedCallbackClientFinder;
+import org.pac4j.spring.boot.client.IndexedClients;
+import org.pac4j.spring.boot.client.IndexedSecurityClientFinder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Client resolution with many tenants: lookup by name, callback dispatch on the {@code client_name} parameter and
+ * default security clients, pac4j's {@link Clients} and finders against {@link IndexedClients} and the indexed finders.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ClientIndexBenchmark {
+
+	@Param({ "10", "1000" })
+	public int clientCount;
+
+	@Param({ "false", "true" })
+	public boolean indexed;
+
+	private Clients clients;
+	private ClientFinder callbackClientFinder;
+	private ClientFinder securityClientFinder;
+	private String lastClientName;
+	private JEEContext callbackContext;
+	private JEEContext securityContext;
+
+	@Setup
+	@SuppressWarnings("rawtypes")
+	public void setup() {
+		List<Client> clientList = new ArrayList<>(clientCount);
+		StringBuilder defaultSecurityClients = new StringBuilder();
+		for (int i = 0; i < clientCount; i++) {
+			IndirectBasicAuthClient client = new IndirectBasicAuthClient(new SimpleTestUsernamePasswordAuthenticator());
+			client.setName("Tenant-" + i);
+			clientList.add(client);
+			defaultSecurityClients.append(i == 0 ? "" : ",").append(client.getName());
+		}
+		clients = indexed ? new IndexedClients() : new Clients();
+		clients.setClients(clientList);
+		clients.setCallbackUrl("https://app.example.com/callback");
+		clients.setCallbackUrlResolver(new QueryParameterCallbackUrlResolver());
+		clients.setDefaultSecurityClients(defaultSecurityClients.toString());
+		clients.init();
+		callbackClientFinder = indexed ? new IndexedCallbackClientFinder() : new DefaultCallbackClientFinder();
+		securityClientFinder = indexed ? new IndexedSecurityClientFinder() : new DefaultSecurityClientFinder();
+		// 最后一个客户端：遍历实现的最坏情况
+		lastClientName = "tenant-" + (clientCount - 1);
+		callbackContext = newWebContext(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, lastClientName);
+		securityContext = newWebContext(Pac4jConstants.DEFAULT_FORCE_CLIENT_PARAMETER, lastClientName);
+	}
+
+	@Benchmark
+	@SuppressWarnings("rawtypes")
+	public Optional<Client> findClient() {
+		return clients.findClient(lastClientName);
+	}
+
+	@Benchmark
+	public List<Client<? extends Credentials>> callbackDispatch() {
+		return callbackClientFinder.find(clients, callbackContext, null);
+	}
+
+	@Benchmark
+	public List<Client<? extends Credentials>> forcedSecurityClient() {
+		return securityClientFinder.find(clients, securityContext, null);
+	}
+
+	private static JEEContext newWebContext(String parameter, String clientName) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/callback");
+		request.setParameter(parameter, clientName);
+		return new JEEContext(request, new MockHttpServletResponse());
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Cost of resolving a client by name (the {@code client_name} callback parameter) on the auto-configured Clients.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ClientLookupBenchmark {
+
+	@Param({ "jwt-header", "DirectBasicAuthClient", "unknown" })
+	public String clientName;
+
+	private ConfigurableApplicationContext context;
+	private Clients clients;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.run(
+				"pac4j.enabled=true",
+				"pac4j.jwt.enabled=true",
+				"pac4j.jwt.sign-secret=" + BenchmarkApplication.SIGN_SECRET,
+				"pac4j.jwt.encrypt-secret=" + BenchmarkApplication.ENCRYPT_SECRET,
+				"pac4j.http.enabled=true",
+				"pac4j.http.form-client=true",
+				"pac4j.http.indirect-basic-auth-client=true",
+				"pac4j.http.direct-basic-auth-client=true");
+		clients = context.getBean(Clients.class);
+		clients.init();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@SuppressWarnings("rawtypes")
+	public Optional<Client> findClient() {
+		return clients.findClient(clientName);
+	}
+
+}
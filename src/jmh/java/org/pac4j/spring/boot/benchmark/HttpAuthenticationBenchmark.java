@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.http.client.direct.DirectBasicAuthClient;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Per-request cost of the auto-configured DirectBasicAuthClient.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class HttpAuthenticationBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private DirectBasicAuthClient client;
+	private String authorization;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.run(
+				"pac4j.enabled=true",
+				"pac4j.http.enabled=true",
+				"pac4j.http.direct-basic-auth-client=true");
+		client = context.getBean(DirectBasicAuthClient.class);
+		authorization = HttpConstants.BASIC_HEADER_PREFIX
+				+ Base64.getEncoder().encodeToString("benchmark:benchmark".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<UserProfile> directBasicAuthClient() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resource");
+		request.addHeader(HttpConstants.AUTHORIZATION_HEADER, authorization);
+		JEEContext webContext = new JEEContext(request, new MockHttpServletResponse());
+		return client.getCredentials(webContext).flatMap(credentials -> client.getUserProfile(credentials, webContext));
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.http.authorization.authorizer.IpRegexpAuthorizer;
+import org.pac4j.spring.boot.authorizer.IpRangeAuthorizer;
+import org.pac4j.spring.boot.authorizer.IpRanges;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cost of the isIPAuthenticated authorizer: IpRegexpAuthorizer versus the CIDR based IpRangeAuthorizer,
+ * directly and behind a trusted proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class IpAuthorizerBenchmark {
+
+	@Param({ "10.20.30.40", "192.168.7.9", "8.8.8.8" })
+	public String remoteAddr;
+
+	private IpRegexpAuthorizer regexpAuthorizer;
+	private IpRangeAuthorizer rangeAuthorizer;
+	private IpRangeAuthorizer proxiedRangeAuthorizer;
+	private JEEContext directContext;
+	private JEEContext proxiedContext;
+
+	@Setup
+	public void setup() {
+		regexpAuthorizer = new IpRegexpAuthorizer("(10\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3})|(192\\.168\\.\\d{1,3}\\.\\d{1,3})|(172\\.(1[6-9]|2\\d|3[01])\\.\\d{1,3}\\.\\d{1,3})");
+		IpRanges allowed = IpRanges.parse("10.0.0.0/8", "192.168.0.0/16", "172.16.0.0/12", "2001:db8::/32");
+		rangeAuthorizer = new IpRangeAuthorizer(allowed);
+		proxiedRangeAuthorizer = new IpRangeAuthorizer(allowed, IpRanges.parse("100.64.0.0/10"),
+				IpRangeAuthorizer.DEFAULT_FORWARDED_FOR_HEADER);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resource");
+		request.setRemoteAddr(remoteAddr);
+		directContext = new JEEContext(request, new MockHttpServletResponse());
+
+		MockHttpServletRequest proxied = new MockHttpServletRequest("GET", "/api/resource");
+		proxied.setRemoteAddr("100.64.0.2");
+		proxied.addHeader(IpRangeAuthorizer.DEFAULT_FORWARDED_FOR_HEADER, "203.0.113.7, " + remoteAddr + ", 100.64.0.1");
+		proxiedContext = new JEEContext(proxied, new MockHttpServletResponse());
+	}
+
+	@Benchmark
+	public boolean regexp() {
+		return regexpAuthorizer.isAuthorized(directContext, Collections.emptyList());
+	}
+
+	@Benchmark
+	public boolean ranges() {
+		return rangeAuthorizer.isAuthorized(directContext, Collections.emptyList());
+	}
+
+	@Benchmark
+	public boolean rangesBehindProxy() {
+		return proxiedRangeAuthorizer.isAuthorized(proxiedContext, Collections.emptyList());
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.profile.jwt.JwtClaims;
+import org.pac4j.http.client.direct.HeaderClient;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+import org.pac4j.jwt.profile.JwtGenerator;
+import org.pac4j.spring.boot.Pac4jJwtProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Per-request cost of the jwtHeaderAuthzClient: credentials extraction, JWE decryption,
+ * JWS verification and profile creation through the auto-configured JwtAuthenticator.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean cacheEnabled;
+
+	private ConfigurableApplicationContext context;
+	private HeaderClient client;
+	private String token;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.run(
+				"pac4j.enabled=true",
+				"pac4j.jwt.enabled=true",
+				"pac4j.jwt.sign-secret=" + BenchmarkApplication.SIGN_SECRET,
+				"pac4j.jwt.encrypt-secret=" + BenchmarkApplication.ENCRYPT_SECRET,
+				"pac4j.jwt.cache.enabled=" + cacheEnabled);
+		client = context.getBean("jwtHeaderAuthzClient", HeaderClient.class);
+
+		JwtGenerator generator = new JwtGenerator(context.getBean(SignatureConfiguration.class),
+				context.getBean(EncryptionConfiguration.class));
+		generator.setExpirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+		Map<String, Object> claims = new HashMap<>();
+		claims.put(JwtClaims.SUBJECT, "benchmark");
+		token = generator.generate(claims);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<UserProfile> headerClient() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resource");
+		request.addHeader(Pac4jJwtProperties.AUTHORIZATION_HEADER, token);
+		JEEContext webContext = new JEEContext(request, new MockHttpServletResponse());
+		return client.getCredentials(webContext).flatMap(credentials -> client.getUserProfile(credentials, webContext));
+	}
+
+}
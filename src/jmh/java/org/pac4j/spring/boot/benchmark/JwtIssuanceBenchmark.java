@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+import org.pac4j.jwt.profile.JwtGenerator;
+import org.pac4j.spring.boot.jwt.JwtTokenIssuer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Cost of issuing signed and encrypted tokens: pac4j's JwtGenerator, which builds a signer and an encrypter per token,
+ * versus the auto-configured JwtTokenIssuer, one token at a time and in batches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtIssuanceBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean encrypt;
+
+	private ConfigurableApplicationContext context;
+	private JwtGenerator generator;
+	private JwtTokenIssuer issuer;
+	private CommonProfile profile;
+	private List<CommonProfile> profiles;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.run(
+				"pac4j.enabled=true",
+				"pac4j.jwt.enabled=true",
+				"pac4j.jwt.sign-secret=" + BenchmarkApplication.SIGN_SECRET,
+				"pac4j.jwt.encrypt-secret=" + BenchmarkApplication.ENCRYPT_SECRET,
+				"pac4j.jwt.token.enabled=true",
+				"pac4j.jwt.token.encrypt=" + encrypt);
+		issuer = context.getBean(JwtTokenIssuer.class);
+		generator = new JwtGenerator(context.getBean(SignatureConfiguration.class),
+				encrypt ? context.getBean(EncryptionConfiguration.class) : null);
+		generator.setExpirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+
+		profile = new CommonProfile();
+		profile.setId("benchmark");
+		profile.addAttribute("email", "benchmark@example.org");
+		profile.addRole("ROLE_USER");
+		profile.addPermission("orders:read");
+		profiles = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			profiles.add(profile);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String generator() {
+		return generator.generate(profile);
+	}
+
+	@Benchmark
+	public String issuer() {
+		return issuer.issue(profile);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(100)
+	public List<String> issuerBatch() {
+		return issuer.issueAll(profiles);
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pac4j.core.context.HttpConstants.HTTP_METHOD;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.matching.checker.DefaultMatchingChecker;
+import org.pac4j.core.matching.matcher.HttpMethodMatcher;
+import org.pac4j.core.matching.matcher.Matcher;
+import org.pac4j.core.matching.matcher.PathMatcher;
+import org.pac4j.spring.boot.matching.CompiledRequestMatcher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cost of deciding whether a request needs security: pac4j path + method matchers resolved by name through
+ * the DefaultMatchingChecker, versus the single CompiledRequestMatcher.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestMatcherBenchmark {
+
+	@Param({ "/static/js/app.js", "/actuator/health", "/api/v1/orders/42" })
+	public String path;
+
+	private final DefaultMatchingChecker matchingChecker = new DefaultMatchingChecker();
+	private final Map<String, Matcher> matchers = new HashMap<>();
+	private CompiledRequestMatcher compiledMatcher;
+	private JEEContext webContext;
+
+	@Setup
+	public void setup() {
+		matchers.put("path", new PathMatcher().excludeBranch("/static").excludeBranch("/actuator/health")
+				.excludePath("/favicon.ico").excludeRegex("^/api/v[0-9]+/public/.*$"));
+		matchers.put("method", new HttpMethodMatcher(HTTP_METHOD.GET, HTTP_METHOD.POST, HTTP_METHOD.PUT, HTTP_METHOD.DELETE));
+
+		compiledMatcher = new CompiledRequestMatcher().excludeBranch("/static").excludeBranch("/actuator/health")
+				.excludePath("/favicon.ico").excludeRegex("/api/v[0-9]+/public/.*")
+				.method(HTTP_METHOD.GET).method(HTTP_METHOD.POST).method(HTTP_METHOD.PUT).method(HTTP_METHOD.DELETE)
+				.compile();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		webContext = new JEEContext(request, new MockHttpServletResponse());
+	}
+
+	@Benchmark
+	public boolean pac4jMatchers() {
+		return matchingChecker.matches(webContext, "path,method", matchers, new ArrayList<>());
+	}
+
+	@Benchmark
+	public boolean compiledMatcher() {
+		return compiledMatcher.matches(webContext);
+	}
+
+}
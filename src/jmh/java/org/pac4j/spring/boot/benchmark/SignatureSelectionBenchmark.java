@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.benchmark;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+import org.pac4j.spring.boot.jwt.JwkSignatureConfiguration;
+import org.pac4j.spring.boot.jwt.SignatureConfigurationSelector;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Signature verification with several RSA keys live, as during a rotation: trying the configurations in sequence
+ * as JwtAuthenticator does, versus the kid indexed SignatureConfigurationSelector. The token is signed by the last key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SignatureSelectionBenchmark {
+
+	@Param({ "1", "3", "5" })
+	public int keys;
+
+	private List<JWSVerifier> verifiers;
+	private SignatureConfigurationSelector selector;
+	private String token;
+
+	@Setup
+	public void setup() throws JOSEException {
+		List<SignatureConfiguration> configurations = new ArrayList<>();
+		verifiers = new ArrayList<>();
+		for (int i = 0; i < keys; i++) {
+			RSAKey key = new RSAKeyGenerator(2048).keyID("key-" + i).generate();
+			configurations.add(new JwkSignatureConfiguration(key, JWSAlgorithm.RS256));
+			// pac4j's RSA configurations ignore the kid: every key is tried until one verifies
+			verifiers.add(new RSASSAVerifier(key.toRSAPublicKey()));
+		}
+		selector = new SignatureConfigurationSelector(configurations);
+		token = configurations.get(keys - 1).sign(new JWTClaimsSet.Builder().subject("benchmark").build()).serialize();
+	}
+
+	@Benchmark
+	public boolean linear() throws ParseException, JOSEException {
+		SignedJWT jwt = SignedJWT.parse(token);
+		for (JWSVerifier verifier : verifiers) {
+			if (jwt.verify(verifier)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public boolean selector() throws ParseException, JOSEException {
+		return selector.verify(SignedJWT.parse(token));
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jAuthorizerPlannerProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jAuthorizerPlannerProperties {
+
+	public static final String PREFIX = "pac4j.authorizer-planner";
+
+	/** Whether Enable the planner reordering the authorizer chains by measured cost and rejection rate. */
+	private boolean enabled = false;
+	/** Names of the authorizers keeping their declared position in the chains, i.e. csrfCheck */
+	private String[] pinned;
+	/** Number of evaluations of an authorizer before its measures replace the static estimate. */
+	private long warmup = 1000L;
+	/** Number of evaluations of a chain between two plans. */
+	private long replanInterval = 10000L;
+
+}
@@ -16,23 +16,42 @@
 package org.pac4j.spring.boot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
-import org.pac4j.core.authorization.authorizer.CheckHttpMethodAuthorizer;
 import org.pac4j.core.authorization.generator.AuthorizationGenerator;
 import org.pac4j.core.client.Client;
 import org.pac4j.core.client.Clients;
 import org.pac4j.core.config.Config;
 import org.pac4j.core.context.HttpConstants.HTTP_METHOD;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.engine.CallbackLogic;
+import org.pac4j.core.engine.DefaultCallbackLogic;
+import org.pac4j.core.engine.DefaultSecurityLogic;
+import org.pac4j.core.engine.SecurityLogic;
 import org.pac4j.core.http.adapter.HttpActionAdapter;
 import org.pac4j.core.http.ajax.AjaxRequestResolver;
 import org.pac4j.core.http.callback.CallbackUrlResolver;
 import org.pac4j.core.http.url.UrlResolver;
 import org.pac4j.http.authorization.authorizer.IpRegexpAuthorizer;
+import org.pac4j.spring.boot.authorizer.IpRangeAuthorizer;
+import org.pac4j.spring.boot.authorizer.IpRanges;
+import org.pac4j.spring.boot.authorizer.PlanningAuthorizationChecker;
+import org.pac4j.spring.boot.authorizer.RequestShapeAuthorizer;
+import org.pac4j.spring.boot.client.ClientResolver;
+import org.pac4j.spring.boot.client.ClientStartupRecorder;
+import org.pac4j.spring.boot.client.ClientStartupReport;
+import org.pac4j.spring.boot.client.IndexedCallbackClientFinder;
+import org.pac4j.spring.boot.client.IndexedClients;
+import org.pac4j.spring.boot.client.IndexedSecurityClientFinder;
+import org.pac4j.spring.boot.client.LazyClients;
+import org.pac4j.spring.boot.matching.CompiledRequestMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -44,12 +63,22 @@ import org.springframework.util.StringUtils;
 @Configuration
 @ConditionalOnClass({ Clients.class })
 @ConditionalOnProperty(prefix = Pac4jProperties.PREFIX, value = "enabled", havingValue = "true")
-@EnableConfigurationProperties({ Pac4jProperties.class })
+@EnableConfigurationProperties({ Pac4jProperties.class, Pac4jMatchingProperties.class, Pac4jAuthorizerPlannerProperties.class })
 @SuppressWarnings("rawtypes")
 public class Pac4jAutoConfiguration {
 
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 	
+	@Bean
+	public static ClientStartupRecorder clientStartupRecorder() {
+		return new ClientStartupRecorder();
+	}
+	
+	@Bean
+	public ClientStartupReport clientStartupReport(ClientStartupRecorder clientStartupRecorder) {
+		return clientStartupRecorder.getReport();
+	}
+	
 	@Bean
 	public Clients clients (
 			Pac4jProperties pac4jProperties,
@@ -57,10 +86,17 @@ public class Pac4jAutoConfiguration {
 			List<AuthorizationGenerator> authorizationGenerators,
 			AjaxRequestResolver ajaxRequestResolver,
 			CallbackUrlResolver callbackUrlResolver,
-			UrlResolver urlResolver) {
+			UrlResolver urlResolver,
+			ObjectProvider<ClientResolver> clientResolverProvider,
+			ClientStartupReport clientStartupReport) {
 		
+		if(pac4jProperties.isLazyClients()) {
+			// 客户端在首次使用时才初始化（加载元数据、密钥、发现文档等），缩短应用启动时间
+			clientList = LazyClients.wrap(clientList, clientStartupReport);
+		}
 		
-		Clients clients = new Clients();
+		// 客户端较多（多租户）时按名称建立索引，O(1) 查找
+		Clients clients = pac4jProperties.isClientIndexEnabled() ? new IndexedClients() : new Clients();
 		
 		clients.setAjaxRequestResolver(ajaxRequestResolver);
 		clients.setAuthorizationGenerators(authorizationGenerators);
@@ -78,46 +114,148 @@ public class Pac4jAutoConfiguration {
 			logger.debug("Client Inited : {}", client.toString());
 		}
 		logger.debug("Default Security Clients : {}", clients.getDefaultSecurityClients());
+		if(clients instanceof IndexedClients) {
+			// 按需创建的客户端（如多租户 OAuth 客户端）在索引未命中时查找
+			clientResolverProvider.ifAvailable(((IndexedClients) clients)::setClientResolver);
+			// 启动时即完成索引构建，而非首个请求时
+			clients.init();
+		} else if(clientResolverProvider.getIfAvailable() != null) {
+			logger.warn("Clients created on demand need pac4j.client-index-enabled=true to be found by name");
+		}
 		
 		
 		return clients;
 	}
 	
 	@Bean
-	public Config config(Pac4jProperties pac4jProperties, Clients clients, HttpActionAdapter httpActionAdapter) {
+	@ConditionalOnProperty(prefix = Pac4jMatchingProperties.PREFIX, value = "enabled", havingValue = "true")
+	public CompiledRequestMatcher compiledRequestMatcher(Pac4jMatchingProperties matchingProperties) {
+		
+		CompiledRequestMatcher matcher = new CompiledRequestMatcher();
+		if(ArrayUtils.isNotEmpty(matchingProperties.getExcludePaths())) {
+			for (String path : matchingProperties.getExcludePaths()) {
+				matcher.excludePath(path);
+			}
+		}
+		if(ArrayUtils.isNotEmpty(matchingProperties.getExcludeBranches())) {
+			for (String branch : matchingProperties.getExcludeBranches()) {
+				matcher.excludeBranch(branch);
+			}
+		}
+		if(ArrayUtils.isNotEmpty(matchingProperties.getExcludeRegexes())) {
+			for (String regex : matchingProperties.getExcludeRegexes()) {
+				matcher.excludeRegex(regex);
+			}
+		}
+		if(ArrayUtils.isNotEmpty(matchingProperties.getExcludeExtensions())) {
+			for (String extension : matchingProperties.getExcludeExtensions()) {
+				matcher.excludeExtension(extension);
+			}
+		}
+		if(ArrayUtils.isNotEmpty(matchingProperties.getMethods())) {
+			for (HTTP_METHOD method : httpMethods(matchingProperties.getMethods())) {
+				matcher.method(method);
+			}
+		}
+		if(StringUtils.hasText(matchingProperties.getHeaderName())) {
+			matcher.header(matchingProperties.getHeaderName(), 
+					StringUtils.hasText(matchingProperties.getHeaderValue()) ? matchingProperties.getHeaderValue() : null);
+		}
+		// 启动时完成编译，请求期间不再编译正则
+		return matcher.compile();
+	}
+	
+	@Bean
+	@ConditionalOnProperty(prefix = Pac4jAuthorizerPlannerProperties.PREFIX, value = "enabled", havingValue = "true")
+	public PlanningAuthorizationChecker planningAuthorizationChecker(Pac4jAuthorizerPlannerProperties plannerProperties) {
+		return new PlanningAuthorizationChecker(ArrayUtils.isNotEmpty(plannerProperties.getPinned()) 
+				? Arrays.asList(plannerProperties.getPinned()) : Collections.emptyList(), 
+				plannerProperties.getWarmup(), plannerProperties.getReplanInterval());
+	}
+	
+	@Bean
+	public Config config(Pac4jProperties pac4jProperties, Clients clients, ObjectProvider<HttpActionAdapter> httpActionAdapterProvider,
+			ObjectProvider<SessionStore> sessionStoreProvider, Pac4jMatchingProperties matchingProperties,
+			ObjectProvider<CompiledRequestMatcher> compiledRequestMatcherProvider,
+			ObjectProvider<PlanningAuthorizationChecker> authorizationCheckerProvider,
+			ObjectProvider<SecurityLogic<?, ?>> securityLogicProvider,
+			ObjectProvider<CallbackLogic<?, ?>> callbackLogicProvider) {
 		
 		final Config config = new Config(clients);
 		
-		if(StringUtils.hasText(pac4jProperties.getAllowedIpRegexpPattern())) {	
+		if(ArrayUtils.isNotEmpty(pac4jProperties.getAllowedIpRanges())) {
+			if(StringUtils.hasText(pac4jProperties.getAllowedIpRegexpPattern())) {
+				logger.warn("Both allowed-ip-ranges and allowed-ip-regexp-pattern are set, allowed-ip-regexp-pattern is ignored");
+			}
+			config.addAuthorizer("isIPAuthenticated", new IpRangeAuthorizer(IpRanges.parse(pac4jProperties.getAllowedIpRanges()),
+					IpRanges.parse(pac4jProperties.getTrustedProxies()), pac4jProperties.getForwardedForHeader()));
+		} else if(StringUtils.hasText(pac4jProperties.getAllowedIpRegexpPattern())) {	
 			config.addAuthorizer("isIPAuthenticated", new IpRegexpAuthorizer(pac4jProperties.getAllowedIpRegexpPattern()));
 		}
 		if(ArrayUtils.isNotEmpty(pac4jProperties.getAllowedHttpMethods())) {	
-			String[] allowedHttpMethods = pac4jProperties.getAllowedHttpMethods();
-			List<HTTP_METHOD> methods = new ArrayList<HTTP_METHOD>();
-			for (String method : allowedHttpMethods) {
-				methods.add(HTTP_METHOD.valueOf(method));
+			// 方法位集，替代逐个遍历 List 的 CheckHttpMethodAuthorizer
+			config.addAuthorizer("isMethodAuthenticated", new RequestShapeAuthorizer().methods(httpMethods(pac4jProperties.getAllowedHttpMethods())));
+		}
+		if(ArrayUtils.isNotEmpty(pac4jProperties.getAllowedContentTypes()) || ArrayUtils.isNotEmpty(pac4jProperties.getRequiredHeaders())) {
+			// 方法已由 isMethodAuthenticated 检查，这里只检查 Content-Type 与请求头，两者同时使用时不重复判断方法
+			RequestShapeAuthorizer requestShapeAuthorizer = new RequestShapeAuthorizer();
+			if(ArrayUtils.isNotEmpty(pac4jProperties.getAllowedContentTypes())) {
+				for (String contentType : pac4jProperties.getAllowedContentTypes()) {
+					requestShapeAuthorizer.contentType(contentType);
+				}
+			}
+			if(ArrayUtils.isNotEmpty(pac4jProperties.getRequiredHeaders())) {
+				for (String header : pac4jProperties.getRequiredHeaders()) {
+					requestShapeAuthorizer.requiredHeader(header);
+				}
 			}
-			config.addAuthorizer("isMethodAuthenticated", new CheckHttpMethodAuthorizer(methods));
+			config.addAuthorizer("isRequestShapeAuthenticated", requestShapeAuthorizer);
 		}
 		
-		/*excludePath
-		excludeRegex
-		excludeBranch
-		
-		[] methods
-		private String headerName;
-	    private String expectedValue;*/
-	    
-	    
-		//config.addMatcher("path", new AntPathMatcher().excludePath("").excludeBranch("").excludeRegex(""));
-		//config.addMatcher("header", new HeaderMatcher());
-		//config.addMatcher("method", new HttpMethodMatcher());
+		compiledRequestMatcherProvider.ifAvailable(matcher -> config.addMatcher(matchingProperties.getName(), matcher));
 		
 		config.setClients(clients);
-		config.setHttpActionAdapter(httpActionAdapter);
-		//config.setSessionStore(sessionStore);
+		// 响应式应用（WebFlux）由 Pac4jWebFilter 直接写响应，可不提供 HttpActionAdapter
+		httpActionAdapterProvider.ifAvailable(config::setHttpActionAdapter);
+		sessionStoreProvider.ifAvailable(config::setSessionStore);
+		// 应用提供的 SecurityLogic、CallbackLogic 优先，不被下面的默认实现覆盖
+		SecurityLogic<?, ?> securityLogic = securityLogicProvider.getIfAvailable();
+		CallbackLogic<?, ?> callbackLogic = callbackLogicProvider.getIfAvailable();
+		PlanningAuthorizationChecker authorizationChecker = authorizationCheckerProvider.getIfAvailable();
+		if(securityLogic != null) {
+			config.setSecurityLogic(securityLogic);
+			if(authorizationChecker != null || clients instanceof IndexedClients) {
+				logger.warn("SecurityLogic bean {} is used as is, the authorizer planner and the client index are not applied to it", securityLogic);
+			}
+		} else if(authorizationChecker != null || clients instanceof IndexedClients) {
+			DefaultSecurityLogic<?, ?> defaultSecurityLogic = new DefaultSecurityLogic<>();
+			if(authorizationChecker != null) {
+				// 授权器链按实测耗时与拒绝率重排，名称取自 Config 中注册的授权器
+				authorizationChecker.setNamedAuthorizers(config.getAuthorizers());
+				defaultSecurityLogic.setAuthorizationChecker(authorizationChecker);
+			}
+			if(clients instanceof IndexedClients) {
+				defaultSecurityLogic.setClientFinder(new IndexedSecurityClientFinder());
+			}
+			config.setSecurityLogic(defaultSecurityLogic);
+		}
+		if(callbackLogic != null) {
+			config.setCallbackLogic(callbackLogic);
+		} else if(clients instanceof IndexedClients) {
+			DefaultCallbackLogic<?, ?> defaultCallbackLogic = new DefaultCallbackLogic<>();
+			defaultCallbackLogic.setClientFinder(new IndexedCallbackClientFinder());
+			config.setCallbackLogic(defaultCallbackLogic);
+		}
 		
 		return config;
 	}
+	
+	protected HTTP_METHOD[] httpMethods(String[] methods) {
+		List<HTTP_METHOD> httpMethods = new ArrayList<HTTP_METHOD>();
+		for (String method : methods) {
+			httpMethods.add(HTTP_METHOD.valueOf(method.trim().toUpperCase()));
+		}
+		return httpMethods.toArray(new HTTP_METHOD[0]);
+	}
 }
 
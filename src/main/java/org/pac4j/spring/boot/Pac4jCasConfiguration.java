@@ -11,7 +11,14 @@ import org.pac4j.cas.config.CasConfiguration;
 import org.pac4j.core.http.callback.CallbackUrlResolver;
 import org.pac4j.core.http.url.UrlResolver;
 import org.pac4j.core.logout.handler.LogoutHandler;
+import org.pac4j.spring.boot.cas.CachingCasConfiguration;
+import org.pac4j.spring.boot.cas.CasRestTicketGrantingTicketCache;
+import org.pac4j.spring.boot.cas.CasTicketValidationCache;
+import org.pac4j.spring.boot.cas.TemplatedCasRedirectionActionBuilder;
+import org.pac4j.spring.boot.cas.TicketGrantingTicketReusingCasRestBasicAuthClient;
+import org.pac4j.spring.boot.cas.TicketGrantingTicketReusingCasRestFormClient;
 import org.pac4j.spring.boot.utils.Pac4jUrlUtils;
+import org.pac4j.spring.boot.utils.UrlTemplate;
 import org.pac4j.spring.boot.utils.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +51,24 @@ public class Pac4jCasConfiguration {
 		return proxyReceptor;
 	}
 
+	@Bean
+	@ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+	@ConditionalOnProperty(prefix = Pac4jCasProperties.PREFIX, value = "ticket-cache.enabled", havingValue = "true")
+	public CasTicketValidationCache casTicketValidationCache() {
+		Pac4jCasTicketCacheProperties cacheProperties = pac4jCasProperties.getTicketCache();
+		return new CasTicketValidationCache(cacheProperties.getMaximumSize(), cacheProperties.getTimeToLive(),
+				pac4jCasProperties.getTolerance(), cacheProperties.isRecordStats());
+	}
+
+	@Bean
+	@ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+	@ConditionalOnProperty(prefix = Pac4jCasProperties.PREFIX, value = "tgt-cache.enabled", havingValue = "true")
+	public CasRestTicketGrantingTicketCache casRestTicketGrantingTicketCache() {
+		Pac4jCasTgtCacheProperties cacheProperties = pac4jCasProperties.getTgtCache();
+		return new CasRestTicketGrantingTicketCache(cacheProperties.getMaximumSize(), cacheProperties.getTimeToLive(),
+				cacheProperties.isRecordStats());
+	}
+
 	@Bean
 	public CasConfiguration casConfiguration(
 			ObjectProvider<LogoutHandler> logoutHandlerProvider,
@@ -51,6 +76,31 @@ public class Pac4jCasConfiguration {
 			ObjectProvider<CasProxyReceptor> proxyReceptorProvider) {
 
 		CasConfiguration configuration = new CasConfiguration(pac4jCasProperties.getLoginUrl(), pac4jCasProperties.getProtocol() );
+		return this.applyProperties(configuration, logoutHandlerProvider, urlResolverProvider, proxyReceptorProvider);
+	}
+
+	/**
+	 * 票据验证缓存仅用于 DirectCasClient、DirectCasProxyClient：交互式 CasClient 的 Service Ticket 为一次性票据，
+	 * 共享缓存会使其在缓存有效期内可被重放，因此各 Direct 客户端使用独立的 {@link CachingCasConfiguration}
+	 */
+	private CasConfiguration directCasConfiguration(CasConfiguration configuration,
+			ObjectProvider<LogoutHandler> logoutHandlerProvider,
+			ObjectProvider<UrlResolver> urlResolverProvider,
+			ObjectProvider<CasProxyReceptor> proxyReceptorProvider,
+			ObjectProvider<CasTicketValidationCache> ticketValidationCacheProvider) {
+
+		CasTicketValidationCache ticketValidationCache = ticketValidationCacheProvider.getIfAvailable();
+		if (ticketValidationCache == null) {
+			return configuration;
+		}
+		CasConfiguration cachingConfiguration = new CachingCasConfiguration(pac4jCasProperties.getLoginUrl(), pac4jCasProperties.getProtocol(), ticketValidationCache);
+		return this.applyProperties(cachingConfiguration, logoutHandlerProvider, urlResolverProvider, proxyReceptorProvider);
+	}
+
+	private CasConfiguration applyProperties(CasConfiguration configuration,
+			ObjectProvider<LogoutHandler> logoutHandlerProvider,
+			ObjectProvider<UrlResolver> urlResolverProvider,
+			ObjectProvider<CasProxyReceptor> proxyReceptorProvider) {
 
 		if(pac4jCasProperties.isAcceptAnyProxy() && StringUtils.hasText(pac4jCasProperties.getAllowedProxyChains())) {
 			configuration.setAcceptAnyProxy(pac4jCasProperties.isAcceptAnyProxy());
@@ -95,23 +145,38 @@ public class Pac4jCasConfiguration {
 
 		String clientName = StringUtils.hasText(pac4jCasProperties.getCasClientName()) ? pac4jCasProperties.getCasClientName() : Pac4jClientNames.CAS_CLIENT;
 		String serviceUrl = Pac4jUrlUtils.constructRedirectUrl(pac4jCasProperties.getServiceUrl(), pac4jProperties.getClientParameterName(), clientName);
-		String callbackUrl =  CommonUtils.constructRedirectUrl(pac4jCasProperties.getLoginUrl(), pac4jCasProperties.getServiceParameterName(),
-				serviceUrl, pac4jCasProperties.isRenew(), pac4jCasProperties.isGateway());
+		UrlTemplate.Builder callbackUrlBuilder = UrlTemplate.of(pac4jCasProperties.getLoginUrl())
+				.param(pac4jCasProperties.getServiceParameterName(), serviceUrl);
+		if (pac4jCasProperties.isRenew()) {
+			callbackUrlBuilder.param("renew", "true");
+		}
+		if (pac4jCasProperties.isGateway()) {
+			callbackUrlBuilder.param("gateway", "true");
+		}
+		String callbackUrl = callbackUrlBuilder.build().expand();
 
 		casClient.setCallbackUrl( callbackUrl);
 		casClient.setCallbackUrlResolver(callbackUrlResolver);
 		casClient.setName(clientName);
+		if (pac4jCasProperties.isPrecomputeRedirectUrls()) {
+			casClient.setRedirectionActionBuilder(new TemplatedCasRedirectionActionBuilder(configuration, casClient));
+		}
 
 		return casClient;
 	}
 
 	@Bean
 	@ConditionalOnProperty(prefix = Pac4jCasProperties.PREFIX, value = Pac4jClientNames.DIRECT_CAS_CLIENT, havingValue = "true")
-	public DirectCasClient directCasClient(CasConfiguration configuration, CallbackUrlResolver callbackUrlResolver) {
+	public DirectCasClient directCasClient(CasConfiguration configuration, CallbackUrlResolver callbackUrlResolver,
+			ObjectProvider<LogoutHandler> logoutHandlerProvider,
+			ObjectProvider<UrlResolver> urlResolverProvider,
+			ObjectProvider<CasProxyReceptor> proxyReceptorProvider,
+			ObjectProvider<CasTicketValidationCache> ticketValidationCacheProvider) {
 
 		DirectCasClient casClient = new DirectCasClient();
 
-		casClient.setConfiguration(configuration);
+		casClient.setConfiguration(this.directCasConfiguration(configuration, logoutHandlerProvider, urlResolverProvider,
+				proxyReceptorProvider, ticketValidationCacheProvider));
 		casClient.setCallbackUrlResolver(callbackUrlResolver);
 		casClient.setName(StringUtils.hasText(pac4jCasProperties.getDirectCasClientName()) ? pac4jCasProperties.getDirectCasClientName() : Pac4jClientNames.DIRECT_CAS_CLIENT);
 
@@ -120,11 +185,16 @@ public class Pac4jCasConfiguration {
 
 	@Bean
 	@ConditionalOnProperty(prefix = Pac4jCasProperties.PREFIX, value = Pac4jClientNames.DIRECT_CAS_PROXY_CLIENT, havingValue = "true")
-	public DirectCasProxyClient directCasProxyClient(CasConfiguration configuration, CallbackUrlResolver callbackUrlResolver) {
+	public DirectCasProxyClient directCasProxyClient(CasConfiguration configuration, CallbackUrlResolver callbackUrlResolver,
+			ObjectProvider<LogoutHandler> logoutHandlerProvider,
+			ObjectProvider<UrlResolver> urlResolverProvider,
+			ObjectProvider<CasProxyReceptor> proxyReceptorProvider,
+			ObjectProvider<CasTicketValidationCache> ticketValidationCacheProvider) {
 
 		DirectCasProxyClient casClient = new DirectCasProxyClient();
 
-		casClient.setConfiguration(configuration);
+		casClient.setConfiguration(this.directCasConfiguration(configuration, logoutHandlerProvider, urlResolverProvider,
+				proxyReceptorProvider, ticketValidationCacheProvider));
 		casClient.setCallbackUrlResolver(callbackUrlResolver);
 		casClient.setName(StringUtils.hasText(pac4jCasProperties.getDirectCasProxyClientName()) ? pac4jCasProperties.getDirectCasProxyClientName() : Pac4jClientNames.DIRECT_CAS_PROXY_CLIENT);
 		casClient.setServiceUrl(pac4jCasProperties.getPrefixUrl());
@@ -134,9 +204,13 @@ public class Pac4jCasConfiguration {
 
 	@Bean
 	@ConditionalOnProperty(prefix = Pac4jCasProperties.PREFIX, value = Pac4jClientNames.CAS_REST_BASIC_AUTH_CLIENT, havingValue = "true")
-	public CasRestBasicAuthClient casRestBasicAuthClient(CasConfiguration configuration) {
+	public CasRestBasicAuthClient casRestBasicAuthClient(CasConfiguration configuration,
+			ObjectProvider<CasRestTicketGrantingTicketCache> ticketGrantingTicketCacheProvider) {
 
-		CasRestBasicAuthClient casClient = new CasRestBasicAuthClient();
+		CasRestTicketGrantingTicketCache ticketGrantingTicketCache = ticketGrantingTicketCacheProvider.getIfAvailable();
+		CasRestBasicAuthClient casClient = ticketGrantingTicketCache != null
+				? new TicketGrantingTicketReusingCasRestBasicAuthClient(ticketGrantingTicketCache)
+				: new CasRestBasicAuthClient();
 
 		casClient.setConfiguration(configuration);
 		casClient.setName(StringUtils.hasText(pac4jCasProperties.getCasRestBasicAuthClientName()) ? pac4jCasProperties.getCasRestBasicAuthClientName() : Pac4jClientNames.CAS_REST_BASIC_AUTH_CLIENT);
@@ -153,12 +227,16 @@ public class Pac4jCasConfiguration {
 
 	@Bean
 	@ConditionalOnProperty(prefix = Pac4jCasProperties.PREFIX, value = Pac4jClientNames.CAS_REST_FORM_CLIENT, havingValue = "true")
-	public CasRestFormClient casRestFormClient(CasConfiguration configuration) {
+	public CasRestFormClient casRestFormClient(CasConfiguration configuration,
+			ObjectProvider<CasRestTicketGrantingTicketCache> ticketGrantingTicketCacheProvider) {
 
 		/*
 		 *  通过rest接口可以获取tgt，获取service ticket，甚至可以获取CasProfile
 		 */
-		CasRestFormClient casClient = new CasRestFormClient();
+		CasRestTicketGrantingTicketCache ticketGrantingTicketCache = ticketGrantingTicketCacheProvider.getIfAvailable();
+		CasRestFormClient casClient = ticketGrantingTicketCache != null
+				? new TicketGrantingTicketReusingCasRestFormClient(ticketGrantingTicketCache)
+				: new CasRestFormClient();
 
 		casClient.setConfiguration(configuration);
 		casClient.setName(StringUtils.hasText(pac4jCasProperties.getCasRestFormClientName()) ? pac4jCasProperties.getCasRestFormClientName() : Pac4jClientNames.CAS_REST_FORM_CLIENT);
@@ -24,6 +24,7 @@ import org.pac4j.cas.config.CasProtocol;
 import org.pac4j.core.context.HttpConstants;
 import org.pac4j.core.util.Pac4jConstants;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -116,6 +117,8 @@ public class Pac4jCasProperties {
     /** CasClient */
 	private boolean casClient = false;
     private String casClientName = "cas";
+    /** Whether the login redirection urls of CasClient are built from a template compiled once, instead of concatenated and encoded per request. */
+    private boolean precomputeRedirectUrls = true;
     
     /** DirectCasClient */
     
@@ -140,5 +143,15 @@ public class Pac4jCasProperties {
     private String casRestFormClientName = "cas-rest-form";
     private String usernameParameterName = Pac4jConstants.USERNAME;
     private String passwordParameterName = Pac4jConstants.PASSWORD;
+    
+    /** Validated ticket cache, mainly for the proxy tickets replayed to DirectCasClient and DirectCasProxyClient */
+    
+    @NestedConfigurationProperty
+    private Pac4jCasTicketCacheProperties ticketCache = new Pac4jCasTicketCacheProperties();
+    
+    /** Ticket Granting Ticket reuse of CasRestFormClient and CasRestBasicAuthClient */
+    
+    @NestedConfigurationProperty
+    private Pac4jCasTgtCacheProperties tgtCache = new Pac4jCasTgtCacheProperties();
 	
 }
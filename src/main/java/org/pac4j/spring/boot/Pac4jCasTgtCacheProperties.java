@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jCasTgtCacheProperties {
+
+	/** Whether CasRestFormClient and CasRestBasicAuthClient should reuse the Ticket Granting Ticket of already authenticated credentials. */
+	private boolean enabled = false;
+	/** Maximum number of credentials whose Ticket Granting Ticket is kept. */
+	private long maximumSize = 1000L;
+	/** Lifetime of a kept Ticket Granting Ticket, should be lower than the CAS server TGT expiration policy. */
+	private Duration timeToLive = Duration.ofMinutes(30);
+	/** Whether hit/miss statistics should be recorded. */
+	private boolean recordStats = true;
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.util.concurrent.ExecutorService;
+
+import org.pac4j.core.client.Clients;
+import org.pac4j.spring.boot.executor.ClientsExecutorInstrumenter;
+import org.pac4j.spring.boot.executor.EndpointLimiter;
+import org.pac4j.spring.boot.executor.Pac4jExecutors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Off-loads the blocking calls of the CAS and OAuth clients to virtual threads (Java 21+) or a platform thread pool,
+ * with a bounded number of concurrent calls per remote endpoint.
+ */
+@Configuration
+@AutoConfigureAfter(Pac4jAutoConfiguration.class)
+@ConditionalOnClass({ Clients.class })
+@Conditional(Pac4jExecutorConfiguration.OnExecutorEnabledCondition.class)
+@EnableConfigurationProperties({ Pac4jExecutorProperties.class })
+public class Pac4jExecutorConfiguration {
+
+	public static final String EXECUTOR_BEAN_NAME = "pac4jExecutorService";
+
+	@Bean(name = EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+	@ConditionalOnMissingBean(name = EXECUTOR_BEAN_NAME)
+	public ExecutorService pac4jExecutorService(Pac4jExecutorProperties executorProperties) {
+		return Pac4jExecutors.newExecutorService(executorProperties);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public EndpointLimiter pac4jEndpointLimiter(@Qualifier(EXECUTOR_BEAN_NAME) ExecutorService executorService,
+			Pac4jExecutorProperties executorProperties) {
+		return new EndpointLimiter(executorService, executorProperties.getMaxConcurrentCalls(),
+				executorProperties.getEndpointLimits(), executorProperties.getAcquireTimeout(),
+				executorProperties.getCallTimeout());
+	}
+
+	@Bean
+	@ConditionalOnBean(Clients.class)
+	public ClientsExecutorInstrumenter clientsExecutorInstrumenter(Clients clients, EndpointLimiter endpointLimiter) {
+		return new ClientsExecutorInstrumenter(clients, endpointLimiter);
+	}
+
+	static class OnExecutorEnabledCondition extends AnyNestedCondition {
+
+		OnExecutorEnabledCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = Pac4jExecutorProperties.PREFIX, value = "enabled", havingValue = "true")
+		static class Enabled {
+		}
+
+		@ConditionalOnProperty(prefix = Pac4jExecutorProperties.PREFIX, value = "virtual-threads", havingValue = "true")
+		static class VirtualThreads {
+		}
+
+	}
+
+}
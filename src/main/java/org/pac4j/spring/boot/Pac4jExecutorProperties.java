@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jExecutorProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jExecutorProperties {
+
+	public static final String PREFIX = "pac4j.executor";
+
+	/** Whether Enable the off-loading of the blocking client calls (also enabled by virtual-threads=true). */
+	private boolean enabled = false;
+	/** Whether the blocking calls run on virtual threads (Java 21+); a platform thread pool is used on older runtimes. */
+	private boolean virtualThreads = false;
+	/** Core size of the platform thread pool. */
+	private int corePoolSize = Runtime.getRuntime().availableProcessors();
+	/** Maximum size of the platform thread pool. */
+	private int maxPoolSize = 200;
+	/** Idle time before a non core platform thread is released. */
+	private Duration keepAlive = Duration.ofSeconds(60);
+	/** Maximum number of concurrent calls to one remote endpoint (CAS server, OAuth provider). */
+	private int maxConcurrentCalls = 64;
+	/** Per endpoint (host) override of max-concurrent-calls, i.e. "[cas.example.com]": 16 */
+	private Map<String, Integer> endpointLimits = new LinkedHashMap<>();
+	/** Maximum time waiting for a slot of a saturated endpoint before the authentication fails. */
+	private Duration acquireTimeout = Duration.ofMillis(500);
+	/** Maximum duration of a call, after which it is interrupted and the authentication fails; none if null. */
+	private Duration callTimeout = Duration.ofSeconds(10);
+
+}
@@ -15,10 +15,18 @@
  */
 package org.pac4j.spring.boot;
 
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.http.client.direct.DirectBasicAuthClient;
 import org.pac4j.http.client.indirect.FormClient;
 import org.pac4j.http.client.indirect.IndirectBasicAuthClient;
 import org.pac4j.http.credentials.authenticator.test.SimpleTestUsernamePasswordAuthenticator;
+import org.pac4j.spring.boot.http.CachingUsernamePasswordAuthenticator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -26,6 +34,9 @@ import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @AutoConfigureBefore(Pac4jAutoConfiguration.class)
@@ -34,14 +45,27 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties({ Pac4jHttpProperties.class, Pac4jProperties.class, ServerProperties.class })
 public class Pac4jHttpConfiguration {
 
+	private static final Logger LOG = LoggerFactory.getLogger(Pac4jHttpConfiguration.class);
+	
+	private final BeanFactory beanFactory;
+	private final ObjectProvider<Authenticator<UsernamePasswordCredentials>> authenticatorProvider;
+	
+	/** The three clients share one authenticator, so that they also share its verified credentials cache. */
+	private Authenticator<UsernamePasswordCredentials> usernamePasswordAuthenticator;
+	
+	public Pac4jHttpConfiguration(BeanFactory beanFactory,
+			ObjectProvider<Authenticator<UsernamePasswordCredentials>> authenticatorProvider) {
+		this.beanFactory = beanFactory;
+		this.authenticatorProvider = authenticatorProvider;
+	}
+	
 	@Bean
  	@ConditionalOnProperty(prefix = Pac4jHttpProperties.PREFIX, value = Pac4jClientNames.FORM_CLIENT, havingValue = "true")
  	public FormClient formClient(Pac4jHttpProperties pac4jHttpProperties) {
 
-		SimpleTestUsernamePasswordAuthenticator usernamePasswordAuthenticator = new SimpleTestUsernamePasswordAuthenticator();
 		final FormClient formClient = new FormClient(pac4jHttpProperties.getLoginUrl(),
 				pac4jHttpProperties.getUsernameParameter(), pac4jHttpProperties.getPasswordParameter(),
-				usernamePasswordAuthenticator);
+				usernamePasswordAuthenticator(pac4jHttpProperties));
 		
  		return formClient;
  	}
@@ -50,9 +74,8 @@ public class Pac4jHttpConfiguration {
 	@ConditionalOnProperty(prefix = Pac4jHttpProperties.PREFIX, value = Pac4jClientNames.INDIRECT_BASIC_AUTH_CLIENT, havingValue = "true")
 	public IndirectBasicAuthClient indirectBasicAuthClient(Pac4jHttpProperties pac4jHttpProperties) {
 		
-		final SimpleTestUsernamePasswordAuthenticator usernamePasswordAuthenticator = new SimpleTestUsernamePasswordAuthenticator();
-		
-		final IndirectBasicAuthClient indirectBasicAuthClient = new IndirectBasicAuthClient(pac4jHttpProperties.getRealmName(), usernamePasswordAuthenticator);
+		final IndirectBasicAuthClient indirectBasicAuthClient = new IndirectBasicAuthClient(pac4jHttpProperties.getRealmName(), 
+				usernamePasswordAuthenticator(pac4jHttpProperties));
 
 		return indirectBasicAuthClient;
 	}
@@ -61,12 +84,57 @@ public class Pac4jHttpConfiguration {
 	@ConditionalOnProperty(prefix = Pac4jHttpProperties.PREFIX, value = Pac4jClientNames.DIRECT_BASIC_AUTH_CLIENT, havingValue = "true")
 	public DirectBasicAuthClient directBasicAuthClient(Pac4jHttpProperties pac4jHttpProperties) {
 		
-		final SimpleTestUsernamePasswordAuthenticator usernamePasswordAuthenticator = new SimpleTestUsernamePasswordAuthenticator();
 		// basic auth
-	    final DirectBasicAuthClient directBasicAuthClient = new DirectBasicAuthClient(usernamePasswordAuthenticator);
+	    final DirectBasicAuthClient directBasicAuthClient = new DirectBasicAuthClient(usernamePasswordAuthenticator(pac4jHttpProperties));
 	    
 		return directBasicAuthClient;
 		
 	}
 	
+	/**
+	 * Resolve the username/password authenticator: the bean named by {@code pac4j.http.authenticator} if any, 
+	 * else the unique {@code Authenticator<UsernamePasswordCredentials>} bean, else - only when no such bean exists 
+	 * at all - the pac4j test authenticator (username == password), wrapped by a verified credentials cache when enabled.
+	 * A named bean of the wrong type or several candidates without a name fail the startup instead of falling back.
+	 */
+	@SuppressWarnings("unchecked")
+	protected synchronized Authenticator<UsernamePasswordCredentials> usernamePasswordAuthenticator(Pac4jHttpProperties pac4jHttpProperties) {
+		if (usernamePasswordAuthenticator != null) {
+			return usernamePasswordAuthenticator;
+		}
+		Authenticator<UsernamePasswordCredentials> authenticator;
+		if (StringUtils.hasText(pac4jHttpProperties.getAuthenticator())) {
+			if (!beanFactory.isTypeMatch(pac4jHttpProperties.getAuthenticator(), 
+					ResolvableType.forClassWithGenerics(Authenticator.class, UsernamePasswordCredentials.class))) {
+				throw new IllegalStateException("Bean '" + pac4jHttpProperties.getAuthenticator() 
+						+ "' set by pac4j.http.authenticator is not an Authenticator<UsernamePasswordCredentials>");
+			}
+			authenticator = beanFactory.getBean(pac4jHttpProperties.getAuthenticator(), Authenticator.class);
+		} else {
+			try {
+				authenticator = authenticatorProvider.getIfAvailable();
+			} catch (NoUniqueBeanDefinitionException e) {
+				throw new IllegalStateException("Several Authenticator<UsernamePasswordCredentials> beans found, "
+						+ "set pac4j.http.authenticator to the name of the one to use", e);
+			}
+		}
+		if (authenticator == null) {
+			LOG.warn("No username/password Authenticator bean found, "
+					+ "falling back to SimpleTestUsernamePasswordAuthenticator which must not be used in production");
+			authenticator = new SimpleTestUsernamePasswordAuthenticator();
+		}
+		
+		Pac4jHttpCredentialsCacheProperties cacheProperties = pac4jHttpProperties.getCredentialsCache();
+		if (cacheProperties.isEnabled()) {
+			if (ClassUtils.isPresent("com.github.benmanes.caffeine.cache.Caffeine", getClass().getClassLoader())) {
+				authenticator = new CachingUsernamePasswordAuthenticator(authenticator, cacheProperties.getMaximumSize(),
+						cacheProperties.getTimeToLive(), cacheProperties.isRecordStats());
+			} else {
+				LOG.warn("pac4j.http.credentials-cache.enabled is set but Caffeine is not on the classpath, the cache is disabled");
+			}
+		}
+		usernamePasswordAuthenticator = authenticator;
+		return authenticator;
+	}
+	
 }
@@ -17,6 +17,7 @@ package org.pac4j.spring.boot;
 
 import org.pac4j.core.util.Pac4jConstants;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -37,6 +38,13 @@ public class Pac4jHttpProperties {
 	private String loginUrl;
     private String usernameParameter = Pac4jConstants.USERNAME;
     private String passwordParameter = Pac4jConstants.PASSWORD;
+    
+    /** Name of the username/password Authenticator bean, required when several are defined; the unique one is used otherwise. */
+    private String authenticator;
+    
+    /** Verified credentials cache in front of the authenticator */
+    @NestedConfigurationProperty
+    private Pac4jHttpCredentialsCacheProperties credentialsCache = new Pac4jHttpCredentialsCacheProperties();
 	
     /** DirectCasProxyClient */
     
@@ -86,6 +94,22 @@ public class Pac4jHttpProperties {
 		this.passwordParameter = passwordParameter;
 	}
 
+	public String getAuthenticator() {
+		return authenticator;
+	}
+
+	public void setAuthenticator(String authenticator) {
+		this.authenticator = authenticator;
+	}
+
+	public Pac4jHttpCredentialsCacheProperties getCredentialsCache() {
+		return credentialsCache;
+	}
+
+	public void setCredentialsCache(Pac4jHttpCredentialsCacheProperties credentialsCache) {
+		this.credentialsCache = credentialsCache;
+	}
+
 	public boolean isFormClient() {
 		return formClient;
 	}
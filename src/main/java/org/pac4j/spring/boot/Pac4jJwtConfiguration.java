@@ -15,9 +15,15 @@
  */
 package org.pac4j.spring.boot;
 
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.ext.authentication.AuthenticatingFailureCounter;
 import org.pac4j.core.ext.authentication.UsernamePasswordCaptchaAuthenticator;
 import org.pac4j.core.ext.authentication.UsernamePasswordCaptchaFormClient;
@@ -36,17 +42,40 @@ import org.pac4j.jwt.config.encryption.SecretEncryptionConfiguration;
 import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
 import org.pac4j.jwt.config.signature.SignatureConfiguration;
 import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.spring.boot.jwt.CachingJwtAuthenticator;
+import org.pac4j.spring.boot.jwt.InMemoryJwtRevocationStore;
+import org.pac4j.spring.boot.jwt.JwksServlet;
+import org.pac4j.spring.boot.jwt.JwtKeyLoader;
+import org.pac4j.spring.boot.jwt.JwtKeyring;
+import org.pac4j.spring.boot.jwt.JwtKeys;
+import org.pac4j.spring.boot.jwt.JwtRevocationList;
+import org.pac4j.spring.boot.jwt.JwtRevocationLogoutFilter;
+import org.pac4j.spring.boot.jwt.JwtRevocationStore;
+import org.pac4j.spring.boot.jwt.JwtTokenIssuer;
+import org.pac4j.spring.boot.jwt.RemoteJwkSet;
+import org.pac4j.spring.boot.jwt.RedisJwtRevocationStore;
+import org.pac4j.spring.boot.jwt.RemoteJwksSignatureConfiguration;
+import org.pac4j.spring.boot.jwt.RevocationCheckingJwtAuthenticator;
+import org.pac4j.spring.boot.jwt.SignatureConfigurationSelector;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.StringUtils;
 
 import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JWEAlgorithm;
@@ -62,8 +91,12 @@ public class Pac4jJwtConfiguration {
 	@Autowired
 	private Pac4jJwtProperties jwtProperties;
 
+	/**
+	 * 静态密钥仅在配置了 encrypt-secret 且未开启 keyring 时创建：开启 keyring 后旧密钥需随 keyring 退役，不能一直有效
+	 */
 	@Bean
 	@ConditionalOnMissingBean
+	@Conditional(OnEncryptSecretCondition.class)
 	public EncryptionConfiguration encryptionConfiguration() {
 		SecretEncryptionConfiguration encryptionConfiguration = new SecretEncryptionConfiguration(
 				jwtProperties.getEncryptSecret(), JWEAlgorithm.parse(jwtProperties.getJweAlgorithm().value()),
@@ -73,29 +106,132 @@ public class Pac4jJwtConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
+	@Conditional(OnSignSecretCondition.class)
 	public SignatureConfiguration signatureConfiguration() {
 		return new SecretSignatureConfiguration(jwtProperties.getSignSecret(),
 				JWSAlgorithm.parse(jwtProperties.getJwsAlgorithm().value()));
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public JwtKeys jwtKeys() {
+		return new JwtKeys(jwtProperties.getKeys().stream().map(JwtKeyLoader::load).collect(Collectors.toList()));
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "keyring.enabled", havingValue = "true")
+	public JwtKeyring jwtKeyring() {
+
+		Pac4jJwtKeyringProperties keyringProperties = jwtProperties.getKeyring();
+		JwtKeyring keyring = new JwtKeyring(Paths.get(keyringProperties.getLocation()), keyringProperties.isWatch(),
+				keyringProperties.getReloadDelay().toMillis(), JWSAlgorithm.parse(jwtProperties.getJwsAlgorithm().value()),
+				JWEAlgorithm.parse(jwtProperties.getJweAlgorithm().value()),
+				EncryptionMethod.parse(jwtProperties.getEncryption().value()));
+		keyring.start();
+		return keyring;
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "remote-jwks.enabled", havingValue = "true")
+	public RemoteJwkSet remoteJwkSet() throws MalformedURLException {
+
+		Pac4jJwtRemoteJwksProperties remoteJwksProperties = jwtProperties.getRemoteJwks();
+		RemoteJwkSet remoteJwkSet = new RemoteJwkSet(new URL(remoteJwksProperties.getUrl()),
+				remoteJwksProperties.getRefreshInterval(), remoteJwksProperties.getMinRefetchInterval(),
+				remoteJwksProperties.getConnectTimeout(), remoteJwksProperties.getReadTimeout(),
+				remoteJwksProperties.getSizeLimit());
+		remoteJwkSet.start();
+		return remoteJwkSet;
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public JwtAuthenticator jwtAuthenticator(
 			ObjectProvider<ValueGenerator> identifierGeneratorProvider,
 			ObjectProvider<SignatureConfiguration> signatureConfigurationProvider,
-			ObjectProvider<EncryptionConfiguration> encryptionConfigurationProvider) {
+			ObjectProvider<EncryptionConfiguration> encryptionConfigurationProvider,
+			ObjectProvider<JwtKeys> jwtKeysProvider,
+			ObjectProvider<JwtKeyring> jwtKeyringProvider,
+			ObjectProvider<RemoteJwkSet> remoteJwkSetProvider) {
 
 		JwtAuthenticator authenticator = new JwtAuthenticator();
 		authenticator.setIdentifierGenerator(identifierGeneratorProvider.getIfAvailable(() -> new RandomValueGenerator(){}));
-		authenticator.setEncryptionConfigurations(encryptionConfigurationProvider.stream().collect(Collectors.toList()));
+		List<EncryptionConfiguration> encryptionConfigurations = encryptionConfigurationProvider.stream().collect(Collectors.toList());
+		JwtKeyring keyring = jwtKeyringProvider.getIfAvailable();
+		if (keyring != null) {
+			// keyring 中有加密密钥时排在最前，新签发的令牌无需先尝试静态密钥
+			if (keyring.getEncryptionConfiguration().canEncrypt()) {
+				encryptionConfigurations.add(0, keyring.getEncryptionConfiguration());
+			} else {
+				encryptionConfigurations.add(keyring.getEncryptionConfiguration());
+			}
+		}
+		authenticator.setEncryptionConfigurations(encryptionConfigurations);
 		//authenticator.setExpirationTime(expirationTime);
 		//authenticator.setProfileDefinition(profileDefinition);
 		//authenticator.setRealmName(realmName);
-		authenticator.setSignatureConfigurations(signatureConfigurationProvider.stream().collect(Collectors.toList()));
+		List<SignatureConfiguration> signatureConfigurations = signatureConfigurationProvider.stream().collect(Collectors.toList());
+		if (keyring != null) {
+			signatureConfigurations.add(0, keyring.getSignatureConfiguration());
+		}
+		jwtKeysProvider.ifAvailable(jwtKeys -> signatureConfigurations.addAll(jwtKeys.getSignatureConfigurations()));
+		remoteJwkSetProvider.ifAvailable(remoteJwkSet -> signatureConfigurations.add(new RemoteJwksSignatureConfiguration(remoteJwkSet)));
+		if (jwtProperties.isKeyIdIndex() && signatureConfigurations.size() > 1) {
+			authenticator.setSignatureConfigurations(Collections.singletonList(new SignatureConfigurationSelector(signatureConfigurations)));
+		} else {
+			authenticator.setSignatureConfigurations(signatureConfigurations);
+		}
 
 		return authenticator;
 	}
 
+	@Bean
+	@ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+	@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "cache.enabled", havingValue = "true")
+	public CachingJwtAuthenticator cachingJwtAuthenticator(JwtAuthenticator jwtAuthenticator) {
+
+		Pac4jJwtCacheProperties cacheProperties = jwtProperties.getCache();
+		return new CachingJwtAuthenticator(jwtAuthenticator, cacheProperties.getMaximumSize(),
+				cacheProperties.getTimeToLive(), cacheProperties.isRecordStats());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "token.enabled", havingValue = "true")
+	public JwtTokenIssuer jwtTokenIssuer(ObjectProvider<SignatureConfiguration> signatureConfigurationProvider,
+			ObjectProvider<EncryptionConfiguration> encryptionConfigurationProvider,
+			ObjectProvider<JwtKeys> jwtKeysProvider,
+			ObjectProvider<JwtKeyring> jwtKeyringProvider) {
+
+		Pac4jJwtTokenProperties tokenProperties = jwtProperties.getToken();
+		JwtKeyring keyring = jwtKeyringProvider.getIfAvailable();
+		EncryptionConfiguration encryptionConfiguration = null;
+		if (tokenProperties.isEncrypt()) {
+			if (keyring != null && keyring.getEncryptionConfiguration().canEncrypt()) {
+				encryptionConfiguration = keyring.getEncryptionConfiguration();
+			} else if (StringUtils.hasText(jwtProperties.getEncryptSecret())) {
+				encryptionConfiguration = encryptionConfigurationProvider.getIfAvailable();
+			}
+		}
+		// keyring 始终使用最新生效的密钥签名；其次配置了私钥时优先使用非对称密钥签名，校验方无需持有签名密钥
+		JwtKeys jwtKeys = jwtKeysProvider.getIfAvailable();
+		SignatureConfiguration issuingConfiguration;
+		if (keyring != null) {
+			issuingConfiguration = keyring.getSignatureConfiguration();
+		} else if (jwtKeys != null && jwtKeys.getSigningConfiguration() != null) {
+			issuingConfiguration = jwtKeys.getSigningConfiguration();
+		} else {
+			issuingConfiguration = signatureConfigurationProvider.getIfAvailable();
+		}
+		if (issuingConfiguration == null) {
+			throw new IllegalStateException("No key to sign the tokens with, set pac4j.jwt.sign-secret, pac4j.jwt.keys or pac4j.jwt.keyring");
+		}
+		return new JwtTokenIssuer(issuingConfiguration, encryptionConfiguration, tokenProperties.getTimeToLive(),
+				tokenProperties.getIssuer(), tokenProperties.isJwtId());
+	}
+
 	@Bean("jwtUpcAuthenticator")
 	public UsernamePasswordCaptchaAuthenticator jwtUpcAuthenticator(CaptchaResolver captchaResolver,
 			AuthenticatingFailureCounter failureCounter) {
@@ -152,10 +288,12 @@ public class Pac4jJwtConfiguration {
  	}
 
 	@Bean("jwtCookieAuthzClient")
-	public CookieClient jwtCookieAuthzClient(JwtAuthenticator jwtAuthenticator) {
+	public CookieClient jwtCookieAuthzClient(JwtAuthenticator jwtAuthenticator,
+			ObjectProvider<CachingJwtAuthenticator> cachingJwtAuthenticatorProvider,
+			ObjectProvider<JwtRevocationList> jwtRevocationListProvider) {
 
 		CookieClient client = new CookieClient(jwtProperties.getAuthorizationCookieName(),
-				jwtAuthenticator);
+				this.tokenAuthenticator(jwtAuthenticator, cachingJwtAuthenticatorProvider, jwtRevocationListProvider));
 
 		//client.setAuthenticator(jwtAuthenticator);
 		//client.setAuthorizationGenerator(authorizationGenerator);
@@ -172,9 +310,12 @@ public class Pac4jJwtConfiguration {
 	}
 
 	@Bean("jwtHeaderAuthzClient")
-	public HeaderClient jwtHeaderAuthzClient(JwtAuthenticator jwtAuthenticator) {
+	public HeaderClient jwtHeaderAuthzClient(JwtAuthenticator jwtAuthenticator,
+			ObjectProvider<CachingJwtAuthenticator> cachingJwtAuthenticatorProvider,
+			ObjectProvider<JwtRevocationList> jwtRevocationListProvider) {
 
-		HeaderClient client = new HeaderClient(jwtProperties.getAuthorizationHeaderName(), jwtAuthenticator);
+		HeaderClient client = new HeaderClient(jwtProperties.getAuthorizationHeaderName(),
+				this.tokenAuthenticator(jwtAuthenticator, cachingJwtAuthenticatorProvider, jwtRevocationListProvider));
 
 		//client.setAuthenticator(jwtAuthenticator);
 		//client.setAuthorizationGenerator(authorizationGenerator);
@@ -192,11 +333,14 @@ public class Pac4jJwtConfiguration {
 	}
 
 	@Bean
-	public ParameterClient jwtParamAuthzClient(JwtAuthenticator jwtAuthenticator) {
+	public ParameterClient jwtParamAuthzClient(JwtAuthenticator jwtAuthenticator,
+			ObjectProvider<CachingJwtAuthenticator> cachingJwtAuthenticatorProvider,
+			ObjectProvider<JwtRevocationList> jwtRevocationListProvider) {
 
 		// REST authent with JWT for a token passed in the url as the token parameter
 
-		ParameterClient client = new ParameterClient(jwtProperties.getAuthorizationParamName(), jwtAuthenticator);
+		ParameterClient client = new ParameterClient(jwtProperties.getAuthorizationParamName(),
+				this.tokenAuthenticator(jwtAuthenticator, cachingJwtAuthenticatorProvider, jwtRevocationListProvider));
 		//client.setAuthenticator(jwtAuthenticator);
 		//client.setAuthorizationGenerator(authorizationGenerator);
 		//client.setAuthorizationGenerators(authorizationGenerators);
@@ -213,4 +357,130 @@ public class Pac4jJwtConfiguration {
 		return client;
 	}
 
+	@Configuration
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	@ConditionalOnClass(ServletRegistrationBean.class)
+	@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "jwks.enabled", havingValue = "true")
+	static class JwksEndpointConfiguration {
+
+		@Bean
+		public ServletRegistrationBean<JwksServlet> jwksServletRegistration(JwtKeys jwtKeys,
+				ObjectProvider<JwtKeyring> jwtKeyringProvider, Pac4jJwtProperties jwtProperties) {
+
+			Pac4jJwtJwksProperties jwksProperties = jwtProperties.getJwks();
+			// 启用 keyring 时发布 keyring 中未退役的公钥，随轮换更新
+			JwtKeyring keyring = jwtKeyringProvider.getIfAvailable();
+			JwksServlet servlet = keyring != null
+					? new JwksServlet(() -> keyring.current().getPublicJwkSet(), jwksProperties.getCacheMaxAge())
+					: new JwksServlet(jwtKeys, jwksProperties.getCacheMaxAge());
+			ServletRegistrationBean<JwksServlet> registration = new ServletRegistrationBean<>(servlet, jwksProperties.getPath());
+			registration.setName("pac4jJwksServlet");
+			return registration;
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "revocation.enabled", havingValue = "true")
+	@EnableConfigurationProperties({ Pac4jLogoutProperties.class })
+	static class JwtRevocationConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(JwtRevocationStore.class)
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "revocation.store", havingValue = "memory", matchIfMissing = true)
+		public InMemoryJwtRevocationStore inMemoryJwtRevocationStore() {
+			return new InMemoryJwtRevocationStore();
+		}
+
+		@Bean(destroyMethod = "close")
+		@ConditionalOnMissingBean
+		public JwtRevocationList jwtRevocationList(JwtRevocationStore jwtRevocationStore, Pac4jJwtProperties jwtProperties) {
+
+			Pac4jJwtRevocationProperties revocationProperties = jwtProperties.getRevocation();
+			JwtRevocationList revocationList = new JwtRevocationList(jwtRevocationStore, revocationProperties.getSyncInterval(),
+					revocationProperties.getExpectedRevocations(), revocationProperties.getFalsePositiveProbability(),
+					revocationProperties.getMaxTimeToLive());
+			revocationList.start();
+			return revocationList;
+		}
+
+		@Bean
+		@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+		@ConditionalOnClass(FilterRegistrationBean.class)
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "revocation.revoke-on-logout", havingValue = "true", matchIfMissing = true)
+		public FilterRegistrationBean<JwtRevocationLogoutFilter> jwtRevocationLogoutFilterRegistration(JwtAuthenticator jwtAuthenticator,
+				JwtRevocationList jwtRevocationList, Pac4jJwtProperties jwtProperties, Pac4jLogoutProperties logoutProperties) {
+
+			JwtRevocationLogoutFilter filter = new JwtRevocationLogoutFilter(logoutProperties.getPathPattern(), jwtAuthenticator,
+					jwtRevocationList);
+			filter.setHeaderName(jwtProperties.getAuthorizationHeaderName());
+			filter.setHeaderPrefix(jwtProperties.getAuthorizationHeaderPrefix());
+			filter.setCookieName(jwtProperties.getAuthorizationCookieName());
+			filter.setParameterName(jwtProperties.getAuthorizationParamName());
+			FilterRegistrationBean<JwtRevocationLogoutFilter> registration = new FilterRegistrationBean<>(filter);
+			registration.setName("pac4jJwtRevocationLogoutFilter");
+			registration.addUrlPatterns("/*");
+			// 在安全框架的注销过滤器之前执行，注销后通常直接重定向而不再继续过滤器链
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+			return registration;
+		}
+
+		@Configuration
+		@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "revocation.store", havingValue = "redis")
+		static class RedisJwtRevocationStoreConfiguration {
+
+			@Bean
+			@ConditionalOnMissingBean(JwtRevocationStore.class)
+			public RedisJwtRevocationStore redisJwtRevocationStore(StringRedisTemplate redisTemplate,
+					Pac4jJwtProperties jwtProperties) {
+				return new RedisJwtRevocationStore(redisTemplate, jwtProperties.getRevocation().getRedisKey());
+			}
+
+		}
+
+	}
+
+	protected Authenticator<TokenCredentials> tokenAuthenticator(JwtAuthenticator jwtAuthenticator,
+			ObjectProvider<CachingJwtAuthenticator> cachingJwtAuthenticatorProvider,
+			ObjectProvider<JwtRevocationList> jwtRevocationListProvider) {
+		CachingJwtAuthenticator cachingJwtAuthenticator = cachingJwtAuthenticatorProvider.getIfAvailable();
+		Authenticator<TokenCredentials> authenticator = cachingJwtAuthenticator != null ? cachingJwtAuthenticator : jwtAuthenticator;
+		// 吊销检查在缓存之后执行，缓存命中的令牌同样会被检查
+		JwtRevocationList revocationList = jwtRevocationListProvider.getIfAvailable();
+		return revocationList != null ? new RevocationCheckingJwtAuthenticator(authenticator, revocationList) : authenticator;
+	}
+
+	static class OnSignSecretCondition extends AllNestedConditions {
+
+		OnSignSecretCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "sign-secret")
+		static class SignSecret {
+		}
+
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "keyring.enabled", havingValue = "false", matchIfMissing = true)
+		static class NoKeyring {
+		}
+
+	}
+
+	static class OnEncryptSecretCondition extends AllNestedConditions {
+
+		OnEncryptSecretCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "encrypt-secret")
+		static class EncryptSecret {
+		}
+
+		@ConditionalOnProperty(prefix = Pac4jJwtProperties.PREFIX, value = "keyring.enabled", havingValue = "false", matchIfMissing = true)
+		static class NoKeyring {
+		}
+
+	}
+
 }
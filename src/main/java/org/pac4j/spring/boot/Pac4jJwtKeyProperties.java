@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.pac4j.spring.boot.Pac4jJwtProperties.JWSAlgorithm;
+import org.springframework.core.io.Resource;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One asymmetric signature key, read either from PEM files or from a key store.
+ */
+@Getter
+@Setter
+@ToString
+public class Pac4jJwtKeyProperties {
+
+	/** The key id (kid), defaults to the RFC 7638 thumbprint of the public key. */
+	private String kid;
+	/** The signature algorithm: RS256/384/512, PS256/384/512 or ES256/384/512. */
+	private JWSAlgorithm algorithm = JWSAlgorithm.RS256;
+	/** PEM encoded public key (PUBLIC KEY) or certificate (CERTIFICATE), i.e. classpath:jwt/public.pem */
+	private Resource publicKey;
+	/** PEM encoded PKCS#8 private key (PRIVATE KEY), only needed to sign tokens. */
+	private Resource privateKey;
+	/** Key store holding the key pair, used instead of the PEM files. */
+	private Resource keyStore;
+	private String keyStoreType = "PKCS12";
+	@ToString.Exclude
+	private String keyStorePassword;
+	/** The alias of the key pair, defaults to the first alias of the key store. */
+	private String keyAlias;
+	/** The password of the private key, defaults to the key store password. */
+	@ToString.Exclude
+	private String keyPassword;
+
+}
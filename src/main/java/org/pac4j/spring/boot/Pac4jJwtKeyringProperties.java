@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jJwtKeyringProperties {
+
+	/** Whether to read rotating signature and encryption keys from a keyring file. */
+	private boolean enabled = false;
+	/** File system path of the keyring, a JWK set whose keys carry a kid and optional nbf / exp, i.e. /etc/pac4j/jwt-keyring.json */
+	private String location;
+	/** Whether the keyring file is watched, so that keys are added and retired without restart. */
+	private boolean watch = true;
+	/** Delay between a change of the file and its reload, so that a file being written is read once. */
+	private Duration reloadDelay = Duration.ofMillis(500);
+
+}
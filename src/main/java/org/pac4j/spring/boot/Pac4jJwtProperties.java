@@ -15,12 +15,15 @@
  */
 package org.pac4j.spring.boot;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.pac4j.core.ext.Pac4jExtConstants;
 import org.pac4j.core.util.Pac4jConstants;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -402,4 +405,37 @@ public class Pac4jJwtProperties {
 	/** The Name of Cookie Client. */
 	private String cookieClientName = "jwt-cookie";
 
+	/** Validated JWT cache in front of JwtAuthenticator. */
+	@NestedConfigurationProperty
+	private Pac4jJwtCacheProperties cache = new Pac4jJwtCacheProperties();
+
+	/** Token issuing service sharing the signer and encrypter between tokens. */
+	@NestedConfigurationProperty
+	private Pac4jJwtTokenProperties token = new Pac4jJwtTokenProperties();
+
+	/** Asymmetric signature keys (RSA / EC), verified by JwtAuthenticator and, with a private key, used to sign. */
+	private List<Pac4jJwtKeyProperties> keys = new ArrayList<>();
+
+	/**
+	 * Whether JwtAuthenticator selects the signature configuration by the kid and the algorithm of the token,
+	 * instead of trying every configuration in sequence until one verifies.
+	 */
+	private boolean keyIdIndex = true;
+
+	/** Revocation of tokens by jti, checked against a local Bloom filter before the store. */
+	@NestedConfigurationProperty
+	private Pac4jJwtRevocationProperties revocation = new Pac4jJwtRevocationProperties();
+
+	/** Rotating keys read from a watched keyring file, with overlapping validity windows. */
+	@NestedConfigurationProperty
+	private Pac4jJwtKeyringProperties keyring = new Pac4jJwtKeyringProperties();
+
+	/** JWK set endpoint publishing the public keys of {@link #keys}. */
+	@NestedConfigurationProperty
+	private Pac4jJwtJwksProperties jwks = new Pac4jJwtJwksProperties();
+
+	/** Remote JWK set of the token issuer, for the verifying nodes. */
+	@NestedConfigurationProperty
+	private Pac4jJwtRemoteJwksProperties remoteJwks = new Pac4jJwtRemoteJwksProperties();
+
 }
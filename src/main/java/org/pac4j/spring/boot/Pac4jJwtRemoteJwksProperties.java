@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jJwtRemoteJwksProperties {
+
+	/** Whether to verify tokens against the keys of a remote JWK set. */
+	private boolean enabled = false;
+	/** The JWK set url of the issuer, i.e. https://sso.example.org/.well-known/jwks.json */
+	private String url;
+	/** Interval of the background refresh of the key set. */
+	private Duration refreshInterval = Duration.ofMinutes(5);
+	/** Minimum interval between two fetches triggered by tokens signed with an unknown kid. */
+	private Duration minRefetchInterval = Duration.ofSeconds(30);
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	private Duration readTimeout = Duration.ofSeconds(2);
+	/** Maximum size of the key set document in bytes. */
+	private int sizeLimit = 51200;
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jJwtRevocationProperties {
+
+	/** Whether tokens can be revoked by jti, i.e. on logout, before their expiration. */
+	private boolean enabled = false;
+	/** Where the revoked jti are kept until the tokens expire : local memory or Redis shared by all the nodes. */
+	private RevocationStoreType store = RevocationStoreType.MEMORY;
+	/** Interval between two rebuilds of the local Bloom filter from the store; the delay before a revocation made by another node applies. */
+	private Duration syncInterval = Duration.ofSeconds(10);
+	/** Minimum capacity of the Bloom filter. */
+	private int expectedRevocations = 10000;
+	/** Probability that a token never revoked is looked up in the store. */
+	private double falsePositiveProbability = 0.01d;
+	/** Longest time a revocation is kept, for the tokens expiring later or without exp; such a token is accepted again afterwards. */
+	private Duration maxTimeToLive = Duration.ofDays(7);
+	/** Whether the token of the request is revoked on the logout path (pac4j.logout.path-pattern). */
+	private boolean revokeOnLogout = true;
+
+	/* ================================== Redis ================================= */
+
+	/** Redis sorted set of the revoked jti, scored by the expiration time of the tokens. */
+	private String redisKey = "pac4j:jwt:revoked";
+
+	public enum RevocationStoreType {
+
+		/** Local in-memory store, for a single node or tests. */
+		MEMORY,
+		/** Redis store shared by all the nodes. */
+		REDIS
+
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jJwtTokenProperties {
+
+	/** Whether Enable the JwtTokenIssuer built from signSecret / encryptSecret. */
+	private boolean enabled = false;
+	/** Lifetime of the issued tokens, the exp claim; zero or negative for tokens without expiration. */
+	private Duration timeToLive = Duration.ofMinutes(30);
+	/** The iss claim of the issued tokens. */
+	private String issuer;
+	/** Whether the issued tokens are encrypted when encryptSecret is set. */
+	private boolean encrypt = true;
+	/** Whether the issued tokens carry a random jti claim, required to revoke them. */
+	private boolean jwtId = true;
+
+}
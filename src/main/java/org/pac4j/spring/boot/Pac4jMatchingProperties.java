@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jMatchingProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jMatchingProperties {
+
+	public static final String PREFIX = "pac4j.matching";
+
+	/** Whether Enable the compiled request matcher, registered on the Config under {@link #name}. */
+	private boolean enabled = false;
+	/** Name of the matcher, to reference from pac4j.matchers, i.e. compiled,securityheaders */
+	private String name = "compiled";
+	/** Exact paths bypassing the security, i.e. /favicon.ico */
+	private String[] excludePaths;
+	/** Paths bypassing the security with their whole sub tree, i.e. /static,/actuator/health */
+	private String[] excludeBranches;
+	/** Regexes of paths bypassing the security, merged into a single pattern. */
+	private String[] excludeRegexes;
+	/** File extensions bypassing the security, i.e. css,js,png */
+	private String[] excludeExtensions;
+	/** HTTP methods needing security, all when empty, i.e. GET,POST,PUT,DELETE,PATCH to let OPTIONS through. */
+	private String[] methods;
+	/** Header required for the request to need security. */
+	private String headerName;
+	/** Regex the header value must match, any value when empty. */
+	private String headerValue;
+
+}
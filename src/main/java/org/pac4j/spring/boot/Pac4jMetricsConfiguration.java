@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.pac4j.core.client.Clients;
+import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.spring.boot.authorizer.PlanningAuthorizationChecker;
+import org.pac4j.spring.boot.cas.CasTicketValidationCache;
+import org.pac4j.spring.boot.jwt.CachingJwtAuthenticator;
+import org.pac4j.spring.boot.jwt.JwtKeyring;
+import org.pac4j.spring.boot.jwt.JwtRevocationList;
+import org.pac4j.spring.boot.jwt.JwtTokenIssuer;
+import org.pac4j.spring.boot.jwt.SignatureConfigurationSelector;
+import org.pac4j.spring.boot.metrics.AuthorizationPlannerMetrics;
+import org.pac4j.spring.boot.metrics.CachingJwtAuthenticatorMetrics;
+import org.pac4j.spring.boot.metrics.CasTicketValidationCacheMetrics;
+import org.pac4j.spring.boot.metrics.ClientsMetricsInstrumenter;
+import org.pac4j.spring.boot.metrics.JwtKeyringMetrics;
+import org.pac4j.spring.boot.metrics.JwtRevocationListMetrics;
+import org.pac4j.spring.boot.metrics.JwtTokenIssuerMetrics;
+import org.pac4j.spring.boot.metrics.SignatureConfigurationSelectorMetrics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Micrometer timers for credentials extraction, authentication and profile creation of every client,
+ * plus the validated JWT and CAS ticket cache statistics, the JWT issuing statistics and the authorizer timings.
+ */
+@Configuration
+@AutoConfigureAfter(value = { Pac4jAutoConfiguration.class, Pac4jCasConfiguration.class, Pac4jJwtConfiguration.class }, name = {
+		"org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration" })
+@ConditionalOnClass({ Clients.class, MeterRegistry.class })
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = Pac4jMetricsProperties.PREFIX, value = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties({ Pac4jMetricsProperties.class })
+public class Pac4jMetricsConfiguration {
+
+	@Bean
+	@ConditionalOnBean(Clients.class)
+	public ClientsMetricsInstrumenter clientsMetricsInstrumenter(Clients clients, MeterRegistry meterRegistry,
+			Pac4jMetricsProperties metricsProperties) {
+		return new ClientsMetricsInstrumenter(clients, meterRegistry, metricsProperties);
+	}
+
+	@Bean
+	@ConditionalOnBean(PlanningAuthorizationChecker.class)
+	public SmartInitializingSingleton authorizationPlannerMetricsBinder(PlanningAuthorizationChecker checker,
+			MeterRegistry meterRegistry) {
+		return () -> new AuthorizationPlannerMetrics(checker).bindTo(meterRegistry);
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = { "org.pac4j.jwt.credentials.authenticator.JwtAuthenticator",
+			"com.github.benmanes.caffeine.cache.Caffeine" })
+	static class JwtCacheMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnBean(CachingJwtAuthenticator.class)
+		public SmartInitializingSingleton cachingJwtAuthenticatorMetricsBinder(CachingJwtAuthenticator authenticator,
+				MeterRegistry meterRegistry) {
+			return () -> new CachingJwtAuthenticatorMetrics(authenticator).bindTo(meterRegistry);
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.pac4j.jwt.credentials.authenticator.JwtAuthenticator")
+	static class JwtIssuerMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnBean(JwtTokenIssuer.class)
+		public SmartInitializingSingleton jwtTokenIssuerMetricsBinder(JwtTokenIssuer issuer, MeterRegistry meterRegistry) {
+			return () -> new JwtTokenIssuerMetrics(issuer).bindTo(meterRegistry);
+		}
+
+		@Bean
+		@ConditionalOnBean(JwtAuthenticator.class)
+		public SmartInitializingSingleton signatureConfigurationSelectorMetricsBinder(JwtAuthenticator authenticator,
+				MeterRegistry meterRegistry) {
+			return () -> authenticator.getSignatureConfigurations().stream()
+					.filter(SignatureConfigurationSelector.class::isInstance)
+					.map(SignatureConfigurationSelector.class::cast)
+					.forEach(selector -> new SignatureConfigurationSelectorMetrics(selector).bindTo(meterRegistry));
+		}
+
+		@Bean
+		@ConditionalOnBean(JwtKeyring.class)
+		public SmartInitializingSingleton jwtKeyringMetricsBinder(JwtKeyring keyring, MeterRegistry meterRegistry) {
+			return () -> new JwtKeyringMetrics(keyring).bindTo(meterRegistry);
+		}
+
+		@Bean
+		@ConditionalOnBean(JwtRevocationList.class)
+		public SmartInitializingSingleton jwtRevocationListMetricsBinder(JwtRevocationList revocationList,
+				MeterRegistry meterRegistry) {
+			return () -> new JwtRevocationListMetrics(revocationList).bindTo(meterRegistry);
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = { "org.pac4j.cas.config.CasConfiguration", "com.github.benmanes.caffeine.cache.Caffeine" })
+	static class CasTicketCacheMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnBean(CasTicketValidationCache.class)
+		public SmartInitializingSingleton casTicketValidationCacheMetricsBinder(CasTicketValidationCache ticketValidationCache,
+				MeterRegistry meterRegistry) {
+			return () -> new CasTicketValidationCacheMetrics(ticketValidationCache).bindTo(meterRegistry);
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jMetricsProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jMetricsProperties {
+
+	public static final String PREFIX = "pac4j.metrics";
+
+	/** Whether Enable Pac4j Metrics when a MeterRegistry is present. */
+	private boolean enabled = true;
+	/** Percentiles to publish for the client timers, i.e. 0.5,0.95,0.99 */
+	private double[] percentiles = new double[0];
+	/** Whether to publish a percentile histogram usable by the monitoring system to aggregate percentiles. */
+	private boolean percentileHistogram = false;
+	/** Service level objectives boundaries of the client timers, i.e. 50ms,200ms */
+	private Duration[] serviceLevelObjectives = new Duration[0];
+
+}
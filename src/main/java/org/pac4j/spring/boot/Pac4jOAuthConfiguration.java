@@ -15,24 +15,49 @@
  */
 package org.pac4j.spring.boot;
 
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.pac4j.core.authorization.generator.AuthorizationGenerator;
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.core.exception.TechnicalException;
 import org.pac4j.core.http.ajax.AjaxRequestResolver;
+import org.pac4j.core.http.callback.CallbackUrlResolver;
+import org.pac4j.core.http.callback.QueryParameterCallbackUrlResolver;
 import org.pac4j.core.http.url.UrlResolver;
 import org.pac4j.oauth.client.*;
 import org.pac4j.oauth.config.OAuth10Configuration;
 import org.pac4j.oauth.config.OAuth20Configuration;
 import org.pac4j.oauth.profile.OAuth10Profile;
 import org.pac4j.oauth.profile.OAuth20Profile;
+import org.pac4j.spring.boot.oauth.FileOAuthTenantClientSource;
+import org.pac4j.spring.boot.oauth.JdbcOAuthTenantClientSource;
+import org.pac4j.spring.boot.oauth.OAuthTenantClientRegistry;
+import org.pac4j.spring.boot.oauth.OAuthTenantClientSource;
+import org.pac4j.spring.boot.oauth.PooledHttpClientConfig;
+import org.pac4j.spring.boot.oauth.PropertiesOAuthTenantClientSource;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ResourceUtils;
 
 import com.github.scribejava.apis.SinaWeiboApi20;
 import com.github.scribejava.core.builder.api.DefaultApi20;
+import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpClientConfig;
 
 @Configuration
 @AutoConfigureBefore(Pac4jAutoConfiguration.class)
@@ -41,8 +66,28 @@ import com.github.scribejava.core.builder.api.DefaultApi20;
 @EnableConfigurationProperties({ Pac4jOAuthProperties.class, Pac4jProperties.class, ServerProperties.class })
 public class Pac4jOAuthConfiguration {
 
+	/** The providers {@link #tenantClient} can create a client for. */
+	public static final List<String> TENANT_PROVIDERS = Arrays.asList("bitbucket", "twitter", "yahoo", "baidu", "cas",
+			"dropbox", "facebook", "foursquare", "github", "google2", "linkedin2", "ok", "oschina", "paypal", "qq", "strava",
+			"vk", "weibo", "wechat", "windowslive", "wordpress", "yiban");
+
 	@Autowired
 	private Pac4jOAuthProperties oauthProperties;
+	@Autowired
+	private ObjectProvider<PooledHttpClientConfig> pooledHttpClientConfigProvider;
+
+	@Configuration
+	@ConditionalOnClass(name = "org.apache.http.impl.client.CloseableHttpClient")
+	@ConditionalOnProperty(prefix = Pac4jOAuthProperties.PREFIX, value = "http.pooled", havingValue = "true", matchIfMissing = true)
+	static class PooledHttpClientConfiguration {
+
+		@Bean(destroyMethod = "close")
+		@ConditionalOnMissingBean
+		public PooledHttpClientConfig pooledHttpClientConfig(Pac4jOAuthProperties oauthProperties) {
+			return PooledHttpClientConfig.build(oauthProperties.getHttp());
+		}
+
+	}
 
 	@Bean
 	@ConditionalOnProperty(prefix = Pac4jOAuthProperties.PREFIX, value = "baidu")
@@ -293,15 +338,166 @@ public class Pac4jOAuthConfiguration {
 	}
 
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = Pac4jOAuthProperties.PREFIX, value = "tenant.enabled", havingValue = "true")
+	public OAuthTenantClientSource oauthTenantClientSource(ObjectProvider<DataSource> dataSourceProvider) throws FileNotFoundException {
+
+		final Pac4jOAuthTenantProperties tenantProperties = oauthProperties.getTenant();
+		switch (tenantProperties.getSource()) {
+		case FILE:
+			return new FileOAuthTenantClientSource(ResourceUtils.getFile(tenantProperties.getFile()));
+		case JDBC:
+			return new JdbcOAuthTenantClientSource(dataSourceProvider.getObject(), tenantProperties.getJdbcQuery());
+		default:
+			return new PropertiesOAuthTenantClientSource(tenantProperties.getRegistrations());
+		}
+	}
+
+	@Bean
+	@ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+	@ConditionalOnProperty(prefix = Pac4jOAuthProperties.PREFIX, value = "tenant.enabled", havingValue = "true")
+	public OAuthTenantClientRegistry oauthTenantClientRegistry(OAuthTenantClientSource source, Pac4jProperties pac4jProperties,
+			AjaxRequestResolver ajaxRequestResolver, UrlResolver urlResolver, CallbackUrlResolver callbackUrlResolver,
+			ObjectProvider<AuthorizationGenerator> authorizationGeneratorProvider) {
+
+		final Pac4jOAuthTenantProperties tenantProperties = oauthProperties.getTenant();
+		final List<AuthorizationGenerator> authorizationGenerators = authorizationGeneratorProvider.orderedStream().collect(Collectors.toList());
+		// 租户客户端不在 Clients 中，需补齐 Clients 初始化时为客户端设置的回调地址、解析器与授权生成器
+		final String clientNameParameter = callbackUrlResolver instanceof QueryParameterCallbackUrlResolver
+				? ((QueryParameterCallbackUrlResolver) callbackUrlResolver).getClientNameParameter()
+				: pac4jProperties.getClientParameterName();
+		final OAuthTenantClientRegistry registry = new OAuthTenantClientRegistry(source, (name, properties) -> {
+			final IndirectClient client = this.tenantClient(name, properties, ajaxRequestResolver, urlResolver);
+			if (client.getCallbackUrl() == null) {
+				client.setCallbackUrl(pac4jProperties.getCallbackUrl());
+			}
+			client.setAjaxRequestResolver(ajaxRequestResolver);
+			client.setCallbackUrlResolver(callbackUrlResolver);
+			if (!authorizationGenerators.isEmpty()) {
+				client.addAuthorizationGenerators(authorizationGenerators);
+			}
+			return client;
+		}, clientNameParameter, tenantProperties.getMaximumSize(), tenantProperties.getIdleTimeout(), tenantProperties.getReloadInterval(),
+				tenantProperties.getMissMaximumSize(), tenantProperties.getMissTimeToLive());
+		// 回调请求中的客户端名称未经认证，格式不符或提供商不受支持时不查询租户数据源
+		registry.setTenantPattern(tenantProperties.getTenantPattern());
+		registry.setProviders(ArrayUtils.isNotEmpty(tenantProperties.getProviders())
+				? Arrays.asList(tenantProperties.getProviders()) : TENANT_PROVIDERS);
+		return registry;
+	}
+
+	/**
+	 * The client of a tenant application, initialized like the client beans above.
+	 */
+	@SuppressWarnings("rawtypes")
+	protected IndirectClient tenantClient(String name, Pac4jOAuthTenantClientProperties properties,
+			AjaxRequestResolver ajaxRequestResolver, UrlResolver urlResolver) {
+
+		properties.setName(name);
+		final String key = properties.getKey();
+		final String secret = properties.getSecret();
+		final String provider = properties.getProvider() == null ? "" : properties.getProvider().toLowerCase(Locale.ROOT);
+
+		final OAuth10Client oauth10Client;
+		switch (provider) {
+		case "bitbucket":
+			oauth10Client = new BitbucketClient(key, secret);
+			break;
+		case "twitter":
+			oauth10Client = new TwitterClient(key, secret);
+			break;
+		case "yahoo":
+			oauth10Client = new YahooClient(key, secret);
+			break;
+		default:
+			oauth10Client = null;
+		}
+		if (oauth10Client != null) {
+			this.initOAuth10Client(oauth10Client, properties, ajaxRequestResolver, urlResolver);
+			oauth10Client.setCallbackUrl(properties.getCallbackUrl());
+			return oauth10Client;
+		}
+
+		final OAuth20Client client;
+		switch (provider) {
+		case "baidu":
+			client = new BaiduClient(key, secret);
+			break;
+		case "cas":
+			client = new CasOAuthWrapperClient(key, secret, properties.getCasOAuthUrl());
+			break;
+		case "dropbox":
+			client = new DropBoxClient(key, secret);
+			break;
+		case "facebook":
+			final FacebookClient facebookClient = new FacebookClient(key, secret);
+			facebookClient.setFields(properties.getFields());
+			facebookClient.setLimit(properties.getLimit());
+			client = facebookClient;
+			break;
+		case "foursquare":
+			client = new FoursquareClient(key, secret);
+			break;
+		case "github":
+			client = new GitHubClient(key, secret);
+			break;
+		case "google2":
+			client = new Google2Client(key, secret);
+			break;
+		case "linkedin2":
+			client = new LinkedIn2Client(key, secret);
+			break;
+		case "ok":
+			client = new OkClient(key, secret, properties.getPublicKey());
+			break;
+		case "oschina":
+			client = new OschinaClient(key, secret);
+			break;
+		case "paypal":
+			client = new PayPalClient(key, secret);
+			break;
+		case "qq":
+			client = new QQClient(key, secret);
+			break;
+		case "strava":
+			final StravaClient stravaClient = new StravaClient(key, secret);
+			stravaClient.setApprovalPrompt(properties.getApprovalPrompt());
+			client = stravaClient;
+			break;
+		case "vk":
+			client = new VkClient(key, secret);
+			break;
+		case "weibo":
+			client = new WeiboClient(key, secret);
+			break;
+		case "wechat":
+			client = new WechatClient(key, secret);
+			break;
+		case "windowslive":
+			client = new WindowsLiveClient(key, secret);
+			break;
+		case "wordpress":
+			client = new WordPressClient(key, secret);
+			break;
+		case "yiban":
+			client = new YibanClient(key, secret);
+			break;
+		default:
+			throw new TechnicalException("Unsupported OAuth provider for " + name + ": " + properties.getProvider());
+		}
+		this.initOAuth20Client(client, properties, ajaxRequestResolver, urlResolver);
+		return client;
+	}
+
 	protected <U extends OAuth10Profile> void initOAuth10Client(OAuth10Client client,
 			Pac4jOAuthClientProperties properties, AjaxRequestResolver ajaxRequestResolver,
 			UrlResolver urlResolver) {
 
 		final OAuth10Configuration configuration = client.getConfiguration();
 
-		//configuration.setConnectTimeout(properties.getConnectTimeout());
+		configuration.setHttpClientConfig(this.httpClientConfig(properties));
 		//configuration.setHasGrantType(properties.isHasGrantType());
-		//configuration.setReadTimeout(properties.getReadTimeout());
 		configuration.setResponseType(properties.getResponseType());
 		configuration.setTokenAsHeader(properties.isTokenAsHeader());
 
@@ -322,7 +518,7 @@ public class Pac4jOAuthConfiguration {
 
 		configuration.setCustomParams(properties.getCustomParams());
 		//configuration.setHasGrantType(properties.isHasGrantType());
-		//configuration.setReadTimeout(properties.getReadTimeout());
+		configuration.setHttpClientConfig(this.httpClientConfig(properties));
 		configuration.setScope(properties.getScope());
 		configuration.setResponseType(properties.getResponseType());
 		configuration.setWithState(properties.isWithState());
@@ -339,5 +535,18 @@ public class Pac4jOAuthConfiguration {
 		client.setUrlResolver(urlResolver);
 	}
 
+	/**
+	 * The shared pooled transport with the client timeouts, or the JDK transport when pooling is not available.
+	 */
+	protected HttpClientConfig httpClientConfig(Pac4jOAuthClientProperties properties) {
+		final PooledHttpClientConfig pooledHttpClientConfig = pooledHttpClientConfigProvider.getIfAvailable();
+		if (pooledHttpClientConfig != null) {
+			return pooledHttpClientConfig.withTimeouts(properties.getConnectTimeout(), properties.getReadTimeout());
+		}
+		return JDKHttpClientConfig.defaultConfig()
+				.withConnectTimeout(properties.getConnectTimeout())
+				.withReadTimeout(properties.getReadTimeout())
+				.withFollowRedirects(oauthProperties.getHttp().isFollowRedirects());
+	}
 
 }
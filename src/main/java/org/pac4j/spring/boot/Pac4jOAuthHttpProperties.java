@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jOAuthHttpProperties {
+
+	/** Whether to share one pooled Apache HttpClient between the OAuth clients; when disabled or not on the classpath, the JDK client is used. */
+	private boolean pooled = true;
+	/** Maximum number of pooled connections. */
+	private int maxTotal = 200;
+	/** Maximum number of pooled connections per provider host. */
+	private int maxPerRoute = 50;
+	/** Keep-alive duration used when the provider does not send a Keep-Alive header. */
+	private Duration keepAlive = Duration.ofSeconds(30);
+	/** Maximum lifetime of a pooled connection. */
+	private Duration timeToLive = Duration.ofMinutes(5);
+	/** Idle connections are closed after this duration. */
+	private Duration maxIdleTime = Duration.ofMinutes(1);
+	/** Connections idle for longer than this duration are re-validated before reuse. */
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	/** Maximum time to wait for a connection from the pool. */
+	private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+	/** Whether redirects should be followed. */
+	private boolean followRedirects = true;
+
+}
@@ -32,6 +32,14 @@ public class Pac4jOAuthProperties {
 	
 	/** Whether Enable Pac4j OAuth. */
 	private boolean enabled = false;
+
+	/** Shared HTTP transport of the token and profile requests. */
+	@NestedConfigurationProperty
+	private Pac4jOAuthHttpProperties http = new Pac4jOAuthHttpProperties();
+
+	/** OAuth applications of the tenants, resolved on demand instead of one client bean per provider. */
+	@NestedConfigurationProperty
+	private Pac4jOAuthTenantProperties tenant = new Pac4jOAuthTenantProperties();
 	
 	@NestedConfigurationProperty
 	private Pac4jOAuthClientProperties baidu = new Pac4jOAuthClientProperties();
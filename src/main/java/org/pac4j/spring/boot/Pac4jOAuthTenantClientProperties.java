@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.pac4j.oauth.client.FacebookClient;
+import org.pac4j.oauth.profile.facebook.FacebookProfileDefinition;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * OAuth application of one tenant: the provider and its credentials, plus the settings specific to some providers.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class Pac4jOAuthTenantClientProperties extends Pac4jOAuthClientProperties {
+
+	/** Provider of the application, i.e. github, google2, wechat, qq, cas */
+	private String provider;
+
+	/** CAS OAuth server url (cas only), i.e. http://localhost:8080/cas/oauth2.0 */
+	private String casOAuthUrl;
+	/** Public key (ok only). */
+	private String publicKey;
+	/** Whether the authorization dialog is always displayed: auto or force (strava only). */
+	private String approvalPrompt = "auto";
+	/** Profile fields (facebook only). */
+	private String fields = FacebookClient.ATTEMPTED_AUTHENTICATION_SUFFIX;
+	/** Limit of the profile lists (facebook only). */
+	private int limit = FacebookProfileDefinition.DEFAULT_LIMIT;
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.pac4j.spring.boot.oauth.OAuthTenantClientRegistry;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class Pac4jOAuthTenantProperties {
+
+	public static final String DEFAULT_JDBC_QUERY = "SELECT * FROM pac4j_oauth_tenant WHERE tenant_id = ? AND provider = ?";
+
+	/** Whether Enable the per tenant OAuth clients, created on first use and named provider@tenant, i.e. github@acme */
+	private boolean enabled = false;
+	/** Where the tenant applications are read from. */
+	private TenantSourceType source = TenantSourceType.PROPERTIES;
+
+	/** Maximum number of tenant clients kept, the least recently used ones are evicted beyond. */
+	private long maximumSize = 1000L;
+	/** Tenant clients not used for this duration are evicted. */
+	private Duration idleTimeout = Duration.ofMinutes(30);
+	/** Tenant clients in use are rebuilt from the source after this duration, to pick up changed or removed applications. */
+	private Duration reloadInterval = Duration.ofMinutes(5);
+	/** Maximum number of unknown tenant client names remembered, so that they do not query the source again. */
+	private long missMaximumSize = 10000L;
+	/** Unknown tenant client names are looked up in the source again after this duration. */
+	private Duration missTimeToLive = Duration.ofMinutes(1);
+	/** Pattern the tenant ids must match, the other names are rejected without querying the source. */
+	private String tenantPattern = OAuthTenantClientRegistry.DEFAULT_TENANT_PATTERN;
+	/** Providers the tenant clients may be created for, i.e. github,wechat; all the supported ones if empty. */
+	private String[] providers;
+
+	/* ================================== Properties ================================= */
+
+	/** Tenant applications by tenant then by provider, i.e. registrations.acme.github.key */
+	private Map<String, Map<String, Pac4jOAuthTenantClientProperties>> registrations = new LinkedHashMap<>();
+
+	/* ================================== File ================================= */
+
+	/** Properties file of the tenant applications, keyed by tenant.provider, i.e. acme.github.key=...; re-read when modified. */
+	private String file;
+
+	/* ================================== JDBC ================================= */
+
+	/** Query selecting the application of a tenant and a provider; the columns are bound to the properties by name, i.e. key, secret, scope, callback_url */
+	private String jdbcQuery = DEFAULT_JDBC_QUERY;
+
+	public enum TenantSourceType {
+
+		/** The registrations above. */
+		PROPERTIES,
+		/** A properties file. */
+		FILE,
+		/** A table read through the application DataSource. */
+		JDBC
+
+	}
+
+}
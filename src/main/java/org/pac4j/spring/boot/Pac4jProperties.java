@@ -38,6 +38,21 @@ public class Pac4jProperties {
     private String allowedIpRegexpPattern;
     
     private String[] allowedHttpMethods;
+    
+    /** POST / PUT / PATCH 请求允许的 Content-Type，如 application/json,multipart/*；与 requiredHeaders 一起注册为 isRequestShapeAuthenticated，方法仍由 isMethodAuthenticated 检查 */
+    private String[] allowedContentTypes;
+    
+    /** 请求必须携带的请求头 */
+    private String[] requiredHeaders;
+    
+    /** 认证IP网段（CIDR）：如 10.0.0.0/8,192.168.1.10,2001:db8::/32；设置后替代 allowedIpRegexpPattern 注册为 isIPAuthenticated */
+    private String[] allowedIpRanges;
+    
+    /** 可信代理网段：请求来自这些代理时，从 forwardedForHeader 中由右向左取第一个非代理地址作为客户端IP */
+    private String[] trustedProxies;
+    
+    /** 代理转发客户端IP的请求头 */
+    private String forwardedForHeader = "X-Forwarded-For";
 	
     /**
 	 * If <code>true</code>, will always redirect to the value of {@code callbackUrl}
@@ -50,6 +65,12 @@ public class Pac4jProperties {
     /** List of clients for authentication. 启用认证的客户端类型 */
     private String clients;
     
+    /** 启动时按名称建立客户端索引（不区分大小写）：回调分发与强制客户端查找不再遍历客户端、不再逐次分割客户端名称 */
+    private boolean clientIndexEnabled = false;
+    
+    /** 客户端延迟初始化：Clients 中注册轻量代理，首次使用时才初始化真实客户端（线程安全、仅一次），缩短应用启动时间 */
+    private boolean lazyClients = false;
+    
     /** Specifies the name of the request parameter on where to find the clientName (i.e. client_name). */
   	private String clientParameterName = "client_name";
 	
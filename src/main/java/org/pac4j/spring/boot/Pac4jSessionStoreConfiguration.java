@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.spring.boot.session.AbstractPac4jSessionStore;
+import org.pac4j.spring.boot.session.InMemorySessionStore;
+import org.pac4j.spring.boot.session.RedisSessionStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Session store selected by {@code pac4j.session-store.type}, set on the pac4j {@link org.pac4j.core.config.Config}.
+ */
+@Configuration
+@AutoConfigureBefore(Pac4jAutoConfiguration.class)
+@AutoConfigureAfter(name = { "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration" })
+@ConditionalOnClass({ SessionStore.class })
+@ConditionalOnProperty(prefix = Pac4jProperties.PREFIX, value = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ Pac4jSessionStoreProperties.class })
+public class Pac4jSessionStoreConfiguration {
+
+	@Autowired
+	private Pac4jSessionStoreProperties sessionStoreProperties;
+
+	@Bean
+	@ConditionalOnMissingBean(SessionStore.class)
+	@ConditionalOnProperty(prefix = Pac4jSessionStoreProperties.PREFIX, value = "type", havingValue = "memory")
+	public InMemorySessionStore inMemorySessionStore() {
+		InMemorySessionStore sessionStore = new InMemorySessionStore(sessionStoreProperties.getStripes(),
+				sessionStoreProperties.getMaximumSessions());
+		initSessionStore(sessionStore, sessionStoreProperties);
+		return sessionStore;
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+	@ConditionalOnProperty(prefix = Pac4jSessionStoreProperties.PREFIX, value = "type", havingValue = "redis")
+	static class RedisSessionStoreConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(SessionStore.class)
+		public RedisSessionStore redisSessionStore(StringRedisTemplate redisTemplate,
+				Pac4jSessionStoreProperties sessionStoreProperties) {
+			RedisSessionStore sessionStore = new RedisSessionStore(redisTemplate);
+			sessionStore.setKeyPrefix(sessionStoreProperties.getKeyPrefix());
+			sessionStore.addTrustedPackages(sessionStoreProperties.getTrustedPackages());
+			initSessionStore(sessionStore, sessionStoreProperties);
+			return sessionStore;
+		}
+
+	}
+
+	protected static void initSessionStore(AbstractPac4jSessionStore sessionStore, Pac4jSessionStoreProperties properties) {
+		sessionStore.setCookieName(properties.getCookieName());
+		sessionStore.setCookieDomain(properties.getCookieDomain());
+		sessionStore.setCookiePath(properties.getCookiePath());
+		sessionStore.setCookieSecure(properties.isCookieSecure());
+		sessionStore.setCookieHttpOnly(properties.isCookieHttpOnly());
+		sessionStore.setTimeout(properties.getTimeout());
+		sessionStore.setExtraKeys(properties.getExtraKeys());
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pac4j.core.util.Pac4jConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jSessionStoreProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jSessionStoreProperties {
+
+	public static final String PREFIX = "pac4j.session-store";
+
+	/** Where the pac4j session data is kept : the container HTTP session (default), a local striped in-memory store or Redis. */
+	private SessionStoreType type = SessionStoreType.CONTAINER;
+
+	/** Name of the cookie holding the session id. */
+	private String cookieName = Pac4jConstants.SESSION_ID;
+	private String cookieDomain;
+	private String cookiePath = "/";
+	private boolean cookieSecure = false;
+	private boolean cookieHttpOnly = true;
+
+	/** Idle timeout of a session, refreshed once per request. */
+	private Duration timeout = Duration.ofMinutes(30);
+
+	/** Session keys kept in addition to the pac4j ones (profiles, requested url, CSRF token and client scoped keys such as the OAuth state). */
+	private List<String> extraKeys = new ArrayList<>();
+
+	/* ================================== In-Memory ================================= */
+
+	/** Number of independently locked and swept stripes. */
+	private int stripes = 16;
+	/** Maximum number of sessions, the least recently used ones are evicted beyond. */
+	private int maximumSessions = 100000;
+
+	/* ================================== Redis ================================= */
+
+	/** Prefix of the Redis hash key holding a session. */
+	private String keyPrefix = "pac4j:session:";
+	/** Packages trusted for deserialization, in addition to the pac4j defaults. */
+	private List<String> trustedPackages = new ArrayList<>();
+
+	public enum SessionStoreType {
+
+		/** The container HTTP session, pac4j's default. */
+		CONTAINER,
+		/** Local in-memory store, for a single node or tests. */
+		MEMORY,
+		/** Redis store shared by all the nodes, no sticky session needed. */
+		REDIS
+
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.util.stream.Collectors;
+
+import org.pac4j.core.client.Clients;
+import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.spring.boot.oauth.PooledHttpClientConfig;
+import org.pac4j.spring.boot.oauth.PooledHttpEndpointConnector;
+import org.pac4j.spring.boot.warmup.ClientsWarmupTask;
+import org.pac4j.spring.boot.warmup.EndpointConnector;
+import org.pac4j.spring.boot.warmup.JdkEndpointConnector;
+import org.pac4j.spring.boot.warmup.JwtWarmupTask;
+import org.pac4j.spring.boot.warmup.Pac4jWarmup;
+import org.pac4j.spring.boot.warmup.PreconnectWarmupTask;
+import org.pac4j.spring.boot.warmup.WarmupTask;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Initializes the clients, opens the connections to the identity providers and runs the JWT validation path at
+ * startup, before the application reports ready, instead of on the first logins after a deploy.
+ */
+@Configuration
+@AutoConfigureAfter({ Pac4jAutoConfiguration.class, Pac4jJwtConfiguration.class, Pac4jOAuthConfiguration.class })
+@ConditionalOnClass({ Clients.class })
+@ConditionalOnBean(Clients.class)
+@ConditionalOnProperty(prefix = Pac4jWarmupProperties.PREFIX, value = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ Pac4jWarmupProperties.class })
+public class Pac4jWarmupConfiguration {
+
+	public static final String OAUTH_CONNECTOR_BEAN_NAME = "pac4jOAuthEndpointConnector";
+
+	@Bean
+	public Pac4jWarmup pac4jWarmup(ObjectProvider<WarmupTask> warmupTasks, ApplicationEventPublisher eventPublisher,
+			Pac4jWarmupProperties warmupProperties) {
+		return new Pac4jWarmup(warmupTasks.orderedStream().collect(Collectors.toList()), eventPublisher,
+				warmupProperties.isFailFast());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = Pac4jWarmupProperties.PREFIX, value = "init-clients", havingValue = "true", matchIfMissing = true)
+	public ClientsWarmupTask clientsWarmupTask(Clients clients) {
+		return new ClientsWarmupTask(clients);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = Pac4jWarmupProperties.PREFIX, value = "preconnect", havingValue = "true", matchIfMissing = true)
+	public PreconnectWarmupTask preconnectWarmupTask(Clients clients, Pac4jWarmupProperties warmupProperties,
+			@Qualifier(OAUTH_CONNECTOR_BEAN_NAME) ObjectProvider<EndpointConnector> oauthConnectorProvider) {
+		final EndpointConnector connector = new JdkEndpointConnector();
+		return new PreconnectWarmupTask(clients, connector, oauthConnectorProvider.getIfAvailable(() -> connector),
+				warmupProperties.getConnectTimeout());
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.apache.http.impl.client.CloseableHttpClient")
+	@ConditionalOnBean(PooledHttpClientConfig.class)
+	static class PooledConnectorConfiguration {
+
+		@Bean(OAUTH_CONNECTOR_BEAN_NAME)
+		public EndpointConnector pac4jOAuthEndpointConnector(PooledHttpClientConfig pooledHttpClientConfig) {
+			return new PooledHttpEndpointConnector(pooledHttpClientConfig);
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.pac4j.jwt.credentials.authenticator.JwtAuthenticator")
+	static class JwtWarmupConfiguration {
+
+		@Bean
+		@ConditionalOnBean(JwtAuthenticator.class)
+		public JwtWarmupTask jwtWarmupTask(JwtAuthenticator jwtAuthenticator, Pac4jWarmupProperties warmupProperties) {
+			return new JwtWarmupTask(jwtAuthenticator, warmupProperties.getJwtPasses());
+		}
+
+	}
+
+}
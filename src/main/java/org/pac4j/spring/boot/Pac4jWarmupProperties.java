@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jWarmupProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jWarmupProperties {
+
+	public static final String PREFIX = "pac4j.warmup";
+
+	/** Whether Enable the warm-up run before the application reports ready. */
+	private boolean enabled = false;
+	/** Whether every configured client should be initialized (metadata, discovery documents, OAuth services...). */
+	private boolean initClients = true;
+	/** Whether a connection should be opened to every CAS server and OAuth provider and left in the pools. */
+	private boolean preconnect = true;
+	/** Connect and read timeout of the pre-connections. */
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	/** Number of validations of a self-signed token through the JWT authenticator, 0 to disable. */
+	private int jwtPasses = 100;
+	/** Whether a failed warm-up step should fail the startup instead of being logged. */
+	private boolean failFast = false;
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import java.util.concurrent.ExecutorService;
+
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.config.Config;
+import org.pac4j.spring.boot.authorizer.PlanningAuthorizationChecker;
+import org.pac4j.spring.boot.client.IndexedClients;
+import org.pac4j.spring.boot.client.IndexedSecurityClientFinder;
+import org.pac4j.spring.boot.matching.CompiledRequestMatcher;
+import org.pac4j.spring.boot.webflux.Pac4jWebFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.WebFilter;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Exposes the pac4j {@link Config} as a {@link WebFilter} in a reactive (WebFlux) application.
+ */
+@Configuration
+@AutoConfigureAfter({ Pac4jAutoConfiguration.class, Pac4jExecutorConfiguration.class })
+@ConditionalOnClass({ Clients.class, WebFilter.class, Mono.class })
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = Pac4jWebFluxProperties.PREFIX, value = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnBean(Config.class)
+@EnableConfigurationProperties({ Pac4jProperties.class, Pac4jWebFluxProperties.class })
+public class Pac4jWebFluxConfiguration {
+
+	public static final String SCHEDULER_BEAN_NAME = "pac4jAuthenticationScheduler";
+
+	@Bean(name = SCHEDULER_BEAN_NAME, destroyMethod = "dispose")
+	@ConditionalOnMissingBean(name = SCHEDULER_BEAN_NAME)
+	public Scheduler pac4jAuthenticationScheduler(Pac4jWebFluxProperties webFluxProperties,
+			@Qualifier(Pac4jExecutorConfiguration.EXECUTOR_BEAN_NAME) ObjectProvider<ExecutorService> executorServiceProvider) {
+		// pac4j.executor (i.e. virtual threads) takes precedence over the dedicated bounded elastic scheduler
+		ExecutorService executorService = executorServiceProvider.getIfAvailable();
+		if (executorService != null) {
+			return Schedulers.fromExecutorService(executorService, "pac4j-auth");
+		}
+		return Schedulers.newBoundedElastic(webFluxProperties.getThreadCap(), webFluxProperties.getQueuedTaskCap(), "pac4j-auth");
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public Pac4jWebFilter pac4jWebFilter(Config config, Pac4jProperties pac4jProperties,
+			Pac4jWebFluxProperties webFluxProperties, @Qualifier(SCHEDULER_BEAN_NAME) Scheduler scheduler,
+			ObjectProvider<CompiledRequestMatcher> compiledRequestMatcherProvider,
+			ObjectProvider<PlanningAuthorizationChecker> authorizationCheckerProvider) {
+
+		Pac4jWebFilter webFilter = new Pac4jWebFilter(config, scheduler);
+		webFilter.setClients(StringUtils.hasText(webFluxProperties.getClients()) ? webFluxProperties.getClients()
+				: pac4jProperties.getClients());
+		webFilter.setAuthorizers(webFluxProperties.getAuthorizers());
+		webFilter.setMatchers(StringUtils.hasText(webFluxProperties.getMatchers()) ? webFluxProperties.getMatchers()
+				: pac4jProperties.getMatchers());
+		webFilter.setMultiProfile(webFluxProperties.isMultiProfile());
+		webFilter.setOrder(webFluxProperties.getOrder());
+		webFilter.setPathPatterns(webFluxProperties.getPathPatterns());
+		webFilter.setExcludePathPatterns(webFluxProperties.getExcludePathPatterns());
+		compiledRequestMatcherProvider.ifAvailable(webFilter::setRequestMatcher);
+		authorizationCheckerProvider.ifAvailable(webFilter::setAuthorizationChecker);
+		if (config.getClients() instanceof IndexedClients) {
+			webFilter.setClientFinder(new IndexedSecurityClientFinder());
+		}
+		return webFilter;
+	}
+
+}
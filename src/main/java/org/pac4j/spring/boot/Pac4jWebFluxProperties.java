@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@ConfigurationProperties(Pac4jWebFluxProperties.PREFIX)
+@Getter
+@Setter
+@ToString
+public class Pac4jWebFluxProperties {
+
+	public static final String PREFIX = "pac4j.webflux";
+
+	/** Whether Enable the reactive pac4j WebFilter (only in a reactive web application). */
+	private boolean enabled = true;
+	/** Order of the WebFilter. */
+	private int order = 0;
+	/** Path patterns (i.e. /api/**) secured by the filter, all the requests when empty. */
+	private String[] pathPatterns;
+	/** Path patterns never secured by the filter. */
+	private String[] excludePathPatterns;
+	/** Direct clients used by the filter, defaults to pac4j.clients; indirect (redirection based) clients are ignored. */
+	private String clients;
+	/** Authorizers checked by the filter; unlike pac4j.authorizers there is no csrf check by default, direct clients being stateless. */
+	private String authorizers;
+	/** Matchers checked by the filter, defaults to pac4j.matchers. */
+	private String matchers;
+	/** Whether the filter keeps the profiles of all the clients or stops at the first authenticated one. */
+	private boolean multiProfile = false;
+	/** Maximum number of threads running the blocking pac4j validations (remote CAS / OAuth / JWKS calls), hence of concurrent validations. */
+	private int threadCap = 10 * Runtime.getRuntime().availableProcessors();
+	/** Maximum number of validations waiting for a thread, beyond which requests are rejected. */
+	private int queuedTaskCap = 100000;
+
+}
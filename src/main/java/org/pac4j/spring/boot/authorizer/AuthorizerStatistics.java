@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.authorizer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation count, rejection count and cumulated evaluation time of one authorizer.
+ */
+public class AuthorizerStatistics {
+
+	private final String name;
+	private final LongAdder evaluations = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+
+	public AuthorizerStatistics(final String name) {
+		this.name = name;
+	}
+
+	void record(final long nanos, final boolean authorized) {
+		evaluations.increment();
+		totalNanos.add(nanos);
+		if (!authorized) {
+			rejections.increment();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getEvaluations() {
+		return evaluations.sum();
+	}
+
+	public long getRejections() {
+		return rejections.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * @return the mean evaluation time in nanoseconds, 0 if never evaluated.
+	 */
+	public double getMeanNanos() {
+		final long count = getEvaluations();
+		return count == 0 ? 0d : (double) getTotalNanos() / count;
+	}
+
+	/**
+	 * @return the share of the evaluations which rejected the request, 0 if never evaluated.
+	 */
+	public double getRejectionRate() {
+		final long count = getEvaluations();
+		return count == 0 ? 0d : (double) getRejections() / count;
+	}
+
+	@Override
+	public String toString() {
+		return name + "[evaluations=" + getEvaluations() + ", rejections=" + getRejections() + ", meanNanos="
+				+ Math.round(getMeanNanos()) + "]";
+	}
+
+}
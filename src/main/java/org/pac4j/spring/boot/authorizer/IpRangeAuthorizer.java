@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.authorizer;
+
+import java.util.List;
+
+import org.pac4j.core.authorization.authorizer.Authorizer;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * CIDR based alternative to {@link org.pac4j.http.authorization.authorizer.IpRegexpAuthorizer}: the client address
+ * must be in one of the allowed {@link IpRanges}.
+ * <p>
+ * When the remote address is a trusted proxy, the client address is read from the forwarded header: the entries are
+ * walked from the right and the first one which is not a trusted proxy is the client, so a client cannot spoof its
+ * address by sending its own header.
+ */
+public class IpRangeAuthorizer implements Authorizer<UserProfile> {
+
+	public static final String DEFAULT_FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+	private final IpRanges allowedRanges;
+	private final IpRanges trustedProxies;
+	private final String forwardedForHeader;
+
+	public IpRangeAuthorizer(final IpRanges allowedRanges) {
+		this(allowedRanges, null, DEFAULT_FORWARDED_FOR_HEADER);
+	}
+
+	public IpRangeAuthorizer(final IpRanges allowedRanges, final IpRanges trustedProxies, final String forwardedForHeader) {
+		CommonHelper.assertNotNull("allowedRanges", allowedRanges);
+		this.allowedRanges = allowedRanges;
+		this.trustedProxies = trustedProxies == null || trustedProxies.isEmpty() ? null : trustedProxies;
+		this.forwardedForHeader = forwardedForHeader == null ? DEFAULT_FORWARDED_FOR_HEADER : forwardedForHeader;
+	}
+
+	@Override
+	public boolean isAuthorized(final WebContext context, final List<UserProfile> profiles) {
+		final String remoteAddr = context.getRemoteAddr();
+		if (trustedProxies == null || !trustedProxies.contains(remoteAddr)) {
+			return allowedRanges.contains(remoteAddr);
+		}
+		final String forwardedFor = context.getRequestHeader(forwardedForHeader).orElse(null);
+		if (forwardedFor == null) {
+			return allowedRanges.contains(remoteAddr);
+		}
+		int end = forwardedFor.length();
+		while (end > 0) {
+			final int comma = forwardedFor.lastIndexOf(',', end - 1);
+			final int start = comma + 1;
+			if (comma < 0 || !trustedProxies.contains(forwardedFor, start, end)) {
+				// first untrusted hop, or the left most one when all the hops are proxies
+				return allowedRanges.contains(forwardedFor, start, end);
+			}
+			end = comma;
+		}
+		return false;
+	}
+
+	public IpRanges getAllowedRanges() {
+		return allowedRanges;
+	}
+
+}
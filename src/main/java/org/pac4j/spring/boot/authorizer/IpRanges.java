@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.authorizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.pac4j.core.exception.TechnicalException;
+
+/**
+ * Immutable set of IPv4 / IPv6 ranges parsed once from CIDR notations ({@code 10.0.0.0/8}, {@code 2001:db8::/32})
+ * or single addresses, merged and sorted into primitive arrays. Lookups parse the address in place and binary
+ * search the ranges, without allocating. IPv4-mapped IPv6 addresses ({@code ::ffff:10.1.2.3}) are looked up as IPv4.
+ */
+public final class IpRanges {
+
+	private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+	private final long[] v4Starts;
+	private final long[] v4Ends;
+	private final long[] v6StartHis;
+	private final long[] v6StartLos;
+	private final long[] v6EndHis;
+	private final long[] v6EndLos;
+
+	private IpRanges(final List<long[]> v4, final List<long[]> v6) {
+		v4Starts = new long[v4.size()];
+		v4Ends = new long[v4.size()];
+		for (int i = 0; i < v4.size(); i++) {
+			v4Starts[i] = v4.get(i)[0];
+			v4Ends[i] = v4.get(i)[1];
+		}
+		v6StartHis = new long[v6.size()];
+		v6StartLos = new long[v6.size()];
+		v6EndHis = new long[v6.size()];
+		v6EndLos = new long[v6.size()];
+		for (int i = 0; i < v6.size(); i++) {
+			v6StartHis[i] = v6.get(i)[0];
+			v6StartLos[i] = v6.get(i)[1];
+			v6EndHis[i] = v6.get(i)[2];
+			v6EndLos[i] = v6.get(i)[3];
+		}
+	}
+
+	/**
+	 * @param ranges CIDR notations or single addresses.
+	 * @return the parsed ranges.
+	 * @throws TechnicalException if a range is invalid.
+	 */
+	public static IpRanges parse(final String... ranges) {
+		final List<long[]> v4 = new ArrayList<>();
+		final List<long[]> v6 = new ArrayList<>();
+		if (ranges != null) {
+			for (final String range : ranges) {
+				if (range == null || range.trim().isEmpty()) {
+					continue;
+				}
+				addRange(range.trim(), v4, v6);
+			}
+		}
+		return new IpRanges(merge(v4, 2), merge(v6, 4));
+	}
+
+	public boolean isEmpty() {
+		return v4Starts.length == 0 && v6StartHis.length == 0;
+	}
+
+	/**
+	 * @return the number of ranges once merged.
+	 */
+	int size() {
+		return v4Starts.length + v6StartHis.length;
+	}
+
+	/**
+	 * @param address an IPv4 or IPv6 address.
+	 * @return whether the address is in one of the ranges; false if it cannot be parsed.
+	 */
+	public boolean contains(final CharSequence address) {
+		return address != null && contains(address, 0, address.length());
+	}
+
+	/**
+	 * @param text the text holding the address, i.e. a X-Forwarded-For header.
+	 * @param from start index of the address, inclusive.
+	 * @param to end index of the address, exclusive; surrounding spaces, brackets, zone and port are ignored.
+	 * @return whether the address is in one of the ranges; false if it cannot be parsed.
+	 */
+	public boolean contains(final CharSequence text, int from, int to) {
+		while (from < to && text.charAt(from) == ' ') {
+			from++;
+		}
+		while (to > from && text.charAt(to - 1) == ' ') {
+			to--;
+		}
+		if (from >= to) {
+			return false;
+		}
+		int colons = 0;
+		boolean dot = false;
+		for (int i = from; i < to; i++) {
+			final char c = text.charAt(i);
+			if (c == ':') {
+				colons++;
+			} else if (c == '.') {
+				dot = true;
+			}
+		}
+		if (colons == 0 || (colons == 1 && dot)) {
+			// IPv4, optionally followed by a port
+			final long ip = parseIPv4(text, from, colons == 0 ? to : indexOf(text, ':', from, to));
+			return ip >= 0 && containsV4(ip);
+		}
+		if (text.charAt(from) == '[') {
+			final int end = indexOf(text, ']', from, to);
+			if (end < 0) {
+				return false;
+			}
+			from++;
+			to = end;
+		}
+		final int zone = indexOf(text, '%', from, to);
+		if (zone >= 0) {
+			to = zone;
+		}
+		final long[] scratch = SCRATCH.get();
+		if (!parseIPv6(text, from, to, scratch)) {
+			return false;
+		}
+		final long hi = scratch[0];
+		final long lo = scratch[1];
+		if (hi == 0L && (lo >>> 32) == 0xffffL) {
+			return containsV4(lo & 0xffffffffL);
+		}
+		return containsV6(hi, lo);
+	}
+
+	private boolean containsV4(final long ip) {
+		int low = 0;
+		int high = v4Starts.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (v4Starts[mid] <= ip) {
+				if (ip <= v4Ends[mid]) {
+					return true;
+				}
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return false;
+	}
+
+	private boolean containsV6(final long hi, final long lo) {
+		int low = 0;
+		int high = v6StartHis.length - 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (compare(v6StartHis[mid], v6StartLos[mid], hi, lo) <= 0) {
+				if (compare(hi, lo, v6EndHis[mid], v6EndLos[mid]) <= 0) {
+					return true;
+				}
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return false;
+	}
+
+	private static void addRange(final String range, final List<long[]> v4, final List<long[]> v6) {
+		final int slash = range.indexOf('/');
+		final String address = slash < 0 ? range : range.substring(0, slash);
+		final boolean ipv6 = address.indexOf(':') >= 0;
+		final int maxPrefix = ipv6 ? 128 : 32;
+		final int prefix;
+		try {
+			prefix = slash < 0 ? maxPrefix : Integer.parseInt(range.substring(slash + 1));
+		} catch (final NumberFormatException e) {
+			throw new TechnicalException("Invalid prefix length in IP range: " + range);
+		}
+		if (prefix < 0 || prefix > maxPrefix) {
+			throw new TechnicalException("Invalid prefix length in IP range: " + range);
+		}
+		if (!ipv6) {
+			final long ip = parseIPv4(address, 0, address.length());
+			if (ip < 0) {
+				throw new TechnicalException("Invalid IPv4 range: " + range);
+			}
+			final long mask = prefix == 0 ? 0L : (0xffffffffL << (32 - prefix)) & 0xffffffffL;
+			final long start = ip & mask;
+			v4.add(new long[] { start, start | (~mask & 0xffffffffL) });
+			return;
+		}
+		final long[] parsed = new long[2];
+		if (!parseIPv6(address, 0, address.length(), parsed)) {
+			throw new TechnicalException("Invalid IPv6 range: " + range);
+		}
+		if (parsed[0] == 0L && (parsed[1] >>> 32) == 0xffffL && prefix >= 96) {
+			// IPv4-mapped range, looked up as IPv4
+			final long mask = prefix == 96 ? 0L : (0xffffffffL << (128 - prefix)) & 0xffffffffL;
+			final long start = parsed[1] & mask & 0xffffffffL;
+			v4.add(new long[] { start, start | (~mask & 0xffffffffL) });
+			return;
+		}
+		if (prefix <= 64) {
+			final long hiMask = prefix == 0 ? 0L : -1L << (64 - prefix);
+			final long startHi = parsed[0] & hiMask;
+			v6.add(new long[] { startHi, 0L, startHi | ~hiMask, -1L });
+		} else {
+			final long loMask = -1L << (128 - prefix);
+			final long startLo = parsed[1] & loMask;
+			v6.add(new long[] { parsed[0], startLo, parsed[0], startLo | ~loMask });
+		}
+	}
+
+	/**
+	 * Sort the ranges by start and merge the overlapping or adjacent ones.
+	 */
+	private static List<long[]> merge(final List<long[]> ranges, final int width) {
+		if (ranges.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final boolean v6 = width == 4;
+		ranges.sort((a, b) -> v6 ? compare(a[0], a[1], b[0], b[1]) : Long.compare(a[0], b[0]));
+		final List<long[]> merged = new ArrayList<>();
+		long[] current = ranges.get(0).clone();
+		for (int i = 1; i < ranges.size(); i++) {
+			final long[] next = ranges.get(i);
+			final boolean adjacent;
+			if (v6) {
+				// current end + 1, with the carry from the low to the high bits
+				final boolean endIsMax = current[2] == -1L && current[3] == -1L;
+				final long afterEndHi = current[3] == -1L ? current[2] + 1 : current[2];
+				final long afterEndLo = current[3] + 1;
+				adjacent = endIsMax || compare(next[0], next[1], afterEndHi, afterEndLo) <= 0;
+				if (adjacent && compare(next[2], next[3], current[2], current[3]) > 0) {
+					current[2] = next[2];
+					current[3] = next[3];
+				}
+			} else {
+				adjacent = next[0] <= current[1] + 1;
+				if (adjacent && next[1] > current[1]) {
+					current[1] = next[1];
+				}
+			}
+			if (!adjacent) {
+				merged.add(current);
+				current = next.clone();
+			}
+		}
+		merged.add(current);
+		return merged;
+	}
+
+	private static int compare(final long hi1, final long lo1, final long hi2, final long lo2) {
+		final int hi = Long.compareUnsigned(hi1, hi2);
+		return hi != 0 ? hi : Long.compareUnsigned(lo1, lo2);
+	}
+
+	private static int indexOf(final CharSequence text, final char c, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			if (text.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the address as an unsigned 32 bits value, -1 if it is not a valid dotted IPv4 address.
+	 */
+	static long parseIPv4(final CharSequence text, final int from, final int to) {
+		long ip = 0L;
+		int octet = 0;
+		int digits = 0;
+		int dots = 0;
+		for (int i = from; i < to; i++) {
+			final char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				octet = octet * 10 + (c - '0');
+				if (++digits > 3 || octet > 255) {
+					return -1L;
+				}
+			} else if (c == '.') {
+				if (digits == 0 || ++dots > 3) {
+					return -1L;
+				}
+				ip = (ip << 8) | octet;
+				octet = 0;
+				digits = 0;
+			} else {
+				return -1L;
+			}
+		}
+		if (digits == 0 || dots != 3) {
+			return -1L;
+		}
+		return (ip << 8) | octet;
+	}
+
+	/**
+	 * Parse an IPv6 address, with {@code ::} compression and an optional trailing dotted IPv4, into two longs.
+	 *
+	 * @return whether the address is valid; {@code out[0]} holds the high and {@code out[1]} the low 64 bits.
+	 */
+	static boolean parseIPv6(final CharSequence text, final int from, final int to, final long[] out) {
+		// groups before (head) and after (tail) the "::", accumulated as 128 bits values
+		long headHi = 0L, headLo = 0L, tailHi = 0L, tailLo = 0L;
+		int headGroups = 0, tailGroups = 0;
+		boolean compressed = false;
+		int i = from;
+		if (to - from >= 2 && text.charAt(from) == ':' && text.charAt(from + 1) == ':') {
+			compressed = true;
+			i += 2;
+		} else if (from < to && text.charAt(from) == ':') {
+			return false;
+		}
+		while (i < to) {
+			int end = i;
+			int value = 0;
+			boolean dotted = false;
+			while (end < to && text.charAt(end) != ':') {
+				final char c = text.charAt(end);
+				final int digit = Character.digit(c, 16);
+				if (c == '.') {
+					dotted = true;
+				} else if (digit < 0) {
+					return false;
+				}
+				value = (value << 4) | Math.max(digit, 0);
+				end++;
+			}
+			final int groups;
+			final long bits;
+			if (dotted) {
+				if (end != to) {
+					return false;
+				}
+				final long ipv4 = parseIPv4(text, i, end);
+				if (ipv4 < 0) {
+					return false;
+				}
+				groups = 2;
+				bits = ipv4;
+			} else {
+				if (end == i || end - i > 4) {
+					return false;
+				}
+				groups = 1;
+				bits = value;
+			}
+			final int shift = 16 * groups;
+			if (compressed) {
+				tailHi = (tailHi << shift) | (tailLo >>> (64 - shift));
+				tailLo = (tailLo << shift) | bits;
+				tailGroups += groups;
+			} else {
+				headHi = (headHi << shift) | (headLo >>> (64 - shift));
+				headLo = (headLo << shift) | bits;
+				headGroups += groups;
+			}
+			if (headGroups + tailGroups > 8) {
+				return false;
+			}
+			if (end == to) {
+				break;
+			}
+			// end is on a ':'
+			if (end + 1 < to && text.charAt(end + 1) == ':') {
+				if (compressed) {
+					return false;
+				}
+				compressed = true;
+				i = end + 2;
+			} else if (end + 1 == to) {
+				return false;
+			} else {
+				i = end + 1;
+			}
+		}
+		if (!compressed && headGroups != 8) {
+			return false;
+		}
+		if (compressed && headGroups + tailGroups > 7) {
+			return false;
+		}
+		// head is shifted left by the number of bits of the missing groups, then the tail is or'ed
+		final int shift = 16 * (8 - headGroups);
+		if (shift >= 128) {
+			headHi = 0L;
+			headLo = 0L;
+		} else if (shift >= 64) {
+			headHi = headLo << (shift - 64);
+			headLo = 0L;
+		} else if (shift > 0) {
+			headHi = (headHi << shift) | (headLo >>> (64 - shift));
+			headLo = headLo << shift;
+		}
+		out[0] = headHi | tailHi;
+		out[1] = headLo | tailLo;
+		return true;
+	}
+
+}
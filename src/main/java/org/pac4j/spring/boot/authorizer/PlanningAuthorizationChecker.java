@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.authorizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.pac4j.core.authorization.authorizer.Authorizer;
+import org.pac4j.core.authorization.authorizer.CheckHttpMethodAuthorizer;
+import org.pac4j.core.authorization.authorizer.CsrfAuthorizer;
+import org.pac4j.core.authorization.authorizer.DefaultAuthorizers;
+import org.pac4j.core.authorization.authorizer.IsAnonymousAuthorizer;
+import org.pac4j.core.authorization.authorizer.IsAuthenticatedAuthorizer;
+import org.pac4j.core.authorization.authorizer.IsFullyAuthenticatedAuthorizer;
+import org.pac4j.core.authorization.authorizer.IsRememberedAuthorizer;
+import org.pac4j.core.authorization.checker.DefaultAuthorizationChecker;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.http.authorization.authorizer.IpRegexpAuthorizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DefaultAuthorizationChecker} which evaluates every authorizer chain in the order minimizing its expected
+ * cost: all the authorizers of a chain must pass, so the chain stops at the first rejection and the authorizers are
+ * sorted by mean evaluation time divided by rejection rate, cheap and selective ones first.
+ * <p>
+ * The initial plan relies on the kind of the authorizers (request checks such as IP or method before profile checks,
+ * CSRF last); once an authorizer has been evaluated {@code warmup} times its measured time and rejection rate are
+ * used, the chain being re-planned every {@code replanInterval} evaluations. Pinned authorizers keep their declared
+ * position, for the chains whose semantics depend on the order. The resolution of the names is left to pac4j.
+ */
+public class PlanningAuthorizationChecker extends DefaultAuthorizationChecker {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PlanningAuthorizationChecker.class);
+
+	private static final double REQUEST_COST_NANOS = 50d;
+	private static final double PROFILE_COST_NANOS = 200d;
+	private static final double UNKNOWN_COST_NANOS = 500d;
+	private static final double CSRF_COST_NANOS = 1000d;
+	private static final double DEFAULT_REJECTION_RATE = 0.1d;
+	private static final double MIN_REJECTION_RATE = 0.0001d;
+
+	private Map<String, Authorizer> namedAuthorizers = Collections.emptyMap();
+	private final Set<String> pinned;
+	private final long warmup;
+	private final long replanInterval;
+	private final Map<Authorizer, AuthorizerStatistics> statistics = new ConcurrentHashMap<>();
+	private final Map<List<Authorizer>, Plan> plans = new ConcurrentHashMap<>();
+	private final List<Consumer<AuthorizerStatistics>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param pinned names of the authorizers keeping their declared position.
+	 * @param warmup number of evaluations of an authorizer before its measures are trusted.
+	 * @param replanInterval number of evaluations of a chain between two plans.
+	 */
+	public PlanningAuthorizationChecker(final Collection<String> pinned, final long warmup, final long replanInterval) {
+		CommonHelper.assertTrue(replanInterval > 0, "replanInterval must be greater than 0");
+		this.pinned = pinned == null ? Collections.emptySet()
+				: pinned.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+		this.warmup = warmup;
+		this.replanInterval = replanInterval;
+	}
+
+	@Override
+	protected boolean isAuthorized(final WebContext context, final List<UserProfile> profiles, final List<Authorizer> authorizers) {
+		CommonHelper.assertTrue(CommonHelper.isNotEmpty(profiles), "profiles must not be null or empty");
+		if (CommonHelper.isEmpty(authorizers)) {
+			return true;
+		}
+		final Plan plan = plans.computeIfAbsent(authorizers, this::newPlan);
+		final Step[] steps = plan.steps;
+		if (plan.evaluations.incrementAndGet() % replanInterval == 0) {
+			replan(plan);
+		}
+		for (final Step step : steps) {
+			final long start = System.nanoTime();
+			final boolean authorized = step.authorizer.isAuthorized(context, profiles);
+			step.statistics.record(System.nanoTime() - start, authorized);
+			if (!authorized) {
+				LOGGER.debug("Authorizer {} rejected the request", step.statistics.getName());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the statistics of every authorizer evaluated so far.
+	 */
+	public Collection<AuthorizerStatistics> getStatistics() {
+		return Collections.unmodifiableCollection(statistics.values());
+	}
+
+	/**
+	 * @return the current evaluation order of every chain, by authorizer name.
+	 */
+	public List<List<String>> getPlans() {
+		final List<List<String>> result = new ArrayList<>();
+		for (final Plan plan : plans.values()) {
+			result.add(Arrays.stream(plan.steps).map(step -> step.statistics.getName()).collect(Collectors.toList()));
+		}
+		return result;
+	}
+
+	/**
+	 * @param namedAuthorizers the authorizers of the Config, used to name the statistics and the pinned authorizers.
+	 */
+	public void setNamedAuthorizers(final Map<String, Authorizer> namedAuthorizers) {
+		this.namedAuthorizers = namedAuthorizers == null ? Collections.emptyMap() : namedAuthorizers;
+	}
+
+	/**
+	 * Be notified of the statistics of every authorizer, already evaluated or evaluated for the first time later on.
+	 *
+	 * @param listener the listener, i.e. binding meters.
+	 */
+	public void addStatisticsListener(final Consumer<AuthorizerStatistics> listener) {
+		listeners.add(listener);
+		statistics.values().forEach(listener);
+	}
+
+	private Plan newPlan(final List<Authorizer> authorizers) {
+		final List<Authorizer> declared = new ArrayList<>(authorizers);
+		final Step[] steps = new Step[declared.size()];
+		for (int i = 0; i < steps.length; i++) {
+			final Authorizer authorizer = declared.get(i);
+			final AuthorizerStatistics stats = statistics.computeIfAbsent(authorizer, this::newStatistics);
+			steps[i] = new Step(authorizer, stats, pinned.contains(stats.getName().toLowerCase(Locale.ROOT)));
+		}
+		final Plan plan = new Plan(steps);
+		replan(plan);
+		return plan;
+	}
+
+	private AuthorizerStatistics newStatistics(final Authorizer authorizer) {
+		final AuthorizerStatistics stats = new AuthorizerStatistics(nameOf(authorizer));
+		listeners.forEach(listener -> listener.accept(stats));
+		return stats;
+	}
+
+	private void replan(final Plan plan) {
+		final Step[] declared = plan.declared;
+		final List<Step> movable = new ArrayList<>();
+		for (final Step step : declared) {
+			if (!step.pinned) {
+				movable.add(step);
+			}
+		}
+		movable.sort(Comparator.comparingDouble(this::score));
+		final Step[] ordered = new Step[declared.length];
+		int next = 0;
+		for (int i = 0; i < declared.length; i++) {
+			ordered[i] = declared[i].pinned ? declared[i] : movable.get(next++);
+		}
+		if (!Arrays.equals(ordered, plan.steps)) {
+			plan.steps = ordered;
+			LOGGER.debug("Authorizer chain planned: {}", Arrays.toString(ordered));
+		}
+	}
+
+	/**
+	 * Expected cost of reaching a rejection with this authorizer: the lower, the earlier it is evaluated.
+	 */
+	protected double score(final Step step) {
+		final AuthorizerStatistics stats = step.statistics;
+		final double cost;
+		final double rejectionRate;
+		if (stats.getEvaluations() >= warmup && stats.getEvaluations() > 0) {
+			cost = stats.getMeanNanos();
+			rejectionRate = stats.getRejectionRate();
+		} else {
+			cost = estimatedCost(step.authorizer);
+			rejectionRate = DEFAULT_REJECTION_RATE;
+		}
+		return cost / Math.max(rejectionRate, MIN_REJECTION_RATE);
+	}
+
+	/**
+	 * @param authorizer the authorizer.
+	 * @return its estimated evaluation time, before it has been measured.
+	 */
+	protected double estimatedCost(final Authorizer authorizer) {
+		if (authorizer instanceof IpRangeAuthorizer || authorizer instanceof RequestShapeAuthorizer
+				|| authorizer instanceof IpRegexpAuthorizer || authorizer instanceof CheckHttpMethodAuthorizer) {
+			return REQUEST_COST_NANOS;
+		}
+		if (authorizer instanceof CsrfAuthorizer) {
+			return CSRF_COST_NANOS;
+		}
+		if (authorizer instanceof IsAuthenticatedAuthorizer || authorizer instanceof IsAnonymousAuthorizer
+				|| authorizer instanceof IsFullyAuthenticatedAuthorizer || authorizer instanceof IsRememberedAuthorizer
+				|| authorizer.getClass().getName().startsWith("org.pac4j.core.authorization.authorizer.Require")) {
+			return PROFILE_COST_NANOS;
+		}
+		return UNKNOWN_COST_NANOS;
+	}
+
+	protected String nameOf(final Authorizer authorizer) {
+		for (final Map.Entry<String, Authorizer> entry : namedAuthorizers.entrySet()) {
+			if (entry.getValue() == authorizer) {
+				return entry.getKey();
+			}
+		}
+		if (authorizer instanceof CsrfAuthorizer) {
+			return DefaultAuthorizers.CSRF_CHECK;
+		}
+		if (authorizer instanceof IsAnonymousAuthorizer) {
+			return DefaultAuthorizers.IS_ANONYMOUS;
+		}
+		if (authorizer instanceof IsFullyAuthenticatedAuthorizer) {
+			return DefaultAuthorizers.IS_FULLY_AUTHENTICATED;
+		}
+		if (authorizer instanceof IsAuthenticatedAuthorizer) {
+			return DefaultAuthorizers.IS_AUTHENTICATED;
+		}
+		if (authorizer instanceof IsRememberedAuthorizer) {
+			return DefaultAuthorizers.IS_REMEMBERED;
+		}
+		return authorizer.getClass().getSimpleName();
+	}
+
+	protected static final class Step {
+
+		private final Authorizer authorizer;
+		private final AuthorizerStatistics statistics;
+		private final boolean pinned;
+
+		private Step(final Authorizer authorizer, final AuthorizerStatistics statistics, final boolean pinned) {
+			this.authorizer = authorizer;
+			this.statistics = statistics;
+			this.pinned = pinned;
+		}
+
+		@Override
+		public String toString() {
+			return statistics.toString();
+		}
+
+	}
+
+	private static final class Plan {
+
+		private final Step[] declared;
+		private final AtomicLong evaluations = new AtomicLong();
+		private volatile Step[] steps;
+
+		private Plan(final Step[] declared) {
+			this.declared = declared;
+			this.steps = declared;
+		}
+
+	}
+
+}
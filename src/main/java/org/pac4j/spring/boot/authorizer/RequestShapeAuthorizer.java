@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.authorizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.pac4j.core.authorization.authorizer.Authorizer;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.HttpConstants.HTTP_METHOD;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.Pac4jHttpMethodUtils;
+
+/**
+ * Authorizer checking the shape of the request rather than the profile: allowed methods (a bit set instead of the
+ * list scanned by {@link org.pac4j.core.authorization.authorizer.CheckHttpMethodAuthorizer}), allowed content types
+ * of the requests carrying a body, and required headers. Everything is prepared once, a check only compares
+ * characters in place.
+ */
+public class RequestShapeAuthorizer implements Authorizer<UserProfile> {
+
+	private static final int BODY_METHODS = Pac4jHttpMethodUtils.bit(HTTP_METHOD.POST)
+			| Pac4jHttpMethodUtils.bit(HTTP_METHOD.PUT) | Pac4jHttpMethodUtils.bit(HTTP_METHOD.PATCH);
+
+	private int methods;
+	private final List<String> contentTypeList = new ArrayList<>();
+	private final List<String> headerList = new ArrayList<>();
+	private String[] contentTypes = new String[0];
+	private String[] requiredHeaders = new String[0];
+
+	public RequestShapeAuthorizer method(final HTTP_METHOD method) {
+		methods |= Pac4jHttpMethodUtils.bit(method);
+		return this;
+	}
+
+	public RequestShapeAuthorizer methods(final HTTP_METHOD... methods) {
+		for (final HTTP_METHOD method : methods) {
+			method(method);
+		}
+		return this;
+	}
+
+	/**
+	 * @param contentType a media type allowed for POST, PUT and PATCH requests, i.e. {@code application/json}, or
+	 *            a type wildcard, i.e. {@code text/*}; parameters such as the charset are ignored.
+	 * @return this authorizer.
+	 */
+	public RequestShapeAuthorizer contentType(final String contentType) {
+		CommonHelper.assertNotBlank("contentType", contentType);
+		String mediaType = contentType.trim().toLowerCase(Locale.ROOT);
+		if (mediaType.endsWith("/*")) {
+			mediaType = mediaType.substring(0, mediaType.length() - 1);
+		}
+		contentTypeList.add(mediaType);
+		contentTypes = contentTypeList.toArray(new String[0]);
+		return this;
+	}
+
+	public RequestShapeAuthorizer requiredHeader(final String name) {
+		CommonHelper.assertNotBlank("name", name);
+		headerList.add(name);
+		requiredHeaders = headerList.toArray(new String[0]);
+		return this;
+	}
+
+	@Override
+	public boolean isAuthorized(final WebContext context, final List<UserProfile> profiles) {
+		final String method = context.getRequestMethod();
+		if (methods != 0 && !Pac4jHttpMethodUtils.contains(methods, method)) {
+			return false;
+		}
+		for (final String header : requiredHeaders) {
+			if (!context.getRequestHeader(header).isPresent()) {
+				return false;
+			}
+		}
+		if (contentTypes.length > 0 && Pac4jHttpMethodUtils.contains(BODY_METHODS, method)) {
+			return isContentTypeAllowed(context.getRequestHeader(HttpConstants.CONTENT_TYPE_HEADER).orElse(null));
+		}
+		return true;
+	}
+
+	private boolean isContentTypeAllowed(final String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		int end = contentType.indexOf(';');
+		if (end < 0) {
+			end = contentType.length();
+		}
+		int start = 0;
+		while (start < end && contentType.charAt(start) == ' ') {
+			start++;
+		}
+		while (end > start && contentType.charAt(end - 1) == ' ') {
+			end--;
+		}
+		final int length = end - start;
+		for (final String allowed : contentTypes) {
+			// a type wildcard is stored as its "type/" prefix
+			final boolean wildcard = allowed.charAt(allowed.length() - 1) == '/';
+			if ((wildcard ? length > allowed.length() : length == allowed.length())
+					&& contentType.regionMatches(true, start, allowed, 0, allowed.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
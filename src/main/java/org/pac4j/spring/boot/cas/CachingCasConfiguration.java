@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import org.jasig.cas.client.validation.TicketValidator;
+import org.pac4j.cas.config.CasConfiguration;
+import org.pac4j.cas.config.CasProtocol;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * {@link CasConfiguration} whose ticket validators, built per request by pac4j, all share one {@link CasTicketValidationCache},
+ * so that a ticket replayed within its validity window does not hit the CAS server again.
+ */
+public class CachingCasConfiguration extends CasConfiguration {
+
+	private final CasTicketValidationCache ticketValidationCache;
+
+	public CachingCasConfiguration(final String loginUrl, final CasProtocol protocol,
+			final CasTicketValidationCache ticketValidationCache) {
+		super(loginUrl, protocol);
+		CommonHelper.assertNotNull("ticketValidationCache", ticketValidationCache);
+		this.ticketValidationCache = ticketValidationCache;
+	}
+
+	@Override
+	public TicketValidator retrieveTicketValidator(final WebContext context) {
+		return new CachingTicketValidator(super.retrieveTicketValidator(context), ticketValidationCache);
+	}
+
+	public CasTicketValidationCache getTicketValidationCache() {
+		return ticketValidationCache;
+	}
+
+}
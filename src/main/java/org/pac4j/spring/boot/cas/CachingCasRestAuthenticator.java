@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import org.pac4j.cas.profile.CasRestProfile;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.profile.UserProfile;
+
+/**
+ * {@code CasRestAuthenticator} decorator reusing the Ticket Granting Ticket already granted to the same credentials,
+ * so that an authentication only costs the service ticket request and its validation.
+ */
+public class CachingCasRestAuthenticator implements Authenticator<UsernamePasswordCredentials> {
+
+	private final Authenticator<UsernamePasswordCredentials> delegate;
+	private final CasRestTicketGrantingTicketCache ticketGrantingTicketCache;
+
+	public CachingCasRestAuthenticator(final Authenticator<UsernamePasswordCredentials> delegate,
+			final CasRestTicketGrantingTicketCache ticketGrantingTicketCache) {
+		this.delegate = delegate;
+		this.ticketGrantingTicketCache = ticketGrantingTicketCache;
+	}
+
+	@Override
+	public void validate(final UsernamePasswordCredentials credentials, final WebContext context) {
+		if (credentials == null || credentials.getUsername() == null || credentials.getPassword() == null) {
+			delegate.validate(credentials, context);
+			return;
+		}
+		final String ticketGrantingTicketId = ticketGrantingTicketCache.get(credentials.getUsername(), credentials.getPassword());
+		if (ticketGrantingTicketId != null) {
+			credentials.setUserProfile(new CasRestProfile(ticketGrantingTicketId, credentials.getUsername()));
+			return;
+		}
+		delegate.validate(credentials, context);
+		final UserProfile profile = credentials.getUserProfile();
+		if (profile instanceof CasRestProfile) {
+			ticketGrantingTicketCache.put(credentials.getUsername(), credentials.getPassword(),
+					((CasRestProfile) profile).getTicketGrantingTicketId());
+		}
+	}
+
+	public Authenticator<UsernamePasswordCredentials> getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import org.jasig.cas.client.validation.Assertion;
+import org.jasig.cas.client.validation.TicketValidationException;
+import org.jasig.cas.client.validation.TicketValidator;
+
+/**
+ * {@link TicketValidator} decorator answering already validated tickets from the {@link CasTicketValidationCache};
+ * failed validations are never cached.
+ */
+public class CachingTicketValidator implements TicketValidator {
+
+	private final TicketValidator delegate;
+	private final CasTicketValidationCache cache;
+
+	public CachingTicketValidator(final TicketValidator delegate, final CasTicketValidationCache cache) {
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public Assertion validate(final String ticket, final String service) throws TicketValidationException {
+		final Assertion cached = cache.get(ticket, service);
+		if (cached != null) {
+			return cached;
+		}
+		final Assertion assertion = delegate.validate(ticket, service);
+		if (assertion != null && assertion.isValid()) {
+			cache.put(ticket, service, assertion);
+		}
+		return assertion;
+	}
+
+	public TicketValidator getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.pac4j.cas.config.CasConfiguration;
+import org.pac4j.cas.profile.CasRestProfile;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.HttpUtils;
+import org.pac4j.spring.boot.utils.Pac4jCredentialsHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Ticket Granting Tickets of the CAS REST clients, keyed by a {@link Pac4jCredentialsHasher} hash of the credentials,
+ * so that neither the passwords nor reusable hashes of them are kept in memory.
+ * A Ticket Granting Ticket refused by the CAS server (4xx) is evicted, so that the next authentication requests a new one.
+ */
+public class CasRestTicketGrantingTicketCache {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Cache<String, String> cache;
+	private final Pac4jCredentialsHasher credentialsHasher = new Pac4jCredentialsHasher();
+
+	public CasRestTicketGrantingTicketCache(final long maximumSize, final Duration timeToLive) {
+		this(maximumSize, timeToLive, true);
+	}
+
+	public CasRestTicketGrantingTicketCache(final long maximumSize, final Duration timeToLive, final boolean recordStats) {
+		CommonHelper.assertNotNull("timeToLive", timeToLive);
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive);
+		if (recordStats) {
+			builder = builder.recordStats();
+		}
+		this.cache = builder.build();
+	}
+
+	/**
+	 * @param username the username.
+	 * @param password the password.
+	 * @return the Ticket Granting Ticket of the credentials, or {@code null} if none is kept.
+	 */
+	public String get(final String username, final String password) {
+		return cache.getIfPresent(this.key(username, password));
+	}
+
+	public void put(final String username, final String password, final String ticketGrantingTicketId) {
+		cache.put(this.key(username, password), ticketGrantingTicketId);
+	}
+
+	/**
+	 * Evict the given Ticket Granting Ticket, whatever the credentials it has been granted to.
+	 *
+	 * @param ticketGrantingTicketId the Ticket Granting Ticket.
+	 */
+	public void invalidateTicket(final String ticketGrantingTicketId) {
+		cache.asMap().values().removeIf(ticketGrantingTicketId::equals);
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * Same request as {@code AbstractCasRestClient#requestServiceTicket}, evicting the Ticket Granting Ticket when the
+	 * CAS server refuses it (expired or destroyed).
+	 *
+	 * @param configuration the CAS configuration.
+	 * @param serviceURL the service url.
+	 * @param profile the profile holding the Ticket Granting Ticket.
+	 * @param context the web context.
+	 * @return the service ticket.
+	 */
+	public TokenCredentials requestServiceTicket(final CasConfiguration configuration, final String serviceURL,
+			final CasRestProfile profile, final WebContext context) {
+		HttpURLConnection connection = null;
+		try {
+			final URL endpointURL = new URL(configuration.computeFinalRestUrl(context));
+			final URL ticketURL = new URL(endpointURL, endpointURL.getPath() + "/" + profile.getTicketGrantingTicketId());
+
+			connection = HttpUtils.openPostConnection(ticketURL);
+			final String payload = HttpUtils.encodeQueryParam("service", serviceURL);
+
+			try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+				out.write(payload);
+			}
+
+			final int responseCode = connection.getResponseCode();
+			if (responseCode == HttpConstants.OK) {
+				return new TokenCredentials(HttpUtils.readBody(connection).trim());
+			}
+			if (responseCode >= HttpConstants.BAD_REQUEST && responseCode < 500) {
+				logger.debug("Ticket Granting Ticket refused ({}), evicted from the cache", responseCode);
+				this.invalidateTicket(profile.getTicketGrantingTicketId());
+			}
+			throw new TechnicalException("Service ticket request for `" + profile + "` failed: " +
+					HttpUtils.buildHttpErrorMessage(connection));
+		} catch (final IOException e) {
+			throw new TechnicalException(e);
+		} finally {
+			HttpUtils.closeConnection(connection);
+		}
+	}
+
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getSize() {
+		return cache.estimatedSize();
+	}
+
+	protected String key(final String username, final String password) {
+		return credentialsHasher.hash(username, password);
+	}
+
+}
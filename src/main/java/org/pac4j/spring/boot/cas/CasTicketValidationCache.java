@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.jasig.cas.client.validation.Assertion;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.Pac4jDigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Bounded cache of the successful ticket validations, keyed by a SHA-256 digest of the ticket.
+ * An entry is only returned for the service it has been validated for, and never outlives the validity
+ * of its assertion reduced by the clock tolerance.
+ */
+public class CasTicketValidationCache {
+
+	private final Cache<String, CachedAssertion> cache;
+	private final long timeTolerance;
+
+	public CasTicketValidationCache(final long maximumSize, final Duration timeToLive, final long timeTolerance) {
+		this(maximumSize, timeToLive, timeTolerance, true);
+	}
+
+	public CasTicketValidationCache(final long maximumSize, final Duration timeToLive, final long timeTolerance,
+			final boolean recordStats) {
+		CommonHelper.assertNotNull("timeToLive", timeToLive);
+		this.timeTolerance = timeTolerance;
+		final long timeToLiveNanos = timeToLive.toNanos();
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize);
+		if (recordStats) {
+			builder = builder.recordStats();
+		}
+		this.cache = builder.expireAfter(new Expiry<String, CachedAssertion>() {
+
+			@Override
+			public long expireAfterCreate(final String key, final CachedAssertion value, final long currentTime) {
+				final long remainingNanos = TimeUnit.MILLISECONDS.toNanos(value.expiresAt - System.currentTimeMillis());
+				return Math.max(0L, Math.min(timeToLiveNanos, remainingNanos));
+			}
+
+			@Override
+			public long expireAfterUpdate(final String key, final CachedAssertion value, final long currentTime,
+					final long currentDuration) {
+				return expireAfterCreate(key, value, currentTime);
+			}
+
+			@Override
+			public long expireAfterRead(final String key, final CachedAssertion value, final long currentTime,
+					final long currentDuration) {
+				return currentDuration;
+			}
+
+		}).build();
+	}
+
+	/**
+	 * @param ticket the ticket.
+	 * @param service the service the ticket is validated for.
+	 * @return the cached assertion, or {@code null} if the ticket has not been validated yet for this service.
+	 */
+	public Assertion get(final String ticket, final String service) {
+		final String key = Pac4jDigestUtils.sha256(ticket);
+		final CachedAssertion cached = cache.getIfPresent(key);
+		if (cached == null) {
+			return null;
+		}
+		if (cached.expiresAt <= System.currentTimeMillis()) {
+			cache.asMap().remove(key, cached);
+			return null;
+		}
+		// left in place: a request for another service must not evict the assertion of the legitimate caller
+		return cached.service.equals(service) ? cached.assertion : null;
+	}
+
+	public void put(final String ticket, final String service, final Assertion assertion) {
+		final long expiresAt = this.expirationTimeMillis(assertion);
+		if (expiresAt > System.currentTimeMillis()) {
+			cache.put(Pac4jDigestUtils.sha256(ticket), new CachedAssertion(service, assertion, expiresAt));
+		}
+	}
+
+	protected long expirationTimeMillis(final Assertion assertion) {
+		final Date validUntil = assertion.getValidUntilDate();
+		if (validUntil == null) {
+			return Long.MAX_VALUE;
+		}
+		return validUntil.getTime() - timeTolerance;
+	}
+
+	/**
+	 * Remove the given ticket from the cache, i.e. on single logout.
+	 *
+	 * @param ticket the ticket.
+	 */
+	public void invalidate(final String ticket) {
+		cache.invalidate(Pac4jDigestUtils.sha256(ticket));
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getSize() {
+		return cache.estimatedSize();
+	}
+
+	private static final class CachedAssertion {
+
+		private final String service;
+		private final Assertion assertion;
+		private final long expiresAt;
+
+		private CachedAssertion(final String service, final Assertion assertion, final long expiresAt) {
+			this.service = service;
+			this.assertion = assertion;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
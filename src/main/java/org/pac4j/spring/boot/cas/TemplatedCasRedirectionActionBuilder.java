@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jasig.cas.client.Protocol;
+import org.pac4j.cas.client.CasClient;
+import org.pac4j.cas.config.CasConfiguration;
+import org.pac4j.cas.config.CasProtocol;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.exception.http.RedirectionAction;
+import org.pac4j.core.exception.http.RedirectionActionHelper;
+import org.pac4j.core.redirect.RedirectionActionBuilder;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.UrlTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drop-in replacement of the CAS redirection action builder which compiles the login url, the service parameter,
+ * renew, gateway, method and the custom parameters into a {@link UrlTemplate} once per login url,
+ * so that a redirection only encodes the computed callback url instead of concatenating and encoding every parameter.
+ */
+public class TemplatedCasRedirectionActionBuilder implements RedirectionActionBuilder {
+
+	/** Upper bound of the compiled templates, only reached when relative login urls are completed with many hosts. */
+	private static final int MAX_TEMPLATES = 64;
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final CasConfiguration configuration;
+	private final CasClient client;
+	private final Map<String, UrlTemplate> templates = new ConcurrentHashMap<>();
+
+	public TemplatedCasRedirectionActionBuilder(final CasConfiguration configuration, final CasClient client) {
+		CommonHelper.assertNotNull("configuration", configuration);
+		CommonHelper.assertNotNull("client", client);
+		this.configuration = configuration;
+		this.client = client;
+	}
+
+	@Override
+	public Optional<RedirectionAction> getRedirectionAction(final WebContext context) {
+		final String loginUrl = configuration.computeFinalLoginUrl(context);
+		final String callbackUrl = client.computeFinalCallbackUrl(context);
+		final String redirectionUrl = templateOf(loginUrl).expand(callbackUrl);
+		logger.debug("redirectionUrl: {}", redirectionUrl);
+		return Optional.of(RedirectionActionHelper.buildRedirectUrlAction(context, redirectionUrl));
+	}
+
+	protected UrlTemplate templateOf(final String loginUrl) {
+		final UrlTemplate template = templates.get(loginUrl);
+		if (template != null) {
+			return template;
+		}
+		final UrlTemplate compiled = compile(loginUrl);
+		if (templates.size() < MAX_TEMPLATES) {
+			templates.putIfAbsent(loginUrl, compiled);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Same parameters, in the same order, as the CAS redirection action builder of pac4j.
+	 *
+	 * @param loginUrl the computed login url.
+	 * @return the compiled template, expanded with the computed callback url.
+	 */
+	protected UrlTemplate compile(final String loginUrl) {
+		final UrlTemplate.Builder builder = UrlTemplate.of(loginUrl).dynamicParam(getServiceParameter());
+		if (configuration.isRenew()) {
+			builder.param("renew", "true");
+		}
+		if (configuration.isGateway()) {
+			builder.param("gateway", "true");
+		}
+		if (configuration.getMethod() != null) {
+			builder.param("method", configuration.getMethod());
+		}
+		final Map<String, String> customParams = configuration.getCustomParams();
+		if (customParams != null) {
+			customParams.forEach(builder::param);
+		}
+		final UrlTemplate template = builder.build();
+		logger.debug("Compiled CAS login url template: {}", template);
+		return template;
+	}
+
+	private String getServiceParameter() {
+		return configuration.getProtocol() == CasProtocol.SAML
+				? Protocol.SAML11.getServiceParameterName()
+				: CasConfiguration.SERVICE_PARAMETER;
+	}
+
+	public CasConfiguration getConfiguration() {
+		return configuration;
+	}
+
+}
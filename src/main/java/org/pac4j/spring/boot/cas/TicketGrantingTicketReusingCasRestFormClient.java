@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.cas;
+
+import org.pac4j.cas.client.rest.CasRestFormClient;
+import org.pac4j.cas.credentials.authenticator.CasRestAuthenticator;
+import org.pac4j.cas.profile.CasRestProfile;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * {@link CasRestFormClient} reusing the Ticket Granting Ticket of already authenticated credentials.
+ */
+public class TicketGrantingTicketReusingCasRestFormClient extends CasRestFormClient {
+
+	private final CasRestTicketGrantingTicketCache ticketGrantingTicketCache;
+
+	public TicketGrantingTicketReusingCasRestFormClient(final CasRestTicketGrantingTicketCache ticketGrantingTicketCache) {
+		CommonHelper.assertNotNull("ticketGrantingTicketCache", ticketGrantingTicketCache);
+		this.ticketGrantingTicketCache = ticketGrantingTicketCache;
+	}
+
+	@Override
+	protected void clientInit() {
+		defaultAuthenticator(new CachingCasRestAuthenticator(new CasRestAuthenticator(getConfiguration()), ticketGrantingTicketCache));
+		super.clientInit();
+	}
+
+	@Override
+	public TokenCredentials requestServiceTicket(final String serviceURL, final CasRestProfile profile, final WebContext context) {
+		init();
+		return ticketGrantingTicketCache.requestServiceTicket(getConfiguration(), serviceURL, profile, context);
+	}
+
+	@Override
+	public void destroyTicketGrantingTicket(final CasRestProfile profile, final WebContext context) {
+		ticketGrantingTicketCache.invalidateTicket(profile.getTicketGrantingTicketId());
+		super.destroyTicketGrantingTicket(profile, context);
+	}
+
+	public CasRestTicketGrantingTicketCache getTicketGrantingTicketCache() {
+		return ticketGrantingTicketCache;
+	}
+
+}
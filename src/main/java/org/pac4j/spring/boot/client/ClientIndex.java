@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.http.callback.CallbackUrlResolver;
+import org.pac4j.core.http.callback.QueryParameterCallbackUrlResolver;
+
+/**
+ * Immutable snapshot of the clients: an open addressing hash table keyed by the client names, case-insensitive and
+ * ignoring surrounding whitespaces like {@link org.pac4j.core.client.Clients#findClient(String)} but without
+ * allocating a lower-cased copy of the looked up name, plus the pre-split client name lists.
+ * <p>
+ * Indirect clients resolving their callback through a plain {@link QueryParameterCallbackUrlResolver} are grouped by
+ * parameter name, so that a callback reads the parameter once and finds its client with a single lookup instead of
+ * asking every client whether the request is its callback.
+ */
+@SuppressWarnings("rawtypes")
+public final class ClientIndex {
+
+	/** Upper bound of the cached client name lists, they normally come from the configuration only. */
+	private static final int MAX_CACHED_NAME_LISTS = 256;
+	private static final Client[] NO_CLIENTS = new Client[0];
+
+	private final List<Client> clients;
+	private final String[] keys;
+	private final int[] hashes;
+	private final Client[] values;
+	private final int mask;
+	private final Client[] defaultSecurityClients;
+	private final String[] callbackParameters;
+	private final IndirectClient[] scannedCallbackClients;
+	private final int indirectClientCount;
+	private final IndirectClient onlyIndirectClient;
+	private final Map<String, Client[]> nameLists = new ConcurrentHashMap<>();
+
+	/**
+	 * @param clients the clients, their names must be unique ignoring the case.
+	 * @param defaultSecurityClients the comma separated default security clients, may be null.
+	 */
+	public ClientIndex(final List<Client> clients, final String defaultSecurityClients) {
+		this.clients = Collections.unmodifiableList(new ArrayList<>(clients));
+		int capacity = Integer.highestOneBit(Math.max(2, clients.size() * 2 - 1)) << 1;
+		this.keys = new String[capacity];
+		this.hashes = new int[capacity];
+		this.values = new Client[capacity];
+		this.mask = capacity - 1;
+
+		final Set<String> parameters = new LinkedHashSet<>();
+		final List<IndirectClient> scanned = new ArrayList<>();
+		IndirectClient onlyIndirect = null;
+		int indirectCount = 0;
+		for (final Client client : clients) {
+			final String name = client.getName();
+			final int hash = hash(name, start(name), end(name));
+			int slot = hash & mask;
+			while (keys[slot] != null) {
+				if (hashes[slot] == hash && equalsIgnoreCase(keys[slot], name, start(name), end(name))) {
+					throw new TechnicalException("Duplicate name in clients: " + name);
+				}
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = name.trim();
+			hashes[slot] = hash;
+			values[slot] = client;
+
+			if (client instanceof IndirectClient) {
+				final IndirectClient indirectClient = (IndirectClient) client;
+				indirectCount++;
+				onlyIndirect = indirectClient;
+				final String parameter = queryParameterOf(indirectClient.getCallbackUrlResolver());
+				if (parameter != null) {
+					parameters.add(parameter);
+				} else {
+					scanned.add(indirectClient);
+				}
+			}
+		}
+		this.callbackParameters = parameters.toArray(new String[0]);
+		this.scannedCallbackClients = scanned.toArray(new IndirectClient[0]);
+		this.indirectClientCount = indirectCount;
+		this.onlyIndirectClient = indirectCount == 1 ? onlyIndirect : null;
+		this.defaultSecurityClients = defaultSecurityClients == null ? null : split(defaultSecurityClients);
+	}
+
+	/**
+	 * @param name the client name, case-insensitive and ignoring surrounding whitespaces.
+	 * @return the client, null if none.
+	 */
+	public Client get(final String name) {
+		if (name == null) {
+			return null;
+		}
+		final int start = start(name);
+		final int end = end(name);
+		final int hash = hash(name, start, end);
+		int slot = hash & mask;
+		String key;
+		while ((key = keys[slot]) != null) {
+			if (hashes[slot] == hash && equalsIgnoreCase(key, name, start, end)) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @param names comma separated client names.
+	 * @return the existing clients among them, in the given order; the result is shared and must not be modified.
+	 */
+	public Client[] resolve(final String names) {
+		final Client[] cached = nameLists.get(names);
+		if (cached != null) {
+			return cached;
+		}
+		final Client[] resolved = split(names);
+		if (nameLists.size() < MAX_CACHED_NAME_LISTS) {
+			nameLists.putIfAbsent(names, resolved);
+		}
+		return resolved;
+	}
+
+	/**
+	 * @param context the callback request.
+	 * @return the indirect clients the request is the callback of.
+	 */
+	public List<Client> findCallbackClients(final WebContext context) {
+		List<Client> result = null;
+		for (final String parameter : callbackParameters) {
+			final String name = context.getRequestParameter(parameter).orElse(null);
+			final Client client = get(name);
+			if (client instanceof IndirectClient
+					&& parameter.equals(queryParameterOf(((IndirectClient) client).getCallbackUrlResolver()))) {
+				result = add(result, client);
+			}
+		}
+		for (final IndirectClient client : scannedCallbackClients) {
+			client.init();
+			final CallbackUrlResolver resolver = client.getCallbackUrlResolver();
+			if (resolver != null && resolver.matches(client.getName(), context)) {
+				result = add(result, client);
+			}
+		}
+		return result == null ? new ArrayList<>() : result;
+	}
+
+	public List<Client> getClients() {
+		return clients;
+	}
+
+	/**
+	 * @return the pre-split default security clients, null if not defined.
+	 */
+	public Client[] getDefaultSecurityClients() {
+		return defaultSecurityClients;
+	}
+
+	public int getIndirectClientCount() {
+		return indirectClientCount;
+	}
+
+	/**
+	 * @return the indirect client if there is exactly one, null otherwise.
+	 */
+	public IndirectClient getOnlyIndirectClient() {
+		return onlyIndirectClient;
+	}
+
+	public int size() {
+		return clients.size();
+	}
+
+	private Client[] split(final String names) {
+		final List<Client> result = new ArrayList<>();
+		int from = 0;
+		while (from <= names.length()) {
+			int to = names.indexOf(',', from);
+			if (to < 0) {
+				to = names.length();
+			}
+			final Client client = get(names.substring(from, to));
+			if (client != null) {
+				result.add(client);
+			}
+			from = to + 1;
+		}
+		return result.isEmpty() ? NO_CLIENTS : result.toArray(NO_CLIENTS);
+	}
+
+	private static List<Client> add(final List<Client> result, final Client client) {
+		final List<Client> list = result == null ? new ArrayList<>(2) : result;
+		list.add(client);
+		return list;
+	}
+
+	/**
+	 * @return the name of the query parameter holding the client name, null if the resolver is not a plain
+	 *         {@link QueryParameterCallbackUrlResolver} whose matching can be replaced by a lookup.
+	 */
+	private static String queryParameterOf(final CallbackUrlResolver resolver) {
+		if (!(resolver instanceof QueryParameterCallbackUrlResolver)) {
+			return null;
+		}
+		try {
+			final Method matches = resolver.getClass().getMethod("matches", String.class, WebContext.class);
+			if (matches.getDeclaringClass() != QueryParameterCallbackUrlResolver.class) {
+				return null;
+			}
+		} catch (final NoSuchMethodException e) {
+			return null;
+		}
+		return ((QueryParameterCallbackUrlResolver) resolver).getClientNameParameter();
+	}
+
+	private static int start(final String s) {
+		int i = 0;
+		while (i < s.length() && s.charAt(i) <= ' ') {
+			i++;
+		}
+		return i;
+	}
+
+	private static int end(final String s) {
+		int i = s.length();
+		while (i > 0 && s.charAt(i - 1) <= ' ') {
+			i--;
+		}
+		return i;
+	}
+
+	private static int hash(final String s, final int start, final int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + fold(s.charAt(i));
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean equalsIgnoreCase(final String key, final String s, final int start, final int end) {
+		if (key.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < key.length(); i++) {
+			final char a = key.charAt(i);
+			final char b = s.charAt(start + i);
+			if (a != b && fold(a) != fold(b)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Same folding as {@link String#CASE_INSENSITIVE_ORDER}, with a fast path for the ASCII names. */
+	private static char fold(final char c) {
+		if (c < 0x80) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	@Override
+	public String toString() {
+		return "ClientIndex[clients=" + clients.size() + ", callbackParameters=" + Arrays.toString(callbackParameters)
+				+ ", scannedCallbackClients=" + scannedCallbackClients.length + "]";
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.function.Consumer;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Client;
+
+/**
+ * Source of the clients which are not declared up front but created on demand, i.e. per tenant; consulted by
+ * {@link IndexedClients} for the names missing from its index.
+ */
+@SuppressWarnings("rawtypes")
+public interface ClientResolver {
+
+	/**
+	 * @param name the client name.
+	 * @return the client, null if this resolver does not know the name.
+	 */
+	Client resolve(String name);
+
+	/**
+	 * @return the request parameter holding the client name on the callbacks of the resolved clients.
+	 */
+	String getClientNameParameter();
+
+	/**
+	 * @param callback run on every client this resolver creates, i.e. to instrument it like the configured clients.
+	 */
+	default void onClientCreated(Consumer<BaseClient> callback) {
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pac4j.core.client.Client;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+
+/**
+ * Times the creation of the {@link Client} beans, from the resolution of their dependencies to the end of their
+ * initialization, into the {@link ClientStartupReport}.
+ */
+@SuppressWarnings("rawtypes")
+public class ClientStartupRecorder implements InstantiationAwareBeanPostProcessor {
+
+	private final ClientStartupReport report = new ClientStartupReport();
+	private final Map<String, Long> starts = new ConcurrentHashMap<>();
+
+	@Override
+	public Object postProcessBeforeInstantiation(final Class<?> beanClass, final String beanName) throws BeansException {
+		if (Client.class.isAssignableFrom(beanClass)) {
+			starts.put(beanName, System.nanoTime());
+		}
+		return null;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+		final Long start = starts.remove(beanName);
+		if (start != null && bean instanceof Client) {
+			report.recordConstruction(((Client) bean).getName(), bean.getClass(), System.nanoTime() - start);
+		}
+		return bean;
+	}
+
+	public ClientStartupReport getReport() {
+		return report;
+	}
+
+}
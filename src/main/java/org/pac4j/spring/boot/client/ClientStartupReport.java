@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * How long each client took to be constructed (bean creation, including the beans it depends on created on the way)
+ * and to be initialized. The initialization of the {@link LazyClient}s is recorded when it happens, on first use;
+ * the other clients are initialized by pac4j itself and their initialization is not measured. A summary is logged
+ * once the application is ready.
+ */
+public class ClientStartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClientStartupReport.class);
+
+	private final Map<String, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	public void recordConstruction(final String clientName, final Class<?> clientType, final long nanos) {
+		entry(clientName).setType(clientType.getName()).constructionNanos = nanos;
+	}
+
+	public void recordInit(final String clientName, final long nanos) {
+		final Entry entry = entry(clientName);
+		entry.initNanos = nanos;
+		entry.initError = null;
+		LOGGER.info("Client {} initialized on first use in {} ms", clientName, millis(nanos));
+	}
+
+	public void recordInitFailure(final String clientName, final long nanos, final RuntimeException error) {
+		final Entry entry = entry(clientName);
+		entry.initNanos = nanos;
+		entry.initError = error.getMessage();
+		LOGGER.warn("Client {} failed to initialize in {} ms : {}", clientName, millis(nanos), error.getMessage());
+	}
+
+	public List<Entry> getEntries() {
+		synchronized (entries) {
+			return new ArrayList<>(entries.values());
+		}
+	}
+
+	public long getTotalConstructionNanos() {
+		long total = 0L;
+		for (Entry entry : getEntries()) {
+			total += Math.max(0L, entry.constructionNanos);
+		}
+		return total;
+	}
+
+	@Override
+	public void onApplicationEvent(final ApplicationReadyEvent event) {
+		final List<Entry> snapshot = getEntries();
+		if (snapshot.isEmpty()) {
+			return;
+		}
+		snapshot.sort(Comparator.comparingLong(Entry::getConstructionNanos).reversed());
+		final Entry slowest = snapshot.get(0);
+		LOGGER.info("{} pac4j clients constructed in {} ms, the slowest being {} ({} ms)", snapshot.size(),
+				millis(getTotalConstructionNanos()), slowest.getName(), millis(slowest.getConstructionNanos()));
+		if (LOGGER.isDebugEnabled()) {
+			for (Entry entry : snapshot) {
+				LOGGER.debug("Client {} ({}) : construction {} ms, initialization {}", entry.getName(), entry.getType(),
+						millis(entry.getConstructionNanos()),
+						entry.getInitNanos() < 0L ? "pending" : millis(entry.getInitNanos()) + " ms");
+			}
+		}
+	}
+
+	private Entry entry(final String clientName) {
+		return entries.computeIfAbsent(clientName, Entry::new);
+	}
+
+	private static double millis(final long nanos) {
+		return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L) * 100d) / 100d;
+	}
+
+	public static final class Entry {
+
+		private final String name;
+		private volatile String type;
+		private volatile long constructionNanos = -1L;
+		private volatile long initNanos = -1L;
+		private volatile String initError;
+
+		private Entry(final String name) {
+			this.name = name;
+		}
+
+		private Entry setType(final String type) {
+			this.type = type;
+			return this;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * @return the construction time, -1 if the client was not created as a bean.
+		 */
+		public long getConstructionNanos() {
+			return constructionNanos;
+		}
+
+		/**
+		 * @return the initialization time, -1 if not initialized yet or not initialized lazily.
+		 */
+		public long getInitNanos() {
+			return initNanos;
+		}
+
+		/**
+		 * @return the message of the last initialization failure, null if none.
+		 */
+		public String getInitError() {
+			return initError;
+		}
+
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.List;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.core.client.finder.ClientFinder;
+import org.pac4j.core.client.finder.DefaultCallbackClientFinder;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DefaultCallbackClientFinder} equivalent dispatching the callback through the {@link ClientIndex} of
+ * {@link IndexedClients}: the client name parameter is read once per query parameter callback resolver instead of
+ * asking every indirect client, only the clients with another kind of resolver are still asked one by one.
+ * The clients created on demand by the {@link ClientResolver} are found the same way.
+ * Falls back to {@link DefaultCallbackClientFinder} for other {@link Clients}.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class IndexedCallbackClientFinder implements ClientFinder {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IndexedCallbackClientFinder.class);
+
+	private final DefaultCallbackClientFinder fallback = new DefaultCallbackClientFinder();
+
+	@Override
+	public List<Client<? extends Credentials>> find(final Clients clients, final WebContext context, final String clientName) {
+		if (!(clients instanceof IndexedClients)) {
+			return fallback.find(clients, context, clientName);
+		}
+		final IndexedClients indexedClients = (IndexedClients) clients;
+		final ClientIndex index = indexedClients.getIndex();
+		final List<Client> result = index.findCallbackClients(context);
+		final ClientResolver clientResolver = indexedClients.getClientResolver();
+		if (result.isEmpty() && clientResolver != null) {
+			final String name = context.getRequestParameter(clientResolver.getClientNameParameter()).orElse(null);
+			final Client client = CommonHelper.isNotBlank(name) ? clientResolver.resolve(name.trim()) : null;
+			if (client instanceof IndirectClient && ((IndirectClient) client).getCallbackUrlResolver().matches(client.getName(), context)) {
+				result.add(client);
+			}
+		}
+		if (result.isEmpty() && CommonHelper.isNotBlank(clientName)) {
+			final Client client = index.get(clientName);
+			if (client != null) {
+				LOGGER.debug("Defaulting to the configured client: {}", client);
+				result.add(client);
+			}
+		}
+		if (result.isEmpty()) {
+			final IndirectClient onlyClient = index.getOnlyIndirectClient();
+			if (onlyClient != null) {
+				LOGGER.debug("Defaulting to the only client: {}", onlyClient);
+				result.add(onlyClient);
+			}
+		}
+		return (List) result;
+	}
+
+}
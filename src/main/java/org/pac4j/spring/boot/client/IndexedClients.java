@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Clients} backed by an immutable {@link ClientIndex}, built once at initialization and swapped atomically by
+ * {@link #refresh(List)}, so that looking up a client by name neither takes the initialization path nor allocates.
+ * The names missing from the index are looked up through the optional {@link ClientResolver}.
+ */
+@SuppressWarnings("rawtypes")
+public class IndexedClients extends Clients {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IndexedClients.class);
+
+	private volatile ClientIndex index;
+	private ClientResolver clientResolver;
+
+	@Override
+	protected void internalInit() {
+		super.internalInit();
+		this.index = new ClientIndex(getClients(), getDefaultSecurityClients());
+		LOGGER.debug("Clients indexed: {}", index);
+	}
+
+	/**
+	 * Replace the clients: the new ones are completed with the shared callback url, resolvers and authorization
+	 * generators like at initialization, then the index is rebuilt and published at once, the lookups in progress
+	 * keep using the previous one.
+	 *
+	 * @param clients the new clients.
+	 */
+	public synchronized void refresh(final List<Client> clients) {
+		CommonHelper.assertNotNull("clients", clients);
+		final ClientIndex previous = getIndex();
+		final Map<Client, Boolean> known = new IdentityHashMap<>();
+		for (final Client client : previous.getClients()) {
+			known.put(client, Boolean.TRUE);
+		}
+		for (final Client client : clients) {
+			if (known.containsKey(client)) {
+				continue;
+			}
+			if (client instanceof IndirectClient) {
+				updateIndirectClient((IndirectClient) client);
+			}
+			if (client instanceof BaseClient && getAuthorizationGenerators() != null && !getAuthorizationGenerators().isEmpty()) {
+				((BaseClient) client).addAuthorizationGenerators(getAuthorizationGenerators());
+			}
+		}
+		final ClientIndex refreshed = new ClientIndex(clients, getDefaultSecurityClients());
+		super.setClients(new ArrayList<>(clients));
+		this.index = refreshed;
+		LOGGER.debug("Clients refreshed: {} -> {}", previous, refreshed);
+	}
+
+	@Override
+	public Optional<Client> findClient(final String name) {
+		CommonHelper.assertNotBlank("name", name);
+		Client client = getIndex().get(name);
+		if (client == null && clientResolver != null) {
+			client = clientResolver.resolve(name.trim());
+		}
+		if (client == null) {
+			LOGGER.debug("No client found for name: {}", name);
+		}
+		return Optional.ofNullable(client);
+	}
+
+	@Override
+	public List<Client> findAllClients() {
+		return getIndex().getClients();
+	}
+
+	@Override
+	public void setDefaultSecurityClients(final String defaultSecurityClients) {
+		super.setDefaultSecurityClients(defaultSecurityClients);
+		final ClientIndex current = this.index;
+		if (current != null) {
+			synchronized (this) {
+				this.index = new ClientIndex(current.getClients(), defaultSecurityClients);
+			}
+		}
+	}
+
+	public ClientResolver getClientResolver() {
+		return clientResolver;
+	}
+
+	/**
+	 * @param clientResolver source of the clients created on demand, looked up when a name is not indexed.
+	 */
+	public void setClientResolver(final ClientResolver clientResolver) {
+		this.clientResolver = clientResolver;
+	}
+
+	/**
+	 * @return the current index, the clients being initialized first if needed.
+	 */
+	public ClientIndex getIndex() {
+		ClientIndex current = this.index;
+		if (current == null) {
+			init();
+			current = this.index;
+		}
+		return current;
+	}
+
+	/**
+	 * @return the pre-split default security clients, empty if none is defined.
+	 */
+	public List<Client> getDefaultSecurityClientList() {
+		final Client[] defaults = getIndex().getDefaultSecurityClients();
+		return defaults == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(defaults));
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.finder.ClientFinder;
+import org.pac4j.core.client.finder.DefaultSecurityClientFinder;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.Pac4jConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DefaultSecurityClientFinder} equivalent resolving the client names through the {@link ClientIndex} of
+ * {@link IndexedClients}: the client name lists are split once, the forced client is a single lookup.
+ * The names missing from the index are resolved through the {@link ClientResolver}, i.e. the tenant clients.
+ * Falls back to {@link DefaultSecurityClientFinder} for other {@link Clients}.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class IndexedSecurityClientFinder implements ClientFinder {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IndexedSecurityClientFinder.class);
+
+	private final DefaultSecurityClientFinder fallback = new DefaultSecurityClientFinder();
+
+	private String clientNameParameter = Pac4jConstants.DEFAULT_FORCE_CLIENT_PARAMETER;
+
+	@Override
+	public List<Client<? extends Credentials>> find(final Clients clients, final WebContext context, final String clientNames) {
+		if (!(clients instanceof IndexedClients)) {
+			return fallback.find(clients, context, clientNames);
+		}
+		final IndexedClients indexedClients = (IndexedClients) clients;
+		final ClientIndex index = indexedClients.getIndex();
+
+		final Client[] candidates;
+		if (clientNames != null) {
+			candidates = resolve(index, indexedClients.getClientResolver(), clientNames);
+		} else if (index.getDefaultSecurityClients() != null) {
+			candidates = index.getDefaultSecurityClients();
+		} else if (index.size() == 1) {
+			candidates = new Client[] { index.getClients().get(0) };
+		} else {
+			return new ArrayList<>();
+		}
+		if (candidates.length == 0) {
+			return new ArrayList<>();
+		}
+
+		Optional<String> clientNameOnRequest = context.getRequestParameter(clientNameParameter);
+		if (!clientNameOnRequest.isPresent() && Pac4jConstants.DEFAULT_FORCE_CLIENT_PARAMETER.equals(clientNameParameter)) {
+			clientNameOnRequest = context.getRequestParameter(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER);
+			if (clientNameOnRequest.isPresent()) {
+				LOGGER.warn("Migration required: use the 'force_client' parameter instead of the 'client_name' parameter to force a client for security. URL: {}",
+						context.getFullRequestURL());
+			}
+		}
+		if (clientNameOnRequest.isPresent()) {
+			final String forcedName = clientNameOnRequest.get();
+			final Client forced = index.get(forcedName);
+			for (final Client candidate : candidates) {
+				// the resolved clients are not indexed, they are matched by name
+				if (forced != null ? candidate == forced : candidate.getName().equalsIgnoreCase(forcedName.trim())) {
+					final List result = new ArrayList<>(1);
+					result.add(candidate);
+					return result;
+				}
+			}
+			return new ArrayList<>();
+		}
+		final List<Client> result = new ArrayList<>(candidates.length);
+		Collections.addAll(result, candidates);
+		return (List) result;
+	}
+
+	/**
+	 * @return the clients of the list in the given order, the names missing from the index being resolved by the
+	 *         {@link ClientResolver}; the indexed result is shared when every name is indexed.
+	 */
+	private static Client[] resolve(final ClientIndex index, final ClientResolver clientResolver, final String clientNames) {
+		final Client[] indexed = index.resolve(clientNames);
+		if (clientResolver == null || indexed.length == count(clientNames)) {
+			return indexed;
+		}
+		final List<Client> result = new ArrayList<>();
+		for (final String name : clientNames.split(",")) {
+			Client client = index.get(name);
+			if (client == null && CommonHelper.isNotBlank(name)) {
+				client = clientResolver.resolve(name.trim());
+			}
+			if (client != null) {
+				result.add(client);
+			}
+		}
+		return result.toArray(new Client[0]);
+	}
+
+	private static int count(final String clientNames) {
+		int count = 1;
+		for (int i = 0; i < clientNames.length(); i++) {
+			if (clientNames.charAt(i) == ',') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public String getClientNameParameter() {
+		return clientNameParameter;
+	}
+
+	public void setClientNameParameter(final String clientNameParameter) {
+		CommonHelper.assertNotBlank("clientNameParameter", clientNameParameter);
+		this.clientNameParameter = clientNameParameter;
+		fallback.setClientNameParameter(clientNameParameter);
+	}
+
+}
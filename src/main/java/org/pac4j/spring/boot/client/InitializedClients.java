@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.function.Consumer;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+
+/**
+ * Applies a decoration to the clients once they are initialized, whenever that happens.
+ */
+@SuppressWarnings("rawtypes")
+public class InitializedClients {
+
+	/**
+	 * Run the action on every client: the clients initialized at startup now, the {@link LazyClient}s right after
+	 * their initialization on first use, the clients created on demand by the {@link ClientResolver} when they are
+	 * created.
+	 *
+	 * @param clients the clients.
+	 * @param action the action, run once per client.
+	 */
+	public static void forEach(final Clients clients, final Consumer<BaseClient> action) {
+		clients.init();
+		for (Client client : clients.findAllClients()) {
+			if (client instanceof LazyClient) {
+				// 延迟初始化的客户端在首次使用时完成初始化后再处理
+				((LazyClient) client).onInitialized(action);
+			} else if (client instanceof BaseClient) {
+				action.accept((BaseClient) client);
+			}
+		}
+		if (clients instanceof IndexedClients && ((IndexedClients) clients).getClientResolver() != null) {
+			// 按需创建的客户端（如多租户 OAuth 客户端）在创建时处理
+			((IndexedClients) clients).getClientResolver().onClientCreated(action);
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.function.Consumer;
+
+import org.pac4j.core.client.BaseClient;
+
+/**
+ * Lightweight stand-in registered in the {@link org.pac4j.core.client.Clients} instead of a real client, which it
+ * initializes on first use, once, whatever the number of threads asking for it.
+ */
+@SuppressWarnings("rawtypes")
+public interface LazyClient {
+
+	/**
+	 * @return the real client, not initialized before the first use of this one.
+	 */
+	BaseClient getDelegate();
+
+	/**
+	 * Register a callback run on the real client right after its initialization, i.e. to decorate the components
+	 * it creates by default. The callback is run at once if the real client is already initialized.
+	 *
+	 * @param callback the callback.
+	 */
+	void onInitialized(Consumer<BaseClient> callback);
+
+}
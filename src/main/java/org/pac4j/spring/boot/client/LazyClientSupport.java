@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.exception.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Initialization shared by {@link LazyIndirectClient} and {@link LazyDirectClient}. Every method but
+ * {@link #retrieveCredentials(WebContext)} is called holding the lock of the shell.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class LazyClientSupport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LazyClientSupport.class);
+
+	/** Overridden by the clients which complete the credentials (FormClient, DirectBasicAuthClient...). */
+	private static final Method RETRIEVE_CREDENTIALS;
+
+	static {
+		try {
+			RETRIEVE_CREDENTIALS = BaseClient.class.getDeclaredMethod("retrieveCredentials", WebContext.class);
+			RETRIEVE_CREDENTIALS.setAccessible(true);
+		} catch (NoSuchMethodException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final BaseClient delegate;
+	private final ClientStartupReport report;
+	private final Runnable componentsCopier;
+	private final List<Consumer<BaseClient>> callbacks = new ArrayList<>();
+	private boolean initialized;
+
+	LazyClientSupport(final BaseClient delegate, final ClientStartupReport report, final Runnable componentsCopier) {
+		this.delegate = delegate;
+		this.report = report;
+		this.componentsCopier = componentsCopier;
+	}
+
+	/**
+	 * Initialize the real client, run the callbacks on it, then let the shell copy its components.
+	 */
+	void initialize() {
+		if (initialized) {
+			return;
+		}
+		final long start = System.nanoTime();
+		try {
+			delegate.init();
+		} catch (RuntimeException e) {
+			if (report != null) {
+				report.recordInitFailure(delegate.getName(), System.nanoTime() - start, e);
+			}
+			throw e;
+		}
+		final long initNanos = System.nanoTime() - start;
+		for (Consumer<BaseClient> callback : callbacks) {
+			run(callback);
+		}
+		componentsCopier.run();
+		initialized = true;
+		if (report != null) {
+			report.recordInit(delegate.getName(), initNanos);
+		}
+	}
+
+	void onInitialized(final Consumer<BaseClient> callback) {
+		if (initialized) {
+			run(callback);
+			componentsCopier.run();
+		} else {
+			callbacks.add(callback);
+		}
+	}
+
+	Optional<Credentials> retrieveCredentials(final WebContext context) {
+		try {
+			return (Optional<Credentials>) RETRIEVE_CREDENTIALS.invoke(delegate, context);
+		} catch (InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new TechnicalException(cause);
+		} catch (IllegalAccessException e) {
+			throw new TechnicalException(e);
+		}
+	}
+
+	private void run(final Consumer<BaseClient> callback) {
+		try {
+			callback.accept(delegate);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Initialization callback failed for client {} : {}", delegate.getName(), e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.DirectClient;
+import org.pac4j.core.client.IndirectClient;
+
+/**
+ * Wraps the clients into {@link LazyClient}s.
+ */
+@SuppressWarnings("rawtypes")
+public class LazyClients {
+
+	/**
+	 * @param client the client.
+	 * @param report the report recording the initialization time, may be null.
+	 * @return the lazy shell of the client, the client itself if it is already initialized, already lazy or neither
+	 *         an indirect nor a direct client.
+	 */
+	public static Client wrap(final Client client, final ClientStartupReport report) {
+		if (client instanceof LazyClient || (client instanceof IndirectClient && ((IndirectClient) client).isInitialized())
+				|| (client instanceof DirectClient && ((DirectClient) client).isInitialized())) {
+			return client;
+		}
+		if (client instanceof IndirectClient) {
+			return new LazyIndirectClient((IndirectClient) client, report);
+		}
+		if (client instanceof DirectClient) {
+			return new LazyDirectClient((DirectClient) client, report);
+		}
+		return client;
+	}
+
+	public static List<Client> wrap(final List<Client> clients, final ClientStartupReport report) {
+		final List<Client> lazyClients = new ArrayList<>(clients.size());
+		for (Client client : clients) {
+			lazyClients.add(wrap(client, report));
+		}
+		return lazyClients;
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.client;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.DirectClient;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.credentials.extractor.CredentialsExtractor;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.profile.creator.ProfileCreator;
+import org.pac4j.core.profile.factory.ProfileFactory;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * {@link LazyClient} standing for a {@link DirectClient}, see {@link LazyIndirectClient}: its initialization
+ * initializes the real client and takes over its credentials extractor, authenticator and profile creator.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class LazyDirectClient extends DirectClient<Credentials> implements LazyClient {
+
+	private final DirectClient delegate;
+	private final LazyClientSupport support;
+
+	public LazyDirectClient(final DirectClient delegate, final ClientStartupReport report) {
+		CommonHelper.assertNotNull("delegate", delegate);
+		this.delegate = delegate;
+		this.support = new LazyClientSupport(delegate, report, this::copyComponents);
+		super.setName(delegate.getName());
+		super.setAuthorizationGenerators(new ArrayList<>(delegate.getAuthorizationGenerators()));
+		super.setCustomProperties(delegate.getCustomProperties());
+		super.setProfileFactoryWhenNotAuthenticated(delegate.getProfileFactoryWhenNotAuthenticated());
+	}
+
+	@Override
+	protected void clientInit() {
+		support.initialize();
+	}
+
+	private void copyComponents() {
+		super.setCredentialsExtractor(delegate.getCredentialsExtractor());
+		super.setAuthenticator(delegate.getAuthenticator());
+		super.setProfileCreator(delegate.getProfileCreator());
+	}
+
+	@Override
+	public synchronized void onInitialized(final Consumer<BaseClient> callback) {
+		support.onInitialized(callback);
+	}
+
+	@Override
+	public DirectClient getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	protected Optional<Credentials> retrieveCredentials(final WebContext context) {
+		return support.retrieveCredentials(context);
+	}
+
+	@Override
+	public Optional<UserProfile> renewUserProfile(final UserProfile profile, final WebContext context) {
+		init();
+		return delegate.renewUserProfile(profile, context);
+	}
+
+	@Override
+	public void notifySessionRenewal(final String oldSessionId, final WebContext context) {
+		init();
+		delegate.notifySessionRenewal(oldSessionId, context);
+	}
+
+	@Override
+	public void setName(final String name) {
+		super.setName(name);
+		delegate.setName(name);
+	}
+
+	@Override
+	public void setCredentialsExtractor(final CredentialsExtractor<Credentials> credentialsExtractor) {
+		super.setCredentialsExtractor(credentialsExtractor);
+		delegate.setCredentialsExtractor(credentialsExtractor);
+	}
+
+	@Override
+	public void setAuthenticator(final Authenticator<Credentials> authenticator) {
+		super.setAuthenticator(authenticator);
+		delegate.setAuthenticator(authenticator);
+	}
+
+	@Override
+	public void setProfileCreator(final ProfileCreator<Credentials> profileCreator) {
+		super.setProfileCreator(profileCreator);
+		delegate.setProfileCreator(profileCreator);
+	}
+
+	@Override
+	public void setCustomProperties(final Map<String, Object> customProperties) {
+		super.setCustomProperties(customProperties);
+		delegate.setCustomProperties(customProperties);
+	}
+
+	@Override
+	public void setProfileFactoryWhenNotAuthenticated(final ProfileFactory<UserProfile> profileFactory) {
+		super.setProfileFactoryWhenNotAuthenticated(profileFactory);
+		delegate.setProfileFactoryWhenNotAuthenticated(profileFactory);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + delegate + ")";
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.executor;
+
+import java.net.URI;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Clients;
+import org.pac4j.oauth.client.OAuth10Client;
+import org.pac4j.oauth.client.OAuth20Client;
+import org.pac4j.spring.boot.client.InitializedClients;
+import org.pac4j.spring.boot.client.LazyClient;
+import org.pac4j.spring.boot.utils.Pac4jClientUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Routes the remote calls of the CAS and OAuth clients through the {@link EndpointLimiter}: the ticket / TGT
+ * validation of the CAS clients, the token exchange and the profile fetch of the OAuth clients. Clients are keyed
+ * by the host of their server so that several clients of the same identity provider share one limit. Clients
+ * validating locally (form, JWT...) are left untouched. The {@link LazyClient}s are routed right after their
+ * initialization on first use, the clients created on demand by the {@link org.pac4j.spring.boot.client.ClientResolver}
+ * when they are created.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class ClientsExecutorInstrumenter implements SmartInitializingSingleton {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Clients clients;
+	private final EndpointLimiter limiter;
+
+	public ClientsExecutorInstrumenter(Clients clients, EndpointLimiter limiter) {
+		this.clients = clients;
+		this.limiter = limiter;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		InitializedClients.forEach(clients, this::instrument);
+	}
+
+	protected void instrument(BaseClient client) {
+		try {
+			client.init();
+		} catch (RuntimeException e) {
+			logger.warn("Client {} cannot be initialized, its calls are not limited : {}", client.getName(), e.getMessage());
+			return;
+		}
+		// the OAuth clients only set their api while initializing
+		final String serverUrl = serverUrl(client);
+		if (serverUrl == null) {
+			return;
+		}
+		final String endpoint = endpoint(serverUrl, client);
+		if (client.getAuthenticator() != null && !(client.getAuthenticator() instanceof LimitedAuthenticator)) {
+			client.setAuthenticator(new LimitedAuthenticator(client.getAuthenticator(), limiter, endpoint));
+		}
+		if ((client instanceof OAuth20Client || client instanceof OAuth10Client) && client.getProfileCreator() != null
+				&& !(client.getProfileCreator() instanceof LimitedProfileCreator)) {
+			client.setProfileCreator(new LimitedProfileCreator(client.getProfileCreator(), limiter, endpoint));
+		}
+		logger.debug("Client {} calls limited on endpoint {}", client.getName(), endpoint);
+	}
+
+	/**
+	 * @param client the client.
+	 * @return the url of the remote server the client calls while authenticating, null if it validates locally.
+	 */
+	protected String serverUrl(BaseClient client) {
+		return Pac4jClientUtils.serverUrl(client);
+	}
+
+	protected String endpoint(String serverUrl, BaseClient client) {
+		try {
+			final String host = URI.create(serverUrl).getHost();
+			if (host != null) {
+				return host;
+			}
+		} catch (IllegalArgumentException e) {
+			logger.debug("Invalid server url {} for client {}", serverUrl, client.getName());
+		}
+		return client.getName();
+	}
+
+}
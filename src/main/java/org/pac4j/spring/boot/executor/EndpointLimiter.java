@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.executor;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * Bulkhead around the blocking calls to the remote endpoints: at most {@code maxConcurrentCalls} calls per endpoint
+ * run at once, the others wait up to {@code acquireTimeout} and then fail, so a slow identity provider only holds a
+ * bounded number of request threads instead of the whole container pool.
+ * <p>
+ * Calls made from a request thread are run on the executor (virtual threads when available) and interrupted after
+ * {@code callTimeout}; calls already made from a virtual thread or a pool thread, i.e. by the WebFlux filter, run inline.
+ * An offloaded call holds its permit until it actually completes, even after its caller gave up waiting.
+ */
+public class EndpointLimiter {
+
+	private final ExecutorService executorService;
+	private final int maxConcurrentCalls;
+	private final Map<String, Integer> endpointLimits;
+	private final long acquireTimeoutNanos;
+	private final long callTimeoutNanos;
+	private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+	public EndpointLimiter(final ExecutorService executorService, final int maxConcurrentCalls,
+			final Duration acquireTimeout, final Duration callTimeout) {
+		this(executorService, maxConcurrentCalls, Collections.emptyMap(), acquireTimeout, callTimeout);
+	}
+
+	public EndpointLimiter(final ExecutorService executorService, final int maxConcurrentCalls,
+			final Map<String, Integer> endpointLimits, final Duration acquireTimeout, final Duration callTimeout) {
+		CommonHelper.assertNotNull("executorService", executorService);
+		CommonHelper.assertTrue(maxConcurrentCalls > 0, "maxConcurrentCalls must be greater than 0");
+		this.executorService = executorService;
+		this.maxConcurrentCalls = maxConcurrentCalls;
+		this.endpointLimits = endpointLimits == null ? Collections.emptyMap() : endpointLimits;
+		this.acquireTimeoutNanos = acquireTimeout == null ? 0L : acquireTimeout.toNanos();
+		this.callTimeoutNanos = callTimeout == null ? 0L : callTimeout.toNanos();
+	}
+
+	/**
+	 * Run the given blocking call within the limit of its endpoint.
+	 *
+	 * @param endpoint the remote endpoint, i.e. the host of the CAS server.
+	 * @param call the blocking call.
+	 * @param <T> the result type.
+	 * @return the call result.
+	 */
+	public <T> T call(final String endpoint, final Callable<T> call) {
+		final Semaphore semaphore = semaphores.computeIfAbsent(endpoint,
+				key -> new Semaphore(endpointLimits.getOrDefault(key, maxConcurrentCalls)));
+		try {
+			if (!semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+				throw new TechnicalException("Too many concurrent calls to " + endpoint);
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TechnicalException("Interrupted while waiting for " + endpoint);
+		}
+		if (!Pac4jExecutors.isOffloaded()) {
+			return offload(endpoint, semaphore, call);
+		}
+		try {
+			return call.call();
+		} catch (final RuntimeException e) {
+			throw e;
+		} catch (final Exception e) {
+			throw new TechnicalException(e);
+		} finally {
+			semaphore.release();
+		}
+	}
+
+	/*
+	 * The permit is released by the submitted task itself: cancel(true) cannot interrupt a blocking socket read, so a
+	 * timed out call keeps its permit until it really returns. The caller only releases it when the task never started.
+	 */
+	private <T> T offload(final String endpoint, final Semaphore semaphore, final Callable<T> call) {
+		final AtomicBoolean started = new AtomicBoolean();
+		final Future<T> future;
+		try {
+			future = executorService.submit(() -> {
+				if (!started.compareAndSet(false, true)) {
+					throw new CancellationException();
+				}
+				try {
+					return call.call();
+				} finally {
+					semaphore.release();
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			semaphore.release();
+			throw new TechnicalException("No thread available to call " + endpoint);
+		}
+		try {
+			return callTimeoutNanos > 0L ? future.get(callTimeoutNanos, TimeUnit.NANOSECONDS) : future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new TechnicalException(cause);
+		} catch (final TimeoutException e) {
+			cancel(future, started, semaphore);
+			throw new TechnicalException("Call to " + endpoint + " timed out");
+		} catch (final InterruptedException e) {
+			cancel(future, started, semaphore);
+			Thread.currentThread().interrupt();
+			throw new TechnicalException("Interrupted while calling " + endpoint);
+		}
+	}
+
+	private void cancel(final Future<?> future, final AtomicBoolean started, final Semaphore semaphore) {
+		future.cancel(true);
+		if (started.compareAndSet(false, true)) {
+			semaphore.release();
+		}
+	}
+
+	/**
+	 * @param endpoint the remote endpoint.
+	 * @return the number of calls currently running against this endpoint.
+	 */
+	public int getActiveCalls(final String endpoint) {
+		final Semaphore semaphore = semaphores.get(endpoint);
+		return semaphore == null ? 0 : endpointLimits.getOrDefault(endpoint, maxConcurrentCalls) - semaphore.availablePermits();
+	}
+
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+}
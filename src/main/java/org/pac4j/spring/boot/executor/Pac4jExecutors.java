@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.executor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.pac4j.spring.boot.Pac4jExecutorProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executors running the blocking pac4j calls. Virtual threads are looked up reflectively so that the starter
+ * still compiles and runs on Java 8, falling back to a bounded platform thread pool.
+ */
+public class Pac4jExecutors {
+
+	private static final Logger LOG = LoggerFactory.getLogger(Pac4jExecutors.class);
+
+	public static final String THREAD_NAME_PREFIX = "pac4j-exec-";
+
+	private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findStatic(Executors.class,
+			"newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+	private static final MethodHandle IS_VIRTUAL = findVirtual(Thread.class, "isVirtual",
+			MethodType.methodType(boolean.class));
+
+	public static boolean isVirtualThreadsSupported() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * @param properties the executor settings.
+	 * @return a virtual thread per task executor if requested and supported, a platform thread pool otherwise.
+	 */
+	public static ExecutorService newExecutorService(final Pac4jExecutorProperties properties) {
+		if (properties.isVirtualThreads()) {
+			if (isVirtualThreadsSupported()) {
+				try {
+					return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+				} catch (final Throwable e) {
+					LOG.warn("Virtual threads cannot be created, falling back to a platform thread pool : {}", e.getMessage());
+				}
+			} else {
+				LOG.info("Virtual threads require Java 21+, falling back to a platform thread pool");
+			}
+		}
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getCorePoolSize(),
+				Math.max(properties.getCorePoolSize(), properties.getMaxPoolSize()),
+				properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+				new NamedThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * @return whether the current thread is cheap to block: a virtual thread or one of the platform pool threads.
+	 */
+	public static boolean isOffloaded() {
+		final Thread thread = Thread.currentThread();
+		if (IS_VIRTUAL != null) {
+			try {
+				if ((boolean) IS_VIRTUAL.invoke(thread)) {
+					return true;
+				}
+			} catch (final Throwable e) {
+				// not on a virtual thread capable runtime
+			}
+		}
+		return thread.getName().startsWith(THREAD_NAME_PREFIX);
+	}
+
+	private static MethodHandle findStatic(final Class<?> type, final String name, final MethodType methodType) {
+		try {
+			return MethodHandles.publicLookup().findStatic(type, name, methodType);
+		} catch (final NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static MethodHandle findVirtual(final Class<?> type, final String name, final MethodType methodType) {
+		try {
+			return MethodHandles.publicLookup().findVirtual(type, name, methodType);
+		} catch (final NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static final class NamedThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.http;
+
+import java.time.Duration;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.UsernamePasswordCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.Pac4jCredentialsHasher;
+import org.pac4j.spring.boot.utils.Pac4jProfileUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Username/password {@link Authenticator} decorator remembering the profiles of recently verified credentials,
+ * keyed by a {@link Pac4jCredentialsHasher} hash, so that repeated requests of the same account skip the expensive
+ * verification (BCrypt, LDAP bind...). Failed verifications are never cached, and a password change takes effect
+ * at the latest after the time to live.
+ */
+public class CachingUsernamePasswordAuthenticator implements Authenticator<UsernamePasswordCredentials> {
+
+	private final Authenticator<UsernamePasswordCredentials> delegate;
+	private final Cache<String, CommonProfile> cache;
+	private final Pac4jCredentialsHasher credentialsHasher = new Pac4jCredentialsHasher();
+
+	public CachingUsernamePasswordAuthenticator(final Authenticator<UsernamePasswordCredentials> delegate,
+			final long maximumSize, final Duration timeToLive) {
+		this(delegate, maximumSize, timeToLive, true);
+	}
+
+	public CachingUsernamePasswordAuthenticator(final Authenticator<UsernamePasswordCredentials> delegate,
+			final long maximumSize, final Duration timeToLive, final boolean recordStats) {
+		CommonHelper.assertNotNull("delegate", delegate);
+		CommonHelper.assertNotNull("timeToLive", timeToLive);
+		this.delegate = delegate;
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive);
+		if (recordStats) {
+			builder = builder.recordStats();
+		}
+		this.cache = builder.build();
+	}
+
+	@Override
+	public void validate(final UsernamePasswordCredentials credentials, final WebContext context) {
+		if (credentials == null || credentials.getUsername() == null || credentials.getPassword() == null) {
+			delegate.validate(credentials, context);
+			return;
+		}
+		final String key = credentialsHasher.hash(credentials.getUsername(), credentials.getPassword());
+		final CommonProfile cached = cache.getIfPresent(key);
+		if (cached != null) {
+			credentials.setUserProfile(Pac4jProfileUtils.copyOf(cached));
+			return;
+		}
+		delegate.validate(credentials, context);
+		final UserProfile profile = credentials.getUserProfile();
+		if (profile instanceof CommonProfile) {
+			cache.put(key, Pac4jProfileUtils.copyOf((CommonProfile) profile));
+		}
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getSize() {
+		return cache.estimatedSize();
+	}
+
+	public Authenticator<UsernamePasswordCredentials> getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.spring.boot.utils.Pac4jDigestUtils;
+import org.pac4j.spring.boot.utils.Pac4jProfileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * {@link JwtAuthenticator} decorator which keeps the profiles of already validated tokens,
+ * keyed by a SHA-256 digest of the token, so that repeated tokens skip signature verification and decryption.
+ * An entry never outlives the {@code exp} claim of its token.
+ */
+public class CachingJwtAuthenticator implements Authenticator<TokenCredentials> {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final JwtAuthenticator delegate;
+	private final Cache<String, CachedProfile> cache;
+
+	public CachingJwtAuthenticator(final JwtAuthenticator delegate, final long maximumSize, final Duration timeToLive) {
+		this(delegate, maximumSize, timeToLive, true);
+	}
+
+	public CachingJwtAuthenticator(final JwtAuthenticator delegate, final long maximumSize, final Duration timeToLive,
+			final boolean recordStats) {
+		CommonHelper.assertNotNull("delegate", delegate);
+		CommonHelper.assertNotNull("timeToLive", timeToLive);
+		this.delegate = delegate;
+		final long timeToLiveNanos = timeToLive.toNanos();
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize);
+		if (recordStats) {
+			builder = builder.recordStats();
+		}
+		this.cache = builder.expireAfter(new Expiry<String, CachedProfile>() {
+
+			@Override
+			public long expireAfterCreate(final String key, final CachedProfile value, final long currentTime) {
+				final long remainingNanos = TimeUnit.MILLISECONDS.toNanos(value.expiresAt - System.currentTimeMillis());
+				return Math.max(0L, Math.min(timeToLiveNanos, remainingNanos));
+			}
+
+			@Override
+			public long expireAfterUpdate(final String key, final CachedProfile value, final long currentTime,
+					final long currentDuration) {
+				return expireAfterCreate(key, value, currentTime);
+			}
+
+			@Override
+			public long expireAfterRead(final String key, final CachedProfile value, final long currentTime,
+					final long currentDuration) {
+				return currentDuration;
+			}
+
+		}).build();
+	}
+
+	@Override
+	public void validate(final TokenCredentials credentials, final WebContext context) {
+
+		final String key = Pac4jDigestUtils.sha256(credentials.getToken());
+		final CachedProfile cached = cache.getIfPresent(key);
+		if (cached != null) {
+			if (cached.expiresAt > System.currentTimeMillis()) {
+				credentials.setUserProfile(Pac4jProfileUtils.copyOf(cached.profile));
+				return;
+			}
+			cache.invalidate(key);
+		}
+
+		delegate.validate(credentials, context);
+
+		final CommonProfile profile = credentials.getUserProfile();
+		if (profile != null) {
+			final long expiresAt = Pac4jProfileUtils.expirationTimeMillis(profile);
+			if (expiresAt > System.currentTimeMillis()) {
+				cache.put(key, new CachedProfile(Pac4jProfileUtils.copyOf(profile), expiresAt));
+			}
+		}
+	}
+
+	/**
+	 * Remove the given token from the cache, i.e. when it has been revoked.
+	 *
+	 * @param token the raw token.
+	 */
+	public void invalidate(final String token) {
+		cache.invalidate(Pac4jDigestUtils.sha256(token));
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getSize() {
+		return cache.estimatedSize();
+	}
+
+	public JwtAuthenticator getDelegate() {
+		return delegate;
+	}
+
+	private static final class CachedProfile {
+
+		private final CommonProfile profile;
+		private final long expiresAt;
+
+		private CachedProfile(final CommonProfile profile, final long expiresAt) {
+			this.profile = profile;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
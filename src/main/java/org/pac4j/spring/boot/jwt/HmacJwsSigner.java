@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * HMAC signer encoding the {@code {"alg":"HSxxx"}} header (with the {@code kid} if any) once and keeping one initialized {@link Mac} per thread,
+ * instead of a new MACSigner, header and Mac lookup per token. Tokens are the same as the ones of
+ * {@link org.pac4j.jwt.config.signature.SecretSignatureConfiguration#sign(JWTClaimsSet)}.
+ */
+public class HmacJwsSigner implements JwsSigner {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private final JWSAlgorithm algorithm;
+	private final String encodedHeader;
+	private final ThreadLocal<Mac> mac;
+
+	public HmacJwsSigner(final JWSAlgorithm algorithm, final byte[] secret) {
+		this(algorithm, secret, null);
+	}
+
+	/**
+	 * @param algorithm the HMAC algorithm.
+	 * @param secret the secret.
+	 * @param keyId the {@code kid} header of the tokens, null for none.
+	 */
+	public HmacJwsSigner(final JWSAlgorithm algorithm, final byte[] secret, final String keyId) {
+		CommonHelper.assertNotNull("algorithm", algorithm);
+		CommonHelper.assertNotNull("secret", secret);
+		if (!MACSigner.SUPPORTED_ALGORITHMS.contains(algorithm)) {
+			throw new TechnicalException("Only HMAC algorithms are supported, got: " + algorithm);
+		}
+		try {
+			if (secret.length * 8 < MACSigner.getMinRequiredSecretLength(algorithm)) {
+				throw new TechnicalException("The secret must be at least " + MACSigner.getMinRequiredSecretLength(algorithm)
+						+ " bits long for " + algorithm);
+			}
+		} catch (final JOSEException e) {
+			throw new TechnicalException(e);
+		}
+		this.algorithm = algorithm;
+		this.encodedHeader = new JWSHeader.Builder(algorithm).keyID(keyId).build().toBase64URL().toString();
+		final String jcaName = jcaName(algorithm);
+		final SecretKeySpec key = new SecretKeySpec(secret.clone(), jcaName);
+		this.mac = ThreadLocal.withInitial(() -> {
+			try {
+				final Mac instance = Mac.getInstance(jcaName);
+				instance.init(key);
+				return instance;
+			} catch (final GeneralSecurityException e) {
+				throw new TechnicalException(e);
+			}
+		});
+		// fail now rather than on the first token if the JCA provider lacks the algorithm
+		this.mac.get();
+	}
+
+	@Override
+	public String sign(final JWTClaimsSet claims) {
+		final String payload = ENCODER.encodeToString(claims.toJSONObject().toJSONString().getBytes(StandardCharsets.UTF_8));
+		final StringBuilder token = new StringBuilder(encodedHeader.length() + payload.length() + 90);
+		token.append(encodedHeader).append('.').append(payload);
+		final Mac instance = mac.get();
+		final byte[] signature = instance.doFinal(token.toString().getBytes(StandardCharsets.US_ASCII));
+		return token.append('.').append(ENCODER.encodeToString(signature)).toString();
+	}
+
+	public JWSAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	private static String jcaName(final JWSAlgorithm algorithm) {
+		if (JWSAlgorithm.HS384.equals(algorithm)) {
+			return "HmacSHA384";
+		}
+		if (JWSAlgorithm.HS512.equals(algorithm)) {
+			return "HmacSHA512";
+		}
+		return "HmacSHA256";
+	}
+
+}
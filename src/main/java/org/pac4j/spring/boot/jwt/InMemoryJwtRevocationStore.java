@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * Local {@link JwtRevocationStore}, for a single node or tests: a revocation is not seen by the other nodes.
+ */
+public class InMemoryJwtRevocationStore implements JwtRevocationStore {
+
+	private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+	@Override
+	public void revoke(final String jti, final long expiresAt) {
+		CommonHelper.assertNotBlank("jti", jti);
+		revoked.merge(jti, expiresAt, Math::max);
+	}
+
+	@Override
+	public boolean isRevoked(final String jti, final long now) {
+		final Long expiresAt = revoked.get(jti);
+		return expiresAt != null && expiresAt > now;
+	}
+
+	@Override
+	public Map<String, Long> revoked(final long now) {
+		revoked.values().removeIf(expiresAt -> expiresAt <= now);
+		return new HashMap<>(revoked);
+	}
+
+	public int size() {
+		return revoked.size();
+	}
+
+}
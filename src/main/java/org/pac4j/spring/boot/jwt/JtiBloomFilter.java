@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter of token ids: {@link #mightContain(String)} never misses an id of the set and wrongly
+ * matches other ids with the configured probability. A few kilobytes hold thousands of ids, without keeping
+ * the strings in memory.
+ */
+public final class JtiBloomFilter {
+
+	private static final double LN2 = Math.log(2);
+
+	private final long[] bits;
+	private final long bitCount;
+	private final int hashCount;
+	private final int size;
+
+	private JtiBloomFilter(final long[] bits, final int hashCount, final int size) {
+		this.bits = bits;
+		this.bitCount = (long) bits.length * Long.SIZE;
+		this.hashCount = hashCount;
+		this.size = size;
+	}
+
+	/**
+	 * @param ids the token ids.
+	 * @param expectedInsertions the minimum capacity, so that small sets keep a low false positive probability.
+	 * @param falsePositiveProbability the false positive probability at capacity.
+	 * @return the filter.
+	 */
+	public static JtiBloomFilter of(final Collection<String> ids, final int expectedInsertions,
+			final double falsePositiveProbability) {
+		final int capacity = Math.max(Math.max(1, expectedInsertions), ids.size());
+		final double probability = Math.min(0.5d, Math.max(1e-9d, falsePositiveProbability));
+		final long optimalBits = (long) Math.ceil(-capacity * Math.log(probability) / (LN2 * LN2));
+		final int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+		final int hashCount = Math.max(1, (int) Math.round((double) words * Long.SIZE / capacity * LN2));
+		final JtiBloomFilter filter = new JtiBloomFilter(new long[words], hashCount, ids.size());
+		for (final String id : ids) {
+			filter.put(id);
+		}
+		return filter;
+	}
+
+	private void put(final String id) {
+		final long hash = hash(id);
+		final int h1 = (int) hash;
+		final int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			final long index = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+			bits[(int) (index >>> 6)] |= 1L << index;
+		}
+	}
+
+	/**
+	 * @param id the token id.
+	 * @return false if the id is certainly not in the set, true if it may be.
+	 */
+	public boolean mightContain(final String id) {
+		if (size == 0) {
+			return false;
+		}
+		final long hash = hash(id);
+		final int h1 = (int) hash;
+		final int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			final long index = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+			if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** FNV-1a over the chars, finalized with the MurmurHash3 mix so that both halves are well distributed. */
+	private static long hash(final String id) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < id.length(); i++) {
+			hash ^= id.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	/**
+	 * @return the number of ids of the set.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the memory held by the bits, in bytes.
+	 */
+	public long getByteSize() {
+		return (long) bits.length * Long.BYTES;
+	}
+
+	public int getHashCount() {
+		return hashCount;
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * RSA, EC or HMAC {@link SignatureConfiguration} backed by a JWK. The verifier, the signer when the JWK holds
+ * the private or secret key, and the header carrying the {@code kid} are built once; tokens carrying another {@code kid}
+ * are rejected without checking their signature.
+ */
+public class JwkSignatureConfiguration implements SignatureConfiguration {
+
+	private final JWK jwk;
+	private final JWSAlgorithm algorithm;
+	private final JWSVerifier verifier;
+	private final JWSSigner signer;
+	private final JWSHeader header;
+
+	/**
+	 * @param jwk the RSA, EC or secret (oct) key.
+	 * @param algorithm the algorithm, null to accept any algorithm of the key type for verification only.
+	 */
+	public JwkSignatureConfiguration(final JWK jwk, final JWSAlgorithm algorithm) {
+		CommonHelper.assertNotNull("jwk", jwk);
+		this.jwk = jwk;
+		this.algorithm = algorithm;
+		try {
+			if (jwk instanceof RSAKey) {
+				final RSAKey rsaKey = (RSAKey) jwk;
+				this.verifier = new RSASSAVerifier(rsaKey.toRSAPublicKey());
+				this.signer = rsaKey.isPrivate() ? new RSASSASigner(rsaKey.toPrivateKey()) : null;
+			} else if (jwk instanceof ECKey) {
+				final ECKey ecKey = (ECKey) jwk;
+				this.verifier = new ECDSAVerifier(ecKey.toECPublicKey());
+				this.signer = ecKey.isPrivate() ? new ECDSASigner(ecKey.toECPrivateKey()) : null;
+			} else if (jwk instanceof OctetSequenceKey) {
+				final OctetSequenceKey octKey = (OctetSequenceKey) jwk;
+				this.verifier = new MACVerifier(octKey);
+				this.signer = new MACSigner(octKey);
+			} else {
+				throw new TechnicalException("Only RSA, EC and oct keys are supported, got: " + jwk.getKeyType());
+			}
+		} catch (final JOSEException e) {
+			throw new TechnicalException(e);
+		}
+		this.header = algorithm == null ? null : new JWSHeader.Builder(algorithm).keyID(jwk.getKeyID()).build();
+	}
+
+	@Override
+	public boolean supports(final JWSAlgorithm algorithm) {
+		if (algorithm == null) {
+			return false;
+		}
+		if (this.algorithm != null) {
+			return this.algorithm.equals(algorithm);
+		}
+		return verifier.supportedJWSAlgorithms().contains(algorithm);
+	}
+
+	@Override
+	public SignedJWT sign(final JWTClaimsSet claims) {
+		if (signer == null || header == null) {
+			throw new TechnicalException("The key " + jwk.getKeyID() + " cannot sign: no private key or no algorithm");
+		}
+		try {
+			final SignedJWT signedJWT = new SignedJWT(header, claims);
+			signedJWT.sign(signer);
+			return signedJWT;
+		} catch (final JOSEException e) {
+			throw new TechnicalException(e);
+		}
+	}
+
+	@Override
+	public boolean verify(final SignedJWT jwt) throws JOSEException {
+		final String kid = jwt.getHeader().getKeyID();
+		if (kid != null && jwk.getKeyID() != null && !kid.equals(jwk.getKeyID())) {
+			return false;
+		}
+		return jwt.verify(verifier);
+	}
+
+	public String getKeyId() {
+		return jwk.getKeyID();
+	}
+
+	public JWSAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	public JWK getJwk() {
+		return jwk;
+	}
+
+	public boolean canSign() {
+		return signer != null && header != null;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "kid", jwk.getKeyID(), "keyType", jwk.getKeyType(), "algorithm",
+				algorithm, "canSign", canSign());
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * Publishes the public keys of {@link JwtKeys} or of a {@link JwtKeyring} as a JWK set, so that verifying services
+ * need no shared secret. The bytes of the set are encoded again only when the set changes.
+ */
+public class JwksServlet extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Supplier<String> jwkSet;
+	private final String cacheControl;
+	private transient volatile Body body;
+
+	public JwksServlet(final JwtKeys keys, final Duration cacheMaxAge) {
+		this(keys == null ? null : keys::getPublicJwkSet, cacheMaxAge);
+	}
+
+	/**
+	 * @param jwkSet the JSON of the public JWK set, compared by identity to detect a new set.
+	 * @param cacheMaxAge the max-age of the Cache-Control header.
+	 */
+	public JwksServlet(final Supplier<String> jwkSet, final Duration cacheMaxAge) {
+		CommonHelper.assertNotNull("jwkSet", jwkSet);
+		this.jwkSet = jwkSet;
+		this.cacheControl = "public, max-age=" + (cacheMaxAge == null ? 0L : cacheMaxAge.getSeconds());
+	}
+
+	@Override
+	protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType("application/json;charset=UTF-8");
+		response.setHeader("Cache-Control", cacheControl);
+		final byte[] bytes = body().bytes;
+		response.setContentLength(bytes.length);
+		response.getOutputStream().write(bytes);
+	}
+
+	private Body body() {
+		final String json = jwkSet.get();
+		Body current = body;
+		if (current == null || current.json != json) {
+			current = new Body(json);
+			body = current;
+		}
+		return current;
+	}
+
+	private static final class Body {
+
+		private final String json;
+		private final byte[] bytes;
+
+		private Body(final String json) {
+			this.json = json;
+			this.bytes = json.getBytes(StandardCharsets.UTF_8);
+		}
+
+	}
+
+}
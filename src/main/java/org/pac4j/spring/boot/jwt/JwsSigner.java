@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * Signs claims into a compact JWS, built once from a {@link SignatureConfiguration} and shared by all threads.
+ */
+public interface JwsSigner {
+
+	/**
+	 * @param claims the claims to sign.
+	 * @return the compact serialization of the signed token.
+	 */
+	String sign(JWTClaimsSet claims);
+
+	/**
+	 * Secret configurations and secret JWKs get a {@link HmacJwsSigner} holding the key and the encoded header,
+	 * the keyring signs with its newest key, any other configuration signs through pac4j.
+	 *
+	 * @param configuration the signature configuration.
+	 * @return the signer.
+	 */
+	static JwsSigner of(final SignatureConfiguration configuration) {
+		if (configuration instanceof SecretSignatureConfiguration) {
+			final SecretSignatureConfiguration secretConfiguration = (SecretSignatureConfiguration) configuration;
+			return new HmacJwsSigner(secretConfiguration.getAlgorithm(), secretConfiguration.getSecretBytes());
+		}
+		if (configuration instanceof JwkSignatureConfiguration) {
+			final JwkSignatureConfiguration jwkConfiguration = (JwkSignatureConfiguration) configuration;
+			if (jwkConfiguration.getJwk() instanceof OctetSequenceKey && jwkConfiguration.canSign()) {
+				return new HmacJwsSigner(jwkConfiguration.getAlgorithm(),
+						((OctetSequenceKey) jwkConfiguration.getJwk()).toByteArray(), jwkConfiguration.getKeyId());
+			}
+		}
+		if (configuration instanceof KeyringSignatureConfiguration) {
+			return ((KeyringSignatureConfiguration) configuration).getSigner();
+		}
+		return claims -> configuration.sign(claims).serialize();
+	}
+
+}
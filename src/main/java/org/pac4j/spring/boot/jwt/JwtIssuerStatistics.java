@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issued token count, failure count and cumulated signing time of a {@link JwtTokenIssuer}.
+ */
+public class JwtIssuerStatistics {
+
+	private final LongAdder issued = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+
+	void record(final long nanos, final int count) {
+		issued.add(count);
+		totalNanos.add(nanos);
+	}
+
+	void recordBatch() {
+		batches.increment();
+	}
+
+	void recordFailure() {
+		failures.increment();
+	}
+
+	public long getIssued() {
+		return issued.sum();
+	}
+
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * @return the mean time to build, sign and encrypt one token in nanoseconds, 0 if none issued.
+	 */
+	public double getMeanNanos() {
+		final long count = getIssued();
+		return count == 0 ? 0d : (double) getTotalNanos() / count;
+	}
+
+	/**
+	 * @return the number of tokens one thread issues per second at the mean issuing time, 0 if none issued.
+	 */
+	public double getTokensPerSecond() {
+		final double meanNanos = getMeanNanos();
+		return meanNanos == 0d ? 0d : TimeUnit.SECONDS.toNanos(1) / meanNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "JwtIssuerStatistics[issued=" + getIssued() + ", failures=" + getFailures() + ", batches=" + getBatches()
+				+ ", meanNanos=" + Math.round(getMeanNanos()) + ", tokensPerSecond=" + Math.round(getTokensPerSecond()) + "]";
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.spring.boot.Pac4jJwtKeyProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+
+/**
+ * Reads the RSA / EC key pairs of pac4j.jwt.keys from PEM files or key stores into JWKs, without requiring BouncyCastle.
+ */
+public class JwtKeyLoader {
+
+	private static final Pattern PEM = Pattern.compile("-----BEGIN ([A-Z0-9 ]+)-----([A-Za-z0-9+/=\\s]+)-----END \\1-----");
+
+	/**
+	 * @param properties the key settings.
+	 * @return the signature configuration of the key.
+	 */
+	public static JwkSignatureConfiguration load(final Pac4jJwtKeyProperties properties) {
+		final JWSAlgorithm algorithm = JWSAlgorithm.parse(properties.getAlgorithm().value());
+		return new JwkSignatureConfiguration(toJwk(properties, algorithm), algorithm);
+	}
+
+	public static JWK toJwk(final Pac4jJwtKeyProperties properties, final JWSAlgorithm algorithm) {
+		final boolean rsa = JWSAlgorithm.Family.RSA.contains(algorithm);
+		if (!rsa && !JWSAlgorithm.Family.EC.contains(algorithm)) {
+			throw new TechnicalException("Only RSA and EC signature algorithms are supported, got: " + algorithm);
+		}
+		PublicKey publicKey = null;
+		PrivateKey privateKey = null;
+		try {
+			if (properties.getKeyStore() != null) {
+				final char[] storePassword = toChars(properties.getKeyStorePassword());
+				final KeyStore keyStore = KeyStore.getInstance(properties.getKeyStoreType());
+				try (InputStream in = properties.getKeyStore().getInputStream()) {
+					keyStore.load(in, storePassword);
+				}
+				final String alias = properties.getKeyAlias() != null ? properties.getKeyAlias() : keyStore.aliases().nextElement();
+				final Certificate certificate = keyStore.getCertificate(alias);
+				if (certificate == null) {
+					throw new TechnicalException("No certificate for the alias " + alias + " in " + properties.getKeyStore());
+				}
+				publicKey = certificate.getPublicKey();
+				final Key key = keyStore.getKey(alias,
+						properties.getKeyPassword() != null ? properties.getKeyPassword().toCharArray() : storePassword);
+				privateKey = key instanceof PrivateKey ? (PrivateKey) key : null;
+			} else {
+				final KeyFactory keyFactory = KeyFactory.getInstance(rsa ? "RSA" : "EC");
+				if (properties.getPublicKey() != null) {
+					publicKey = readPublicKey(properties.getPublicKey(), keyFactory);
+				}
+				if (properties.getPrivateKey() != null) {
+					privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(properties.getPrivateKey(), "PRIVATE KEY")));
+				}
+				if (publicKey == null && privateKey instanceof RSAPrivateCrtKey) {
+					final RSAPrivateCrtKey crtKey = (RSAPrivateCrtKey) privateKey;
+					publicKey = keyFactory.generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+				}
+			}
+		} catch (final IOException | GeneralSecurityException e) {
+			throw new TechnicalException("Cannot read the JWT key " + properties, e);
+		}
+		if (publicKey == null) {
+			throw new TechnicalException("No public key for the JWT key " + properties);
+		}
+		final JWK jwk;
+		if (rsa) {
+			if (!(publicKey instanceof RSAPublicKey)) {
+				throw new TechnicalException(algorithm + " requires an RSA key, got: " + publicKey.getAlgorithm());
+			}
+			jwk = new RSAKey.Builder((RSAPublicKey) publicKey).privateKey(privateKey).keyUse(KeyUse.SIGNATURE)
+					.algorithm(algorithm).keyID(properties.getKid()).build();
+		} else {
+			if (!(publicKey instanceof ECPublicKey)) {
+				throw new TechnicalException(algorithm + " requires an EC key, got: " + publicKey.getAlgorithm());
+			}
+			final ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+			jwk = new ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+					.privateKey((ECPrivateKey) privateKey).keyUse(KeyUse.SIGNATURE).algorithm(algorithm)
+					.keyID(properties.getKid()).build();
+		}
+		return properties.getKid() != null ? jwk : withThumbprintKeyId(jwk);
+	}
+
+	private static JWK withThumbprintKeyId(final JWK jwk) {
+		try {
+			final String kid = jwk.computeThumbprint().toString();
+			if (jwk instanceof RSAKey) {
+				return new RSAKey.Builder((RSAKey) jwk).keyID(kid).build();
+			}
+			return new ECKey.Builder((ECKey) jwk).keyID(kid).build();
+		} catch (final JOSEException e) {
+			throw new TechnicalException(e);
+		}
+	}
+
+	private static PublicKey readPublicKey(final Resource resource, final KeyFactory keyFactory)
+			throws IOException, GeneralSecurityException {
+		final String pem = read(resource);
+		if (pem.contains("-----BEGIN CERTIFICATE-----")) {
+			try (InputStream in = resource.getInputStream()) {
+				return CertificateFactory.getInstance("X.509").generateCertificate(in).getPublicKey();
+			}
+		}
+		return keyFactory.generatePublic(new X509EncodedKeySpec(decode(pem, "PUBLIC KEY", resource)));
+	}
+
+	private static byte[] readPem(final Resource resource, final String type) throws IOException {
+		return decode(read(resource), type, resource);
+	}
+
+	private static String read(final Resource resource) throws IOException {
+		try (InputStream in = resource.getInputStream()) {
+			return StreamUtils.copyToString(in, StandardCharsets.US_ASCII);
+		}
+	}
+
+	private static byte[] decode(final String pem, final String type, final Resource resource) {
+		final Matcher matcher = PEM.matcher(pem);
+		while (matcher.find()) {
+			if (type.equals(matcher.group(1))) {
+				return Base64.getMimeDecoder().decode(matcher.group(2));
+			}
+			if (matcher.group(1).endsWith("PRIVATE KEY") && "PRIVATE KEY".equals(type)) {
+				throw new TechnicalException(resource + " holds a " + matcher.group(1)
+						+ ", convert it to PKCS#8 with: openssl pkcs8 -topk8 -nocrypt -in key.pem -out pkcs8.pem");
+			}
+		}
+		throw new TechnicalException("No " + type + " found in " + resource);
+	}
+
+	private static char[] toChars(final String value) {
+		return value == null ? null : value.toCharArray();
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+
+/**
+ * Rotating JWT keys read from a keyring file (see {@link JwtKeyringSnapshot#parse}), so that keys are added and
+ * retired without restarting: the file is watched with a {@link WatchService} and the keys are re-evaluated at
+ * each activation or retirement time. Every change swaps an immutable {@link JwtKeyringSnapshot} through a volatile
+ * field, the request path never locks. A file which cannot be read or parsed is logged and the previous keys are kept.
+ */
+public class JwtKeyring implements AutoCloseable {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Path file;
+	private final boolean watch;
+	private final long reloadDelayMillis;
+	private final JWSAlgorithm signatureAlgorithm;
+	private final JWEAlgorithm encryptionAlgorithm;
+	private final EncryptionMethod encryptionMethod;
+	private final ScheduledExecutorService scheduler;
+	private final AtomicBoolean reloadPending = new AtomicBoolean();
+	private final KeyringSignatureConfiguration signatureConfiguration = new KeyringSignatureConfiguration(this);
+	private final KeyringEncryptionConfiguration encryptionConfiguration = new KeyringEncryptionConfiguration(this);
+
+	private volatile JwtKeyringSnapshot current = new JwtKeyringSnapshot(Collections.emptyList(), System.currentTimeMillis());
+	private List<JwtKeyringSnapshot.Key> keys = Collections.emptyList();
+	private byte[] content;
+	private ScheduledFuture<?> transition;
+	private WatchService watchService;
+	private Thread watcher;
+
+	private final LongAdder reloads = new LongAdder();
+	private final LongAdder reloadFailures = new LongAdder();
+	private final LongAdder transitions = new LongAdder();
+
+	/**
+	 * @param file the keyring file.
+	 * @param watch whether the file is watched for changes.
+	 * @param reloadDelayMillis the delay between a change of the file and its reload, so that one write is read once.
+	 * @param signatureAlgorithm the algorithm of the secret signature keys without {@code alg}.
+	 * @param encryptionAlgorithm the algorithm of the encryption keys without {@code alg}.
+	 * @param encryptionMethod the method of the encryption keys without {@code enc}.
+	 */
+	public JwtKeyring(final Path file, final boolean watch, final long reloadDelayMillis, final JWSAlgorithm signatureAlgorithm,
+			final JWEAlgorithm encryptionAlgorithm, final EncryptionMethod encryptionMethod) {
+		CommonHelper.assertNotNull("file", file);
+		this.file = file.toAbsolutePath();
+		this.watch = watch;
+		this.reloadDelayMillis = Math.max(0L, reloadDelayMillis);
+		this.signatureAlgorithm = signatureAlgorithm;
+		this.encryptionAlgorithm = encryptionAlgorithm;
+		this.encryptionMethod = encryptionMethod;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "pac4j-jwt-keyring");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Read the keyring, then watch the file. Unlike later reloads, a keyring which cannot be read fails the startup.
+	 */
+	public synchronized void start() {
+		if (!load()) {
+			throw new TechnicalException("Cannot read the JWT keyring " + file);
+		}
+		if (watch) {
+			try {
+				watchService = file.getFileSystem().newWatchService();
+				// watch the directory: editors and Kubernetes volumes replace the file rather than writing it
+				file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+				watcher = new Thread(this::watch, "pac4j-jwt-keyring-watch");
+				watcher.setDaemon(true);
+				watcher.start();
+			} catch (final IOException e) {
+				logger.warn("Cannot watch the JWT keyring {}, changes need a reload : {}", file, e.getMessage());
+			}
+		}
+	}
+
+	private void watch() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				final WatchKey key = watchService.take();
+				// any change of the directory may be an atomic replacement, the content tells whether the keyring changed
+				if (!key.pollEvents().isEmpty()) {
+					requestReload();
+				}
+				if (!key.reset()) {
+					logger.warn("The directory of the JWT keyring {} is no longer watched", file);
+					return;
+				}
+			}
+		} catch (final InterruptedException | ClosedWatchServiceException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	protected void requestReload() {
+		if (reloadPending.compareAndSet(false, true)) {
+			try {
+				scheduler.schedule(() -> {
+					reloadPending.set(false);
+					reload();
+				}, reloadDelayMillis, TimeUnit.MILLISECONDS);
+			} catch (final RuntimeException e) {
+				reloadPending.set(false);
+				logger.debug("JWT keyring reload not scheduled : {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Read the keyring file again, i.e. after a configuration refresh when the file is not watched.
+	 *
+	 * @return whether the file could be read, an unchanged file is not parsed again.
+	 */
+	public boolean reload() {
+		return load();
+	}
+
+	private synchronized boolean load() {
+		try {
+			final byte[] bytes = Files.readAllBytes(file);
+			if (Arrays.equals(bytes, content)) {
+				return true;
+			}
+			final List<JwtKeyringSnapshot.Key> parsed = JwtKeyringSnapshot.parse(new String(bytes, StandardCharsets.UTF_8),
+					signatureAlgorithm, encryptionAlgorithm, encryptionMethod);
+			this.content = bytes;
+			this.keys = parsed;
+			reloads.increment();
+			apply();
+			return true;
+		} catch (final IOException | ParseException | RuntimeException e) {
+			reloadFailures.increment();
+			logger.warn("Cannot read the JWT keyring {}, keeping the previous keys : {}", file, e.getMessage());
+			return false;
+		}
+	}
+
+	private synchronized void apply() {
+		final JwtKeyringSnapshot snapshot = new JwtKeyringSnapshot(keys, System.currentTimeMillis());
+		this.current = snapshot;
+		if (transition != null) {
+			transition.cancel(false);
+			transition = null;
+		}
+		if (snapshot.getNextTransition() != Long.MAX_VALUE) {
+			final long delay = Math.max(0L, snapshot.getNextTransition() - System.currentTimeMillis());
+			try {
+				transition = scheduler.schedule(() -> {
+					transitions.increment();
+					apply();
+				}, delay, TimeUnit.MILLISECONDS);
+			} catch (final RuntimeException e) {
+				logger.debug("JWT keyring transition not scheduled : {}", e.getMessage());
+			}
+		}
+		if (snapshot.getSigningKey() == null) {
+			logger.warn("No active signing key in the JWT keyring {}", file);
+		}
+		logger.info("JWT keyring {} : {}", file, snapshot);
+	}
+
+	/**
+	 * @return the keys usable now.
+	 */
+	public JwtKeyringSnapshot current() {
+		return current;
+	}
+
+	/**
+	 * @return the signature configuration following the keyring, to add to JwtAuthenticator and to sign with.
+	 */
+	public KeyringSignatureConfiguration getSignatureConfiguration() {
+		return signatureConfiguration;
+	}
+
+	/**
+	 * @return the encryption configuration following the keyring, to add to JwtAuthenticator and to encrypt with.
+	 */
+	public KeyringEncryptionConfiguration getEncryptionConfiguration() {
+		return encryptionConfiguration;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public long getReloadCount() {
+		return reloads.sum();
+	}
+
+	public long getReloadFailureCount() {
+		return reloadFailures.sum();
+	}
+
+	public long getTransitionCount() {
+		return transitions.sum();
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (final IOException e) {
+				logger.debug("Cannot close the watch service of {} : {}", file, e.getMessage());
+			}
+		}
+		if (watcher != null) {
+			watcher.interrupt();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "file", file, "current", current, "reloads", getReloadCount(),
+				"reloadFailures", getReloadFailureCount());
+	}
+
+}
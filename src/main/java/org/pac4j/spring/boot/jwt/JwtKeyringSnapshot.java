@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+import org.pac4j.jwt.config.encryption.SecretEncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.util.JSONObjectUtils;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+
+/**
+ * The keys of a {@link JwtKeyring} usable at a given instant. Each key of the keyring has an activation time
+ * ({@code nbf}) and a retirement time ({@code exp}):
+ * <ul>
+ * <li>tokens are verified (or decrypted) by every key not retired yet, including the keys not active yet,
+ * so that a new key is known by the whole fleet before any node issues tokens with it;</li>
+ * <li>tokens are signed (or encrypted) by the newest active key only.</li>
+ * </ul>
+ * A snapshot is immutable, the keyring swaps the whole snapshot when the file changes or a key is activated or retired.
+ */
+public class JwtKeyringSnapshot {
+
+	/** The member holding the keys, as in a JWK set. */
+	public static final String KEYS = "keys";
+	/** Activation time of a key, epoch seconds or ISO-8601 instant, same name as the JWT claim. */
+	public static final String NOT_BEFORE = "nbf";
+	/** Retirement time of a key, epoch seconds or ISO-8601 instant, same name as the JWT claim. */
+	public static final String EXPIRATION_TIME = "exp";
+	/** Content encryption method of an encryption key, same name as the JWE header. */
+	public static final String ENCRYPTION_METHOD = "enc";
+
+	private final long createdAt;
+	private final List<Key> keys;
+	private final List<SignatureConfiguration> signatureConfigurations;
+	private final SignatureConfigurationSelector selector;
+	private final Key signingKey;
+	private final List<EncryptionConfiguration> encryptionConfigurations;
+	private final Key encryptingKey;
+	private final String publicJwkSet;
+	private final long nextTransition;
+
+	/**
+	 * @param keys the keys of the keyring.
+	 * @param now the instant of the snapshot, in milliseconds.
+	 */
+	public JwtKeyringSnapshot(final List<Key> keys, final long now) {
+		CommonHelper.assertNotNull("keys", keys);
+		this.createdAt = now;
+		this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+		final List<SignatureConfiguration> verifying = new ArrayList<>();
+		final List<EncryptionConfiguration> decrypting = new ArrayList<>();
+		final List<JWK> publicKeys = new ArrayList<>();
+		Key signing = null;
+		Key encrypting = null;
+		long next = Long.MAX_VALUE;
+		for (final Key key : keys) {
+			if (key.notBefore > now) {
+				next = Math.min(next, key.notBefore);
+			}
+			if (key.expiresAt > now) {
+				next = Math.min(next, key.expiresAt);
+			} else {
+				continue;
+			}
+			final boolean active = key.notBefore <= now;
+			if (key.signatureConfiguration != null) {
+				verifying.add(key.signatureConfiguration);
+				final JWK publicKey = key.jwk.toPublicJWK();
+				if (publicKey != null) {
+					publicKeys.add(publicKey);
+				}
+				if (active && key.signer != null && (signing == null || key.notBefore >= signing.notBefore)) {
+					signing = key;
+				}
+			} else {
+				decrypting.add(key.encryptionConfiguration);
+				if (active && (encrypting == null || key.notBefore >= encrypting.notBefore)) {
+					encrypting = key;
+				}
+			}
+		}
+		this.signatureConfigurations = Collections.unmodifiableList(verifying);
+		this.selector = new SignatureConfigurationSelector(verifying);
+		this.signingKey = signing;
+		this.encryptionConfigurations = Collections.unmodifiableList(decrypting);
+		this.encryptingKey = encrypting;
+		this.publicJwkSet = new JWKSet(publicKeys).toJSONObject(true).toJSONString();
+		this.nextTransition = next;
+	}
+
+	/**
+	 * Parse a keyring: a JWK set whose keys all have a {@code kid}, and optionally the {@code nbf} / {@code exp}
+	 * members bounding their validity. Secret ({@code oct}) keys with {@code "use":"enc"} are encryption keys,
+	 * all the others are signature keys; RSA and EC keys only sign when their {@code alg} is given.
+	 *
+	 * @param json the keyring.
+	 * @param signatureAlgorithm the algorithm of the secret signature keys without {@code alg}.
+	 * @param encryptionAlgorithm the algorithm of the encryption keys without {@code alg}.
+	 * @param encryptionMethod the method of the encryption keys without {@code enc}.
+	 * @return the keys, in the order of the file.
+	 * @throws ParseException if the keyring is not a valid JWK set.
+	 */
+	public static List<Key> parse(final String json, final JWSAlgorithm signatureAlgorithm,
+			final JWEAlgorithm encryptionAlgorithm, final EncryptionMethod encryptionMethod) throws ParseException {
+		final JSONObject root = JSONObjectUtils.parse(json);
+		final Object members = root.get(KEYS);
+		if (!(members instanceof JSONArray)) {
+			throw new ParseException("Missing required \"" + KEYS + "\" member", 0);
+		}
+		final List<Key> keys = new ArrayList<>();
+		final Set<String> keyIds = new HashSet<>();
+		for (final Object member : (JSONArray) members) {
+			if (!(member instanceof JSONObject)) {
+				throw new ParseException("The keys must be JSON objects", 0);
+			}
+			final JSONObject object = (JSONObject) member;
+			final JWK jwk = JWK.parse(object);
+			if (jwk.getKeyID() == null) {
+				throw new ParseException("Every key of the keyring needs a kid", 0);
+			}
+			if (!keyIds.add(jwk.getKeyID())) {
+				throw new ParseException("Duplicate kid in the keyring: " + jwk.getKeyID(), 0);
+			}
+			final long notBefore = instant(object, NOT_BEFORE, Long.MIN_VALUE);
+			final long expiresAt = instant(object, EXPIRATION_TIME, Long.MAX_VALUE);
+			try {
+				if (KeyUse.ENCRYPTION.equals(jwk.getKeyUse())) {
+					if (!(jwk instanceof OctetSequenceKey)) {
+						throw new ParseException("Only oct keys can encrypt, got: " + jwk.getKeyType() + " for " + jwk.getKeyID(), 0);
+					}
+					final Object method = object.get(ENCRYPTION_METHOD);
+					final SecretEncryptionConfiguration configuration = new SecretEncryptionConfiguration(
+							((OctetSequenceKey) jwk).toByteArray(),
+							jwk.getAlgorithm() == null ? encryptionAlgorithm : JWEAlgorithm.parse(jwk.getAlgorithm().getName()),
+							method == null ? encryptionMethod : EncryptionMethod.parse(method.toString()));
+					keys.add(new Key(jwk, notBefore, expiresAt, null, null, configuration));
+				} else {
+					JWSAlgorithm algorithm = jwk.getAlgorithm() == null ? null : JWSAlgorithm.parse(jwk.getAlgorithm().getName());
+					if (algorithm == null && jwk instanceof OctetSequenceKey) {
+						algorithm = signatureAlgorithm;
+					}
+					final JwkSignatureConfiguration configuration = new JwkSignatureConfiguration(jwk, algorithm);
+					keys.add(new Key(jwk, notBefore, expiresAt, configuration,
+							configuration.canSign() ? JwsSigner.of(configuration) : null, null));
+				}
+			} catch (final TechnicalException e) {
+				throw new ParseException("Invalid key " + jwk.getKeyID() + ": " + e.getMessage(), 0);
+			}
+		}
+		return keys;
+	}
+
+	private static long instant(final JSONObject object, final String name, final long defaultValue)
+			throws ParseException {
+		final Object value = object.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		if (value instanceof Number) {
+			return ((Number) value).longValue() * 1000L;
+		}
+		try {
+			return Instant.parse(value.toString()).toEpochMilli();
+		} catch (final DateTimeParseException e) {
+			throw new ParseException("Invalid \"" + name + "\": " + value, 0);
+		}
+	}
+
+	public long getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * @return all the keys of the keyring, including the retired ones.
+	 */
+	public List<Key> getKeys() {
+		return keys;
+	}
+
+	/**
+	 * @return the signature configurations of the keys not retired yet.
+	 */
+	public List<SignatureConfiguration> getSignatureConfigurations() {
+		return signatureConfigurations;
+	}
+
+	/**
+	 * @return the signature configurations of the keys not retired yet, indexed by {@code kid}.
+	 */
+	public SignatureConfigurationSelector getSelector() {
+		return selector;
+	}
+
+	/**
+	 * @return the newest active key able to sign, null if none.
+	 */
+	public Key getSigningKey() {
+		return signingKey;
+	}
+
+	/**
+	 * @return the encryption configurations of the keys not retired yet.
+	 */
+	public List<EncryptionConfiguration> getEncryptionConfigurations() {
+		return encryptionConfigurations;
+	}
+
+	/**
+	 * @return the newest active encryption key, null if none.
+	 */
+	public Key getEncryptingKey() {
+		return encryptingKey;
+	}
+
+	/**
+	 * @return the JSON of the public keys not retired yet, the secret keys are never published.
+	 */
+	public String getPublicJwkSet() {
+		return publicJwkSet;
+	}
+
+	/**
+	 * @return the next activation or retirement time, in milliseconds, {@link Long#MAX_VALUE} if none.
+	 */
+	public long getNextTransition() {
+		return nextTransition;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "keys", keys.size(), "verifying", signatureConfigurations.size(),
+				"signingKey", signingKey == null ? null : signingKey.getKeyId(), "decrypting", encryptionConfigurations.size(),
+				"encryptingKey", encryptingKey == null ? null : encryptingKey.getKeyId());
+	}
+
+	/**
+	 * One key of the keyring, with its configuration built once when the keyring is read.
+	 */
+	public static final class Key {
+
+		private final JWK jwk;
+		private final long notBefore;
+		private final long expiresAt;
+		private final JwkSignatureConfiguration signatureConfiguration;
+		private final JwsSigner signer;
+		private final SecretEncryptionConfiguration encryptionConfiguration;
+
+		private Key(final JWK jwk, final long notBefore, final long expiresAt,
+				final JwkSignatureConfiguration signatureConfiguration, final JwsSigner signer,
+				final SecretEncryptionConfiguration encryptionConfiguration) {
+			this.jwk = jwk;
+			this.notBefore = notBefore;
+			this.expiresAt = expiresAt;
+			this.signatureConfiguration = signatureConfiguration;
+			this.signer = signer;
+			this.encryptionConfiguration = encryptionConfiguration;
+		}
+
+		public String getKeyId() {
+			return jwk.getKeyID();
+		}
+
+		public JWK getJwk() {
+			return jwk;
+		}
+
+		/**
+		 * @return the activation time in milliseconds, {@link Long#MIN_VALUE} if always active.
+		 */
+		public long getNotBefore() {
+			return notBefore;
+		}
+
+		/**
+		 * @return the retirement time in milliseconds, {@link Long#MAX_VALUE} if never retired.
+		 */
+		public long getExpiresAt() {
+			return expiresAt;
+		}
+
+		/**
+		 * @return the signature configuration, null for an encryption key.
+		 */
+		public JwkSignatureConfiguration getSignatureConfiguration() {
+			return signatureConfiguration;
+		}
+
+		/**
+		 * @return the signer, null for an encryption key or a key without private key or algorithm.
+		 */
+		public JwsSigner getSigner() {
+			return signer;
+		}
+
+		/**
+		 * @return the encryption configuration, null for a signature key.
+		 */
+		public SecretEncryptionConfiguration getEncryptionConfiguration() {
+			return encryptionConfiguration;
+		}
+
+		@Override
+		public String toString() {
+			return CommonHelper.toNiceString(this.getClass(), "kid", jwk.getKeyID(), "keyType", jwk.getKeyType(),
+					"use", signatureConfiguration != null ? "sig" : "enc", "notBefore", notBefore, "expiresAt", expiresAt);
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.pac4j.core.util.CommonHelper;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+/**
+ * The asymmetric signature keys of the application: verified by JwtAuthenticator, published through the JWK set
+ * endpoint and, for the first one holding a private key, used to sign issued tokens.
+ */
+public class JwtKeys {
+
+	private final List<JwkSignatureConfiguration> configurations;
+	private final JwkSignatureConfiguration signingConfiguration;
+	private final String publicJwkSet;
+
+	public JwtKeys(final List<JwkSignatureConfiguration> configurations) {
+		CommonHelper.assertNotNull("configurations", configurations);
+		this.configurations = Collections.unmodifiableList(new ArrayList<>(configurations));
+		this.signingConfiguration = configurations.stream().filter(JwkSignatureConfiguration::canSign).findFirst().orElse(null);
+		final List<JWK> publicKeys = new ArrayList<>(configurations.size());
+		for (final JwkSignatureConfiguration configuration : configurations) {
+			final JWK publicKey = configuration.getJwk().toPublicJWK();
+			if (publicKey != null) {
+				publicKeys.add(publicKey);
+			}
+		}
+		this.publicJwkSet = new JWKSet(publicKeys).toJSONObject(true).toJSONString();
+	}
+
+	public List<JwkSignatureConfiguration> getSignatureConfigurations() {
+		return configurations;
+	}
+
+	/**
+	 * @return the first key holding a private key, null if none.
+	 */
+	public JwkSignatureConfiguration getSigningConfiguration() {
+		return signingConfiguration;
+	}
+
+	/**
+	 * @return the JSON of the public JWK set, serialized once.
+	 */
+	public String getPublicJwkSet() {
+		return publicJwkSet;
+	}
+
+	public boolean isEmpty() {
+		return configurations.isEmpty();
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.jwt.JwtClaims;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.Pac4jProfileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Revocation check of tokens by {@code jti}, in front of a {@link JwtRevocationStore}. A local {@link JtiBloomFilter}
+ * of the revoked ids is rebuilt from the store at a fixed interval, so that a token never revoked, the common case,
+ * is accepted without leaving the JVM; only the ids matched by the filter are looked up in the store.
+ * The revocations made by this node apply at once, the ones made by other nodes at the next synchronization.
+ * Entries are dropped when their token expires, which keeps the store and the filter bounded; a token without
+ * {@code exp} is revoked for the maximum time to live only.
+ */
+public class JwtRevocationList implements AutoCloseable {
+
+	public static final Duration DEFAULT_MAX_TIME_TO_LIVE = Duration.ofDays(7);
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final JwtRevocationStore store;
+	private final long syncIntervalMillis;
+	private final long maxTimeToLiveMillis;
+	private final int expectedRevocations;
+	private final double falsePositiveProbability;
+	private final ScheduledExecutorService scheduler;
+	/** Revoked by this node since the last synchronization, not in the filter yet. */
+	private final Map<String, Long> recent = new ConcurrentHashMap<>();
+
+	private volatile JtiBloomFilter filter;
+
+	private final LongAdder checks = new LongAdder();
+	private final LongAdder storeLookups = new LongAdder();
+	private final LongAdder revokedHits = new LongAdder();
+	private final LongAdder storeFailures = new LongAdder();
+	private final LongAdder revocations = new LongAdder();
+	private final LongAdder syncs = new LongAdder();
+	private final LongAdder syncFailures = new LongAdder();
+
+	/**
+	 * @param store the store of the revoked ids.
+	 * @param syncInterval the interval between two rebuilds of the local filter.
+	 * @param expectedRevocations the minimum capacity of the filter.
+	 * @param falsePositiveProbability the probability of a store lookup for a token never revoked.
+	 */
+	public JwtRevocationList(final JwtRevocationStore store, final Duration syncInterval, final int expectedRevocations,
+			final double falsePositiveProbability) {
+		this(store, syncInterval, expectedRevocations, falsePositiveProbability, DEFAULT_MAX_TIME_TO_LIVE);
+	}
+
+	/**
+	 * @param store the store of the revoked ids.
+	 * @param syncInterval the interval between two rebuilds of the local filter.
+	 * @param expectedRevocations the minimum capacity of the filter.
+	 * @param falsePositiveProbability the probability of a store lookup for a token never revoked.
+	 * @param maxTimeToLive the longest time a revocation is kept, whatever the expiration of the token.
+	 */
+	public JwtRevocationList(final JwtRevocationStore store, final Duration syncInterval, final int expectedRevocations,
+			final double falsePositiveProbability, final Duration maxTimeToLive) {
+		CommonHelper.assertNotNull("store", store);
+		CommonHelper.assertNotNull("syncInterval", syncInterval);
+		CommonHelper.assertNotNull("maxTimeToLive", maxTimeToLive);
+		CommonHelper.assertTrue(!maxTimeToLive.isNegative() && !maxTimeToLive.isZero(), "maxTimeToLive must be positive");
+		this.store = store;
+		this.syncIntervalMillis = Math.max(100L, syncInterval.toMillis());
+		this.maxTimeToLiveMillis = maxTimeToLive.toMillis();
+		this.expectedRevocations = expectedRevocations;
+		this.falsePositiveProbability = falsePositiveProbability;
+		this.filter = JtiBloomFilter.of(Collections.emptySet(), expectedRevocations, falsePositiveProbability);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "pac4j-jwt-revocation-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Synchronize now, then at the sync interval. A failed synchronization is logged, not thrown, the lookups then
+	 * rely on the previous filter.
+	 *
+	 * @return whether the revoked ids could be read.
+	 */
+	public boolean start() {
+		final boolean done = sync();
+		scheduler.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+		return done;
+	}
+
+	/**
+	 * Revoke the token of a profile built by JwtAuthenticator, until its {@code exp} or the maximum time to live.
+	 *
+	 * @param profile the profile.
+	 * @return whether the token had a {@code jti} to revoke.
+	 */
+	public boolean revoke(final CommonProfile profile) {
+		CommonHelper.assertNotNull("profile", profile);
+		final Object jti = profile.getAttribute(JwtClaims.JWT_ID);
+		if (jti == null) {
+			logger.debug("Token of {} without jti, cannot be revoked", profile.getId());
+			return false;
+		}
+		revoke(jti.toString(), Pac4jProfileUtils.expirationTimeMillis(profile));
+		return true;
+	}
+
+	/**
+	 * @param jti the id of the token.
+	 * @param expiresAt the expiration time of the token in milliseconds, {@link Long#MAX_VALUE} if none; capped to
+	 *            the maximum time to live.
+	 */
+	public void revoke(final String jti, final long expiresAt) {
+		CommonHelper.assertNotBlank("jti", jti);
+		final long now = System.currentTimeMillis();
+		if (expiresAt <= now) {
+			return;
+		}
+		final long until = expiresAt - now > maxTimeToLiveMillis ? now + maxTimeToLiveMillis : expiresAt;
+		if (until != expiresAt) {
+			logger.debug("Token {} expires after the maximum time to live, revoked until {}", jti, until);
+		}
+		store.revoke(jti, until);
+		recent.merge(jti, until, Math::max);
+		revocations.increment();
+	}
+
+	/**
+	 * @param jti the id of the token.
+	 * @return whether the token is revoked; a store which cannot be read counts as revoked for the ids matched by the filter.
+	 */
+	public boolean isRevoked(final String jti) {
+		checks.increment();
+		if (!recent.isEmpty()) {
+			final Long expiresAt = recent.get(jti);
+			if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+				revokedHits.increment();
+				return true;
+			}
+		}
+		if (!filter.mightContain(jti)) {
+			return false;
+		}
+		storeLookups.increment();
+		try {
+			if (store.isRevoked(jti, System.currentTimeMillis())) {
+				revokedHits.increment();
+				return true;
+			}
+			return false;
+		} catch (final RuntimeException e) {
+			storeFailures.increment();
+			logger.warn("Cannot read the revocation of the token {}, rejecting it : {}", jti, e.getMessage());
+			return true;
+		}
+	}
+
+	/**
+	 * Rebuild the local filter from the store.
+	 *
+	 * @return whether the revoked ids could be read.
+	 */
+	public synchronized boolean sync() {
+		final long now = System.currentTimeMillis();
+		try {
+			final Map<String, Long> revoked = store.revoked(now);
+			this.filter = JtiBloomFilter.of(revoked.keySet(), expectedRevocations, falsePositiveProbability);
+			// kept until the filter holds them: a revocation made during the read may be missing from it
+			recent.entrySet().removeIf(entry -> entry.getValue() <= now || revoked.containsKey(entry.getKey()));
+			syncs.increment();
+			logger.debug("Synchronized {} revoked tokens, filter of {} bytes", revoked.size(), filter.getByteSize());
+			return true;
+		} catch (final RuntimeException e) {
+			syncFailures.increment();
+			logger.warn("Cannot synchronize the revoked tokens, keeping the previous ones : {}", e.getMessage());
+			return false;
+		}
+	}
+
+	public JwtRevocationStore getStore() {
+		return store;
+	}
+
+	/**
+	 * @return the number of revoked tokens held by the local filter.
+	 */
+	public int getSize() {
+		return filter.size();
+	}
+
+	public long getCheckCount() {
+		return checks.sum();
+	}
+
+	/**
+	 * @return the number of checks which went to the store: revoked tokens and false positives of the filter.
+	 */
+	public long getStoreLookupCount() {
+		return storeLookups.sum();
+	}
+
+	public long getRevokedCount() {
+		return revokedHits.sum();
+	}
+
+	public long getStoreFailureCount() {
+		return storeFailures.sum();
+	}
+
+	public long getRevocationCount() {
+		return revocations.sum();
+	}
+
+	public long getSyncCount() {
+		return syncs.sum();
+	}
+
+	public long getSyncFailureCount() {
+		return syncFailures.sum();
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "store", store.getClass().getSimpleName(), "size", getSize(),
+				"checks", getCheckCount(), "storeLookups", getStoreLookupCount(), "revoked", getRevokedCount());
+	}
+
+}
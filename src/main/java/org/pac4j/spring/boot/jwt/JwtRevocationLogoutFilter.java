@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Revokes the JWT of the request when it reaches the logout path, before the logout itself, so that the stateless
+ * token cannot be replayed until its expiration. The token is read from the header, the cookie or the parameter
+ * of the JWT clients and validated first: only a valid token is revoked.
+ */
+public class JwtRevocationLogoutFilter extends OncePerRequestFilter {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	private final String pathPattern;
+	private final Authenticator<TokenCredentials> authenticator;
+	private final JwtRevocationList revocationList;
+	private String headerName;
+	private String headerPrefix = "";
+	private String cookieName;
+	private String parameterName;
+
+	/**
+	 * @param pathPattern the Ant pattern of the logout path, i.e. /**&#47;logout/pac4j
+	 * @param authenticator the authenticator validating the token, without the revocation check.
+	 * @param revocationList the revocation list.
+	 */
+	public JwtRevocationLogoutFilter(final String pathPattern, final Authenticator<TokenCredentials> authenticator,
+			final JwtRevocationList revocationList) {
+		CommonHelper.assertNotBlank("pathPattern", pathPattern);
+		CommonHelper.assertNotNull("authenticator", authenticator);
+		CommonHelper.assertNotNull("revocationList", revocationList);
+		this.pathPattern = pathPattern;
+		this.authenticator = authenticator;
+		this.revocationList = revocationList;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !pathMatcher.match(pathPattern, urlPathHelper.getPathWithinApplication(request));
+	}
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final String token = token(request);
+		if (token != null) {
+			try {
+				final TokenCredentials credentials = new TokenCredentials(token);
+				authenticator.validate(credentials, new JEEContext(request, response));
+				final CommonProfile profile = credentials.getUserProfile();
+				if (profile != null && revocationList.revoke(profile)) {
+					logger.debug("Revoked the token of {} on logout", profile.getId());
+				}
+			} catch (final RuntimeException e) {
+				logger.debug("No valid token to revoke on logout : {}", e.getMessage());
+			}
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	protected String token(final HttpServletRequest request) {
+		if (headerName != null) {
+			final String header = request.getHeader(headerName);
+			if (header != null && header.startsWith(headerPrefix) && header.length() > headerPrefix.length()) {
+				return header.substring(headerPrefix.length()).trim();
+			}
+		}
+		if (cookieName != null && request.getCookies() != null) {
+			for (final Cookie cookie : request.getCookies()) {
+				if (cookieName.equals(cookie.getName()) && CommonHelper.isNotBlank(cookie.getValue())) {
+					return cookie.getValue();
+				}
+			}
+		}
+		if (parameterName != null) {
+			final String parameter = request.getParameter(parameterName);
+			if (CommonHelper.isNotBlank(parameter)) {
+				return parameter;
+			}
+		}
+		return null;
+	}
+
+	public String getPathPattern() {
+		return pathPattern;
+	}
+
+	public void setHeaderName(final String headerName) {
+		this.headerName = headerName;
+	}
+
+	public void setHeaderPrefix(final String headerPrefix) {
+		this.headerPrefix = headerPrefix == null ? "" : headerPrefix;
+	}
+
+	public void setCookieName(final String cookieName) {
+		this.cookieName = cookieName;
+	}
+
+	public void setParameterName(final String parameterName) {
+		this.parameterName = parameterName;
+	}
+
+}
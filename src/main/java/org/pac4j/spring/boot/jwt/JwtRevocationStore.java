@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.Map;
+
+/**
+ * Where the {@code jti} of revoked tokens are kept until the tokens expire. Lookups are rare: {@link JwtRevocationList}
+ * answers the common case of a token never revoked from a local Bloom filter rebuilt from {@link #revoked(long)}.
+ */
+public interface JwtRevocationStore {
+
+	/**
+	 * @param jti the id of the revoked token.
+	 * @param expiresAt the expiration time of the token in milliseconds, after which the entry can be dropped.
+	 */
+	void revoke(String jti, long expiresAt);
+
+	/**
+	 * @param jti the id of the token.
+	 * @param now the current time in milliseconds.
+	 * @return whether the token is revoked and not expired yet.
+	 */
+	boolean isRevoked(String jti, long now);
+
+	/**
+	 * Drop the expired entries and return the others.
+	 *
+	 * @param now the current time in milliseconds.
+	 * @return the {@code jti} of the revoked tokens not expired yet, with their expiration time in milliseconds.
+	 */
+	Map<String, Long> revoked(long now);
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.jwt.JwtClaims;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+import org.pac4j.jwt.config.encryption.SecretEncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEEncrypter;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.AESEncrypter;
+import com.nimbusds.jose.crypto.DirectEncrypter;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Issues tokens readable by {@link org.pac4j.jwt.credentials.authenticator.JwtAuthenticator}, with the claims
+ * {@link org.pac4j.jwt.profile.JwtGenerator} writes for a profile. The signer, the encrypter and their headers are
+ * built once from the configurations and shared by all threads, where pac4j builds new ones for every token.
+ */
+public class JwtTokenIssuer {
+
+	/** Internal claims read back by JwtAuthenticator, same names as in JwtGenerator. */
+	public static final String INTERNAL_ROLES = "$int_roles";
+	public static final String INTERNAL_PERMISSIONS = "$int_perms";
+	public static final String INTERNAL_LINKEDID = "$int_linkid";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final JwsSigner signer;
+	private final EncryptionConfiguration encryptionConfiguration;
+	private final JWEEncrypter encrypter;
+	private final JWEHeader encryptionHeader;
+	private final long timeToLiveMillis;
+	private final String issuer;
+	private final boolean jwtId;
+	private final JwtIssuerStatistics statistics = new JwtIssuerStatistics();
+
+	public JwtTokenIssuer(final SignatureConfiguration signatureConfiguration) {
+		this(signatureConfiguration, null, null, null);
+	}
+
+	/**
+	 * @param signatureConfiguration the signature configuration.
+	 * @param encryptionConfiguration the encryption configuration, null for signed only tokens.
+	 * @param timeToLive the lifetime of the tokens, null for tokens without expiration.
+	 * @param issuer the {@code iss} claim, null for none.
+	 */
+	public JwtTokenIssuer(final SignatureConfiguration signatureConfiguration,
+			final EncryptionConfiguration encryptionConfiguration, final Duration timeToLive, final String issuer) {
+		this(signatureConfiguration, encryptionConfiguration, timeToLive, issuer, false);
+	}
+
+	/**
+	 * @param signatureConfiguration the signature configuration.
+	 * @param encryptionConfiguration the encryption configuration, null for signed only tokens.
+	 * @param timeToLive the lifetime of the tokens, null for tokens without expiration.
+	 * @param issuer the {@code iss} claim, null for none.
+	 * @param jwtId whether the tokens carry a random {@code jti} claim, so that they can be revoked.
+	 */
+	public JwtTokenIssuer(final SignatureConfiguration signatureConfiguration,
+			final EncryptionConfiguration encryptionConfiguration, final Duration timeToLive, final String issuer,
+			final boolean jwtId) {
+		CommonHelper.assertNotNull("signatureConfiguration", signatureConfiguration);
+		this.signer = JwsSigner.of(signatureConfiguration);
+		this.encryptionConfiguration = encryptionConfiguration;
+		this.timeToLiveMillis = timeToLive == null ? 0L : timeToLive.toMillis();
+		this.issuer = issuer;
+		this.jwtId = jwtId;
+		if (encryptionConfiguration instanceof SecretEncryptionConfiguration) {
+			final SecretEncryptionConfiguration secretConfiguration = (SecretEncryptionConfiguration) encryptionConfiguration;
+			this.encrypter = encrypter(secretConfiguration.getAlgorithm(), secretConfiguration.getSecretBytes());
+			this.encryptionHeader = new JWEHeader.Builder(secretConfiguration.getAlgorithm(), secretConfiguration.getMethod())
+					.contentType("JWT").build();
+		} else {
+			this.encrypter = null;
+			this.encryptionHeader = null;
+		}
+	}
+
+	/**
+	 * @param profile the profile.
+	 * @return the token holding the profile id, attributes, roles and permissions.
+	 */
+	public String issue(final CommonProfile profile) {
+		final long start = System.nanoTime();
+		try {
+			final String token = generate(claimsOf(profile, new Date()));
+			statistics.record(System.nanoTime() - start, 1);
+			return token;
+		} catch (final RuntimeException e) {
+			statistics.recordFailure();
+			throw e;
+		}
+	}
+
+	/**
+	 * @param claims the claims, {@code iat}, {@code exp}, {@code iss} and {@code jti} are added when missing.
+	 * @return the token.
+	 */
+	public String issue(final Map<String, Object> claims) {
+		CommonHelper.assertNotNull("claims", claims);
+		final long start = System.nanoTime();
+		try {
+			final Date now = new Date();
+			final JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+			claims.forEach(builder::claim);
+			if (!claims.containsKey(JwtClaims.ISSUED_AT)) {
+				builder.issueTime(now);
+			}
+			if (timeToLiveMillis > 0 && !claims.containsKey(JwtClaims.EXPIRATION_TIME)) {
+				builder.expirationTime(new Date(now.getTime() + timeToLiveMillis));
+			}
+			if (issuer != null && !claims.containsKey(JwtClaims.ISSUER)) {
+				builder.issuer(issuer);
+			}
+			if (jwtId && !claims.containsKey(JwtClaims.JWT_ID)) {
+				builder.jwtID(newJwtId());
+			}
+			final String token = generate(builder.build());
+			statistics.record(System.nanoTime() - start, 1);
+			return token;
+		} catch (final RuntimeException e) {
+			statistics.recordFailure();
+			throw e;
+		}
+	}
+
+	/**
+	 * Issue one token per profile, i.e. to refresh the tokens of many users after a role change.
+	 * All the tokens share the same issue and expiration times. The first failure stops the batch.
+	 *
+	 * @param profiles the profiles.
+	 * @return the tokens, in the iteration order of the profiles.
+	 */
+	public List<String> issueAll(final Collection<? extends CommonProfile> profiles) {
+		CommonHelper.assertNotNull("profiles", profiles);
+		final List<String> tokens = new ArrayList<>(profiles.size());
+		final Date now = new Date();
+		final long start = System.nanoTime();
+		try {
+			for (final CommonProfile profile : profiles) {
+				tokens.add(generate(claimsOf(profile, now)));
+			}
+		} catch (final RuntimeException e) {
+			statistics.recordFailure();
+			throw e;
+		} finally {
+			statistics.record(System.nanoTime() - start, tokens.size());
+		}
+		statistics.recordBatch();
+		logger.debug("Issued {} tokens in one batch", tokens.size());
+		return tokens;
+	}
+
+	protected JWTClaimsSet claimsOf(final CommonProfile profile, final Date now) {
+		CommonHelper.assertNotNull("profile", profile);
+		final JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+		// attributes first: the iat, exp, iss and jti of a profile restored from a token are replaced
+		profile.getAttributes().forEach(builder::claim);
+		builder.subject(profile.getTypedId()).issueTime(now);
+		if (timeToLiveMillis > 0) {
+			builder.expirationTime(new Date(now.getTime() + timeToLiveMillis));
+		}
+		if (issuer != null) {
+			builder.issuer(issuer);
+		}
+		if (jwtId) {
+			builder.jwtID(newJwtId());
+		}
+		builder.claim(INTERNAL_ROLES, profile.getRoles());
+		builder.claim(INTERNAL_PERMISSIONS, profile.getPermissions());
+		builder.claim(INTERNAL_LINKEDID, profile.getLinkedId());
+		return builder.build();
+	}
+
+	protected String generate(final JWTClaimsSet claims) {
+		final String signed = signer.sign(claims);
+		if (encrypter != null) {
+			try {
+				final JWEObject jwe = new JWEObject(encryptionHeader, new Payload(signed));
+				jwe.encrypt(encrypter);
+				return jwe.serialize();
+			} catch (final JOSEException e) {
+				throw new TechnicalException(e);
+			}
+		}
+		if (encryptionConfiguration != null) {
+			try {
+				return encryptionConfiguration.encrypt(SignedJWT.parse(signed));
+			} catch (final ParseException e) {
+				throw new TechnicalException(e);
+			}
+		}
+		return signed;
+	}
+
+	/**
+	 * @return 128 random bits, url-safe Base64 encoded: unique, without the contention of a shared SecureRandom.
+	 */
+	protected String newJwtId() {
+		final byte[] bytes = new byte[16];
+		ThreadLocalRandom.current().nextBytes(bytes);
+		return ENCODER.encodeToString(bytes);
+	}
+
+	private static JWEEncrypter encrypter(final JWEAlgorithm algorithm, final byte[] secret) {
+		CommonHelper.assertNotNull("algorithm", algorithm);
+		CommonHelper.assertNotNull("secret", secret);
+		try {
+			return JWEAlgorithm.DIR.equals(algorithm) ? new DirectEncrypter(secret) : new AESEncrypter(secret);
+		} catch (final JOSEException e) {
+			throw new TechnicalException(e);
+		}
+	}
+
+	public JwtIssuerStatistics getStatistics() {
+		return statistics;
+	}
+
+	public long getIssuedCount() {
+		return statistics.getIssued();
+	}
+
+	public long getFailureCount() {
+		return statistics.getFailures();
+	}
+
+	public double getTotalSeconds() {
+		return statistics.getTotalNanos() / 1e9d;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "encrypted", encryptionConfiguration != null, "timeToLiveMillis",
+				timeToLiveMillis, "issuer", issuer, "jwtId", jwtId, "statistics", statistics);
+	}
+
+}
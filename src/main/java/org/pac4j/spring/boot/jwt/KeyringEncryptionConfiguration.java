@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.List;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
+
+/**
+ * {@link EncryptionConfiguration} reading the current {@link JwtKeyringSnapshot} of a {@link JwtKeyring} on every
+ * call: tokens are encrypted by the newest active encryption key and decrypted by any key not retired yet.
+ * The JWE of pac4j carries no {@code kid}, the keys supporting the algorithm and method of the token are tried in turn.
+ */
+public class KeyringEncryptionConfiguration implements EncryptionConfiguration {
+
+	private final JwtKeyring keyring;
+
+	public KeyringEncryptionConfiguration(final JwtKeyring keyring) {
+		CommonHelper.assertNotNull("keyring", keyring);
+		this.keyring = keyring;
+	}
+
+	@Override
+	public boolean supports(final JWEAlgorithm algorithm, final EncryptionMethod method) {
+		for (final EncryptionConfiguration configuration : keyring.current().getEncryptionConfigurations()) {
+			if (configuration.supports(algorithm, method)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String encrypt(final JWT jwt) {
+		final JwtKeyringSnapshot.Key key = keyring.current().getEncryptingKey();
+		if (key == null) {
+			throw new TechnicalException("No active encryption key in the JWT keyring " + keyring.getFile());
+		}
+		return key.getEncryptionConfiguration().encrypt(jwt);
+	}
+
+	@Override
+	public void decrypt(final EncryptedJWT encryptedJWT) throws JOSEException {
+		final List<EncryptionConfiguration> configurations = keyring.current().getEncryptionConfigurations();
+		final JWEAlgorithm algorithm = encryptedJWT.getHeader().getAlgorithm();
+		final EncryptionMethod method = encryptedJWT.getHeader().getEncryptionMethod();
+		JOSEException failure = null;
+		for (final EncryptionConfiguration configuration : configurations) {
+			if (!configuration.supports(algorithm, method)) {
+				continue;
+			}
+			try {
+				configuration.decrypt(encryptedJWT);
+				return;
+			} catch (final JOSEException e) {
+				failure = e;
+			}
+		}
+		throw failure != null ? failure : new JOSEException("No key of the JWT keyring supports " + algorithm + " / " + method);
+	}
+
+	/**
+	 * @return whether the keyring holds an active encryption key now.
+	 */
+	public boolean canEncrypt() {
+		return keyring.current().getEncryptingKey() != null;
+	}
+
+	public JwtKeyring getKeyring() {
+		return keyring;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "keyring", keyring.getFile(), "current", keyring.current());
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * {@link SignatureConfiguration} reading the current {@link JwtKeyringSnapshot} of a {@link JwtKeyring} on every
+ * call: tokens are verified by the key matching their {@code kid} among the keys not retired yet, and signed by the
+ * newest active key.
+ */
+public class KeyringSignatureConfiguration implements SignatureConfiguration {
+
+	private final JwtKeyring keyring;
+	private final JwsSigner signer;
+
+	public KeyringSignatureConfiguration(final JwtKeyring keyring) {
+		CommonHelper.assertNotNull("keyring", keyring);
+		this.keyring = keyring;
+		this.signer = claims -> signingKey().getSigner().sign(claims);
+	}
+
+	/**
+	 * Any algorithm: the keys change over time, a caller remembering the supported algorithms (such as
+	 * {@link SignatureConfigurationSelector}) must not skip the keyring for the algorithm of a later key.
+	 */
+	@Override
+	public boolean supports(final JWSAlgorithm algorithm) {
+		return algorithm != null;
+	}
+
+	@Override
+	public SignedJWT sign(final JWTClaimsSet claims) {
+		return signingKey().getSignatureConfiguration().sign(claims);
+	}
+
+	@Override
+	public boolean verify(final SignedJWT jwt) throws JOSEException {
+		return keyring.current().getSelector().verify(jwt);
+	}
+
+	/**
+	 * @param kid a key id.
+	 * @return whether the keyring currently holds a signature key with this id, retired keys excluded.
+	 */
+	public boolean hasKeyId(final String kid) {
+		return keyring.current().getSelector().hasKeyId(kid);
+	}
+
+	private JwtKeyringSnapshot.Key signingKey() {
+		final JwtKeyringSnapshot.Key key = keyring.current().getSigningKey();
+		if (key == null) {
+			throw new TechnicalException("No active signing key in the JWT keyring " + keyring.getFile());
+		}
+		return key;
+	}
+
+	/**
+	 * @return the signer of the newest active key, switching keys with the keyring.
+	 */
+	public JwsSigner getSigner() {
+		return signer;
+	}
+
+	public JwtKeyring getKeyring() {
+		return keyring;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "keyring", keyring.getFile(), "current", keyring.current());
+	}
+
+}
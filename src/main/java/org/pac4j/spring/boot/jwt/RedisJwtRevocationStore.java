@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.pac4j.core.util.CommonHelper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+/**
+ * {@link JwtRevocationStore} shared by all the nodes: one Redis sorted set whose members are the {@code jti} and
+ * scores the expiration times, so that the expired entries are dropped by a single range removal.
+ * Works with any Redis protocol compatible server.
+ */
+public class RedisJwtRevocationStore implements JwtRevocationStore {
+
+	private final StringRedisTemplate redisTemplate;
+	private final ZSetOperations<String, String> zSetOperations;
+	private final String key;
+
+	public RedisJwtRevocationStore(final StringRedisTemplate redisTemplate, final String key) {
+		CommonHelper.assertNotNull("redisTemplate", redisTemplate);
+		CommonHelper.assertNotBlank("key", key);
+		this.redisTemplate = redisTemplate;
+		this.zSetOperations = redisTemplate.opsForZSet();
+		this.key = key;
+	}
+
+	@Override
+	public void revoke(final String jti, final long expiresAt) {
+		CommonHelper.assertNotBlank("jti", jti);
+		zSetOperations.add(key, jti, expiresAt);
+	}
+
+	@Override
+	public boolean isRevoked(final String jti, final long now) {
+		final Double expiresAt = zSetOperations.score(key, jti);
+		return expiresAt != null && expiresAt > now;
+	}
+
+	@Override
+	public Map<String, Long> revoked(final long now) {
+		zSetOperations.removeRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+		final Set<TypedTuple<String>> tuples = zSetOperations.rangeByScoreWithScores(key, now, Double.POSITIVE_INFINITY);
+		final Map<String, Long> revoked = new HashMap<>(tuples == null ? 16 : tuples.size() * 2);
+		if (tuples != null) {
+			for (final TypedTuple<String> tuple : tuples) {
+				if (tuple.getValue() != null && tuple.getScore() != null) {
+					revoked.put(tuple.getValue(), tuple.getScore().longValue());
+				}
+			}
+		}
+		return revoked;
+	}
+
+	public StringRedisTemplate getRedisTemplate() {
+		return redisTemplate;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+}
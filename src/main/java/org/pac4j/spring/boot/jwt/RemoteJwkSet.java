@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
+
+/**
+ * In-memory copy of a remote JWK set, indexed by {@code kid} with the verifiers built at fetch time.
+ * The set is fetched when started, then refreshed in the background; a lookup never waits for the network:
+ * an unknown {@code kid} only schedules a refetch, at most once per minimum refetch interval.
+ */
+public class RemoteJwkSet implements AutoCloseable {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final URL url;
+	private final int connectTimeoutMillis;
+	private final int readTimeoutMillis;
+	private final int sizeLimit;
+	private final long refreshIntervalMillis;
+	private final long minRefetchIntervalNanos;
+	private final ScheduledExecutorService scheduler;
+	private final AtomicBoolean fetching = new AtomicBoolean();
+
+	private volatile Map<String, JwkSignatureConfiguration> byKeyId = Collections.emptyMap();
+	private volatile List<JwkSignatureConfiguration> configurations = Collections.emptyList();
+	private volatile long lastFetchNanos;
+	private volatile boolean fetched;
+
+	private final LongAdder fetches = new LongAdder();
+	private final LongAdder fetchFailures = new LongAdder();
+	private final LongAdder unknownKeyIds = new LongAdder();
+	private final LongAdder rateLimitedRefetches = new LongAdder();
+
+	public RemoteJwkSet(final URL url, final Duration refreshInterval, final Duration minRefetchInterval,
+			final Duration connectTimeout, final Duration readTimeout, final int sizeLimit) {
+		CommonHelper.assertNotNull("url", url);
+		CommonHelper.assertNotNull("refreshInterval", refreshInterval);
+		CommonHelper.assertNotNull("minRefetchInterval", minRefetchInterval);
+		this.url = url;
+		this.refreshIntervalMillis = Math.max(1000L, refreshInterval.toMillis());
+		this.minRefetchIntervalNanos = minRefetchInterval.toNanos();
+		this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+		this.readTimeoutMillis = (int) readTimeout.toMillis();
+		this.sizeLimit = sizeLimit;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "pac4j-jwks-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.lastFetchNanos = System.nanoTime() - minRefetchIntervalNanos;
+	}
+
+	/**
+	 * Fetch the key set now, then schedule the background refresh. A failed fetch is logged, not thrown,
+	 * the next attempt happens on refresh or on the first unknown {@code kid}.
+	 *
+	 * @return whether the keys could be fetched.
+	 */
+	public boolean start() {
+		final boolean done = refresh();
+		scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+		return done;
+	}
+
+	/**
+	 * @param kid the key id.
+	 * @return the key with this id, null if unknown, in which case a refetch is scheduled.
+	 */
+	public JwkSignatureConfiguration get(final String kid) {
+		final JwkSignatureConfiguration configuration = byKeyId.get(kid);
+		if (configuration == null) {
+			unknownKeyIds.increment();
+			requestRefetch();
+		}
+		return configuration;
+	}
+
+	/**
+	 * @return all the signature keys of the set, including the ones without {@code kid}.
+	 */
+	public List<JwkSignatureConfiguration> getSignatureConfigurations() {
+		if (!fetched) {
+			requestRefetch();
+		}
+		return configurations;
+	}
+
+	protected void requestRefetch() {
+		if (System.nanoTime() - lastFetchNanos < minRefetchIntervalNanos) {
+			rateLimitedRefetches.increment();
+			return;
+		}
+		if (fetching.compareAndSet(false, true)) {
+			try {
+				scheduler.execute(() -> {
+					try {
+						fetch();
+					} finally {
+						fetching.set(false);
+					}
+				});
+			} catch (final RuntimeException e) {
+				fetching.set(false);
+				logger.debug("JWK set refetch not scheduled : {}", e.getMessage());
+			}
+		}
+	}
+
+	public boolean refresh() {
+		return fetch();
+	}
+
+	private synchronized boolean fetch() {
+		fetches.increment();
+		try {
+			final JWKSet jwkSet = JWKSet.load(url, connectTimeoutMillis, readTimeoutMillis, sizeLimit);
+			final Map<String, JwkSignatureConfiguration> index = new HashMap<>();
+			final List<JwkSignatureConfiguration> all = new ArrayList<>();
+			for (final JWK jwk : jwkSet.getKeys()) {
+				if (jwk.getKeyUse() != null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse())) {
+					continue;
+				}
+				if (!KeyType.RSA.equals(jwk.getKeyType()) && !KeyType.EC.equals(jwk.getKeyType())) {
+					continue;
+				}
+				try {
+					final JwkSignatureConfiguration configuration = new JwkSignatureConfiguration(jwk,
+							jwk.getAlgorithm() == null ? null : JWSAlgorithm.parse(jwk.getAlgorithm().getName()));
+					all.add(configuration);
+					if (jwk.getKeyID() != null) {
+						index.put(jwk.getKeyID(), configuration);
+					}
+				} catch (final TechnicalException e) {
+					logger.warn("Skipping the JWK {} of {} : {}", jwk.getKeyID(), url, e.getMessage());
+				}
+			}
+			this.byKeyId = index;
+			this.configurations = Collections.unmodifiableList(all);
+			this.fetched = true;
+			logger.debug("Fetched {} signature keys from {}", all.size(), url);
+			return true;
+		} catch (final IOException | ParseException | RuntimeException e) {
+			fetchFailures.increment();
+			logger.warn("Cannot fetch the JWK set {} : {}", url, e.getMessage());
+			return false;
+		} finally {
+			lastFetchNanos = System.nanoTime();
+		}
+	}
+
+	public URL getUrl() {
+		return url;
+	}
+
+	public boolean isFetched() {
+		return fetched;
+	}
+
+	public long getFetchCount() {
+		return fetches.sum();
+	}
+
+	public long getFetchFailureCount() {
+		return fetchFailures.sum();
+	}
+
+	public long getUnknownKeyIdCount() {
+		return unknownKeyIds.sum();
+	}
+
+	public long getRateLimitedRefetchCount() {
+		return rateLimitedRefetches.sum();
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "url", url, "keys", byKeyId.keySet(), "fetches", getFetchCount(),
+				"fetchFailures", getFetchFailureCount());
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Verification only {@link SignatureConfiguration} checking tokens against the keys of a {@link RemoteJwkSet}:
+ * the {@code kid} of the token selects the key, tokens without {@code kid} are tried against every key.
+ */
+public class RemoteJwksSignatureConfiguration implements SignatureConfiguration {
+
+	private final RemoteJwkSet jwkSet;
+
+	public RemoteJwksSignatureConfiguration(final RemoteJwkSet jwkSet) {
+		CommonHelper.assertNotNull("jwkSet", jwkSet);
+		this.jwkSet = jwkSet;
+	}
+
+	@Override
+	public boolean supports(final JWSAlgorithm algorithm) {
+		return algorithm != null
+				&& (JWSAlgorithm.Family.RSA.contains(algorithm) || JWSAlgorithm.Family.EC.contains(algorithm));
+	}
+
+	@Override
+	public SignedJWT sign(final JWTClaimsSet claims) {
+		throw new TechnicalException("The remote JWK set " + jwkSet.getUrl() + " can only verify tokens");
+	}
+
+	@Override
+	public boolean verify(final SignedJWT jwt) throws JOSEException {
+		final JWSAlgorithm algorithm = jwt.getHeader().getAlgorithm();
+		final String kid = jwt.getHeader().getKeyID();
+		if (kid != null) {
+			final JwkSignatureConfiguration configuration = jwkSet.get(kid);
+			return configuration != null && configuration.supports(algorithm) && configuration.verify(jwt);
+		}
+		for (final JwkSignatureConfiguration configuration : jwkSet.getSignatureConfigurations()) {
+			if (configuration.supports(algorithm) && configuration.verify(jwt)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public RemoteJwkSet getJwkSet() {
+		return jwkSet;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "jwkSet", jwkSet);
+	}
+
+}
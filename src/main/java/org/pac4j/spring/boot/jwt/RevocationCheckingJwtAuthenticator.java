@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.TokenCredentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+import org.pac4j.core.exception.CredentialsException;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.jwt.JwtClaims;
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * Rejects the tokens revoked in a {@link JwtRevocationList}, after the validation by the delegate
+ * (JwtAuthenticator or {@link CachingJwtAuthenticator}) so that cached profiles are checked too.
+ * Tokens without {@code jti} cannot be revoked and are accepted.
+ */
+public class RevocationCheckingJwtAuthenticator implements Authenticator<TokenCredentials> {
+
+	private final Authenticator<TokenCredentials> delegate;
+	private final JwtRevocationList revocationList;
+
+	public RevocationCheckingJwtAuthenticator(final Authenticator<TokenCredentials> delegate,
+			final JwtRevocationList revocationList) {
+		CommonHelper.assertNotNull("delegate", delegate);
+		CommonHelper.assertNotNull("revocationList", revocationList);
+		this.delegate = delegate;
+		this.revocationList = revocationList;
+	}
+
+	@Override
+	public void validate(final TokenCredentials credentials, final WebContext context) {
+		delegate.validate(credentials, context);
+		final CommonProfile profile = credentials.getUserProfile();
+		if (profile == null) {
+			return;
+		}
+		final Object jti = profile.getAttribute(JwtClaims.JWT_ID);
+		if (jti != null && revocationList.isRevoked(jti.toString())) {
+			credentials.setUserProfile(null);
+			throw new CredentialsException("Revoked token: " + jti);
+		}
+	}
+
+	public Authenticator<TokenCredentials> getDelegate() {
+		return delegate;
+	}
+
+	public JwtRevocationList getRevocationList() {
+		return revocationList;
+	}
+
+}
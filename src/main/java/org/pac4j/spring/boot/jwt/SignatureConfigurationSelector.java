@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Stands for all the signature configurations of JwtAuthenticator, which otherwise tries them in sequence until one
+ * verifies. The configurations bound to a key id are indexed by {@code kid} at startup, so that a token carrying
+ * a known {@code kid} is verified by its key only. Tokens without {@code kid} fall back to a linear trial of the
+ * configurations supporting their algorithm. A {@code kid} of a key currently in a {@link KeyringSignatureConfiguration}
+ * goes to that keyring only; tokens with an unknown {@code kid} only try the configurations without a key id, i.e.
+ * shared secrets and remote key sets resolving the {@code kid} themselves.
+ * <p>
+ * The candidates are precomputed for the signature algorithms known to Nimbus only: the {@code alg} header comes
+ * from unauthenticated tokens, any other value is filtered on the fly and never cached.
+ */
+public class SignatureConfigurationSelector implements SignatureConfiguration {
+
+	/** The algorithms whose candidates are cached, i.e. the signature family plus the HMAC ones. */
+	private static final List<JWSAlgorithm> KNOWN_ALGORITHMS;
+
+	static {
+		final List<JWSAlgorithm> algorithms = new ArrayList<>(JWSAlgorithm.Family.SIGNATURE);
+		algorithms.addAll(JWSAlgorithm.Family.HMAC_SHA);
+		KNOWN_ALGORITHMS = Collections.unmodifiableList(algorithms);
+	}
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final List<SignatureConfiguration> configurations;
+	private final Map<String, List<SignatureConfiguration>> byKeyId;
+	private final List<SignatureConfiguration> unkeyed;
+	/** The keyrings among the configurations without key id, whose key ids change with the keyring. */
+	private final KeyringSignatureConfiguration[] keyrings;
+	private final List<List<SignatureConfiguration>> keyringCandidates;
+	private final Map<JWSAlgorithm, List<SignatureConfiguration>> byAlgorithm;
+	private final Map<JWSAlgorithm, List<SignatureConfiguration>> unkeyedByAlgorithm;
+
+	private final LongAdder indexed = new LongAdder();
+	private final LongAdder fallbacks = new LongAdder();
+	private final LongAdder unknownKeyIds = new LongAdder();
+
+	public SignatureConfigurationSelector(final List<SignatureConfiguration> configurations) {
+		CommonHelper.assertNotNull("configurations", configurations);
+		this.configurations = Collections.unmodifiableList(new ArrayList<>(configurations));
+		final Map<String, List<SignatureConfiguration>> keyed = new HashMap<>();
+		final List<SignatureConfiguration> others = new ArrayList<>();
+		for (final SignatureConfiguration configuration : configurations) {
+			final String kid = keyIdOf(configuration);
+			if (kid != null) {
+				keyed.computeIfAbsent(kid, k -> new ArrayList<>(1)).add(configuration);
+			} else {
+				others.add(configuration);
+			}
+		}
+		this.byKeyId = keyed;
+		this.unkeyed = others;
+		final List<KeyringSignatureConfiguration> keyringConfigurations = new ArrayList<>();
+		final List<List<SignatureConfiguration>> candidates = new ArrayList<>();
+		for (final SignatureConfiguration configuration : others) {
+			if (configuration instanceof KeyringSignatureConfiguration) {
+				keyringConfigurations.add((KeyringSignatureConfiguration) configuration);
+				candidates.add(Collections.singletonList(configuration));
+			}
+		}
+		this.keyrings = keyringConfigurations.toArray(new KeyringSignatureConfiguration[0]);
+		this.keyringCandidates = candidates;
+		final Map<JWSAlgorithm, List<SignatureConfiguration>> all = new HashMap<>();
+		final Map<JWSAlgorithm, List<SignatureConfiguration>> withoutKeyId = new HashMap<>();
+		for (final JWSAlgorithm algorithm : KNOWN_ALGORITHMS) {
+			all.put(algorithm, filter(this.configurations, algorithm));
+			withoutKeyId.put(algorithm, filter(others, algorithm));
+		}
+		this.byAlgorithm = all;
+		this.unkeyedByAlgorithm = withoutKeyId;
+		logger.debug("Indexed {} signature configurations by key id {}, {} without key id", configurations.size() - others.size(),
+				keyed.keySet(), others.size());
+	}
+
+	@Override
+	public boolean supports(final JWSAlgorithm algorithm) {
+		return algorithm != null && !supporting(algorithm).isEmpty();
+	}
+
+	/**
+	 * Sign with the first configuration able to, so that callers picking "the" signature configuration of the
+	 * authenticator keep working.
+	 */
+	@Override
+	public SignedJWT sign(final JWTClaimsSet claims) {
+		TechnicalException failure = null;
+		for (final SignatureConfiguration configuration : configurations) {
+			try {
+				return configuration.sign(claims);
+			} catch (final RuntimeException e) {
+				failure = new TechnicalException("No signature configuration can sign: " + e.getMessage(), e);
+			}
+		}
+		throw failure != null ? failure : new TechnicalException("No signature configuration");
+	}
+
+	@Override
+	public boolean verify(final SignedJWT jwt) throws JOSEException {
+		final JWSAlgorithm algorithm = jwt.getHeader().getAlgorithm();
+		final String kid = jwt.getHeader().getKeyID();
+		final List<SignatureConfiguration> candidates;
+		if (kid == null) {
+			fallbacks.increment();
+			candidates = supporting(algorithm);
+		} else {
+			final List<SignatureConfiguration> keyed = byKeyId.get(kid);
+			if (keyed != null) {
+				indexed.increment();
+				candidates = keyed;
+			} else {
+				final List<SignatureConfiguration> keyring = keyringOf(kid);
+				if (keyring != null) {
+					indexed.increment();
+					candidates = keyring;
+				} else {
+					unknownKeyIds.increment();
+					candidates = lookup(unkeyedByAlgorithm, unkeyed, algorithm);
+				}
+			}
+		}
+		JOSEException failure = null;
+		for (final SignatureConfiguration configuration : candidates) {
+			if (!configuration.supports(algorithm)) {
+				continue;
+			}
+			try {
+				if (configuration.verify(jwt)) {
+					return true;
+				}
+			} catch (final JOSEException e) {
+				logger.debug("Verification fails with signature configuration: {}, passing to the next one", configuration);
+				failure = e;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return false;
+	}
+
+	private List<SignatureConfiguration> keyringOf(final String kid) {
+		for (int i = 0; i < keyrings.length; i++) {
+			if (keyrings[i].hasKeyId(kid)) {
+				return keyringCandidates.get(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param kid a key id.
+	 * @return whether a configuration is indexed under this key id.
+	 */
+	public boolean hasKeyId(final String kid) {
+		return byKeyId.containsKey(kid);
+	}
+
+	private List<SignatureConfiguration> supporting(final JWSAlgorithm algorithm) {
+		return lookup(byAlgorithm, configurations, algorithm);
+	}
+
+	private static List<SignatureConfiguration> lookup(final Map<JWSAlgorithm, List<SignatureConfiguration>> cache,
+			final List<SignatureConfiguration> configurations, final JWSAlgorithm algorithm) {
+		final List<SignatureConfiguration> candidates = cache.get(algorithm);
+		return candidates != null ? candidates : filter(configurations, algorithm);
+	}
+
+	private static List<SignatureConfiguration> filter(final List<SignatureConfiguration> configurations,
+			final JWSAlgorithm algorithm) {
+		final List<SignatureConfiguration> supporting = new ArrayList<>();
+		for (final SignatureConfiguration configuration : configurations) {
+			if (configuration.supports(algorithm)) {
+				supporting.add(configuration);
+			}
+		}
+		return supporting.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(supporting);
+	}
+
+	protected String keyIdOf(final SignatureConfiguration configuration) {
+		return configuration instanceof JwkSignatureConfiguration ? ((JwkSignatureConfiguration) configuration).getKeyId() : null;
+	}
+
+	/**
+	 * @return the number of algorithms whose candidates are cached, constant whatever the tokens received.
+	 */
+	int getCachedAlgorithmCount() {
+		return byAlgorithm.size() + unkeyedByAlgorithm.size();
+	}
+
+	public List<SignatureConfiguration> getSignatureConfigurations() {
+		return configurations;
+	}
+
+	/**
+	 * @return the number of tokens verified by the configuration indexed under their {@code kid}, or by the keyring
+	 *         holding their {@code kid}.
+	 */
+	public long getIndexedCount() {
+		return indexed.sum();
+	}
+
+	/**
+	 * @return the number of tokens without {@code kid}, verified by trying the configurations in sequence.
+	 */
+	public long getFallbackCount() {
+		return fallbacks.sum();
+	}
+
+	/**
+	 * @return the number of tokens whose {@code kid} matches neither an indexed configuration nor a keyring key.
+	 */
+	public long getUnknownKeyIdCount() {
+		return unknownKeyIds.sum();
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "keyIds", byKeyId.keySet(), "unkeyed", unkeyed.size(),
+				"indexed", getIndexedCount(), "fallbacks", getFallbackCount(), "unknownKeyIds", getUnknownKeyIdCount());
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.matching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.pac4j.core.context.HttpConstants.HTTP_METHOD;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.matching.matcher.Matcher;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.utils.Pac4jHttpMethodUtils;
+
+/**
+ * Single {@link Matcher} replacing a chain of pac4j path, header and method matchers: everything is compiled once
+ * at startup (paths and branches into a {@link PathTrie}, regexes into one alternation, methods into a bit set)
+ * so that a request is decided in one pass, without splitting strings or compiling patterns.
+ * <p>
+ * The request needs security ({@code true}) when its method is one of the methods (any method if none),
+ * its header matches (if configured) and its path is not excluded.
+ */
+public class CompiledRequestMatcher implements Matcher {
+
+	private final PathTrie excludedPaths = new PathTrie();
+	private final List<String> excludedRegexes = new ArrayList<>();
+	private final List<String> excludedExtensions = new ArrayList<>();
+	private Pattern excludedPattern;
+	private String[] extensions = new String[0];
+	private int methods;
+	private String headerName;
+	private Pattern headerPattern;
+
+	public CompiledRequestMatcher excludePath(final String path) {
+		excludedPaths.addPath(path);
+		return this;
+	}
+
+	public CompiledRequestMatcher excludeBranch(final String branch) {
+		excludedPaths.addBranch(branch);
+		return this;
+	}
+
+	/**
+	 * @param regex a regex the whole path must match, i.e. {@code /api/v[0-9]+/public/.*}
+	 * @return this matcher.
+	 */
+	public CompiledRequestMatcher excludeRegex(final String regex) {
+		CommonHelper.assertNotBlank("regex", regex);
+		excludedRegexes.add(regex);
+		excludedPattern = null;
+		return this;
+	}
+
+	/**
+	 * @param extension a file extension, i.e. {@code css}, excluded whatever the directory.
+	 * @return this matcher.
+	 */
+	public CompiledRequestMatcher excludeExtension(final String extension) {
+		CommonHelper.assertNotBlank("extension", extension);
+		excludedExtensions.add((extension.startsWith(".") ? extension : "." + extension).toLowerCase(Locale.ROOT));
+		extensions = excludedExtensions.toArray(new String[0]);
+		return this;
+	}
+
+	public CompiledRequestMatcher method(final HTTP_METHOD method) {
+		methods |= Pac4jHttpMethodUtils.bit(method);
+		return this;
+	}
+
+	/**
+	 * @param name the header name.
+	 * @param valueRegex a regex the header value must match for the request to need security.
+	 * @return this matcher.
+	 */
+	public CompiledRequestMatcher header(final String name, final String valueRegex) {
+		CommonHelper.assertNotBlank("name", name);
+		this.headerName = name;
+		this.headerPattern = valueRegex == null ? null : Pattern.compile(valueRegex);
+		return this;
+	}
+
+	/**
+	 * Merge the regexes into one pattern; called lazily but meant to be called at startup.
+	 *
+	 * @return this matcher.
+	 */
+	public CompiledRequestMatcher compile() {
+		if (excludedPattern == null && !excludedRegexes.isEmpty()) {
+			final StringBuilder alternation = new StringBuilder();
+			for (final String regex : excludedRegexes) {
+				if (alternation.length() > 0) {
+					alternation.append('|');
+				}
+				alternation.append("(?:").append(regex).append(')');
+			}
+			excludedPattern = Pattern.compile(alternation.toString());
+		}
+		return this;
+	}
+
+	@Override
+	public boolean matches(final WebContext context) {
+		if (methods != 0 && !Pac4jHttpMethodUtils.contains(methods, context.getRequestMethod())) {
+			return false;
+		}
+		if (headerName != null) {
+			final String value = context.getRequestHeader(headerName).orElse(null);
+			if (value == null || (headerPattern != null && !headerPattern.matcher(value).matches())) {
+				return false;
+			}
+		}
+		return !isExcluded(context.getPath());
+	}
+
+	/**
+	 * @param path the request path.
+	 * @return whether the path bypasses the security.
+	 */
+	public boolean isExcluded(final String path) {
+		if (path == null) {
+			return false;
+		}
+		if (!excludedPaths.isEmpty() && excludedPaths.matches(path)) {
+			return true;
+		}
+		if (extensions.length > 0 && hasExcludedExtension(path)) {
+			return true;
+		}
+		final Pattern pattern = compile().excludedPattern;
+		return pattern != null && pattern.matcher(path).matches();
+	}
+
+	private boolean hasExcludedExtension(final String path) {
+		for (final String extension : extensions) {
+			final int offset = path.length() - extension.length();
+			if (offset > 0 && path.regionMatches(true, offset, extension, 0, extension.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.matching;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Character trie of exact paths and path branches, walked once per lookup without allocating: a branch
+ * {@code /static} matches {@code /static} and everything below {@code /static/}, but not {@code /statics}.
+ */
+public class PathTrie {
+
+	private static final int ASCII = 128;
+
+	private final Node root = new Node();
+	private boolean empty = true;
+
+	/**
+	 * @param path a path which must match exactly.
+	 */
+	public void addPath(final String path) {
+		node(path).exact = true;
+	}
+
+	/**
+	 * @param branch a path whose whole sub tree matches.
+	 */
+	public void addBranch(final String branch) {
+		String path = branch;
+		while (path.length() > 1 && path.charAt(path.length() - 1) == '/') {
+			path = path.substring(0, path.length() - 1);
+		}
+		node(path).branch = true;
+	}
+
+	public boolean isEmpty() {
+		return empty;
+	}
+
+	/**
+	 * @param path the request path.
+	 * @return whether the path is one of the exact paths or lies within one of the branches.
+	 */
+	public boolean matches(final String path) {
+		Node node = root;
+		final int length = path.length();
+		for (int i = 0; i < length; i++) {
+			final char c = path.charAt(i);
+			// a branch ends at a segment boundary, the root branch "/" covers everything
+			if (node.branch && (c == '/' || (i > 0 && path.charAt(i - 1) == '/'))) {
+				return true;
+			}
+			node = node.child(c);
+			if (node == null) {
+				return false;
+			}
+		}
+		return node.exact || node.branch;
+	}
+
+	private Node node(final String path) {
+		empty = false;
+		Node node = root;
+		for (int i = 0; i < path.length(); i++) {
+			node = node.getOrCreateChild(path.charAt(i));
+		}
+		return node;
+	}
+
+	private static final class Node {
+
+		private Node[] ascii;
+		private Map<Character, Node> others;
+		private boolean exact;
+		private boolean branch;
+
+		private Node child(final char c) {
+			if (c < ASCII) {
+				return ascii == null ? null : ascii[c];
+			}
+			return others == null ? null : others.get(c);
+		}
+
+		private Node getOrCreateChild(final char c) {
+			if (c < ASCII) {
+				if (ascii == null) {
+					ascii = new Node[ASCII];
+				}
+				if (ascii[c] == null) {
+					ascii[c] = new Node();
+				}
+				return ascii[c];
+			}
+			if (others == null) {
+				others = new HashMap<>();
+			}
+			return others.computeIfAbsent(c, key -> new Node());
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.pac4j.spring.boot.authorizer.AuthorizerStatistics;
+import org.pac4j.spring.boot.authorizer.PlanningAuthorizationChecker;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Evaluation time and rejections of every authorizer evaluated by the {@link PlanningAuthorizationChecker}.
+ */
+public class AuthorizationPlannerMetrics implements MeterBinder {
+
+	private final PlanningAuthorizationChecker checker;
+
+	public AuthorizationPlannerMetrics(PlanningAuthorizationChecker checker) {
+		this.checker = checker;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		// 授权器在首次参与授权时才产生统计，由监听器补充注册
+		checker.addStatisticsListener(statistics -> bind(statistics, registry));
+	}
+
+	private void bind(AuthorizerStatistics statistics, MeterRegistry registry) {
+		FunctionTimer.builder("pac4j.authorizer", statistics, AuthorizerStatistics::getEvaluations,
+				AuthorizerStatistics::getTotalNanos, TimeUnit.NANOSECONDS)
+				.tag("authorizer", statistics.getName())
+				.description("Authorizer evaluations")
+				.register(registry);
+		FunctionCounter.builder("pac4j.authorizer.rejections", statistics, AuthorizerStatistics::getRejections)
+				.tag("authorizer", statistics.getName())
+				.description("Requests rejected by the authorizer")
+				.register(registry);
+	}
+
+}
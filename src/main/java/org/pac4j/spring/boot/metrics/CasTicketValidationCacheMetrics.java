@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import org.pac4j.spring.boot.cas.CasTicketValidationCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Hit/miss counters and size of the validated CAS ticket cache.
+ */
+public class CasTicketValidationCacheMetrics implements MeterBinder {
+
+	private final CasTicketValidationCache cache;
+
+	public CasTicketValidationCacheMetrics(CasTicketValidationCache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("pac4j.cas.ticket.cache.requests", cache, CasTicketValidationCache::getHitCount)
+				.tag("result", "hit")
+				.description("Validated CAS ticket cache lookups")
+				.register(registry);
+		FunctionCounter.builder("pac4j.cas.ticket.cache.requests", cache, CasTicketValidationCache::getMissCount)
+				.tag("result", "miss")
+				.description("Validated CAS ticket cache lookups")
+				.register(registry);
+		Gauge.builder("pac4j.cas.ticket.cache.size", cache, CasTicketValidationCache::getSize)
+				.description("Estimated number of validated CAS tickets in the cache")
+				.register(registry);
+	}
+
+}
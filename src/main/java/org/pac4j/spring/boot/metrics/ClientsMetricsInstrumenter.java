@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Clients;
+import org.pac4j.spring.boot.Pac4jMetricsProperties;
+import org.pac4j.spring.boot.client.InitializedClients;
+import org.pac4j.spring.boot.client.LazyClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decorates the credentials extractor, authenticator and profile creator of every configured client with timers
+ * tagged by client name and outcome. Clients are initialized first so that the components they create by default
+ * are instrumented too, the {@link LazyClient}s right after their initialization on first use, the clients created on
+ * demand by the {@link org.pac4j.spring.boot.client.ClientResolver} when they are created.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class ClientsMetricsInstrumenter implements SmartInitializingSingleton {
+
+	public static final String CREDENTIALS_METRIC = "pac4j.client.credentials";
+	public static final String AUTHENTICATION_METRIC = "pac4j.client.authentication";
+	public static final String PROFILE_METRIC = "pac4j.client.profile";
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Clients clients;
+	private final MeterRegistry registry;
+	private final Pac4jMetricsProperties properties;
+
+	public ClientsMetricsInstrumenter(Clients clients, MeterRegistry registry, Pac4jMetricsProperties properties) {
+		this.clients = clients;
+		this.registry = registry;
+		this.properties = properties;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		InitializedClients.forEach(clients, this::instrument);
+	}
+
+	protected void instrument(BaseClient client) {
+		try {
+			client.init();
+		} catch (RuntimeException e) {
+			logger.warn("Client {} cannot be initialized, metrics are disabled for it : {}", client.getName(), e.getMessage());
+			return;
+		}
+		final String clientName = client.getName();
+		if (client.getCredentialsExtractor() != null && !(client.getCredentialsExtractor() instanceof TimedCredentialsExtractor)) {
+			client.setCredentialsExtractor(new TimedCredentialsExtractor(client.getCredentialsExtractor(),
+					new OutcomeTimers(registry, properties, CREDENTIALS_METRIC, "Credentials extraction time", clientName)));
+		}
+		if (client.getAuthenticator() != null && !(client.getAuthenticator() instanceof TimedAuthenticator)) {
+			client.setAuthenticator(new TimedAuthenticator(client.getAuthenticator(),
+					new OutcomeTimers(registry, properties, AUTHENTICATION_METRIC, "Credentials validation time", clientName)));
+		}
+		if (client.getProfileCreator() != null && !(client.getProfileCreator() instanceof TimedProfileCreator)) {
+			client.setProfileCreator(new TimedProfileCreator(client.getProfileCreator(),
+					new OutcomeTimers(registry, properties, PROFILE_METRIC, "User profile creation time", clientName)));
+		}
+		logger.debug("Client Instrumented : {}", clientName);
+	}
+
+}
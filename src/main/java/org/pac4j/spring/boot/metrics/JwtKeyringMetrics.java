@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import org.pac4j.spring.boot.jwt.JwtKeyring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Reloads and key transitions of the JWT keyring, and the number of keys tokens are verified with.
+ */
+public class JwtKeyringMetrics implements MeterBinder {
+
+	private final JwtKeyring keyring;
+
+	public JwtKeyringMetrics(JwtKeyring keyring) {
+		this.keyring = keyring;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("pac4j.jwt.keyring.reloads", keyring, JwtKeyring::getReloadCount)
+				.tag("result", "success")
+				.description("Reloads of the JWT keyring file")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.keyring.reloads", keyring, JwtKeyring::getReloadFailureCount)
+				.tag("result", "failure")
+				.description("Reloads of the JWT keyring file")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.keyring.transitions", keyring, JwtKeyring::getTransitionCount)
+				.description("Activations and retirements of JWT keyring keys")
+				.register(registry);
+		Gauge.builder("pac4j.jwt.keyring.keys", keyring, k -> k.current().getSignatureConfigurations().size())
+				.tag("use", "sig")
+				.description("JWT keyring keys not retired yet")
+				.register(registry);
+		Gauge.builder("pac4j.jwt.keyring.keys", keyring, k -> k.current().getEncryptionConfigurations().size())
+				.tag("use", "enc")
+				.description("JWT keyring keys not retired yet")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import org.pac4j.spring.boot.jwt.JwtRevocationList;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Revocation checks of the JWT revocation list: how many were answered by the local Bloom filter and how many
+ * needed the store, plus the revocations, the synchronizations and the size of the filter.
+ */
+public class JwtRevocationListMetrics implements MeterBinder {
+
+	private final JwtRevocationList revocationList;
+
+	public JwtRevocationListMetrics(JwtRevocationList revocationList) {
+		this.revocationList = revocationList;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("pac4j.jwt.revocation.checks", revocationList, JwtRevocationList::getCheckCount)
+				.description("Revocation checks of tokens")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.revocation.store.lookups", revocationList, JwtRevocationList::getStoreLookupCount)
+				.tag("result", "all")
+				.description("Revocation checks matched by the Bloom filter and looked up in the store")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.revocation.store.lookups", revocationList, JwtRevocationList::getStoreFailureCount)
+				.tag("result", "failure")
+				.description("Revocation checks matched by the Bloom filter and looked up in the store")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.revocation.rejected", revocationList, JwtRevocationList::getRevokedCount)
+				.description("Tokens rejected as revoked")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.revocation.revocations", revocationList, JwtRevocationList::getRevocationCount)
+				.description("Tokens revoked by this node")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.revocation.syncs", revocationList, JwtRevocationList::getSyncCount)
+				.tag("result", "success")
+				.description("Rebuilds of the Bloom filter from the store")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.revocation.syncs", revocationList, JwtRevocationList::getSyncFailureCount)
+				.tag("result", "failure")
+				.description("Rebuilds of the Bloom filter from the store")
+				.register(registry);
+		Gauge.builder("pac4j.jwt.revocation.size", revocationList, JwtRevocationList::getSize)
+				.description("Revoked tokens not expired yet, as of the last synchronization")
+				.register(registry);
+	}
+
+}
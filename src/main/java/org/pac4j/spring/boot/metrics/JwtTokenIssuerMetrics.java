@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.pac4j.spring.boot.jwt.JwtIssuerStatistics;
+import org.pac4j.spring.boot.jwt.JwtTokenIssuer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Issued tokens, failures and signing time of the JWT issuing service.
+ */
+public class JwtTokenIssuerMetrics implements MeterBinder {
+
+	private final JwtIssuerStatistics statistics;
+
+	public JwtTokenIssuerMetrics(JwtTokenIssuer issuer) {
+		this.statistics = issuer.getStatistics();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionTimer.builder("pac4j.jwt.issue", statistics, JwtIssuerStatistics::getIssued,
+				JwtIssuerStatistics::getTotalNanos, TimeUnit.NANOSECONDS)
+				.description("Time spent building, signing and encrypting issued JWT")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.issue.failures", statistics, JwtIssuerStatistics::getFailures)
+				.description("JWT issuing failures")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.issue.batches", statistics, JwtIssuerStatistics::getBatches)
+				.description("Batches of JWT issued in one call")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.pac4j.spring.boot.Pac4jMetricsProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The timers of one instrumented operation of one client, one per outcome, registered once so that
+ * the request path only records durations.
+ */
+public class OutcomeTimers {
+
+	public static final String TAG_CLIENT = "client";
+	public static final String TAG_OUTCOME = "outcome";
+
+	public static final String OUTCOME_SUCCESS = "success";
+	public static final String OUTCOME_EMPTY = "empty";
+	public static final String OUTCOME_FAILURE = "failure";
+
+	private final Timer success;
+	private final Timer empty;
+	private final Timer failure;
+
+	public OutcomeTimers(MeterRegistry registry, Pac4jMetricsProperties properties, String name, String description, String clientName) {
+		this.success = timer(registry, properties, name, description, clientName, OUTCOME_SUCCESS);
+		this.empty = timer(registry, properties, name, description, clientName, OUTCOME_EMPTY);
+		this.failure = timer(registry, properties, name, description, clientName, OUTCOME_FAILURE);
+	}
+
+	protected Timer timer(MeterRegistry registry, Pac4jMetricsProperties properties, String name, String description,
+			String clientName, String outcome) {
+		Timer.Builder builder = Timer.builder(name)
+				.description(description)
+				.tag(TAG_CLIENT, clientName)
+				.tag(TAG_OUTCOME, outcome)
+				.publishPercentileHistogram(properties.isPercentileHistogram());
+		if (ArrayUtils.isNotEmpty(properties.getPercentiles())) {
+			builder.publishPercentiles(properties.getPercentiles());
+		}
+		if (ArrayUtils.isNotEmpty(properties.getServiceLevelObjectives())) {
+			builder.serviceLevelObjectives(properties.getServiceLevelObjectives());
+		}
+		return builder.register(registry);
+	}
+
+	public void success(long startNanos) {
+		success.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void empty(long startNanos) {
+		empty.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void failure(long startNanos) {
+		failure.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import org.pac4j.spring.boot.jwt.SignatureConfigurationSelector;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * How JwtAuthenticator found the signature configuration of the tokens: by kid, by linear fallback or not at all.
+ */
+public class SignatureConfigurationSelectorMetrics implements MeterBinder {
+
+	private final SignatureConfigurationSelector selector;
+
+	public SignatureConfigurationSelectorMetrics(SignatureConfigurationSelector selector) {
+		this.selector = selector;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("pac4j.jwt.signature.selection", selector, SignatureConfigurationSelector::getIndexedCount)
+				.tag("result", "indexed")
+				.description("Signature configuration lookups of JwtAuthenticator")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.signature.selection", selector, SignatureConfigurationSelector::getFallbackCount)
+				.tag("result", "fallback")
+				.description("Signature configuration lookups of JwtAuthenticator")
+				.register(registry);
+		FunctionCounter.builder("pac4j.jwt.signature.selection", selector, SignatureConfigurationSelector::getUnknownKeyIdCount)
+				.tag("result", "unknown-kid")
+				.description("Signature configuration lookups of JwtAuthenticator")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.credentials.authenticator.Authenticator;
+
+/**
+ * {@link Authenticator} decorator recording the validation time per outcome.
+ */
+public class TimedAuthenticator<C extends Credentials> implements Authenticator<C> {
+
+	private final Authenticator<C> delegate;
+	private final OutcomeTimers timers;
+
+	public TimedAuthenticator(Authenticator<C> delegate, OutcomeTimers timers) {
+		this.delegate = delegate;
+		this.timers = timers;
+	}
+
+	@Override
+	public void validate(C credentials, WebContext context) {
+		final long start = System.nanoTime();
+		try {
+			delegate.validate(credentials, context);
+		} catch (RuntimeException e) {
+			timers.failure(start);
+			throw e;
+		}
+		timers.success(start);
+	}
+
+	public Authenticator<C> getDelegate() {
+		return delegate;
+	}
+
+}
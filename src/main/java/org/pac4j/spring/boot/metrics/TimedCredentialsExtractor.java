@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.metrics;
+
+import java.util.Optional;
+
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.credentials.extractor.CredentialsExtractor;
+
+/**
+ * {@link CredentialsExtractor} decorator recording the extraction time per outcome.
+ */
+public class TimedCredentialsExtractor<C extends Credentials> implements CredentialsExtractor<C> {
+
+	private final CredentialsExtractor<C> delegate;
+	private final OutcomeTimers timers;
+
+	public TimedCredentialsExtractor(CredentialsExtractor<C> delegate, OutcomeTimers timers) {
+		this.delegate = delegate;
+		this.timers = timers;
+	}
+
+	@Override
+	public Optional<C> extract(WebContext context) {
+		final long start = System.nanoTime();
+		final Optional<C> credentials;
+		try {
+			credentials = delegate.extract(context);
+		} catch (RuntimeException e) {
+			timers.failure(start);
+			throw e;
+		}
+		if (credentials.isPresent()) {
+			timers.success(start);
+		} else {
+			timers.empty(start);
+		}
+		return credentials;
+	}
+
+	public CredentialsExtractor<C> getDelegate() {
+		return delegate;
+	}
+
+}
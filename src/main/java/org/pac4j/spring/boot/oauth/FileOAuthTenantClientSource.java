@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.spring.boot.Pac4jOAuthTenantClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Tenant applications read from a properties file keyed by {@code tenant.provider}, i.e. {@code acme.github.key=...};
+ * the file is read again when its modification time changes.
+ */
+public class FileOAuthTenantClientSource implements OAuthTenantClientSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FileOAuthTenantClientSource.class);
+
+	private final File file;
+	private volatile Snapshot snapshot = new Snapshot(Long.MIN_VALUE, new Binder());
+
+	public FileOAuthTenantClientSource(File file) {
+		this.file = file;
+	}
+
+	@Override
+	public Pac4jOAuthTenantClientProperties load(String tenant, String provider) {
+		final Pac4jOAuthTenantClientProperties properties = current().binder
+				.bind(ConfigurationPropertyName.adapt(tenant + "." + provider, '.'), Bindable.of(Pac4jOAuthTenantClientProperties.class)).orElse(null);
+		if (properties != null && properties.getProvider() == null) {
+			properties.setProvider(provider);
+		}
+		return properties;
+	}
+
+	private Snapshot current() {
+		final long lastModified = file.lastModified();
+		Snapshot current = snapshot;
+		if (current.lastModified != lastModified) {
+			synchronized (this) {
+				current = snapshot;
+				if (current.lastModified != lastModified) {
+					current = new Snapshot(lastModified, new Binder(new MapConfigurationPropertySource(read())));
+					snapshot = current;
+					LOGGER.info("Tenant OAuth applications loaded from {}", file);
+				}
+			}
+		}
+		return current;
+	}
+
+	private Properties read() {
+		final Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath()); Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (final IOException e) {
+			throw new TechnicalException("Cannot read the tenant OAuth applications from " + file, e);
+		}
+		return properties;
+	}
+
+	private static final class Snapshot {
+
+		private final long lastModified;
+		private final Binder binder;
+
+		private Snapshot(long lastModified, Binder binder) {
+			this.lastModified = lastModified;
+			this.binder = binder;
+		}
+
+	}
+
+}
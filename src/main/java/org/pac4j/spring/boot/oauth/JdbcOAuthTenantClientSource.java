@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.pac4j.core.exception.TechnicalException;
+import org.pac4j.spring.boot.Pac4jOAuthTenantClientProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Tenant applications read from a table: the query takes the tenant id and the provider as parameters and its
+ * columns are bound to {@link Pac4jOAuthTenantClientProperties} by name, i.e. key, secret, scope, callback_url.
+ */
+public class JdbcOAuthTenantClientSource implements OAuthTenantClientSource {
+
+	private final DataSource dataSource;
+	private final String query;
+
+	public JdbcOAuthTenantClientSource(DataSource dataSource, String query) {
+		this.dataSource = dataSource;
+		this.query = query;
+	}
+
+	@Override
+	public Pac4jOAuthTenantClientProperties load(String tenant, String provider) {
+		final Map<String, Object> row = new HashMap<>();
+		try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setString(1, tenant);
+			statement.setString(2, provider);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (!resultSet.next()) {
+					return null;
+				}
+				final ResultSetMetaData metaData = resultSet.getMetaData();
+				for (int i = 1; i <= metaData.getColumnCount(); i++) {
+					final Object value = resultSet.getObject(i);
+					if (value != null) {
+						row.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT).replace('_', '-'), value);
+					}
+				}
+			}
+		} catch (final SQLException e) {
+			throw new TechnicalException("Cannot read the OAuth application of tenant " + tenant + " for " + provider, e);
+		}
+		final Pac4jOAuthTenantClientProperties properties = new Binder(new MapConfigurationPropertySource(row))
+				.bindOrCreate("", Pac4jOAuthTenantClientProperties.class);
+		if (properties.getProvider() == null) {
+			properties.setProvider(provider);
+		}
+		return properties;
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.spring.boot.Pac4jOAuthTenantClientProperties;
+
+/**
+ * Creates the OAuth client of a tenant application.
+ */
+@FunctionalInterface
+public interface OAuthTenantClientFactory {
+
+	/**
+	 * @param name the client name.
+	 * @param properties the tenant application.
+	 * @return the client, ready to be used by the callback and security logics.
+	 */
+	@SuppressWarnings("rawtypes")
+	IndirectClient create(String name, Pac4jOAuthTenantClientProperties properties);
+
+}
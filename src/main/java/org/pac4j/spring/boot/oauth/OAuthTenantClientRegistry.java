@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.Pac4jOAuthTenantClientProperties;
+import org.pac4j.spring.boot.client.ClientResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * OAuth clients of the tenants, created on first use from an {@link OAuthTenantClientSource} instead of at startup.
+ * <p>
+ * A client is named {@code provider@tenant}, i.e. {@code github@acme}. The clients are kept in a bounded cache: the
+ * least recently used ones are evicted beyond {@code maximumSize}, the idle ones after {@code idleTimeout}, and the
+ * ones in use are rebuilt from the source every {@code reloadInterval} in the background, the previous client serving
+ * the requests in the meantime; an application removed from the source is evicted on its next reload.
+ * <p>
+ * The names come from unauthenticated callback requests: a name whose tenant does not match {@code tenantPattern} or
+ * whose provider is not allowed is rejected without reaching the source, and the names the source does not know are
+ * remembered for {@code missTimeToLive}, so that replaying an unknown name does not query the source on every request.
+ */
+@SuppressWarnings("rawtypes")
+public class OAuthTenantClientRegistry implements ClientResolver {
+
+	public static final char SEPARATOR = '@';
+	public static final String DEFAULT_TENANT_PATTERN = "[A-Za-z0-9][A-Za-z0-9._-]{0,63}";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OAuthTenantClientRegistry.class);
+
+	private final OAuthTenantClientSource source;
+	private final OAuthTenantClientFactory factory;
+	private final String clientNameParameter;
+	private final LoadingCache<String, IndirectClient> clients;
+	private final Cache<String, Boolean> misses;
+	private final List<Consumer<BaseClient>> createdCallbacks = new CopyOnWriteArrayList<>();
+	private Pattern tenantPattern = Pattern.compile(DEFAULT_TENANT_PATTERN);
+	private Set<String> providers = Collections.emptySet();
+
+	public OAuthTenantClientRegistry(OAuthTenantClientSource source, OAuthTenantClientFactory factory, String clientNameParameter,
+			long maximumSize, Duration idleTimeout, Duration reloadInterval) {
+		this(source, factory, clientNameParameter, maximumSize, idleTimeout, reloadInterval, maximumSize * 10, Duration.ofMinutes(1));
+	}
+
+	public OAuthTenantClientRegistry(OAuthTenantClientSource source, OAuthTenantClientFactory factory, String clientNameParameter,
+			long maximumSize, Duration idleTimeout, Duration reloadInterval, long missMaximumSize, Duration missTimeToLive) {
+		CommonHelper.assertNotNull("source", source);
+		CommonHelper.assertNotNull("factory", factory);
+		CommonHelper.assertNotBlank("clientNameParameter", clientNameParameter);
+		this.source = source;
+		this.factory = factory;
+		this.clientNameParameter = clientNameParameter;
+		this.clients = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterAccess(idleTimeout)
+				.refreshAfterWrite(reloadInterval)
+				.removalListener((String name, IndirectClient client, RemovalCause cause) ->
+						LOGGER.debug("Tenant client {} removed: {}", name, cause))
+				.build(this::load);
+		this.misses = Caffeine.newBuilder()
+				.maximumSize(missMaximumSize)
+				.expireAfterWrite(missTimeToLive)
+				.build();
+	}
+
+	/**
+	 * @param tenant the tenant id.
+	 * @param provider the provider, i.e. github
+	 * @return the client of the tenant for this provider, null if the tenant has no application for it.
+	 */
+	public IndirectClient getClient(String tenant, String provider) {
+		CommonHelper.assertNotBlank("tenant", tenant);
+		CommonHelper.assertNotBlank("provider", provider);
+		final String name = clientName(tenant, provider);
+		if (!isAllowed(tenant.trim(), provider.trim().toLowerCase(Locale.ROOT))) {
+			LOGGER.debug("Rejected tenant client name {}", name);
+			return null;
+		}
+		if (misses.getIfPresent(name) != null) {
+			return null;
+		}
+		final IndirectClient client = clients.get(name);
+		if (client == null) {
+			misses.put(name, Boolean.TRUE);
+		}
+		return client;
+	}
+
+	@Override
+	public IndirectClient resolve(String name) {
+		final int separator = name.lastIndexOf(SEPARATOR);
+		if (separator <= 0 || separator == name.length() - 1) {
+			return null;
+		}
+		return getClient(name.substring(separator + 1), name.substring(0, separator));
+	}
+
+	@Override
+	public String getClientNameParameter() {
+		return clientNameParameter;
+	}
+
+	/**
+	 * Drop the clients of a tenant, i.e. when its applications have changed; they are created again on next use.
+	 *
+	 * @param tenant the tenant id.
+	 */
+	public void invalidate(String tenant) {
+		final String suffix = SEPARATOR + tenant;
+		clients.asMap().keySet().removeIf(name -> name.endsWith(suffix));
+		misses.asMap().keySet().removeIf(name -> name.endsWith(suffix));
+	}
+
+	public void invalidateAll() {
+		clients.invalidateAll();
+		misses.invalidateAll();
+	}
+
+	/**
+	 * Run the callback on every client created from now on, i.e. to instrument it like the configured clients, and on
+	 * the ones already created.
+	 *
+	 * @param callback the callback.
+	 */
+	@Override
+	public void onClientCreated(Consumer<BaseClient> callback) {
+		CommonHelper.assertNotNull("callback", callback);
+		createdCallbacks.add(callback);
+		clients.asMap().values().forEach(callback);
+	}
+
+	/**
+	 * @param tenantPattern the pattern the tenant ids must match to be looked up in the source.
+	 */
+	public void setTenantPattern(String tenantPattern) {
+		CommonHelper.assertNotBlank("tenantPattern", tenantPattern);
+		this.tenantPattern = Pattern.compile(tenantPattern);
+	}
+
+	/**
+	 * @param providers the providers the tenant clients may be created for, all if empty.
+	 */
+	public void setProviders(Collection<String> providers) {
+		this.providers = providers == null ? Collections.emptySet()
+				: providers.stream().map(provider -> provider.trim().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+	}
+
+	public long getSize() {
+		return clients.estimatedSize();
+	}
+
+	public static String clientName(String tenant, String provider) {
+		return provider.trim().toLowerCase(Locale.ROOT) + SEPARATOR + tenant.trim();
+	}
+
+	private IndirectClient load(String name) {
+		final int separator = name.lastIndexOf(SEPARATOR);
+		final String provider = name.substring(0, separator);
+		final String tenant = name.substring(separator + 1);
+		final Pac4jOAuthTenantClientProperties properties = source.load(tenant, provider);
+		if (properties == null) {
+			LOGGER.debug("No {} application for tenant {}", provider, tenant);
+			return null;
+		}
+		final IndirectClient client = factory.create(name, properties);
+		for (Consumer<BaseClient> callback : createdCallbacks) {
+			callback.accept(client);
+		}
+		LOGGER.debug("Tenant client {} created", name);
+		return client;
+	}
+
+	private boolean isAllowed(String tenant, String provider) {
+		return (providers.isEmpty() || providers.contains(provider)) && tenantPattern.matcher(tenant).matches();
+	}
+
+}
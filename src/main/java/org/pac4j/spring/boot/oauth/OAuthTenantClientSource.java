@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import org.pac4j.spring.boot.Pac4jOAuthTenantClientProperties;
+
+/**
+ * Where the OAuth applications of the tenants are read from, i.e. properties, a file or a database table.
+ */
+public interface OAuthTenantClientSource {
+
+	/**
+	 * @param tenant the tenant id.
+	 * @param provider the provider, lower case, i.e. github
+	 * @return the application of the tenant for this provider, null if it has none.
+	 */
+	Pac4jOAuthTenantClientProperties load(String tenant, String provider);
+
+}
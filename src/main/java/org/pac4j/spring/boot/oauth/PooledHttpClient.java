@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.jdk.JDKHttpFuture;
+import com.github.scribejava.core.httpclient.multipart.MultipartPayload;
+import com.github.scribejava.core.httpclient.multipart.MultipartUtils;
+import com.github.scribejava.core.model.OAuthAsyncRequestCallback;
+import com.github.scribejava.core.model.OAuthRequest;
+import com.github.scribejava.core.model.Response;
+import com.github.scribejava.core.model.Verb;
+
+/**
+ * ScribeJava {@link HttpClient} executing the requests on the shared pooled Apache HttpClient.
+ * The response body is fully read so that the connection goes back to the pool; closing this client
+ * does not close the pool, which belongs to the {@link PooledHttpClientConfig} bean.
+ */
+public class PooledHttpClient implements HttpClient {
+
+	private static final String USER_AGENT = "User-Agent";
+
+	private final CloseableHttpClient httpClient;
+	private final RequestConfig requestConfig;
+
+	public PooledHttpClient(PooledHttpClientConfig config) {
+		this.httpClient = config.getHttpClient();
+		this.requestConfig = config.getRequestConfig();
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			byte[] bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+		return doExecuteAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+	}
+
+	@Override
+	public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			MultipartPayload bodyContents, OAuthAsyncRequestCallback<T> callback,
+			OAuthRequest.ResponseConverter<T> converter) {
+		return doExecuteAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+	}
+
+	@Override
+	public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			String bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+		return doExecuteAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+	}
+
+	@Override
+	public <T> Future<T> executeAsync(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			File bodyContents, OAuthAsyncRequestCallback<T> callback, OAuthRequest.ResponseConverter<T> converter) {
+		return doExecuteAsync(userAgent, headers, httpVerb, completeUrl, bodyContents, callback, converter);
+	}
+
+	@Override
+	public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			byte[] bodyContents) throws IOException {
+		return doExecute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+	}
+
+	@Override
+	public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			MultipartPayload bodyContents) throws IOException {
+		return doExecute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+	}
+
+	@Override
+	public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			String bodyContents) throws IOException {
+		return doExecute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+	}
+
+	@Override
+	public Response execute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			File bodyContents) throws IOException {
+		return doExecute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+	}
+
+	private <T> Future<T> doExecuteAsync(String userAgent, Map<String, String> headers, Verb httpVerb,
+			String completeUrl, Object bodyContents, OAuthAsyncRequestCallback<T> callback,
+			OAuthRequest.ResponseConverter<T> converter) {
+		try {
+			final Response response = doExecute(userAgent, headers, httpVerb, completeUrl, bodyContents);
+			@SuppressWarnings("unchecked")
+			final T t = converter == null ? (T) response : converter.convert(response);
+			if (callback != null) {
+				callback.onCompleted(t);
+			}
+			return new JDKHttpFuture<>(t);
+		} catch (IOException | RuntimeException e) {
+			if (callback != null) {
+				callback.onThrowable(e);
+			}
+			return new JDKHttpFuture<>(e);
+		}
+	}
+
+	private Response doExecute(String userAgent, Map<String, String> headers, Verb httpVerb, String completeUrl,
+			Object bodyContents) throws IOException {
+
+		final RequestBuilder builder = RequestBuilder.create(httpVerb.name()).setUri(completeUrl).setConfig(requestConfig);
+		final Map<String, String> requestHeaders = new HashMap<>(headers);
+		if (userAgent != null) {
+			requestHeaders.put(USER_AGENT, userAgent);
+		}
+		if (httpVerb.isPermitBody()) {
+			final HttpEntity entity = this.entity(bodyContents, requestHeaders);
+			if (entity != null) {
+				requestHeaders.putIfAbsent(CONTENT_TYPE, DEFAULT_CONTENT_TYPE);
+				builder.setEntity(entity);
+			}
+		}
+		for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+			builder.addHeader(header.getKey(), header.getValue());
+		}
+
+		try (CloseableHttpResponse response = httpClient.execute(builder.build())) {
+			final Map<String, String> responseHeaders = new HashMap<>();
+			for (Header header : response.getAllHeaders()) {
+				responseHeaders.put(header.getName(), header.getValue());
+			}
+			final HttpEntity entity = response.getEntity();
+			final String body = entity == null ? "" : EntityUtils.toString(entity, StandardCharsets.UTF_8);
+			return new Response(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase(),
+					responseHeaders, body);
+		}
+	}
+
+	private HttpEntity entity(Object bodyContents, Map<String, String> requestHeaders) throws IOException {
+		if (bodyContents instanceof byte[]) {
+			return ((byte[]) bodyContents).length == 0 ? null : new ByteArrayEntity((byte[]) bodyContents);
+		}
+		if (bodyContents instanceof String) {
+			return ((String) bodyContents).isEmpty() ? null
+					: new ByteArrayEntity(((String) bodyContents).getBytes(StandardCharsets.UTF_8));
+		}
+		if (bodyContents instanceof File) {
+			return new FileEntity((File) bodyContents);
+		}
+		if (bodyContents instanceof MultipartPayload) {
+			final MultipartPayload multipart = (MultipartPayload) bodyContents;
+			for (Map.Entry<String, String> header : multipart.getHeaders().entrySet()) {
+				requestHeaders.putIfAbsent(header.getKey(), header.getValue());
+			}
+			return new ByteArrayEntity(MultipartUtils.getPayload(multipart).toByteArray());
+		}
+		return null;
+	}
+
+}
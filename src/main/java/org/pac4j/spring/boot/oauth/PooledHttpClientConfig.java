@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.spring.boot.Pac4jOAuthHttpProperties;
+
+import com.github.scribejava.core.httpclient.HttpClientConfig;
+
+/**
+ * ScribeJava {@link HttpClientConfig} sharing one pooled, keep-alive Apache HttpClient between all the OAuth clients,
+ * so that code exchanges and profile fetches reuse the TLS connections to the provider.
+ * The per client timeouts are applied per request through {@link #withTimeouts(int, int)}.
+ */
+public class PooledHttpClientConfig implements HttpClientConfig, Closeable {
+
+	private final CloseableHttpClient httpClient;
+	private final RequestConfig requestConfig;
+
+	public PooledHttpClientConfig(CloseableHttpClient httpClient, RequestConfig requestConfig) {
+		CommonHelper.assertNotNull("httpClient", httpClient);
+		CommonHelper.assertNotNull("requestConfig", requestConfig);
+		this.httpClient = httpClient;
+		this.requestConfig = requestConfig;
+	}
+
+	public static PooledHttpClientConfig build(Pac4jOAuthHttpProperties properties) {
+
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(properties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+
+		final RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+				.setRedirectsEnabled(properties.isFollowRedirects())
+				.build();
+
+		final long keepAlive = properties.getKeepAlive().toMillis();
+		final CloseableHttpClient httpClient = HttpClientBuilder.create()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy((response, context) -> {
+					final long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return duration > 0 ? duration : keepAlive;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+
+		return new PooledHttpClientConfig(httpClient, requestConfig);
+	}
+
+	/**
+	 * A config sharing the same connection pool, with the given client timeouts.
+	 *
+	 * @param connectTimeout the connect timeout in milliseconds.
+	 * @param readTimeout the read timeout in milliseconds.
+	 * @return the new config.
+	 */
+	public PooledHttpClientConfig withTimeouts(int connectTimeout, int readTimeout) {
+		return new PooledHttpClientConfig(httpClient, RequestConfig.copy(requestConfig)
+				.setConnectTimeout(connectTimeout)
+				.setSocketTimeout(readTimeout)
+				.build());
+	}
+
+	@Override
+	public PooledHttpClientConfig createDefaultConfig() {
+		return new PooledHttpClientConfig(httpClient, RequestConfig.DEFAULT);
+	}
+
+	public CloseableHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public RequestConfig getRequestConfig() {
+		return requestConfig;
+	}
+
+	/**
+	 * Close the shared connection pool, only the config built by {@link #build(Pac4jOAuthHttpProperties)} should be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		httpClient.close();
+	}
+
+}
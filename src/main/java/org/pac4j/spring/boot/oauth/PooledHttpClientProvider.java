@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import com.github.scribejava.core.httpclient.HttpClient;
+import com.github.scribejava.core.httpclient.HttpClientConfig;
+import com.github.scribejava.core.httpclient.HttpClientProvider;
+
+/**
+ * Registered through {@code META-INF/services}, ScribeJava asks the providers for a client
+ * each time pac4j builds an OAuth service.
+ */
+public class PooledHttpClientProvider implements HttpClientProvider {
+
+	@Override
+	public HttpClient createClient(HttpClientConfig config) {
+		if (config instanceof PooledHttpClientConfig) {
+			return new PooledHttpClient((PooledHttpClientConfig) config);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.util.EntityUtils;
+import org.pac4j.spring.boot.warmup.EndpointConnector;
+
+/**
+ * {@link EndpointConnector} opening the connections in the pool shared by the OAuth clients.
+ */
+public class PooledHttpEndpointConnector implements EndpointConnector {
+
+	private final PooledHttpClientConfig config;
+
+	public PooledHttpEndpointConnector(PooledHttpClientConfig config) {
+		this.config = config;
+	}
+
+	@Override
+	public int connect(URI endpoint, Duration timeout) throws IOException {
+		final HttpUriRequest request = RequestBuilder.create("HEAD")
+				.setUri(endpoint.toString())
+				.setConfig(RequestConfig.copy(config.getRequestConfig())
+						.setConnectTimeout((int) timeout.toMillis())
+						.setSocketTimeout((int) timeout.toMillis())
+						.setRedirectsEnabled(false)
+						.build())
+				.build();
+		// 响应读完后关闭，连接回到连接池
+		try (CloseableHttpResponse response = config.getHttpClient().execute(request)) {
+			EntityUtils.consume(response.getEntity());
+			return response.getStatusLine().getStatusCode();
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.oauth;
+
+import java.util.Map;
+
+import org.pac4j.spring.boot.Pac4jOAuthTenantClientProperties;
+
+/**
+ * Tenant applications declared in the configuration, i.e. pac4j.oauth.tenant.registrations.acme.github.key
+ */
+public class PropertiesOAuthTenantClientSource implements OAuthTenantClientSource {
+
+	private final Map<String, Map<String, Pac4jOAuthTenantClientProperties>> registrations;
+
+	public PropertiesOAuthTenantClientSource(Map<String, Map<String, Pac4jOAuthTenantClientProperties>> registrations) {
+		this.registrations = registrations;
+	}
+
+	@Override
+	public Pac4jOAuthTenantClientProperties load(String tenant, String provider) {
+		final Map<String, Pac4jOAuthTenantClientProperties> applications = registrations.get(tenant);
+		if (applications == null) {
+			return null;
+		}
+		final Pac4jOAuthTenantClientProperties properties = applications.get(provider);
+		if (properties != null && properties.getProvider() == null) {
+			properties.setProvider(provider);
+		}
+		return properties;
+	}
+
+}
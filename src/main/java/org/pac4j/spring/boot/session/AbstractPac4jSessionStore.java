@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.session;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.pac4j.core.context.Cookie;
+import org.pac4j.core.context.JEEContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.Pac4jConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SessionStore} keeping the pac4j session data outside of the container HTTP session, identified by a
+ * random id carried in a cookie, so that any node can serve any request.
+ * <p>
+ * Only the pac4j keys are stored : the ones starting with {@code pac4j} (profiles, requested url, CSRF token)
+ * and the client scoped ones ({@code clientName}, {@code clientName#xxx}, i.e. the OAuth state), plus the
+ * configured extra keys. The session expiration is refreshed once per request; an unknown id sent by the browser
+ * is never adopted, a new one is generated instead.
+ */
+public abstract class AbstractPac4jSessionStore implements SessionStore<JEEContext> {
+
+	private static final String SESSION_ID_ATTRIBUTE = AbstractPac4jSessionStore.class.getName() + ".sessionId";
+	private static final String NO_SESSION = "";
+	private static final SecureRandom RANDOM = new SecureRandom();
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private String cookieName = Pac4jConstants.SESSION_ID;
+	private String cookieDomain;
+	private String cookiePath = "/";
+	private boolean cookieSecure = false;
+	private boolean cookieHttpOnly = true;
+	private Duration timeout = Duration.ofMinutes(30);
+	private Set<String> extraKeys = new HashSet<>();
+
+	@Override
+	public String getOrCreateSessionId(final JEEContext context) {
+		String sessionId = this.findSessionId(context);
+		if (sessionId == null) {
+			sessionId = this.generateSessionId();
+			context.setRequestAttribute(SESSION_ID_ATTRIBUTE, sessionId);
+			this.addCookie(context, sessionId, -1);
+			logger.debug("New session : {}", sessionId);
+		}
+		return sessionId;
+	}
+
+	@Override
+	public Optional<Object> get(final JEEContext context, final String key) {
+		if (!this.isSessionKey(key)) {
+			return Optional.empty();
+		}
+		final String sessionId = this.findSessionId(context);
+		if (sessionId == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.getAttribute(sessionId, key));
+	}
+
+	@Override
+	public void set(final JEEContext context, final String key, final Object value) {
+		if (!this.isSessionKey(key)) {
+			logger.debug("Not a pac4j session key, ignored : {}", key);
+			return;
+		}
+		if (value == null) {
+			final String sessionId = this.findSessionId(context);
+			if (sessionId != null) {
+				this.removeAttribute(sessionId, key);
+			}
+		} else {
+			this.setAttribute(this.getOrCreateSessionId(context), key, value);
+		}
+	}
+
+	@Override
+	public boolean destroySession(final JEEContext context) {
+		final String sessionId = this.findSessionId(context);
+		if (sessionId != null) {
+			this.deleteSession(sessionId);
+			context.setRequestAttribute(SESSION_ID_ATTRIBUTE, NO_SESSION);
+			this.addCookie(context, NO_SESSION, 0);
+		}
+		return true;
+	}
+
+	@Override
+	public Optional<Object> getTrackableSession(final JEEContext context) {
+		return Optional.ofNullable(this.findSessionId(context));
+	}
+
+	@Override
+	public Optional<SessionStore<JEEContext>> buildFromTrackableSession(final JEEContext context, final Object trackableSession) {
+		if (trackableSession instanceof String) {
+			return Optional.of(new TrackedSessionStore((String) trackableSession));
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public boolean renewSession(final JEEContext context) {
+		final String sessionId = this.findSessionId(context);
+		final String newSessionId = this.generateSessionId();
+		if (sessionId != null) {
+			this.renameSession(sessionId, newSessionId);
+		}
+		context.setRequestAttribute(SESSION_ID_ATTRIBUTE, newSessionId);
+		this.addCookie(context, newSessionId, -1);
+		logger.debug("Session renewed : {} -> {}", sessionId, newSessionId);
+		return true;
+	}
+
+	/**
+	 * The id of the current session, resolved once per request.
+	 *
+	 * @param context the web context.
+	 * @return the session id, or {@code null} if the request has no live session.
+	 */
+	protected String findSessionId(final JEEContext context) {
+		final Optional<Object> resolved = context.getRequestAttribute(SESSION_ID_ATTRIBUTE);
+		if (resolved.isPresent()) {
+			final String sessionId = (String) resolved.get();
+			return NO_SESSION.equals(sessionId) ? null : sessionId;
+		}
+		String sessionId = null;
+		for (final Cookie cookie : context.getRequestCookies()) {
+			if (cookieName.equals(cookie.getName()) && CommonHelper.isNotBlank(cookie.getValue())) {
+				sessionId = cookie.getValue();
+				break;
+			}
+		}
+		if (sessionId != null && !this.touch(sessionId)) {
+			logger.debug("Unknown or expired session : {}", sessionId);
+			sessionId = null;
+		}
+		context.setRequestAttribute(SESSION_ID_ATTRIBUTE, sessionId == null ? NO_SESSION : sessionId);
+		return sessionId;
+	}
+
+	protected boolean isSessionKey(final String key) {
+		return key.startsWith("pac4j") || key.indexOf('$') > 0 || key.indexOf('#') > 0 || extraKeys.contains(key);
+	}
+
+	protected String generateSessionId() {
+		final byte[] bytes = new byte[32];
+		RANDOM.nextBytes(bytes);
+		return ENCODER.encodeToString(bytes);
+	}
+
+	protected void addCookie(final JEEContext context, final String sessionId, final int maxAge) {
+		final Cookie cookie = new Cookie(cookieName, sessionId);
+		cookie.setMaxAge(maxAge);
+		cookie.setPath(cookiePath);
+		cookie.setSecure(cookieSecure);
+		cookie.setHttpOnly(cookieHttpOnly);
+		if (cookieDomain != null) {
+			cookie.setDomain(cookieDomain);
+		}
+		context.addResponseCookie(cookie);
+	}
+
+	/**
+	 * Refresh the expiration of the session.
+	 *
+	 * @param sessionId the session id.
+	 * @return whether the session exists.
+	 */
+	protected abstract boolean touch(String sessionId);
+
+	protected abstract Object getAttribute(String sessionId, String key);
+
+	protected abstract void setAttribute(String sessionId, String key, Object value);
+
+	protected abstract void removeAttribute(String sessionId, String key);
+
+	protected abstract void deleteSession(String sessionId);
+
+	protected abstract void renameSession(String sessionId, String newSessionId);
+
+	public String getCookieName() {
+		return cookieName;
+	}
+
+	public void setCookieName(final String cookieName) {
+		CommonHelper.assertNotBlank("cookieName", cookieName);
+		this.cookieName = cookieName;
+	}
+
+	public String getCookieDomain() {
+		return cookieDomain;
+	}
+
+	public void setCookieDomain(final String cookieDomain) {
+		this.cookieDomain = cookieDomain;
+	}
+
+	public String getCookiePath() {
+		return cookiePath;
+	}
+
+	public void setCookiePath(final String cookiePath) {
+		this.cookiePath = cookiePath;
+	}
+
+	public boolean isCookieSecure() {
+		return cookieSecure;
+	}
+
+	public void setCookieSecure(final boolean cookieSecure) {
+		this.cookieSecure = cookieSecure;
+	}
+
+	public boolean isCookieHttpOnly() {
+		return cookieHttpOnly;
+	}
+
+	public void setCookieHttpOnly(final boolean cookieHttpOnly) {
+		this.cookieHttpOnly = cookieHttpOnly;
+	}
+
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(final Duration timeout) {
+		CommonHelper.assertNotNull("timeout", timeout);
+		this.timeout = timeout;
+	}
+
+	public Set<String> getExtraKeys() {
+		return extraKeys;
+	}
+
+	public void setExtraKeys(final Collection<String> extraKeys) {
+		this.extraKeys = new HashSet<>(extraKeys);
+	}
+
+	/**
+	 * The session identified by a trackable session id, i.e. for the back-channel logout.
+	 */
+	private class TrackedSessionStore implements SessionStore<JEEContext> {
+
+		private final String sessionId;
+
+		private TrackedSessionStore(final String sessionId) {
+			this.sessionId = sessionId;
+		}
+
+		@Override
+		public String getOrCreateSessionId(final JEEContext context) {
+			return sessionId;
+		}
+
+		@Override
+		public Optional<Object> get(final JEEContext context, final String key) {
+			return isSessionKey(key) ? Optional.ofNullable(getAttribute(sessionId, key)) : Optional.empty();
+		}
+
+		@Override
+		public void set(final JEEContext context, final String key, final Object value) {
+			if (!isSessionKey(key)) {
+				return;
+			}
+			if (value == null) {
+				removeAttribute(sessionId, key);
+			} else {
+				setAttribute(sessionId, key, value);
+			}
+		}
+
+		@Override
+		public boolean destroySession(final JEEContext context) {
+			deleteSession(sessionId);
+			return true;
+		}
+
+		@Override
+		public Optional<Object> getTrackableSession(final JEEContext context) {
+			return Optional.of(sessionId);
+		}
+
+		@Override
+		public Optional<SessionStore<JEEContext>> buildFromTrackableSession(final JEEContext context, final Object trackableSession) {
+			return AbstractPac4jSessionStore.this.buildFromTrackableSession(context, trackableSession);
+		}
+
+		@Override
+		public boolean renewSession(final JEEContext context) {
+			return false;
+		}
+
+	}
+
+}
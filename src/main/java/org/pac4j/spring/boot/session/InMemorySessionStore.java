@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.session;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local session store, split in independent stripes so that the expiration and the size bound of one stripe never
+ * block the others. Each stripe keeps its sessions in access order: the least recently used session is evicted in
+ * O(1) once the stripe is full, and the expired ones are dropped from the head of the stripe as they are met.
+ * Values are kept as is, without serialization.
+ */
+public class InMemorySessionStore extends AbstractPac4jSessionStore {
+
+	private final Stripe[] stripes;
+	private final int mask;
+	private final int maximumSessionsPerStripe;
+
+	public InMemorySessionStore() {
+		this(16, 100000);
+	}
+
+	public InMemorySessionStore(final int stripes, final int maximumSessions) {
+		int size = 1;
+		while (size < stripes) {
+			size <<= 1;
+		}
+		this.stripes = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new Stripe();
+		}
+		this.mask = size - 1;
+		this.maximumSessionsPerStripe = Math.max(1, maximumSessions / size);
+	}
+
+	@Override
+	protected boolean touch(final String sessionId) {
+		return this.session(sessionId, false) != null;
+	}
+
+	@Override
+	protected Object getAttribute(final String sessionId, final String key) {
+		final Session session = this.session(sessionId, false);
+		return session == null ? null : session.attributes.get(key);
+	}
+
+	@Override
+	protected void setAttribute(final String sessionId, final String key, final Object value) {
+		this.session(sessionId, true).attributes.put(key, value);
+	}
+
+	@Override
+	protected void removeAttribute(final String sessionId, final String key) {
+		final Session session = this.session(sessionId, false);
+		if (session != null) {
+			session.attributes.remove(key);
+		}
+	}
+
+	@Override
+	protected void deleteSession(final String sessionId) {
+		final Stripe stripe = this.stripe(sessionId);
+		synchronized (stripe) {
+			stripe.sessions.remove(sessionId);
+		}
+	}
+
+	@Override
+	protected void renameSession(final String sessionId, final String newSessionId) {
+		final Stripe stripe = this.stripe(sessionId);
+		final Session session;
+		synchronized (stripe) {
+			session = stripe.sessions.remove(sessionId);
+		}
+		if (session != null) {
+			final Stripe newStripe = this.stripe(newSessionId);
+			synchronized (newStripe) {
+				session.lastAccessTime = System.currentTimeMillis();
+				newStripe.sessions.put(newSessionId, session);
+			}
+		}
+	}
+
+	public int getSize() {
+		int size = 0;
+		for (final Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.sessions.size();
+			}
+		}
+		return size;
+	}
+
+	private Stripe stripe(final String sessionId) {
+		final int h = sessionId.hashCode();
+		return stripes[(h ^ (h >>> 16)) & mask];
+	}
+
+	private Session session(final String sessionId, final boolean create) {
+		final Stripe stripe = this.stripe(sessionId);
+		final long now = System.currentTimeMillis();
+		final long timeoutMillis = getTimeout().toMillis();
+		synchronized (stripe) {
+			stripe.expire(now, timeoutMillis);
+			// access order: get moves the session to the tail of the stripe
+			Session session = stripe.sessions.get(sessionId);
+			if (session == null && create) {
+				session = new Session();
+				stripe.sessions.put(sessionId, session);
+			}
+			if (session != null) {
+				session.lastAccessTime = now;
+			}
+			return session;
+		}
+	}
+
+	private final class Stripe {
+
+		private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<String, Session>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Session> eldest) {
+				if (size() > maximumSessionsPerStripe) {
+					logger.debug("Maximum sessions reached, evicting : {}", eldest.getKey());
+					return true;
+				}
+				return false;
+			}
+
+		};
+
+		/**
+		 * The sessions are ordered by last access, the expired ones are all at the head.
+		 */
+		private void expire(final long now, final long timeoutMillis) {
+			final Iterator<Session> iterator = sessions.values().iterator();
+			while (iterator.hasNext()) {
+				if (now - iterator.next().lastAccessTime <= timeoutMillis) {
+					return;
+				}
+				iterator.remove();
+			}
+		}
+
+	}
+
+	private static final class Session {
+
+		private final ConcurrentHashMap<String, Object> attributes = new ConcurrentHashMap<>();
+		private long lastAccessTime;
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.session;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.JavaSerializationHelper;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Session store shared by all the nodes : one Redis hash per session, one field per pac4j key, values serialized with
+ * the {@link JavaSerializationHelper} restricted to the trusted packages. Works with any Redis protocol compatible server.
+ */
+public class RedisSessionStore extends AbstractPac4jSessionStore {
+
+	private final StringRedisTemplate redisTemplate;
+	private final HashOperations<String, String, String> hashOperations;
+	private final JavaSerializationHelper serializationHelper = new JavaSerializationHelper();
+	private String keyPrefix = "pac4j:session:";
+
+	public RedisSessionStore(final StringRedisTemplate redisTemplate) {
+		CommonHelper.assertNotNull("redisTemplate", redisTemplate);
+		this.redisTemplate = redisTemplate;
+		this.hashOperations = redisTemplate.opsForHash();
+	}
+
+	@Override
+	protected boolean touch(final String sessionId) {
+		return Boolean.TRUE.equals(redisTemplate.expire(this.key(sessionId), getTimeout()));
+	}
+
+	@Override
+	protected Object getAttribute(final String sessionId, final String key) {
+		final String value = hashOperations.get(this.key(sessionId), key);
+		return value == null ? null : serializationHelper.deserializeFromBase64(value);
+	}
+
+	@Override
+	protected void setAttribute(final String sessionId, final String key, final Object value) {
+		if (!(value instanceof Serializable)) {
+			logger.warn("Session value of {} is not serializable, ignored : {}", key, value.getClass().getName());
+			return;
+		}
+		final String redisKey = this.key(sessionId);
+		hashOperations.put(redisKey, key, serializationHelper.serializeToBase64((Serializable) value));
+		redisTemplate.expire(redisKey, getTimeout());
+	}
+
+	@Override
+	protected void removeAttribute(final String sessionId, final String key) {
+		hashOperations.delete(this.key(sessionId), key);
+	}
+
+	@Override
+	protected void deleteSession(final String sessionId) {
+		redisTemplate.delete(this.key(sessionId));
+	}
+
+	@Override
+	protected void renameSession(final String sessionId, final String newSessionId) {
+		final String redisKey = this.key(sessionId);
+		if (Boolean.TRUE.equals(redisTemplate.hasKey(redisKey))) {
+			redisTemplate.rename(redisKey, this.key(newSessionId));
+		}
+	}
+
+	protected String key(final String sessionId) {
+		return keyPrefix + sessionId;
+	}
+
+	public String getKeyPrefix() {
+		return keyPrefix;
+	}
+
+	public void setKeyPrefix(final String keyPrefix) {
+		this.keyPrefix = keyPrefix;
+	}
+
+	public void addTrustedPackages(final Collection<String> packages) {
+		serializationHelper.addTrustedPackages(packages);
+	}
+
+}
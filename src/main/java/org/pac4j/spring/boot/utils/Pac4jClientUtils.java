@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.utils;
+
+import org.pac4j.cas.client.CasClient;
+import org.pac4j.cas.client.direct.DirectCasClient;
+import org.pac4j.cas.client.direct.DirectCasProxyClient;
+import org.pac4j.cas.client.rest.AbstractCasRestClient;
+import org.pac4j.core.client.Client;
+import org.pac4j.oauth.client.OAuth10Client;
+import org.pac4j.oauth.client.OAuth20Client;
+import org.pac4j.spring.boot.client.LazyClient;
+
+@SuppressWarnings("rawtypes")
+public class Pac4jClientUtils {
+
+	/**
+	 * @param client the client, possibly a {@link LazyClient}.
+	 * @return the real client.
+	 */
+	public static Client unwrap(final Client client) {
+		return client instanceof LazyClient ? ((LazyClient) client).getDelegate() : client;
+	}
+
+	/**
+	 * The url of the remote server the client calls while authenticating: the prefix url of the CAS clients, the
+	 * access token endpoint of the OAuth clients, which they only know once initialized.
+	 *
+	 * @param client the client.
+	 * @return the url, null if the client validates locally or is not initialized yet.
+	 */
+	public static String serverUrl(final Client client) {
+		final Client real = unwrap(client);
+		try {
+			if (real instanceof CasClient) {
+				return ((CasClient) real).getConfiguration().getPrefixUrl();
+			}
+			if (real instanceof DirectCasClient) {
+				return ((DirectCasClient) real).getConfiguration().getPrefixUrl();
+			}
+			if (real instanceof DirectCasProxyClient) {
+				return ((DirectCasProxyClient) real).getConfiguration().getPrefixUrl();
+			}
+			if (real instanceof AbstractCasRestClient) {
+				return ((AbstractCasRestClient) real).getConfiguration().getPrefixUrl();
+			}
+			if (real instanceof OAuth20Client) {
+				return ((OAuth20Client) real).getConfiguration().getApi().getAccessTokenEndpoint();
+			}
+			if (real instanceof OAuth10Client) {
+				return ((OAuth10Client) real).getConfiguration().getApi().getAccessTokenEndpoint();
+			}
+		} catch (RuntimeException e) {
+			// 尚未初始化的 OAuth 客户端没有 api
+		}
+		return null;
+	}
+
+	public static boolean isOAuthClient(final Client client) {
+		final Client real = unwrap(client);
+		return real instanceof OAuth20Client || real instanceof OAuth10Client;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * HMAC-SHA256 of username and password under a random key generated per instance, used as cache key so that
+ * neither the passwords nor reusable hashes of them are kept in memory.
+ */
+public class Pac4jCredentialsHasher {
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private final ThreadLocal<Mac> mac;
+
+	public Pac4jCredentialsHasher() {
+		final byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		final SecretKeySpec secretKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+		this.mac = ThreadLocal.withInitial(() -> {
+			try {
+				final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+				mac.init(secretKey);
+				return mac;
+			} catch (final GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	/**
+	 * @param username the username.
+	 * @param password the password.
+	 * @return the keyed hash, encoded as unpadded url-safe Base64.
+	 */
+	public String hash(final String username, final String password) {
+		final Mac mac = this.mac.get();
+		mac.update(username.getBytes(StandardCharsets.UTF_8));
+		mac.update((byte) 0);
+		return ENCODER.encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.utils;
+
+import org.pac4j.core.context.HttpConstants.HTTP_METHOD;
+
+/**
+ * HTTP method bit sets, so that checking a request method is a switch on the method name and a mask test.
+ */
+public class Pac4jHttpMethodUtils {
+
+	/**
+	 * @param method the HTTP method.
+	 * @return the bit of the method in a method set.
+	 */
+	public static int bit(final HTTP_METHOD method) {
+		return 1 << method.ordinal();
+	}
+
+	/**
+	 * @param methods the method set.
+	 * @param method the request method, as returned by {@code WebContext#getRequestMethod()}.
+	 * @return whether the method is in the set; unknown methods never are.
+	 */
+	public static boolean contains(final int methods, final String method) {
+		final HTTP_METHOD httpMethod = toHttpMethod(method);
+		return httpMethod != null && (methods & bit(httpMethod)) != 0;
+	}
+
+	/**
+	 * Case sensitive lookup of the method, without the exception of {@link HTTP_METHOD#valueOf(String)}.
+	 *
+	 * @param method the request method.
+	 * @return the matching constant, null if unknown.
+	 */
+	public static HTTP_METHOD toHttpMethod(final String method) {
+		if (method == null) {
+			return null;
+		}
+		switch (method) {
+		case "GET":
+			return HTTP_METHOD.GET;
+		case "POST":
+			return HTTP_METHOD.POST;
+		case "PUT":
+			return HTTP_METHOD.PUT;
+		case "DELETE":
+			return HTTP_METHOD.DELETE;
+		case "PATCH":
+			return HTTP_METHOD.PATCH;
+		case "HEAD":
+			return HTTP_METHOD.HEAD;
+		case "OPTIONS":
+			return HTTP_METHOD.OPTIONS;
+		case "TRACE":
+			return HTTP_METHOD.TRACE;
+		default:
+			return null;
+		}
+	}
+
+}
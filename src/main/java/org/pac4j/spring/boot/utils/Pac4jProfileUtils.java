@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.utils;
+
+import java.util.Date;
+
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.profile.ProfileHelper;
+import org.pac4j.core.profile.jwt.JwtClaims;
+
+public class Pac4jProfileUtils {
+
+	/**
+	 * Copy a cached profile so that authorization generators applied on the request path never mutate the cached instance.
+	 *
+	 * @param profile the profile to copy.
+	 * @return a new profile of the same type holding the same data.
+	 */
+	public static CommonProfile copyOf(final CommonProfile profile) {
+		final CommonProfile copy = ProfileHelper.buildUserProfileByClassCompleteName(profile.getClass().getName());
+		copy.build(profile.getId(), profile.getAttributes(), profile.getAuthenticationAttributes());
+		copy.addRoles(profile.getRoles());
+		copy.addPermissions(profile.getPermissions());
+		copy.setClientName(profile.getClientName());
+		copy.setLinkedId(profile.getLinkedId());
+		copy.setRemembered(profile.isRemembered());
+		return copy;
+	}
+
+	/**
+	 * The expiration time of the profile in milliseconds, read from the {@code exp} claim.
+	 *
+	 * @param profile the profile.
+	 * @return the expiration time, or {@link Long#MAX_VALUE} if the profile has no expiration.
+	 */
+	public static long expirationTimeMillis(final CommonProfile profile) {
+		final Object exp = profile.getAttribute(JwtClaims.EXPIRATION_TIME);
+		if (exp instanceof Date) {
+			return ((Date) exp).getTime();
+		}
+		if (exp instanceof Number) {
+			return ((Number) exp).longValue() * 1000L;
+		}
+		return Long.MAX_VALUE;
+	}
+
+}
@@ -16,8 +16,6 @@
 package org.pac4j.spring.boot.utils;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -44,26 +42,112 @@ public class Pac4jUrlUtils {
     }
 
 	public static String constructRedirectUrl(String serviceUrl, String clientParameterName, String clientName) {
-		return serviceUrl + (serviceUrl.contains("?") ? "&" : "?") + clientParameterName + "=" + clientName;
+		return constructRedirectUrl(serviceUrl, clientParameterName, clientName, false);
 	}
 	
     public static String constructRedirectUrl(final String serviceUrl, final String clientParameterName,
             final String clientName, final boolean encodeUrl) {
-        return (encodeUrl ? urlEncode(serviceUrl) : serviceUrl) + (serviceUrl.contains("?") ? "&" : "?") + clientParameterName + "=" + clientName;
+        final StringBuilder builder = new StringBuilder(serviceUrl.length() + clientParameterName.length() + clientName.length() + 16);
+        if (encodeUrl) {
+            urlEncode(serviceUrl, builder);
+        } else {
+            builder.append(serviceUrl);
+        }
+        return builder.append(serviceUrl.indexOf('?') < 0 ? '?' : '&').append(clientParameterName).append('=').append(clientName).toString();
     }
 
     /**
-     * Url encode a value using UTF-8 encoding.
+     * Url encode a value using UTF-8 encoding, the result is the same as {@code URLEncoder.encode(value, "UTF-8")}.
      * 
      * @param value the value to encode.
      * @return the encoded value.
      */
     public static String urlEncode(final String value) {
-        try {
-            return URLEncoder.encode(value, "UTF-8");
-        } catch (final UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
+        final int length = value.length();
+        int i = 0;
+        while (i < length && isUnreserved(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return value;
         }
+        final StringBuilder builder = new StringBuilder(length + 16);
+        builder.append(value, 0, i);
+        encode(value, i, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Url encode a value using UTF-8 encoding and append it to the given builder, without any intermediate string.
+     * 
+     * @param value the value to encode.
+     * @param builder the builder the encoded value is appended to.
+     * @return the given builder.
+     */
+    public static StringBuilder urlEncode(final CharSequence value, final StringBuilder builder) {
+        encode(value, 0, builder);
+        return builder;
+    }
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // ASCII characters left as is by URLEncoder: a-z A-Z 0-9 . - * _
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
+
+    private static boolean isUnreserved(final char c) {
+        return c < 128 && UNRESERVED[c];
+    }
+
+    private static void encode(final CharSequence value, final int start, final StringBuilder builder) {
+        final int length = value.length();
+        for (int i = start; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 128) {
+                if (UNRESERVED[c]) {
+                    builder.append(c);
+                } else if (c == ' ') {
+                    builder.append('+');
+                } else {
+                    appendEscaped(builder, c);
+                }
+            } else if (c < 0x800) {
+                appendEscaped(builder, 0xC0 | (c >> 6));
+                appendEscaped(builder, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendEscaped(builder, 0xF0 | (codePoint >> 18));
+                appendEscaped(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendEscaped(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendEscaped(builder, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced by '?' like the UTF-8 encoder used by URLEncoder
+                appendEscaped(builder, '?');
+            } else {
+                appendEscaped(builder, 0xE0 | (c >> 12));
+                appendEscaped(builder, 0x80 | ((c >> 6) & 0x3F));
+                appendEscaped(builder, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void appendEscaped(final StringBuilder builder, final int b) {
+        builder.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
     }
 
 	
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pac4j.core.util.CommonHelper;
+
+/**
+ * Url made of a base url followed by query parameters, some static and some only known per request.
+ * Static parameters are encoded once when the template is built, expanding the template only encodes
+ * the dynamic values into a per-thread reusable builder. Expanded urls are the same as the ones built by
+ * chained {@link CommonHelper#addParameter(String, String, String)} calls, parameter names are not encoded.
+ */
+public final class UrlTemplate {
+
+	private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+	/** Builders growing above this capacity are not kept for the next expansion. */
+	private static final int MAX_RETAINED_CAPACITY = 8192;
+
+	private final String baseUrl;
+	/** The pre-encoded static parts, one more than the dynamic parameters. */
+	private final String[] segments;
+	private final int staticLength;
+
+	private UrlTemplate(final String baseUrl, final List<String> segments) {
+		this.baseUrl = baseUrl;
+		this.segments = segments.toArray(new String[0]);
+		int length = 0;
+		for (final String segment : this.segments) {
+			length += segment.length();
+		}
+		this.staticLength = length;
+	}
+
+	public static Builder of(final String baseUrl) {
+		CommonHelper.assertNotBlank("baseUrl", baseUrl);
+		return new Builder(baseUrl);
+	}
+
+	/**
+	 * Expand the template with the values of its dynamic parameters, in declaration order.
+	 *
+	 * @param values the raw values of the dynamic parameters, encoded while appended; null values are rendered empty.
+	 * @return the url.
+	 */
+	public String expand(final String... values) {
+		if (values.length != segments.length - 1) {
+			throw new IllegalArgumentException("Expected " + (segments.length - 1) + " values but got " + values.length);
+		}
+		if (values.length == 0) {
+			return segments[0];
+		}
+		StringBuilder builder = BUILDER.get();
+		if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+			builder = new StringBuilder(256);
+			BUILDER.set(builder);
+		}
+		builder.setLength(0);
+		builder.ensureCapacity(staticLength + 64 * values.length);
+		builder.append(segments[0]);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				Pac4jUrlUtils.urlEncode(values[i], builder);
+			}
+			builder.append(segments[i + 1]);
+		}
+		return builder.toString();
+	}
+
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	public int getDynamicParameterCount() {
+		return segments.length - 1;
+	}
+
+	@Override
+	public String toString() {
+		return CommonHelper.toNiceString(this.getClass(), "baseUrl", baseUrl, "segments", String.join("{}", segments));
+	}
+
+	public static final class Builder {
+
+		private final String baseUrl;
+		private final List<String> segments = new ArrayList<>();
+		private final StringBuilder current;
+		private boolean hasQuery;
+
+		private Builder(final String baseUrl) {
+			this.baseUrl = baseUrl;
+			this.current = new StringBuilder(baseUrl);
+			this.hasQuery = baseUrl.indexOf('?') >= 0;
+		}
+
+		/**
+		 * Add a parameter whose value is known now.
+		 *
+		 * @param name the parameter name, a null name is ignored.
+		 * @param value the raw parameter value, a null value is rendered empty.
+		 * @return this builder.
+		 */
+		public Builder param(final String name, final String value) {
+			if (name != null) {
+				separator().append(name).append('=');
+				if (value != null) {
+					Pac4jUrlUtils.urlEncode(value, current);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * Add a parameter whose value is given to {@link UrlTemplate#expand(String...)}.
+		 *
+		 * @param name the parameter name.
+		 * @return this builder.
+		 */
+		public Builder dynamicParam(final String name) {
+			CommonHelper.assertNotBlank("name", name);
+			separator().append(name).append('=');
+			segments.add(current.toString());
+			current.setLength(0);
+			return this;
+		}
+
+		private StringBuilder separator() {
+			current.append(hasQuery ? '&' : '?');
+			hasQuery = true;
+			return current;
+		}
+
+		public UrlTemplate build() {
+			final List<String> parts = new ArrayList<>(segments);
+			parts.add(current.toString());
+			return new UrlTemplate(baseUrl, parts);
+		}
+
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Initializes every configured client: CAS / OIDC / SAML metadata, OAuth services, keys, the lazy clients included.
+ */
+@SuppressWarnings("rawtypes")
+public class ClientsWarmupTask implements WarmupTask {
+
+	public static final int ORDER = 0;
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Clients clients;
+
+	public ClientsWarmupTask(Clients clients) {
+		this.clients = clients;
+	}
+
+	@Override
+	public String getName() {
+		return "clients";
+	}
+
+	@Override
+	public void run() {
+		clients.init();
+		final List<String> failures = new ArrayList<>();
+		for (Client client : clients.findAllClients()) {
+			if (!(client instanceof BaseClient) || ((BaseClient) client).isInitialized()) {
+				continue;
+			}
+			final long start = System.nanoTime();
+			try {
+				((BaseClient) client).init();
+				logger.debug("Client {} initialized in {} ms", client.getName(), (System.nanoTime() - start) / 1000000L);
+			} catch (RuntimeException e) {
+				logger.warn("Client {} cannot be initialized : {}", client.getName(), e.getMessage());
+				failures.add(client.getName());
+			}
+		}
+		if (!failures.isEmpty()) {
+			throw new IllegalStateException("Clients not initialized : " + failures);
+		}
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Opens a connection to a remote endpoint through the transport the clients use for it, leaving it in that
+ * transport's connection pool.
+ */
+public interface EndpointConnector {
+
+	/**
+	 * @param endpoint the endpoint.
+	 * @param timeout the connect and read timeout.
+	 * @return the HTTP status of the response, whatever it is: only the connection matters.
+	 * @throws IOException if the endpoint cannot be reached.
+	 */
+	int connect(URI endpoint, Duration timeout) throws IOException;
+
+}
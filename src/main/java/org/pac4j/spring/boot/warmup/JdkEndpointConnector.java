@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.time.Duration;
+
+/**
+ * {@link EndpointConnector} for the clients calling their server through {@link HttpURLConnection} (CAS ticket
+ * validation, OAuth without pooling): the response is fully read and the connection is not disconnected, so it
+ * stays in the JDK keep-alive cache and the TLS session can be resumed.
+ */
+public class JdkEndpointConnector implements EndpointConnector {
+
+	@Override
+	public int connect(URI endpoint, Duration timeout) throws IOException {
+		final URLConnection urlConnection = endpoint.toURL().openConnection();
+		if (!(urlConnection instanceof HttpURLConnection)) {
+			throw new IOException("Not an http endpoint : " + endpoint);
+		}
+		final HttpURLConnection connection = (HttpURLConnection) urlConnection;
+		connection.setRequestMethod("HEAD");
+		connection.setConnectTimeout((int) timeout.toMillis());
+		connection.setReadTimeout((int) timeout.toMillis());
+		connection.setInstanceFollowRedirects(false);
+		final int status = connection.getResponseCode();
+		drain(status >= 400 ? connection.getErrorStream() : connection.getInputStream());
+		return status;
+	}
+
+	private static void drain(final InputStream stream) throws IOException {
+		if (stream == null) {
+			return;
+		}
+		try (InputStream in = stream) {
+			final byte[] buffer = new byte[1024];
+			while (in.read(buffer) != -1) {
+				// 读完响应，连接才会回到 keep-alive 缓存
+			}
+		}
+	}
+
+}
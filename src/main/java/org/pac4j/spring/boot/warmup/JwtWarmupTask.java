@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.jwt.config.encryption.EncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SignatureConfiguration;
+import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.jwt.profile.JwtGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validates a self-signed token through the {@link JwtAuthenticator} a number of times, so that the signature,
+ * decryption and profile building paths are loaded and compiled before the first request. The token goes straight
+ * to the authenticator: it is neither cached nor timed by the decorators of the clients.
+ */
+public class JwtWarmupTask implements WarmupTask {
+
+	public static final int ORDER = 200;
+	public static final String SUBJECT = "pac4j-warmup";
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final JwtAuthenticator authenticator;
+	private final int passes;
+
+	public JwtWarmupTask(JwtAuthenticator authenticator, int passes) {
+		CommonHelper.assertNotNull("authenticator", authenticator);
+		this.authenticator = authenticator;
+		this.passes = passes;
+	}
+
+	@Override
+	public String getName() {
+		return "jwt";
+	}
+
+	@Override
+	public void run() {
+		if (passes <= 0) {
+			return;
+		}
+		final String token = token();
+		if (token == null) {
+			logger.info("No signature configuration able to sign, JWT warm-up skipped");
+			return;
+		}
+		int rejected = 0;
+		for (int i = 0; i < passes; i++) {
+			if (authenticator.validateToken(token) == null) {
+				rejected++;
+			}
+		}
+		if (rejected > 0) {
+			throw new IllegalStateException("The warm-up token was rejected " + rejected + " times out of " + passes);
+		}
+	}
+
+	/**
+	 * @return a token signed by the first signature configuration able to sign (secret or private key) and
+	 *         encrypted by the first encryption configuration if any, null if none can sign.
+	 */
+	protected String token() {
+		final List<SignatureConfiguration> signatureConfigurations = authenticator.getSignatureConfigurations();
+		final List<EncryptionConfiguration> encryptionConfigurations = authenticator.getEncryptionConfigurations();
+		final EncryptionConfiguration encryptionConfiguration = encryptionConfigurations == null
+				|| encryptionConfigurations.isEmpty() ? null : encryptionConfigurations.get(0);
+		if (signatureConfigurations == null) {
+			return null;
+		}
+		for (SignatureConfiguration signatureConfiguration : signatureConfigurations) {
+			try {
+				final JwtGenerator generator = new JwtGenerator(signatureConfiguration, encryptionConfiguration);
+				generator.setExpirationTime(new Date(System.currentTimeMillis() + 60000L));
+				return generator.generate(Collections.singletonMap("sub", SUBJECT));
+			} catch (RuntimeException e) {
+				logger.debug("Signature configuration {} cannot sign : {}", signatureConfiguration, e.getMessage());
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+
+/**
+ * Runs the {@link WarmupTask}s once the context is refreshed: Spring Boot runs the application runners before
+ * publishing {@link ReadinessState#ACCEPTING_TRAFFIC}, so the readiness probe only succeeds once the clients are
+ * initialized and the connections to the identity providers are open.
+ */
+public class Pac4jWarmup implements ApplicationRunner, Ordered {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final List<WarmupTask> tasks;
+	private final ApplicationEventPublisher eventPublisher;
+	private final boolean failFast;
+	private volatile boolean done;
+
+	public Pac4jWarmup(List<WarmupTask> tasks, ApplicationEventPublisher eventPublisher, boolean failFast) {
+		this.tasks = tasks;
+		this.eventPublisher = eventPublisher;
+		this.failFast = failFast;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		// 预热期间明确拒绝流量，就绪状态由 Spring Boot 在全部 ApplicationRunner 执行完成后切换为 ACCEPTING_TRAFFIC
+		AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+		final long start = System.nanoTime();
+		int failed = 0;
+		for (WarmupTask task : tasks) {
+			final long taskStart = System.nanoTime();
+			try {
+				task.run();
+				logger.debug("Warm-up task {} done in {} ms", task.getName(), millis(taskStart));
+			} catch (Exception e) {
+				failed++;
+				if (failFast) {
+					throw new IllegalStateException("Pac4j warm-up task " + task.getName() + " failed", e);
+				}
+				logger.warn("Warm-up task {} failed in {} ms : {}", task.getName(), millis(taskStart), e.getMessage());
+			}
+		}
+		done = true;
+		logger.info("Pac4j warm-up done in {} ms ({} tasks, {} failed)", millis(start), tasks.size(), failed);
+	}
+
+	public boolean isDone() {
+		return done;
+	}
+
+	public List<WarmupTask> getTasks() {
+		return tasks;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	private static long millis(final long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.spring.boot.utils.Pac4jClientUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens a connection to the server of every CAS and OAuth client, once per host, so that the first logins do not
+ * pay for the TCP and TLS handshakes. Runs after {@link ClientsWarmupTask}: the OAuth clients only know their
+ * endpoints once initialized.
+ */
+@SuppressWarnings("rawtypes")
+public class PreconnectWarmupTask implements WarmupTask {
+
+	public static final int ORDER = 100;
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Clients clients;
+	private final EndpointConnector connector;
+	private final EndpointConnector oauthConnector;
+	private final Duration timeout;
+
+	/**
+	 * @param clients the clients.
+	 * @param connector the connector of the CAS servers.
+	 * @param oauthConnector the connector of the OAuth providers, the pooled transport of the OAuth clients if any.
+	 * @param timeout the connect and read timeout.
+	 */
+	public PreconnectWarmupTask(Clients clients, EndpointConnector connector, EndpointConnector oauthConnector,
+			Duration timeout) {
+		this.clients = clients;
+		this.connector = connector;
+		this.oauthConnector = oauthConnector;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public String getName() {
+		return "preconnect";
+	}
+
+	@Override
+	public void run() {
+		final Map<String, EndpointConnector> origins = new LinkedHashMap<>();
+		final Map<String, URI> endpoints = new LinkedHashMap<>();
+		for (Client client : clients.findAllClients()) {
+			final String serverUrl = Pac4jClientUtils.serverUrl(client);
+			if (serverUrl == null) {
+				continue;
+			}
+			try {
+				final URI endpoint = URI.create(serverUrl);
+				final String origin = endpoint.getScheme() + "://" + endpoint.getAuthority();
+				if (!origins.containsKey(origin)) {
+					origins.put(origin, Pac4jClientUtils.isOAuthClient(client) ? oauthConnector : connector);
+					endpoints.put(origin, endpoint);
+				}
+			} catch (IllegalArgumentException e) {
+				logger.debug("Invalid server url {} for client {}", serverUrl, client.getName());
+			}
+		}
+		final List<String> failures = new ArrayList<>();
+		for (Map.Entry<String, EndpointConnector> entry : origins.entrySet()) {
+			final long start = System.nanoTime();
+			try {
+				final int status = entry.getValue().connect(endpoints.get(entry.getKey()), timeout);
+				logger.debug("Connected to {} in {} ms (status {})", entry.getKey(), (System.nanoTime() - start) / 1000000L, status);
+			} catch (Exception e) {
+				logger.warn("Cannot connect to {} : {}", entry.getKey(), e.getMessage());
+				failures.add(entry.getKey());
+			}
+		}
+		if (!failures.isEmpty()) {
+			throw new IllegalStateException("Servers not reachable : " + failures);
+		}
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.warmup;
+
+import org.springframework.core.Ordered;
+
+/**
+ * A step of the {@link Pac4jWarmup}, run once at startup before the application accepts traffic.
+ */
+public interface WarmupTask extends Ordered {
+
+	String getName();
+
+	/**
+	 * @throws Exception if the step failed, the application starts anyway unless the warm-up is set to fail fast.
+	 */
+	void run() throws Exception;
+
+}
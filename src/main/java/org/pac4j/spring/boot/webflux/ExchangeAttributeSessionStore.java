@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.webflux;
+
+import java.util.Optional;
+
+import org.pac4j.core.context.session.SessionStore;
+
+/**
+ * Request scoped {@link SessionStore} keeping the values in the exchange attributes: direct clients are stateless,
+ * they only need somewhere to put the values pac4j stores along the authentication of a single request.
+ */
+public class ExchangeAttributeSessionStore implements SessionStore<ServerWebExchangeContext> {
+
+	private static final String PREFIX = ExchangeAttributeSessionStore.class.getName() + ".";
+
+	@Override
+	public String getOrCreateSessionId(final ServerWebExchangeContext context) {
+		return context.getExchange().getLogPrefix().trim();
+	}
+
+	@Override
+	public Optional<Object> get(final ServerWebExchangeContext context, final String key) {
+		return Optional.ofNullable(context.getExchange().getAttribute(PREFIX + key));
+	}
+
+	@Override
+	public void set(final ServerWebExchangeContext context, final String key, final Object value) {
+		if (value == null) {
+			context.getExchange().getAttributes().remove(PREFIX + key);
+		} else {
+			context.getExchange().getAttributes().put(PREFIX + key, value);
+		}
+	}
+
+	@Override
+	public boolean destroySession(final ServerWebExchangeContext context) {
+		context.getExchange().getAttributes().keySet().removeIf(key -> key.startsWith(PREFIX));
+		return true;
+	}
+
+	@Override
+	public Optional getTrackableSession(final ServerWebExchangeContext context) {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<SessionStore<ServerWebExchangeContext>> buildFromTrackableSession(final ServerWebExchangeContext context,
+			final Object trackableSession) {
+		return Optional.empty();
+	}
+
+	@Override
+	public boolean renewSession(final ServerWebExchangeContext context) {
+		return false;
+	}
+
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.webflux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+import org.pac4j.core.authorization.checker.AuthorizationChecker;
+import org.pac4j.core.authorization.checker.DefaultAuthorizationChecker;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.DirectClient;
+import org.pac4j.core.client.finder.ClientFinder;
+import org.pac4j.core.client.finder.DefaultSecurityClientFinder;
+import org.pac4j.core.config.Config;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.credentials.Credentials;
+import org.pac4j.core.exception.http.HttpAction;
+import org.pac4j.core.exception.http.WithContentAction;
+import org.pac4j.core.exception.http.WithLocationAction;
+import org.pac4j.core.matching.checker.DefaultMatchingChecker;
+import org.pac4j.core.matching.checker.MatchingChecker;
+import org.pac4j.core.matching.matcher.Matcher;
+import org.pac4j.core.profile.Pac4JPrincipal;
+import org.pac4j.core.profile.UserProfile;
+import org.pac4j.core.util.CommonHelper;
+import org.pac4j.core.util.Pac4jConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Reactive counterpart of the pac4j security filter, limited to the direct clients of the {@link Config}, i.e. the
+ * token style clients whose credentials come with every request.
+ * <p>
+ * Client lookup, matchers and the response are handled on the event loop; the pac4j credential validation and
+ * profile creation, which are synchronous and may call out to CAS, an OAuth provider or a JWKS endpoint, run on
+ * the given {@link Scheduler}. They still hold one of its threads for the whole remote call, so the scheduler
+ * bounds the number of concurrent validations.
+ * <p>
+ * On success the profiles are exposed as the {@link Pac4jConstants#USER_PROFILES} exchange attribute and the
+ * first one as the exchange {@link java.security.Principal}. Indirect clients (redirection based CAS / OAuth
+ * logins) are not supported: there is no callback endpoint and no session to keep the requested url and state
+ * across the redirection, so they are ignored by this filter.
+ */
+public class Pac4jWebFilter implements WebFilter, Ordered {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Config config;
+	private final Scheduler scheduler;
+
+	private String clients;
+	private String authorizers;
+	private String matchers;
+	private boolean multiProfile = false;
+	private int order = 0;
+	private List<PathPattern> pathPatterns = Collections.emptyList();
+	private List<PathPattern> excludePathPatterns = Collections.emptyList();
+	private Matcher requestMatcher;
+
+	private ClientFinder clientFinder = new DefaultSecurityClientFinder();
+	private AuthorizationChecker authorizationChecker = new DefaultAuthorizationChecker();
+	private MatchingChecker matchingChecker = new DefaultMatchingChecker();
+
+	public Pac4jWebFilter(final Config config, final Scheduler scheduler) {
+		CommonHelper.assertNotNull("config", config);
+		CommonHelper.assertNotNull("scheduler", scheduler);
+		this.config = config;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+		if (!isSecured(exchange.getRequest().getPath().pathWithinApplication())) {
+			return chain.filter(exchange);
+		}
+		// checked before the form is read, so that static assets and health checks cost a single pass
+		if (requestMatcher != null
+				&& !requestMatcher.matches(new ServerWebExchangeContext(exchange, exchange.getRequest().getQueryParams()))) {
+			return chain.filter(exchange);
+		}
+		return resolveParameters(exchange).flatMap(parameters -> {
+
+			final ServerWebExchangeContext context = new ServerWebExchangeContext(exchange, parameters);
+			final List<Client<? extends Credentials>> currentClients = findDirectClients(context);
+			if (!matchingChecker.matches(context, matchers, config.getMatchers(), currentClients)) {
+				logger.debug("no matching for this request -> grant access");
+				return chain.filter(exchange);
+			}
+
+			return Mono.fromCallable(() -> authenticate(context, currentClients))
+					.subscribeOn(scheduler)
+					.flatMap(outcome -> {
+						if (outcome.profiles != null) {
+							return chain.filter(grant(exchange, outcome.profiles));
+						}
+						return respond(exchange.getResponse(), outcome);
+					});
+		});
+	}
+
+	/**
+	 * The blocking part of the authentication: credential extraction and validation, profile creation and
+	 * authorization checks, i.e. what {@code DefaultSecurityLogic} does for direct clients.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected Outcome authenticate(final ServerWebExchangeContext context, final List<Client<? extends Credentials>> currentClients) {
+		try {
+			final List<UserProfile> profiles = new ArrayList<>();
+			for (final Client client : currentClients) {
+				final Optional<Credentials> credentials = client.getCredentials(context);
+				if (credentials.isPresent()) {
+					final Optional<UserProfile> profile = client.getUserProfile(credentials.get(), context);
+					if (profile.isPresent()) {
+						profiles.add(profile.get());
+						if (!multiProfile) {
+							break;
+						}
+					}
+				}
+			}
+			if (profiles.isEmpty()) {
+				logger.debug("no profile for {} -> unauthorized", context.getPath());
+				return Outcome.deny(HttpConstants.UNAUTHORIZED);
+			}
+			if (!authorizationChecker.isAuthorized(context, profiles, authorizers, config.getAuthorizers(), currentClients)) {
+				logger.debug("access denied for {} -> forbidden", context.getPath());
+				return Outcome.deny(HttpConstants.FORBIDDEN);
+			}
+			return Outcome.grant(profiles);
+		} catch (final HttpAction action) {
+			return new Outcome(null, action.getCode(), action);
+		}
+	}
+
+	protected ServerWebExchange grant(final ServerWebExchange exchange, final List<UserProfile> profiles) {
+		final LinkedHashMap<String, UserProfile> profilesByClient = new LinkedHashMap<>();
+		for (final UserProfile profile : profiles) {
+			profilesByClient.put(profile.getClientName(), profile);
+		}
+		exchange.getAttributes().put(Pac4jConstants.USER_PROFILES, profilesByClient);
+		final Pac4JPrincipal principal = new Pac4JPrincipal(profiles.get(0));
+		return exchange.mutate().principal(Mono.just(principal)).build();
+	}
+
+	protected Mono<Void> respond(final ServerHttpResponse response, final Outcome outcome) {
+		response.setRawStatusCode(outcome.code);
+		if (outcome.action instanceof WithLocationAction) {
+			response.getHeaders().set(HttpHeaders.LOCATION, ((WithLocationAction) outcome.action).getLocation());
+		}
+		if (outcome.action instanceof WithContentAction) {
+			final String content = ((WithContentAction) outcome.action).getContent();
+			if (StringUtils.hasLength(content)) {
+				return response.writeWith(Mono.just(response.bufferFactory().wrap(content.getBytes(StandardCharsets.UTF_8))));
+			}
+		}
+		return response.setComplete();
+	}
+
+	/**
+	 * Query parameters merged with the urlencoded form parameters; the form is read without blocking and
+	 * is still available to the handlers through {@link ServerWebExchange#getFormData()}.
+	 */
+	protected Mono<MultiValueMap<String, String>> resolveParameters(final ServerWebExchange exchange) {
+		return exchange.getFormData().map(form -> {
+			final MultiValueMap<String, String> query = exchange.getRequest().getQueryParams();
+			if (form.isEmpty()) {
+				return query;
+			}
+			final MultiValueMap<String, String> parameters = new LinkedMultiValueMap<>(query);
+			form.forEach(parameters::addAll);
+			return parameters;
+		});
+	}
+
+	protected List<Client<? extends Credentials>> findDirectClients(final ServerWebExchangeContext context) {
+		final List<Client<? extends Credentials>> found = clientFinder.find(config.getClients(), context, clients);
+		final List<Client<? extends Credentials>> directClients = new ArrayList<>(found.size());
+		for (final Client<? extends Credentials> client : found) {
+			if (client instanceof DirectClient) {
+				directClients.add(client);
+			} else {
+				logger.trace("Indirect client {} is not supported by the reactive filter", client.getName());
+			}
+		}
+		return directClients;
+	}
+
+	protected boolean isSecured(final PathContainer path) {
+		for (final PathPattern pattern : excludePathPatterns) {
+			if (pattern.matches(path)) {
+				return false;
+			}
+		}
+		if (pathPatterns.isEmpty()) {
+			return true;
+		}
+		for (final PathPattern pattern : pathPatterns) {
+			if (pattern.matches(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<PathPattern> parse(final String[] patterns) {
+		if (patterns == null || patterns.length == 0) {
+			return Collections.emptyList();
+		}
+		final List<PathPattern> parsed = new ArrayList<>(patterns.length);
+		for (final String pattern : patterns) {
+			parsed.add(PathPatternParser.defaultInstance.parse(pattern));
+		}
+		return parsed;
+	}
+
+	public Config getConfig() {
+		return config;
+	}
+
+	public String getClients() {
+		return clients;
+	}
+
+	public void setClients(final String clients) {
+		this.clients = clients;
+	}
+
+	public String getAuthorizers() {
+		return authorizers;
+	}
+
+	public void setAuthorizers(final String authorizers) {
+		this.authorizers = authorizers;
+	}
+
+	public String getMatchers() {
+		return matchers;
+	}
+
+	public void setMatchers(final String matchers) {
+		this.matchers = matchers;
+	}
+
+	public boolean isMultiProfile() {
+		return multiProfile;
+	}
+
+	public void setMultiProfile(final boolean multiProfile) {
+		this.multiProfile = multiProfile;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+
+	public void setOrder(final int order) {
+		this.order = order;
+	}
+
+	public void setPathPatterns(final String... pathPatterns) {
+		this.pathPatterns = parse(pathPatterns);
+	}
+
+	public void setExcludePathPatterns(final String... excludePathPatterns) {
+		this.excludePathPatterns = parse(excludePathPatterns);
+	}
+
+	/**
+	 * @param requestMatcher a matcher deciding up front whether the request needs security at all,
+	 *            i.e. the {@link org.pac4j.spring.boot.matching.CompiledRequestMatcher}.
+	 */
+	public void setRequestMatcher(final Matcher requestMatcher) {
+		this.requestMatcher = requestMatcher;
+	}
+
+	public void setClientFinder(final ClientFinder clientFinder) {
+		this.clientFinder = clientFinder;
+	}
+
+	public void setAuthorizationChecker(final AuthorizationChecker authorizationChecker) {
+		this.authorizationChecker = authorizationChecker;
+	}
+
+	public void setMatchingChecker(final MatchingChecker matchingChecker) {
+		this.matchingChecker = matchingChecker;
+	}
+
+	protected static final class Outcome {
+
+		private final List<UserProfile> profiles;
+		private final int code;
+		private final HttpAction action;
+
+		private Outcome(final List<UserProfile> profiles, final int code, final HttpAction action) {
+			this.profiles = profiles;
+			this.code = code;
+			this.action = action;
+		}
+
+		private static Outcome grant(final List<UserProfile> profiles) {
+			return new Outcome(profiles, HttpConstants.OK, null);
+		}
+
+		private static Outcome deny(final int code) {
+			return new Outcome(null, code, null);
+		}
+
+	}
+
+}
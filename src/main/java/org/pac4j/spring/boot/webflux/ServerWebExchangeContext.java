@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.webflux;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.pac4j.core.context.Cookie;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * pac4j {@link WebContext} over a WebFlux {@link ServerWebExchange}. The request parameters (query string and
+ * urlencoded form) are resolved reactively before the context is built, so that no accessor ever blocks on the body.
+ */
+public class ServerWebExchangeContext implements WebContext {
+
+	private final ServerWebExchange exchange;
+	private final MultiValueMap<String, String> parameters;
+	private final SessionStore<ServerWebExchangeContext> sessionStore;
+	private Map<String, String[]> parameterArrays;
+
+	public ServerWebExchangeContext(final ServerWebExchange exchange, final MultiValueMap<String, String> parameters) {
+		this(exchange, parameters, new ExchangeAttributeSessionStore());
+	}
+
+	public ServerWebExchangeContext(final ServerWebExchange exchange, final MultiValueMap<String, String> parameters,
+			final SessionStore<ServerWebExchangeContext> sessionStore) {
+		this.exchange = exchange;
+		this.parameters = parameters;
+		this.sessionStore = sessionStore;
+	}
+
+	@Override
+	public SessionStore<ServerWebExchangeContext> getSessionStore() {
+		return sessionStore;
+	}
+
+	@Override
+	public Optional<String> getRequestParameter(final String name) {
+		return Optional.ofNullable(parameters.getFirst(name));
+	}
+
+	@Override
+	public Map<String, String[]> getRequestParameters() {
+		if (parameterArrays == null) {
+			final Map<String, String[]> arrays = new LinkedHashMap<>(parameters.size());
+			for (final Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+				arrays.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+			}
+			parameterArrays = arrays;
+		}
+		return parameterArrays;
+	}
+
+	@Override
+	public Optional getRequestAttribute(final String name) {
+		return Optional.ofNullable(exchange.getAttribute(name));
+	}
+
+	@Override
+	public void setRequestAttribute(final String name, final Object value) {
+		if (value == null) {
+			exchange.getAttributes().remove(name);
+		} else {
+			exchange.getAttributes().put(name, value);
+		}
+	}
+
+	@Override
+	public Optional<String> getRequestHeader(final String name) {
+		return Optional.ofNullable(getRequest().getHeaders().getFirst(name));
+	}
+
+	@Override
+	public String getRequestMethod() {
+		return getRequest().getMethodValue();
+	}
+
+	@Override
+	public String getRemoteAddr() {
+		final InetSocketAddress address = getRequest().getRemoteAddress();
+		if (address == null) {
+			return null;
+		}
+		return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+	}
+
+	@Override
+	public void setResponseHeader(final String name, final String value) {
+		getResponse().getHeaders().set(name, value);
+	}
+
+	@Override
+	public void setResponseContentType(final String content) {
+		getResponse().getHeaders().set(HttpHeaders.CONTENT_TYPE, content);
+	}
+
+	@Override
+	public String getServerName() {
+		return getRequest().getURI().getHost();
+	}
+
+	@Override
+	public int getServerPort() {
+		final int port = getRequest().getURI().getPort();
+		if (port > 0) {
+			return port;
+		}
+		return isSecure() ? HttpConstants.DEFAULT_HTTPS_PORT : HttpConstants.DEFAULT_HTTP_PORT;
+	}
+
+	@Override
+	public String getScheme() {
+		return getRequest().getURI().getScheme();
+	}
+
+	@Override
+	public boolean isSecure() {
+		return getRequest().getSslInfo() != null || HttpConstants.SCHEME_HTTPS.equalsIgnoreCase(getScheme());
+	}
+
+	@Override
+	public String getFullRequestURL() {
+		return getRequest().getURI().toString();
+	}
+
+	@Override
+	public Collection<Cookie> getRequestCookies() {
+		final List<Cookie> cookies = new ArrayList<>();
+		for (final List<HttpCookie> values : getRequest().getCookies().values()) {
+			for (final HttpCookie cookie : values) {
+				cookies.add(new Cookie(cookie.getName(), cookie.getValue()));
+			}
+		}
+		return cookies;
+	}
+
+	@Override
+	public void addResponseCookie(final Cookie cookie) {
+		getResponse().addCookie(ResponseCookie.from(cookie.getName(), cookie.getValue())
+				.domain(cookie.getDomain())
+				.path(cookie.getPath())
+				.maxAge(cookie.getMaxAge())
+				.secure(cookie.isSecure())
+				.httpOnly(cookie.isHttpOnly())
+				.build());
+	}
+
+	@Override
+	public String getPath() {
+		return getRequest().getPath().pathWithinApplication().value();
+	}
+
+	public ServerWebExchange getExchange() {
+		return exchange;
+	}
+
+	public ServerHttpRequest getRequest() {
+		return exchange.getRequest();
+	}
+
+	public ServerHttpResponse getResponse() {
+		return exchange.getResponse();
+	}
+
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.context.Cookie;
+import org.pac4j.core.context.HttpConstants;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.context.session.SessionStore;
+import org.pac4j.core.profile.CommonProfile;
+import org.pac4j.core.util.JavaSerializationHelper;
+import org.pac4j.core.util.Pac4jConstants;
+import org.pac4j.http.client.direct.DirectBasicAuthClient;
+import org.pac4j.http.client.indirect.FormClient;
+import org.pac4j.http.credentials.authenticator.test.SimpleTestUsernamePasswordAuthenticator;
+import org.pac4j.jwt.config.encryption.SecretEncryptionConfiguration;
+import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
+import org.pac4j.jwt.credentials.authenticator.JwtAuthenticator;
+import org.pac4j.jwt.profile.JwtGenerator;
+import org.pac4j.oauth.profile.github.GitHubProfile;
+import org.pac4j.spring.boot.client.ClientStartupReport;
+import org.pac4j.spring.boot.client.IndexedCallbackClientFinder;
+import org.pac4j.spring.boot.client.IndexedClients;
+import org.pac4j.spring.boot.client.LazyClients;
+import org.pac4j.spring.boot.oauth.PooledHttpClientProvider;
+import org.pac4j.spring.boot.utils.Pac4jProfileUtils;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import com.github.scribejava.core.httpclient.HttpClientProvider;
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+
+/**
+ * Runs, once compiled into a native image (mvn -Pnative test), the reflective paths of the starter covered by the
+ * reachability metadata of META-INF/native-image: properties binding, profile instantiation and serialization,
+ * lazy clients, callback dispatch, ScribeJava transport lookup and JWT validation.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class NativeSmokeTest {
+
+	private static final String SECRET = "12345678901234567890123456789012";
+
+	@Test
+	public void bindsProperties() {
+		final Map<String, String> source = new HashMap<>();
+		source.put("pac4j.enabled", "true");
+		source.put("pac4j.lazy-clients", "true");
+		source.put("pac4j.callback-url", "https://localhost/callback");
+		source.put("pac4j.warmup.connect-timeout", "3s");
+		source.put("pac4j.oauth.tenant.source", "file");
+		final Binder binder = new Binder(new MapConfigurationPropertySource(source));
+
+		final Pac4jProperties properties = binder.bind(Pac4jProperties.PREFIX, Pac4jProperties.class).get();
+		assertTrue(properties.isEnabled());
+		assertTrue(properties.isLazyClients());
+		assertEquals("https://localhost/callback", properties.getCallbackUrl());
+		assertEquals(Duration.ofSeconds(3),
+				binder.bind(Pac4jWarmupProperties.PREFIX, Pac4jWarmupProperties.class).get().getConnectTimeout());
+		assertEquals(Pac4jOAuthTenantProperties.TenantSourceType.FILE,
+				binder.bind(Pac4jOAuthProperties.PREFIX, Pac4jOAuthProperties.class).get().getTenant().getSource());
+	}
+
+	@Test
+	public void copiesAndSerializesProfiles() {
+		final GitHubProfile profile = new GitHubProfile();
+		profile.setId("1");
+		profile.addRole("admin");
+		profile.setClientName("GitHubClient");
+
+		final CommonProfile copy = Pac4jProfileUtils.copyOf(profile);
+		assertEquals(GitHubProfile.class, copy.getClass());
+		assertTrue(copy.getRoles().contains("admin"));
+
+		final JavaSerializationHelper serializationHelper = new JavaSerializationHelper();
+		final Serializable restored = serializationHelper.deserializeFromBase64(serializationHelper.serializeToBase64(profile));
+		assertEquals(GitHubProfile.class, restored.getClass());
+		assertEquals("1", ((CommonProfile) restored).getId());
+	}
+
+	@Test
+	public void initializesLazyClients() {
+		final DirectBasicAuthClient client = new DirectBasicAuthClient(new SimpleTestUsernamePasswordAuthenticator());
+		final Client lazyClient = LazyClients.wrap(client, new ClientStartupReport());
+		assertFalse(client.isInitialized());
+
+		final SmokeWebContext context = new SmokeWebContext();
+		context.requestHeaders.put(HttpConstants.AUTHORIZATION_HEADER, basic("bob:bob"));
+		assertTrue(lazyClient.getCredentials(context).isPresent());
+		assertTrue(client.isInitialized());
+
+		// 凭证无效时由真实客户端的 retrieveCredentials 设置认证头
+		context.requestHeaders.put(HttpConstants.AUTHORIZATION_HEADER, basic("bob:alice"));
+		assertFalse(lazyClient.getCredentials(context).isPresent());
+		assertNotNull(context.responseHeaders.get(HttpConstants.AUTHENTICATE_HEADER));
+	}
+
+	@Test
+	public void dispatchesCallbacks() {
+		final FormClient client = new FormClient("https://localhost/login", new SimpleTestUsernamePasswordAuthenticator());
+		final IndexedClients clients = new IndexedClients();
+		clients.setCallbackUrl("https://localhost/callback");
+		clients.setClients(client);
+		clients.init();
+
+		final SmokeWebContext context = new SmokeWebContext();
+		context.requestParameters.put(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, client.getName());
+		final List<Client> found = (List) new IndexedCallbackClientFinder().find(clients, context, null);
+		assertEquals(1, found.size());
+		assertSame(client, found.get(0));
+	}
+
+	@Test
+	public void findsPooledTransport() {
+		boolean found = false;
+		for (HttpClientProvider provider : ServiceLoader.load(HttpClientProvider.class)) {
+			found |= provider instanceof PooledHttpClientProvider;
+		}
+		assertTrue(found);
+	}
+
+	@Test
+	public void validatesJwt() {
+		final SecretSignatureConfiguration signatureConfiguration = new SecretSignatureConfiguration(SECRET, JWSAlgorithm.HS256);
+		final SecretEncryptionConfiguration encryptionConfiguration = new SecretEncryptionConfiguration(SECRET,
+				JWEAlgorithm.DIR, EncryptionMethod.A256GCM);
+		final JwtAuthenticator authenticator = new JwtAuthenticator(Collections.singletonList(signatureConfiguration),
+				Collections.singletonList(encryptionConfiguration));
+
+		final String token = new JwtGenerator(signatureConfiguration, encryptionConfiguration)
+				.generate(Collections.singletonMap("sub", "smoke"));
+		final CommonProfile profile = authenticator.validateToken(token);
+		assertNotNull(profile);
+		assertEquals("smoke", profile.getId());
+	}
+
+	private static String basic(final String userPassword) {
+		return "Basic " + Base64.getEncoder().encodeToString(userPassword.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Plain {@link WebContext}: a dynamic proxy would need its own native-image configuration.
+	 */
+	private static final class SmokeWebContext implements WebContext {
+
+		private final Map<String, String> requestParameters = new HashMap<>();
+		private final Map<String, String> requestHeaders = new HashMap<>();
+		private final Map<String, Object> requestAttributes = new HashMap<>();
+		private final Map<String, String> responseHeaders = new HashMap<>();
+
+		@Override
+		public SessionStore getSessionStore() {
+			return null;
+		}
+
+		@Override
+		public Optional<String> getRequestParameter(final String name) {
+			return Optional.ofNullable(requestParameters.get(name));
+		}
+
+		@Override
+		public Map<String, String[]> getRequestParameters() {
+			final Map<String, String[]> parameters = new HashMap<>();
+			requestParameters.forEach((name, value) -> parameters.put(name, new String[] { value }));
+			return parameters;
+		}
+
+		@Override
+		public Optional getRequestAttribute(final String name) {
+			return Optional.ofNullable(requestAttributes.get(name));
+		}
+
+		@Override
+		public void setRequestAttribute(final String name, final Object value) {
+			requestAttributes.put(name, value);
+		}
+
+		@Override
+		public Optional<String> getRequestHeader(final String name) {
+			return Optional.ofNullable(requestHeaders.get(name));
+		}
+
+		@Override
+		public String getRequestMethod() {
+			return "GET";
+		}
+
+		@Override
+		public String getRemoteAddr() {
+			return "127.0.0.1";
+		}
+
+		@Override
+		public void setResponseHeader(final String name, final String value) {
+			responseHeaders.put(name, value);
+		}
+
+		@Override
+		public void setResponseContentType(final String content) {
+		}
+
+		@Override
+		public String getServerName() {
+			return "localhost";
+		}
+
+		@Override
+		public int getServerPort() {
+			return 443;
+		}
+
+		@Override
+		public String getScheme() {
+			return "https";
+		}
+
+		@Override
+		public boolean isSecure() {
+			return true;
+		}
+
+		@Override
+		public String getFullRequestURL() {
+			return "https://localhost/callback";
+		}
+
+		@Override
+		public Collection<Cookie> getRequestCookies() {
+			return new ArrayList<>();
+		}
+
+		@Override
+		public void addResponseCookie(final Cookie cookie) {
+		}
+
+		@Override
+		public String getPath() {
+			return "/callback";
+		}
+
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.authorizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.core.exception.TechnicalException;
+
+public class IpRangesTest {
+
+	@Test
+	public void matchesIPv4Boundaries() {
+		final IpRanges ranges = IpRanges.parse("10.0.0.0/8", "192.168.1.10", "172.16.0.0/12");
+		assertTrue(ranges.contains("10.0.0.0"));
+		assertTrue(ranges.contains("10.255.255.255"));
+		assertFalse(ranges.contains("9.255.255.255"));
+		assertFalse(ranges.contains("11.0.0.0"));
+		assertTrue(ranges.contains("192.168.1.10"));
+		assertFalse(ranges.contains("192.168.1.9"));
+		assertFalse(ranges.contains("192.168.1.11"));
+		assertTrue(ranges.contains("172.31.255.255"));
+		assertFalse(ranges.contains("172.32.0.0"));
+		// port and surrounding spaces are ignored
+		assertTrue(ranges.contains(" 10.1.2.3:8080 "));
+
+		assertTrue(IpRanges.parse("0.0.0.0/0").contains("255.255.255.255"));
+		assertTrue(IpRanges.parse("10.1.2.3/31").contains("10.1.2.2"));
+		assertFalse(IpRanges.parse("10.1.2.3/31").contains("10.1.2.4"));
+	}
+
+	@Test
+	public void rejectsInvalidAddresses() {
+		final IpRanges ranges = IpRanges.parse("0.0.0.0/0", "::/0");
+		assertFalse(ranges.contains((String) null));
+		assertFalse(ranges.contains(""));
+		assertFalse(ranges.contains("10.1.2"));
+		assertFalse(ranges.contains("256.1.1.1"));
+		assertFalse(ranges.contains("10.1.2.3.4"));
+		assertFalse(ranges.contains("unknown"));
+		assertFalse(ranges.contains("2001:db8::1::1"));
+		assertFalse(ranges.contains("[2001:db8::1"));
+
+		assertThrows(TechnicalException.class, () -> IpRanges.parse("10.0.0.0/33"));
+		assertThrows(TechnicalException.class, () -> IpRanges.parse("2001:db8::/129"));
+		assertThrows(TechnicalException.class, () -> IpRanges.parse("10.0.0.0/x"));
+		assertThrows(TechnicalException.class, () -> IpRanges.parse("10.0.0"));
+		assertThrows(TechnicalException.class, () -> IpRanges.parse("2001:db8:::/32"));
+		assertTrue(IpRanges.parse((String[]) null).isEmpty());
+		assertTrue(IpRanges.parse(" ", null).isEmpty());
+	}
+
+	@Test
+	public void matchesIPv6Boundaries() {
+		final IpRanges ranges = IpRanges.parse("2001:db8::/32", "fe80::/10");
+		assertTrue(ranges.contains("2001:db8::"));
+		assertTrue(ranges.contains("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff"));
+		assertFalse(ranges.contains("2001:db7:ffff:ffff:ffff:ffff:ffff:ffff"));
+		assertFalse(ranges.contains("2001:db9::"));
+		assertTrue(ranges.contains("2001:DB8::1"));
+		assertTrue(ranges.contains("[2001:db8::1]:443"));
+		assertTrue(ranges.contains("fe80::1%eth0"));
+		assertFalse(ranges.contains("fec0::1"));
+
+		// prefixes on both sides of the 64 bits split
+		final IpRanges split = IpRanges.parse("2001:db8:0:1::/64", "2001:db8:0:2:8000::/65");
+		assertTrue(split.contains("2001:db8:0:1:ffff:ffff:ffff:ffff"));
+		assertFalse(split.contains("2001:db8:0:0:ffff:ffff:ffff:ffff"));
+		assertTrue(split.contains("2001:db8:0:2:8000::"));
+		assertTrue(split.contains("2001:db8:0:2:ffff:ffff:ffff:ffff"));
+		assertFalse(split.contains("2001:db8:0:2:7fff:ffff:ffff:ffff"));
+		assertFalse(split.contains("2001:db8:0:3::"));
+
+		assertTrue(IpRanges.parse("::/0").contains("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"));
+		assertFalse(IpRanges.parse("::/0").contains("10.0.0.1"));
+	}
+
+	@Test
+	public void looksUpIPv4MappedAddressesAsIPv4() {
+		final IpRanges ranges = IpRanges.parse("10.0.0.0/8", "::ffff:192.168.0.0/112");
+		assertTrue(ranges.contains("::ffff:10.1.2.3"));
+		assertTrue(ranges.contains("[::ffff:10.1.2.3]:8080"));
+		assertFalse(ranges.contains("::ffff:11.0.0.1"));
+		assertTrue(ranges.contains("192.168.3.4"));
+		assertFalse(ranges.contains("192.169.0.0"));
+		assertEquals(2, ranges.size());
+	}
+
+	@Test
+	public void mergesOverlappingAndAdjacentRanges() {
+		final IpRanges overlapping = IpRanges.parse("10.0.0.0/16", "10.0.128.0/17", "10.1.0.0/16", "10.0.0.5");
+		assertEquals(1, overlapping.size());
+		assertTrue(overlapping.contains("10.0.255.255"));
+		assertTrue(overlapping.contains("10.1.255.255"));
+		assertFalse(overlapping.contains("10.2.0.0"));
+
+		final IpRanges disjoint = IpRanges.parse("10.0.2.0/24", "10.0.0.0/24");
+		assertEquals(2, disjoint.size());
+		assertFalse(disjoint.contains("10.0.1.5"));
+		assertTrue(disjoint.contains("10.0.2.5"));
+
+		final IpRanges nested = IpRanges.parse("2001:db8::/32", "2001:db8:1::/48", "2001:db8:ffff::1");
+		assertEquals(1, nested.size());
+
+		// adjacent across the carry from the low to the high 64 bits
+		final IpRanges carry = IpRanges.parse("0:0:0:1::/128", "0:0:0:0:ffff:ffff:ffff:ffff/128");
+		assertEquals(1, carry.size());
+		assertTrue(carry.contains("::1:0:0:0:0"));
+		assertTrue(carry.contains("::ffff:ffff:ffff:ffff"));
+		assertFalse(carry.contains("::ffff:ffff:ffff:fffe"));
+
+		assertEquals(1, IpRanges.parse("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff", "ffff::/16", "::/0").size());
+	}
+
+	@Test
+	public void walksTheForwardedHeaderFromTheRight() {
+		final IpRangeAuthorizer authorizer = new IpRangeAuthorizer(IpRanges.parse("10.0.0.0/8"),
+				IpRanges.parse("192.168.0.0/16", "2001:db8::/32"), null);
+		// direct client, the header is not trusted
+		assertFalse(authorizer.isAuthorized(context("203.0.113.7", "10.1.1.1"), Collections.emptyList()));
+		assertTrue(authorizer.isAuthorized(context("10.1.1.1", "203.0.113.7"), Collections.emptyList()));
+		// behind a trusted proxy
+		assertTrue(authorizer.isAuthorized(context("192.168.1.1", "10.1.1.1"), Collections.emptyList()));
+		assertTrue(authorizer.isAuthorized(context("192.168.1.1", "203.0.113.7, 10.1.1.1, 192.168.1.2"), Collections.emptyList()));
+		assertTrue(authorizer.isAuthorized(context("2001:db8::1", "10.1.1.1,[2001:db8::2]:443"), Collections.emptyList()));
+		// an allowed address spoofed in front of the real client is ignored
+		assertFalse(authorizer.isAuthorized(context("192.168.1.1", "10.1.1.1, 203.0.113.7"), Collections.emptyList()));
+		assertFalse(authorizer.isAuthorized(context("192.168.1.1", "10.1.1.1, 203.0.113.7, 192.168.1.2"), Collections.emptyList()));
+		assertFalse(authorizer.isAuthorized(context("192.168.1.1", "10.1.1.1, garbage, 192.168.1.2"), Collections.emptyList()));
+		// only proxies: the left most one is the client
+		assertFalse(authorizer.isAuthorized(context("192.168.1.1", "192.168.1.3, 192.168.1.2"), Collections.emptyList()));
+		// trusted proxy without header
+		assertFalse(authorizer.isAuthorized(context("192.168.1.1", null), Collections.emptyList()));
+	}
+
+	private static WebContext context(final String remoteAddr, final String forwardedFor) {
+		return (WebContext) Proxy.newProxyInstance(IpRangesTest.class.getClassLoader(), new Class<?>[] { WebContext.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getRemoteAddr":
+						return remoteAddr;
+					case "getRequestHeader":
+						return IpRangeAuthorizer.DEFAULT_FORWARDED_FOR_HEADER.equalsIgnoreCase((String) args[0])
+								? Optional.ofNullable(forwardedFor) : Optional.empty();
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+}
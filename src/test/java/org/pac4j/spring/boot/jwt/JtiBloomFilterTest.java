@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class JtiBloomFilterTest {
+
+	@Test
+	public void hasNoFalseNegatives() {
+		final Set<String> ids = new HashSet<>();
+		for (int i = 0; i < 50000; i++) {
+			ids.add(UUID.randomUUID().toString());
+		}
+		// more ids than the expected insertions: the filter grows instead of losing any
+		final JtiBloomFilter filter = JtiBloomFilter.of(ids, 10000, 0.01d);
+		assertEquals(ids.size(), filter.size());
+		for (final String id : ids) {
+			assertTrue(filter.mightContain(id));
+		}
+	}
+
+	@Test
+	public void keepsTheFalsePositiveProbability() {
+		final Set<String> ids = new HashSet<>();
+		for (int i = 0; i < 10000; i++) {
+			ids.add(UUID.randomUUID().toString());
+		}
+		final JtiBloomFilter filter = JtiBloomFilter.of(ids, 10000, 0.01d);
+		int falsePositives = 0;
+		for (int i = 0; i < 100000; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2000, falsePositives + " false positives");
+	}
+
+	@Test
+	public void emptyFilterContainsNothing() {
+		final JtiBloomFilter filter = JtiBloomFilter.of(Collections.emptySet(), 10000, 0.01d);
+		assertEquals(0, filter.size());
+		for (int i = 0; i < 1000; i++) {
+			assertFalse(filter.mightContain(UUID.randomUUID().toString()));
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class JwtRevocationListTest {
+
+	private static final long HOUR = Duration.ofHours(1).toMillis();
+
+	@Test
+	public void appliesLocalRevocationsAtOnce() {
+		final InMemoryJwtRevocationStore store = new InMemoryJwtRevocationStore();
+		try (JwtRevocationList list = new JwtRevocationList(store, Duration.ofSeconds(10), 100, 0.01d)) {
+			list.sync();
+			assertFalse(list.isRevoked("t1"));
+
+			list.revoke("t1", System.currentTimeMillis() + HOUR);
+			assertTrue(list.isRevoked("t1"));
+			assertFalse(list.isRevoked("t2"));
+
+			list.sync();
+			assertEquals(1, list.getSize());
+			assertTrue(list.isRevoked("t1"));
+		}
+	}
+
+	@Test
+	public void appliesRemoteRevocationsAtTheNextSync() {
+		final InMemoryJwtRevocationStore store = new InMemoryJwtRevocationStore();
+		try (JwtRevocationList list = new JwtRevocationList(store, Duration.ofSeconds(10), 100, 0.01d)) {
+			list.sync();
+			// revoked by another node
+			store.revoke("t1", System.currentTimeMillis() + HOUR);
+			assertFalse(list.isRevoked("t1"));
+
+			list.sync();
+			assertTrue(list.isRevoked("t1"));
+		}
+	}
+
+	@Test
+	public void keepsTheRevocationsMadeDuringSync() {
+		final Runnable[] duringRead = new Runnable[1];
+		final InMemoryJwtRevocationStore store = new InMemoryJwtRevocationStore() {
+
+			@Override
+			public Map<String, Long> revoked(final long now) {
+				final Map<String, Long> revoked = super.revoked(now);
+				if (duringRead[0] != null) {
+					duringRead[0].run();
+				}
+				return revoked;
+			}
+
+		};
+		try (JwtRevocationList list = new JwtRevocationList(store, Duration.ofSeconds(10), 100, 0.01d)) {
+			duringRead[0] = () -> list.revoke("late", System.currentTimeMillis() + HOUR);
+			list.sync();
+			duringRead[0] = null;
+			assertEquals(0, list.getSize());
+			// missing from the filter, still answered by the recent revocations
+			assertTrue(list.isRevoked("late"));
+			assertEquals(0, list.getStoreLookupCount());
+
+			list.sync();
+			assertEquals(1, list.getSize());
+			assertTrue(list.isRevoked("late"));
+			assertEquals(1, list.getStoreLookupCount());
+		}
+	}
+
+	@Test
+	public void capsTheRevocationOfTokensWithoutExpiration() {
+		final InMemoryJwtRevocationStore store = new InMemoryJwtRevocationStore();
+		try (JwtRevocationList list = new JwtRevocationList(store, Duration.ofSeconds(10), 100, 0.01d, Duration.ofHours(1))) {
+			final long now = System.currentTimeMillis();
+			list.revoke("forever", Long.MAX_VALUE);
+			list.revoke("expired", now - 1);
+			final Map<String, Long> revoked = store.revoked(now);
+			assertEquals(1, revoked.size());
+			assertTrue(revoked.get("forever") <= System.currentTimeMillis() + HOUR);
+			assertTrue(revoked.get("forever") >= now + HOUR);
+			// gone once the maximum time to live is over
+			assertTrue(store.revoked(now + HOUR + 1000).isEmpty());
+		}
+	}
+
+	@Test
+	public void rejectsTheFilteredTokensWhenTheStoreFails() {
+		final InMemoryJwtRevocationStore store = new InMemoryJwtRevocationStore() {
+
+			@Override
+			public boolean isRevoked(final String jti, final long now) {
+				throw new IllegalStateException("store down");
+			}
+
+		};
+		try (JwtRevocationList list = new JwtRevocationList(store, Duration.ofSeconds(10), 100, 0.01d)) {
+			store.revoke("t1", System.currentTimeMillis() + HOUR);
+			list.sync();
+			assertTrue(list.isRevoked("t1"));
+			assertEquals(1, list.getStoreFailureCount());
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.pac4j.jwt.config.signature.SecretSignatureConfiguration;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+public class SignatureConfigurationSelectorTest {
+
+	private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] KEYED_SECRET = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8);
+
+	private final SecretSignatureConfiguration secret = new SecretSignatureConfiguration(SECRET, JWSAlgorithm.HS256);
+	private final JwkSignatureConfiguration keyed = new JwkSignatureConfiguration(
+			new OctetSequenceKey.Builder(KEYED_SECRET).keyID("k1").build(), JWSAlgorithm.HS256);
+	private final SignatureConfigurationSelector selector = new SignatureConfigurationSelector(Arrays.asList(secret, keyed));
+
+	private final JWTClaimsSet claims = new JWTClaimsSet.Builder().subject("bob").build();
+
+	@Test
+	public void verifiesByKeyIdAndFallsBackWithoutKeyId() throws Exception {
+		assertTrue(selector.verify(keyed.sign(claims)));
+		assertTrue(selector.verify(secret.sign(claims)));
+		assertEquals(1, selector.getIndexedCount());
+		assertEquals(1, selector.getFallbackCount());
+		assertEquals(0, selector.getUnknownKeyIdCount());
+	}
+
+	@Test
+	public void doesNotCacheUnknownAlgorithms() throws Exception {
+		final int cached = selector.getCachedAlgorithmCount();
+		for (int i = 0; i < 10000; i++) {
+			final String alg = UUID.randomUUID().toString();
+			assertFalse(selector.supports(JWSAlgorithm.parse(alg)));
+			assertFalse(selector.verify(forged(alg, null)));
+			assertFalse(selector.verify(forged(alg, "k" + i)));
+		}
+		assertEquals(cached, selector.getCachedAlgorithmCount());
+		assertTrue(selector.supports(JWSAlgorithm.HS256));
+		assertFalse(selector.supports(JWSAlgorithm.RS256));
+	}
+
+	/**
+	 * @return a token as an unauthenticated client may send it, with an arbitrary {@code alg} header.
+	 */
+	private static SignedJWT forged(final String alg, final String kid) throws Exception {
+		final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		final String header = "{\"alg\":\"" + alg + "\"" + (kid != null ? ",\"kid\":\"" + kid + "\"" : "") + "}";
+		return SignedJWT.parse(encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString("{\"sub\":\"bob\"}".getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString(new byte[32]));
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class InMemorySessionStoreTest {
+
+	@Test
+	public void storesAttributesPerSession() {
+		final InMemorySessionStore store = new InMemorySessionStore();
+		assertFalse(store.touch("s1"));
+
+		store.setAttribute("s1", "pac4jRequestedUrl", "/home");
+		store.setAttribute("s2", "pac4jRequestedUrl", "/admin");
+		assertTrue(store.touch("s1"));
+		assertEquals("/home", store.getAttribute("s1", "pac4jRequestedUrl"));
+		assertEquals("/admin", store.getAttribute("s2", "pac4jRequestedUrl"));
+
+		store.removeAttribute("s1", "pac4jRequestedUrl");
+		assertEquals(null, store.getAttribute("s1", "pac4jRequestedUrl"));
+		store.deleteSession("s2");
+		assertFalse(store.touch("s2"));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedSession() {
+		final InMemorySessionStore store = new InMemorySessionStore(1, 3);
+		store.setAttribute("s1", "pac4jCsrfToken", "1");
+		store.setAttribute("s2", "pac4jCsrfToken", "2");
+		store.setAttribute("s3", "pac4jCsrfToken", "3");
+		// s1 becomes the most recently used, s2 the eldest
+		assertTrue(store.touch("s1"));
+
+		store.setAttribute("s4", "pac4jCsrfToken", "4");
+		assertEquals(3, store.getSize());
+		assertFalse(store.touch("s2"));
+		assertTrue(store.touch("s1"));
+		assertTrue(store.touch("s3"));
+		assertTrue(store.touch("s4"));
+	}
+
+	@Test
+	public void expiresIdleSessions() throws InterruptedException {
+		final InMemorySessionStore store = new InMemorySessionStore(1, 10);
+		store.setTimeout(Duration.ofMillis(50));
+		store.setAttribute("s1", "pac4jCsrfToken", "1");
+		store.setAttribute("s2", "pac4jCsrfToken", "2");
+		Thread.sleep(100);
+
+		store.setAttribute("s3", "pac4jCsrfToken", "3");
+		assertEquals(1, store.getSize());
+		assertFalse(store.touch("s1"));
+		assertTrue(store.touch("s3"));
+	}
+
+	@Test
+	public void renamesSession() {
+		final InMemorySessionStore store = new InMemorySessionStore();
+		store.setAttribute("s1", "pac4jUserProfiles", "bob");
+
+		store.renameSession("s1", "s2");
+		assertFalse(store.touch("s1"));
+		assertEquals("bob", store.getAttribute("s2", "pac4jUserProfiles"));
+	}
+
+}
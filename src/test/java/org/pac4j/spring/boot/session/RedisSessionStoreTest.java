@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.pac4j.spring.boot.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.pac4j.core.profile.CommonProfile;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Runs the {@link RedisSessionStore} against {@link LocalRedisTemplate}, a local stand-in of the few hash and key
+ * commands it sends, so that no Redis server is needed.
+ */
+public class RedisSessionStoreTest {
+
+	@Test
+	public void storesSerializedAttributes() {
+		final LocalRedisTemplate redis = new LocalRedisTemplate();
+		final RedisSessionStore store = new RedisSessionStore(redis);
+		assertFalse(store.touch("s1"));
+
+		final CommonProfile profile = new CommonProfile();
+		profile.setId("bob");
+		profile.addRole("admin");
+		store.setAttribute("s1", "pac4jUserProfiles", profile);
+		assertTrue(store.touch("s1"));
+		assertEquals(Duration.ofMinutes(30).toMillis(), redis.ttls.get("pac4j:session:s1").longValue());
+
+		final CommonProfile restored = (CommonProfile) store.getAttribute("s1", "pac4jUserProfiles");
+		assertEquals("bob", restored.getId());
+		assertTrue(restored.getRoles().contains("admin"));
+
+		store.removeAttribute("s1", "pac4jUserProfiles");
+		assertEquals(null, store.getAttribute("s1", "pac4jUserProfiles"));
+	}
+
+	@Test
+	public void ignoresValuesWhichAreNotSerializable() {
+		final LocalRedisTemplate redis = new LocalRedisTemplate();
+		final RedisSessionStore store = new RedisSessionStore(redis);
+
+		store.setAttribute("s1", "pac4jRequestedUrl", new Object());
+		assertFalse(store.touch("s1"));
+	}
+
+	@Test
+	public void renamesAndDeletesSession() {
+		final LocalRedisTemplate redis = new LocalRedisTemplate();
+		final RedisSessionStore store = new RedisSessionStore(redis);
+		store.setKeyPrefix("test:");
+		store.setAttribute("s1", "pac4jCsrfToken", "token");
+
+		store.renameSession("s1", "s2");
+		assertFalse(redis.hashes.containsKey("test:s1"));
+		assertEquals("token", store.getAttribute("s2", "pac4jCsrfToken"));
+
+		store.deleteSession("s2");
+		assertFalse(store.touch("s2"));
+	}
+
+	/**
+	 * In-memory stand-in of the Redis commands used by the session store: HGET, HSET, HDEL, EXPIRE, DEL, EXISTS, RENAME.
+	 */
+	@SuppressWarnings("unchecked")
+	static class LocalRedisTemplate extends StringRedisTemplate {
+
+		final Map<String, Map<String, String>> hashes = new HashMap<>();
+		final Map<String, Long> ttls = new HashMap<>();
+
+		@Override
+		public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+			return (HashOperations<String, HK, HV>) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] { HashOperations.class }, (proxy, method, args) -> {
+						switch (method.getName()) {
+						case "get":
+							final Map<String, String> hash = hashes.get(args[0]);
+							return hash == null ? null : hash.get(args[1]);
+						case "put":
+							hashes.computeIfAbsent((String) args[0], key -> new HashMap<>()).put((String) args[1], (String) args[2]);
+							return null;
+						case "delete":
+							long deleted = 0;
+							final Map<String, String> fields = hashes.get(args[0]);
+							for (Object field : (Object[]) args[1]) {
+								deleted += fields != null && fields.remove(field) != null ? 1 : 0;
+							}
+							if (fields != null && fields.isEmpty()) {
+								this.delete((String) args[0]);
+							}
+							return deleted;
+						default:
+							throw new UnsupportedOperationException(method.getName());
+						}
+					});
+		}
+
+		@Override
+		public Boolean expire(String key, long timeout, TimeUnit unit) {
+			if (!hashes.containsKey(key)) {
+				return false;
+			}
+			ttls.put(key, unit.toMillis(timeout));
+			return true;
+		}
+
+		@Override
+		public Boolean expire(String key, Duration timeout) {
+			return this.expire(key, timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Boolean delete(String key) {
+			ttls.remove(key);
+			return hashes.remove(key) != null;
+		}
+
+		@Override
+		public Boolean hasKey(String key) {
+			return hashes.containsKey(key);
+		}
+
+		@Override
+		public void rename(String oldKey, String newKey) {
+			hashes.put(newKey, hashes.remove(oldKey));
+			ttls.put(newKey, ttls.remove(oldKey));
+		}
+
+	}
+
+}